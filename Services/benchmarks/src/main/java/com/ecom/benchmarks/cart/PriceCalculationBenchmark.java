@@ -0,0 +1,61 @@
+package com.ecom.benchmarks.cart;
+
+import com.ecom.cart.entity.Cart;
+import com.ecom.cart.entity.Product;
+import com.ecom.cart.utility.PriceCalculationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriceCalculationUtil.getCartPrice, which runs on every cart update, for carts of
+ * 1, 10 and 100 lines. Prices carry two decimals like the catalogue's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceCalculationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int products;
+
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        List<Product> lines = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            lines.add(Product.builder()
+                    .productId("product-" + i)
+                    .price(new BigDecimal("49.99").add(BigDecimal.valueOf(i)))
+                    .discountedPrice(new BigDecimal("39.99").add(BigDecimal.valueOf(i)))
+                    .quantity((short) (1 + i % 5))
+                    .build());
+        }
+        cart = Cart.builder()
+                .userId("user-42")
+                .products(lines)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal getCartPrice() {
+        return PriceCalculationUtil.getCartPrice(cart).getTotal();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecom.benchmarks.header;
+
+import com.ecom.orchestrator.util.MessageHeaderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Header conversions the orchestrator runs for every step response. Workers send status and attempt
+ * either as JSON booleans and numbers (typed) or as strings, depending on how they build the headers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageHeaderUtilsBenchmark {
+
+    private Map<String, Object> typedHeaders;
+    private Map<String, Object> stringHeaders;
+
+    @Setup
+    public void setUp() {
+        typedHeaders = headers(true, 2);
+        stringHeaders = headers(" True ", "2");
+    }
+
+    @Benchmark
+    public String getString() {
+        return MessageHeaderUtils.getString(typedHeaders, "flowId");
+    }
+
+    @Benchmark
+    public boolean getBooleanTyped() {
+        return MessageHeaderUtils.getBoolean(typedHeaders, "status");
+    }
+
+    @Benchmark
+    public boolean getBooleanFromString() {
+        return MessageHeaderUtils.getBoolean(stringHeaders, "status");
+    }
+
+    @Benchmark
+    public Integer getIntegerTyped() {
+        return MessageHeaderUtils.getInteger(typedHeaders, "attempt");
+    }
+
+    @Benchmark
+    public Integer getIntegerFromString() {
+        return MessageHeaderUtils.getInteger(stringHeaders, "attempt");
+    }
+
+    /**
+     * All header reads of one step response in OrchestrationMessageHandler
+     */
+    @Benchmark
+    public void readResponseHeaders(Blackhole blackhole) {
+        blackhole.consume(MessageHeaderUtils.getString(typedHeaders, "flowId"));
+        blackhole.consume(MessageHeaderUtils.getString(typedHeaders, "stepName"));
+        blackhole.consume(MessageHeaderUtils.getString(typedHeaders, "action"));
+        blackhole.consume(MessageHeaderUtils.getBoolean(typedHeaders, "status"));
+        blackhole.consume(MessageHeaderUtils.getInteger(typedHeaders, "attempt"));
+        blackhole.consume(MessageHeaderUtils.hasValue(typedHeaders, "errorMessage"));
+    }
+
+    private static Map<String, Object> headers(Object status, Object attempt) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "0b7d4f0e-2f4b-4f6e-9a53-6f1d2f1c9a10");
+        headers.put("orchName", "orderProcessing");
+        headers.put("stepName", "reserveInventory");
+        headers.put("action", "DO");
+        headers.put("eventType", "doreserveInventory");
+        headers.put("status", status);
+        headers.put("attempt", attempt);
+        return headers;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecom.benchmarks.ids;
+
+import com.ecom.order.util.SnowflakeIdGenerator;
+import com.ecom.orchestrator.util.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow id schemes for orchestration runs: random UUIDv4 (before), time-ordered UUIDv7 (now) and the
+ * order service's Snowflake ids. generate measures creating the id as stored in flow_id; indexInsert adds it
+ * to an ordered map already holding PREFILL ids of the same scheme, a stand-in for the flow_id B-tree:
+ * ordered ids always land on the rightmost, cache-hot path, random ids anywhere. Page splits and index bloat
+ * in Postgres are measured with sql/flow-id-index.sql.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowIdBenchmark {
+
+    private static final int PREFILL = 500_000;
+
+    public enum Scheme {
+        UUID_V4 {
+            @Override
+            String next(SnowflakeIdGenerator snowflake) {
+                return UUID.randomUUID().toString();
+            }
+        },
+        UUID_V7 {
+            @Override
+            String next(SnowflakeIdGenerator snowflake) {
+                return TimeOrderedUuid.nextString();
+            }
+        },
+        SNOWFLAKE {
+            @Override
+            String next(SnowflakeIdGenerator snowflake) {
+                return Long.toString(snowflake.nextId());
+            }
+        };
+
+        abstract String next(SnowflakeIdGenerator snowflake);
+    }
+
+    @Param({"UUID_V4", "UUID_V7", "SNOWFLAKE"})
+    public Scheme scheme;
+
+    private SnowflakeIdGenerator snowflake;
+    private TreeMap<String, Boolean> index;
+
+    @Setup(Level.Trial)
+    public void setUpGenerator() {
+        snowflake = new SnowflakeIdGenerator(1, 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIndex() {
+        index = new TreeMap<>();
+        for (int i = 0; i < PREFILL; i++) {
+            index.put(scheme.next(snowflake), Boolean.TRUE);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return scheme.next(snowflake);
+    }
+
+    @Benchmark
+    public Boolean indexInsert() {
+        return index.put(scheme.next(snowflake), Boolean.TRUE);
+    }
+}
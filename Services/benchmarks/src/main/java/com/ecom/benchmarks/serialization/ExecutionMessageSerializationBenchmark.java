@@ -0,0 +1,101 @@
+package com.ecom.benchmarks.serialization;
+
+import com.ecom.orchestrator.client.config.ExecutionMessageSerializer;
+import com.ecom.orchestrator.client.config.WireFormat;
+import com.ecom.orchestrator.serialization.ExecutionMessageDeserializer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A worker response on the wire: serialized by the client's ExecutionMessageSerializer and read back by the
+ * orchestrator's ExecutionMessageDeserializer, the pair every step response goes through, in each wire
+ * format. payloadItems scales the payload from a bare id to a cart-sized document; the encoded size of
+ * each combination is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionMessageSerializationBenchmark {
+
+    private static final String TOPIC = "orchestrator.response.result";
+
+    @Param({"1", "20"})
+    private int payloadItems;
+
+    @Param({"JSON", "SMILE"})
+    private WireFormat wireFormat;
+
+    private ExecutionMessageSerializer serializer;
+    private ExecutionMessageDeserializer deserializer;
+    private com.ecom.orchestrator.client.dto.ExecutionMessage message;
+    private Headers recordHeaders;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = new ExecutionMessageSerializer(wireFormat);
+        deserializer = new ExecutionMessageDeserializer();
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < payloadItems; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("productId", "product-" + i);
+            item.put("quantity", i + 1);
+            item.put("price", 19.99 + i);
+            items.add(item);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", "order-42");
+        payload.put("items", items);
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "0b7d4f0e-2f4b-4f6e-9a53-6f1d2f1c9a10");
+        headers.put("orchName", "orderProcessing");
+        headers.put("stepName", "reserveInventory");
+        headers.put("action", "DO");
+        headers.put("status", true);
+        headers.put("attempt", 0);
+
+        message = new com.ecom.orchestrator.client.dto.ExecutionMessage(payload);
+        message.setHeaders(headers);
+        recordHeaders = new RecordHeaders();
+        bytes = serializer.serialize(TOPIC, recordHeaders, message);
+        System.out.printf("%n%s, %d payload items: %d bytes%n", wireFormat, payloadItems, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public com.ecom.orchestrator.dto.ExecutionMessage deserialize() {
+        return deserializer.deserialize(TOPIC, recordHeaders, bytes);
+    }
+
+    @Benchmark
+    public com.ecom.orchestrator.dto.ExecutionMessage roundTrip() {
+        Headers headers = new RecordHeaders();
+        return deserializer.deserialize(TOPIC, headers, serializer.serialize(TOPIC, headers, message));
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecom.benchmarks.worker;
+
+import com.ecom.orchestrator.client.config.ExecutionMessageSerializer;
+import com.ecom.orchestrator.client.config.OrchestrationLoader;
+import com.ecom.orchestrator.client.config.WireFormat;
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import com.ecom.orchestrator.client.service.OrchestrationService;
+import com.ecom.orchestrator.client.worker.DynamicEventRouter;
+import com.ecom.orchestrator.client.worker.VirtualThreadDispatcher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecom.orchestrator.client.constants.Constant.ORCHESTRATOR_EVENT;
+
+/**
+ * One record through DynamicEventRouter.routeEvent as the shared-topic listener receives it:
+ * decoding in either wire format, eventType lookup and the handler call. Handlers are registered from the
+ * orchestrations.yml of this module; nothing is sent to Kafka.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicEventRouterBenchmark {
+
+    private GenericApplicationContext context;
+    private RealmHandler handler;
+    private DynamicEventRouter router;
+    private ConsumerRecord<String, byte[]> doRecord;
+    private ConsumerRecord<String, byte[]> smileDoRecord;
+    private ConsumerRecord<String, byte[]> unknownRecord;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new GenericApplicationContext();
+        context.registerBean("realmHandler", RealmHandler.class);
+        context.refresh();
+        handler = context.getBean(RealmHandler.class);
+
+        OrchestrationLoader loader = new OrchestrationLoader();
+        loader.load();
+        // Only register() is called, while handlers are registered; routing reaches it only when a handler fails
+        OrchestrationService orchestrationService = (OrchestrationService) Proxy.newProxyInstance(
+                OrchestrationService.class.getClassLoader(), new Class<?>[]{OrchestrationService.class},
+                (proxy, method, args) -> null);
+
+        router = new DynamicEventRouter(loader, context, orchestrationService,
+                new VirtualThreadDispatcher(false, 1, 1, 0));
+        router.registerEventTypeHandlers();
+
+        doRecord = record(WireFormat.JSON, "docreateRealm");
+        smileDoRecord = record(WireFormat.SMILE, "docreateRealm");
+        unknownRecord = record(WireFormat.JSON, "doUnknownStep");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long routeToHandler() {
+        router.routeEvent(doRecord);
+        return handler.handled;
+    }
+
+    @Benchmark
+    public long routeSmileToHandler() {
+        router.routeEvent(smileDoRecord);
+        return handler.handled;
+    }
+
+    @Benchmark
+    public long routeUnknownEventType() {
+        router.routeEvent(unknownRecord);
+        return handler.handled;
+    }
+
+    private static ConsumerRecord<String, byte[]> record(WireFormat wireFormat, String eventType) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("tenantId", "tenant-42");
+        payload.put("realm", "acme");
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "0b7d4f0e-2f4b-4f6e-9a53-6f1d2f1c9a10");
+        headers.put("orchName", "tenantCreation");
+        headers.put("stepName", "createRealm");
+        headers.put("action", "DO");
+        headers.put("attempt", 0);
+        headers.put("eventType", eventType);
+        ExecutionMessage message = new ExecutionMessage(payload);
+        message.setHeaders(headers);
+
+        RecordHeaders recordHeaders = new RecordHeaders();
+        byte[] value = new ExecutionMessageSerializer(wireFormat).serialize(ORCHESTRATOR_EVENT, recordHeaders, message);
+        return new ConsumerRecord<>(ORCHESTRATOR_EVENT, 0, 0L, 0L, TimestampType.CREATE_TIME,
+                value.length, -1, null, value, recordHeaders, Optional.empty());
+    }
+
+    public static class RealmHandler {
+        private long handled;
+
+        public void createRealm(ExecutionMessage message) {
+            handled += message.getHeaders().size();
+        }
+
+        public void deleteRealm(ExecutionMessage message) {
+            handled -= message.getHeaders().size();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecom.benchmarks.worker;
+
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import com.ecom.orchestrator.client.worker.StepHandler;
+import com.ecom.orchestrator.client.worker.StepHandlers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message dispatch cost of a worker handler: the reflective path the routers used before
+ * (new ObjectMapper, getMethod and Method.invoke per message) against the compiled StepHandler
+ * with the shared reader. The *InvokeOnly variants leave out JSON parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerDispatchBenchmark {
+
+    private static final String METHOD_NAME = "createRealm";
+
+    private SampleHandler bean;
+    private String json;
+    private ConsumerRecord<String, byte[]> record;
+    private ExecutionMessage parsed;
+    private StepHandler compiled;
+
+    @Setup
+    public void setUp() throws Exception {
+        bean = new SampleHandler();
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("tenantId", "tenant-42");
+        payload.put("realm", "acme");
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "0b7d4f0e-2f4b-4f6e-9a53-6f1d2f1c9a10");
+        headers.put("orchName", "tenantCreation");
+        headers.put("stepName", "createRealm");
+        headers.put("action", "DO");
+        headers.put("attempt", 0);
+        ExecutionMessage message = new ExecutionMessage(payload);
+        message.setHeaders(headers);
+
+        json = new ObjectMapper().writeValueAsString(message);
+        record = new ConsumerRecord<>("tenantCreation.createRealm.do", 0, 0L, null, json.getBytes(StandardCharsets.UTF_8));
+        parsed = StepHandlers.read(record);
+        compiled = StepHandlers.compile(bean, METHOD_NAME);
+    }
+
+    @Benchmark
+    public long reflectiveDispatch() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutionMessage message = objectMapper.readValue(json, ExecutionMessage.class);
+        Method method = bean.getClass().getMethod(METHOD_NAME, ExecutionMessage.class);
+        method.invoke(bean, message);
+        return bean.handled;
+    }
+
+    @Benchmark
+    public long compiledDispatch() throws Exception {
+        compiled.handle(StepHandlers.read(record));
+        return bean.handled;
+    }
+
+    @Benchmark
+    public long reflectiveInvokeOnly() throws Exception {
+        Method method = bean.getClass().getMethod(METHOD_NAME, ExecutionMessage.class);
+        method.invoke(bean, parsed);
+        return bean.handled;
+    }
+
+    @Benchmark
+    public long compiledInvokeOnly() throws Exception {
+        compiled.handle(parsed);
+        return bean.handled;
+    }
+
+    public static class SampleHandler {
+        private long handled;
+
+        public void createRealm(ExecutionMessage message) {
+            handled += message.getHeaders().size();
+        }
+    }
+}
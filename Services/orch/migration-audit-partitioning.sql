@@ -0,0 +1,52 @@
+-- Migration to range-partition audit_event by timestamp
+-- Date: 2026-10-18
+--
+-- The service performs the same conversion on startup when
+-- orchestrator.audit.partitioning.enabled=true, and afterwards creates upcoming
+-- partitions and retires expired ones (archive, detach, drop) on a schedule.
+-- Run this script instead when the conversion should happen in a maintenance window.
+
+BEGIN;
+
+LOCK TABLE audit_event IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE audit_event RENAME TO audit_event_legacy;
+
+-- The partition key must be part of the primary key
+CREATE TABLE audit_event (LIKE audit_event_legacy INCLUDING DEFAULTS)
+    PARTITION BY RANGE (timestamp);
+ALTER TABLE audit_event ADD PRIMARY KEY (id, timestamp);
+
+-- Catches rows outside every range partition so inserts never fail
+CREATE TABLE audit_event_default PARTITION OF audit_event DEFAULT;
+
+-- One partition per day; repeat for every day covered by existing data and a week ahead
+CREATE TABLE audit_event_p20261018 PARTITION OF audit_event
+    FOR VALUES FROM ('2026-10-18') TO ('2026-10-19');
+CREATE TABLE audit_event_p20261019 PARTITION OF audit_event
+    FOR VALUES FROM ('2026-10-19') TO ('2026-10-20');
+
+INSERT INTO audit_event SELECT * FROM audit_event_legacy;
+DROP TABLE audit_event_legacy;
+
+-- Indexes on the parent are created on every partition
+CREATE INDEX idx_audit_execution_timestamp ON audit_event(execution_id, timestamp);
+CREATE INDEX idx_audit_orch_name_timestamp ON audit_event(orch_name, timestamp);
+
+-- Catalog of partitions moved to compressed archive files
+CREATE TABLE IF NOT EXISTS audit_archive (
+    id BIGSERIAL PRIMARY KEY,
+    partition_name VARCHAR(63) NOT NULL UNIQUE,
+    range_start TIMESTAMP NOT NULL,
+    range_end TIMESTAMP NOT NULL,
+    file_path VARCHAR(1024) NOT NULL,
+    row_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_range ON audit_archive(range_start, range_end);
+
+COMMIT;
+
+-- Retiring a partition by hand (after archiving it):
+-- ALTER TABLE audit_event DETACH PARTITION audit_event_p20261018;
+-- DROP TABLE audit_event_p20261018;
@@ -0,0 +1,66 @@
+-- Migration to store run, step run and execution summary statuses as smallint codes, key step runs by (run id, seq)
+-- and store audit event ids as native uuid
+-- Date: 2026-10-18
+--
+-- Rewrites the three tables, so run it in a maintenance window. Capture the footprint queries at the
+-- end before and after to compare index sizes and lookup latency.
+
+BEGIN;
+
+-- Codes of ExecutionStatusEnum; they never change once assigned
+CREATE FUNCTION pg_temp.execution_status_code(status VARCHAR) RETURNS SMALLINT AS $$
+    SELECT CASE status
+        WHEN 'PENDING' THEN 0
+        WHEN 'IN_PROGRESS' THEN 1
+        WHEN 'COMPLETED' THEN 2
+        WHEN 'FAILED' THEN 3
+        WHEN 'UNDOING' THEN 4
+        WHEN 'UNDONE' THEN 5
+        WHEN 'NOT_REGISTERED' THEN 6
+        WHEN 'DO_SUCCESS' THEN 7
+        WHEN 'DO_FAIL' THEN 8
+        WHEN 'UNDO_SUCCESS' THEN 9
+        WHEN 'UNDO_FAIL' THEN 10
+        WHEN 'RETRY_EXHAUSTED' THEN 11
+    END::SMALLINT
+$$ LANGUAGE SQL IMMUTABLE STRICT;
+
+ALTER TABLE orchestration_run
+    ALTER COLUMN status TYPE SMALLINT USING pg_temp.execution_status_code(status);
+ALTER TABLE orchestration_step_run
+    ALTER COLUMN status TYPE SMALLINT USING pg_temp.execution_status_code(status);
+
+-- The execution history read model, if it was created with text statuses
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'execution_summary'
+                 AND column_name = 'status' AND data_type = 'character varying') THEN
+        ALTER TABLE execution_summary
+            ALTER COLUMN status TYPE SMALLINT USING pg_temp.execution_status_code(status);
+    END IF;
+END $$;
+
+-- Step runs are addressed by run id and seq; seq is unique per template
+ALTER TABLE orchestration_step_run ALTER COLUMN seq TYPE SMALLINT;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_step_run_run_seq ON orchestration_step_run(orchestration_run_id, seq);
+
+-- 16 bytes per key instead of 37; on a partitioned audit_event this also rewrites every partition
+ALTER TABLE audit_event ALTER COLUMN id TYPE UUID USING id::uuid;
+
+COMMIT;
+
+-- Footprint queries, run before and after the migration:
+--
+-- SELECT indexrelname, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+-- FROM pg_stat_user_indexes
+-- WHERE relname IN ('orchestration_run', 'orchestration_step_run', 'audit_event')
+--    OR relname LIKE 'audit_event_p%'
+-- ORDER BY pg_relation_size(indexrelid) DESC;
+--
+-- EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM orchestration_run r
+--     LEFT JOIN orchestration_step_run sr ON sr.orchestration_run_id = r.id WHERE r.flow_id = '<flowId>';
+-- EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM orchestration_step_run
+--     WHERE orchestration_run_id = <runId> AND seq = 1;
+-- EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM audit_event
+--     WHERE execution_id = '<flowId>' ORDER BY timestamp;
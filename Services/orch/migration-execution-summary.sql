@@ -0,0 +1,57 @@
+-- Migration to add the execution_summary read model for the execution history
+-- Date: 2026-10-18
+--
+-- Statuses are ExecutionStatusEnum codes, so apply migration-compact-keys.sql first; it also converts a
+-- table created by an earlier version of this script.
+
+-- One row per run, kept up to date in the transaction of every step transition
+CREATE TABLE IF NOT EXISTS execution_summary (
+    flow_id VARCHAR(255) PRIMARY KEY,
+    orch_name VARCHAR(255) NOT NULL,
+    initiator_service VARCHAR(255),
+    status SMALLINT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    duration_ms BIGINT,
+    total_steps INTEGER NOT NULL,
+    succeeded_steps INTEGER NOT NULL,
+    failed_steps INTEGER NOT NULL,
+    undone_steps INTEGER NOT NULL,
+    last_error TEXT,
+    last_error_step VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Keyset pages by start time, with and without a status filter; scanned backwards for newest first
+CREATE INDEX IF NOT EXISTS idx_execution_summary_orch_started
+    ON execution_summary(orch_name, started_at, flow_id);
+CREATE INDEX IF NOT EXISTS idx_execution_summary_orch_status_started
+    ON execution_summary(orch_name, status, started_at, flow_id);
+
+-- Backfill runs that existed before the read model
+INSERT INTO execution_summary (flow_id, orch_name, initiator_service, status, started_at, completed_at, duration_ms,
+                               total_steps, succeeded_steps, failed_steps, undone_steps, last_error, last_error_step,
+                               updated_at)
+SELECT r.flow_id,
+       r.orch_name,
+       t.initiator_service,
+       r.status,
+       r.started_at,
+       r.completed_at,
+       CASE WHEN r.completed_at IS NOT NULL
+            THEN (EXTRACT(EPOCH FROM (r.completed_at - r.started_at)) * 1000)::BIGINT END,
+       COUNT(s.id),
+       -- DO_SUCCESS, COMPLETED
+       COUNT(s.id) FILTER (WHERE s.status IN (7, 2)),
+       -- FAILED, DO_FAIL, RETRY_EXHAUSTED, UNDO_FAIL
+       COUNT(s.id) FILTER (WHERE s.status IN (3, 8, 11, 10)),
+       -- UNDO_SUCCESS
+       COUNT(s.id) FILTER (WHERE s.status = 9),
+       (ARRAY_AGG(s.error_message ORDER BY s.seq DESC) FILTER (WHERE s.error_message IS NOT NULL))[1],
+       (ARRAY_AGG(s.step_name ORDER BY s.seq DESC) FILTER (WHERE s.error_message IS NOT NULL))[1],
+       NOW()
+FROM orchestration_run r
+LEFT JOIN orchestration_template t ON t.orch_name = r.orch_name
+LEFT JOIN orchestration_step_run s ON s.orchestration_run_id = r.id
+GROUP BY r.id, r.flow_id, r.orch_name, t.initiator_service, r.status, r.started_at, r.completed_at
+ON CONFLICT (flow_id) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Migration to add optimistic locking versions to orchestration runs and step runs
+-- Date: 2026-10-18
+
+-- Incremented by every update; an update carrying a stale version matches no row and is retried
+ALTER TABLE orchestration_run ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orchestration_step_run ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
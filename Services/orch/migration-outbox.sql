@@ -0,0 +1,13 @@
+-- Migration to add the transactional outbox
+-- Date: 2026-10-18
+
+-- Messages written together with the step state change that caused them,
+-- deleted by the outbox relay once the broker acknowledged them
+CREATE TABLE IF NOT EXISTS outbox_message (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    message TEXT NOT NULL,
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
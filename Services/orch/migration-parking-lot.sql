@@ -0,0 +1,26 @@
+-- Migration to add the parking lot for dead-lettered messages
+-- Date: 2026-10-18
+
+-- Copy of every record moved to a <topic>.dead-letter topic, with the original
+-- payload bytes, headers and failure cause, until it is replayed
+CREATE TABLE IF NOT EXISTS parked_message (
+    id BIGSERIAL PRIMARY KEY,
+    original_topic VARCHAR(255) NOT NULL,
+    original_partition INTEGER NOT NULL,
+    original_offset BIGINT NOT NULL,
+    message_key VARCHAR(255),
+    payload BYTEA,
+    headers TEXT,
+    exception_class VARCHAR(500),
+    exception_message TEXT,
+    stack_trace TEXT,
+    status VARCHAR(20) NOT NULL,
+    replay_count INTEGER NOT NULL DEFAULT 0,
+    parked_at TIMESTAMP NOT NULL,
+    last_replayed_at TIMESTAMP,
+    CONSTRAINT uk_parked_message_origin UNIQUE (original_topic, original_partition, original_offset)
+);
+
+-- Replays page through parked rows in id order
+CREATE INDEX IF NOT EXISTS idx_parked_message_status_id ON parked_message(status, id);
+CREATE INDEX IF NOT EXISTS idx_parked_message_topic ON parked_message(original_topic);
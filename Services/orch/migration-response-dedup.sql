@@ -0,0 +1,17 @@
+-- Migration to add durable deduplication of worker responses
+-- Date: 2026-10-18
+
+-- One row per applied response; a redelivered response for the same attempt
+-- conflicts on the unique key and is dropped
+CREATE TABLE IF NOT EXISTS processed_response (
+    id BIGSERIAL PRIMARY KEY,
+    flow_id VARCHAR(255) NOT NULL,
+    step_name VARCHAR(255) NOT NULL,
+    phase VARCHAR(10) NOT NULL,
+    attempt INTEGER NOT NULL,
+    processed_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_processed_response UNIQUE (flow_id, step_name, phase, attempt)
+);
+
+-- Supports the retention purge
+CREATE INDEX IF NOT EXISTS idx_processed_response_processed_at ON processed_response(processed_at);
@@ -0,0 +1,51 @@
+-- Migration to add archive tables for finished orchestration runs
+-- Date: 2026-10-18
+--
+-- RunArchiver moves finished runs here, naming every column (OrchestrationRunArchiveRepository.RUN_COLUMNS
+-- and STEP_RUN_COLUMNS), and refuses to start when a run table and its archive table differ. A later migration
+-- that changes a column of orchestration_run or orchestration_step_run must change the archive table in the
+-- same script.
+
+CREATE TABLE IF NOT EXISTS orchestration_run_archive (
+    id BIGINT PRIMARY KEY,
+    flow_id VARCHAR(255) NOT NULL,
+    orch_name VARCHAR(255) NOT NULL,
+    status SMALLINT NOT NULL,
+    correlation_id VARCHAR(255),
+    triggered_by VARCHAR(50),
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    last_updated_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_run_archive_flow_id ON orchestration_run_archive (flow_id);
+
+CREATE TABLE IF NOT EXISTS orchestration_step_run_archive (
+    id BIGINT PRIMARY KEY,
+    orchestration_run_id BIGINT NOT NULL,
+    step_name VARCHAR(255) NOT NULL,
+    seq SMALLINT NOT NULL,
+    status SMALLINT NOT NULL,
+    operation_type VARCHAR(20),
+    worker_service VARCHAR(255),
+    error_message TEXT,
+    failure_reason TEXT,
+    retry_count INTEGER NOT NULL,
+    max_retries INTEGER NOT NULL,
+    last_retry_at TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    undone_at TIMESTAMP,
+    rollback_triggered BOOLEAN,
+    deadline_at TIMESTAMP,
+    last_message TEXT,
+    version BIGINT NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_step_run_archive_run ON orchestration_step_run_archive (orchestration_run_id);
+
+-- Finds the runs to archive without scanning the hot table
+CREATE INDEX IF NOT EXISTS idx_run_status_last_updated ON orchestration_run (status, last_updated_at);
+
+-- After the first archive run shrinks the hot tables, give the freed space back
+-- VACUUM (FULL, ANALYZE) orchestration_step_run;
+-- VACUUM (FULL, ANALYZE) orchestration_run;
@@ -0,0 +1,26 @@
+-- Migration to add durable delayed retries for failed steps
+-- Date: 2026-10-18
+
+-- Optional per-step retry policy; NULL falls back to orchestrator.retry.* defaults
+ALTER TABLE orchestration_step_template ADD COLUMN IF NOT EXISTS backoff_ms BIGINT;
+ALTER TABLE orchestration_step_template ADD COLUMN IF NOT EXISTS backoff_multiplier DOUBLE PRECISION;
+ALTER TABLE orchestration_step_template ADD COLUMN IF NOT EXISTS max_backoff_ms BIGINT;
+
+-- Step messages waiting for their backoff to elapse
+CREATE TABLE IF NOT EXISTS scheduled_retry (
+    id BIGSERIAL PRIMARY KEY,
+    flow_id VARCHAR(255) NOT NULL,
+    step_name VARCHAR(255) NOT NULL,
+    operation_type VARCHAR(20) NOT NULL,
+    attempt INTEGER NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_scheduled_retry_flow_step_attempt UNIQUE (flow_id, step_name, attempt)
+);
+
+-- Dispatchers scan due rows in due_at order
+CREATE INDEX IF NOT EXISTS idx_scheduled_retry_due_at ON scheduled_retry(due_at);
@@ -0,0 +1,19 @@
+-- Migration to generate run, step run and outbox ids from pooled sequences instead of IDENTITY
+-- Date: 2026-10-18
+--
+-- Hibernate reserves 50 ids per sequence call (allocationSize = 50), which lets it batch inserts.
+-- The increments must match the allocationSize of the entities.
+
+CREATE SEQUENCE IF NOT EXISTS orchestration_run_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orchestration_step_run_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_message_seq INCREMENT BY 50;
+
+-- Start past the ids handed out by the identity columns
+SELECT setval('orchestration_run_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orchestration_run));
+SELECT setval('orchestration_step_run_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orchestration_step_run));
+SELECT setval('outbox_message_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM outbox_message));
+
+-- Ids now come from the application; the old column defaults are no longer used
+ALTER TABLE orchestration_run ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orchestration_step_run ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE outbox_message ALTER COLUMN id DROP IDENTITY IF EXISTS;
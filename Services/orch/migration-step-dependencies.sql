@@ -0,0 +1,6 @@
+-- Migration to add step dependencies for DAG orchestration templates
+-- Date: 2026-10-18
+
+-- Names of the steps that must succeed before this one starts; NULL for steps without dependencies
+-- and for SEQUENTIAL / SIMULTANEOUS templates
+ALTER TABLE orchestration_step_template ADD COLUMN IF NOT EXISTS depends_on JSONB;
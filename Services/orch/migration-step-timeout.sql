@@ -0,0 +1,14 @@
+-- Migration to add response deadlines for DO steps
+-- Date: 2026-10-18
+
+-- Optional per-step timeout; NULL falls back to orchestrator.step-timeout.default-ms
+ALTER TABLE orchestration_step_template ADD COLUMN IF NOT EXISTS timeout_ms BIGINT;
+
+-- Deadline of the outstanding DO call and the message to resend if it expires
+ALTER TABLE orchestration_step_run ADD COLUMN IF NOT EXISTS deadline_at TIMESTAMP;
+ALTER TABLE orchestration_step_run ADD COLUMN IF NOT EXISTS last_message TEXT;
+
+-- Only steps with an outstanding call carry a deadline, so the partial index stays small
+-- no matter how many runs are kept
+CREATE INDEX IF NOT EXISTS idx_step_run_deadline ON orchestration_step_run(deadline_at)
+    WHERE deadline_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Migration to schedule UNDO retries with a backoff next to DO retries
+-- Date: 2026-10-18
+
+-- UNDO restarts a step's attempt count, so the operation type is part of the key
+ALTER TABLE scheduled_retry DROP CONSTRAINT IF EXISTS uk_scheduled_retry_flow_step_attempt;
+ALTER TABLE scheduled_retry ADD CONSTRAINT uk_scheduled_retry_flow_step_op_attempt
+    UNIQUE (flow_id, step_name, operation_type, attempt);
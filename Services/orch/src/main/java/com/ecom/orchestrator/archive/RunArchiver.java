@@ -0,0 +1,108 @@
+package com.ecom.orchestrator.archive;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.repository.OrchestrationRunArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves finished runs out of orchestration_run and orchestration_step_run once they have not changed for
+ * orchestrator.run-archive.after-days, so the tables every response is handled against only hold runs that
+ * can still move. Runs are moved in batches, one transaction each. Execution history reads the
+ * execution_summary read model and is unaffected; execution details fall back to the archive tables.
+ */
+@Component
+@Slf4j
+public class RunArchiver {
+
+    /**
+     * Statuses a run leaves only by a manual undo, which the age threshold is meant to outlast
+     */
+    static final Set<ExecutionStatusEnum> ARCHIVABLE = EnumSet.of(
+            ExecutionStatusEnum.COMPLETED,
+            ExecutionStatusEnum.FAILED,
+            ExecutionStatusEnum.UNDONE,
+            ExecutionStatusEnum.NOT_REGISTERED);
+
+    private final OrchestrationRunArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+    private volatile boolean tablesReady;
+
+    public RunArchiver(OrchestrationRunArchiveRepository archiveRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${orchestrator.run-archive.enabled:true}") boolean enabled,
+                       @Value("${orchestrator.run-archive.after-days:7}") int afterDays,
+                       @Value("${orchestrator.run-archive.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("orchestrator.run-archive.batch-size must be positive");
+        }
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder("orchestration.runs.archived")
+                .description("Finished runs moved to the archive tables")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("Run archiving disabled");
+            return;
+        }
+        // Throws if a run table and its archive table no longer have the same columns
+        tablesReady = archiveRepository.verifyTables();
+        if (!tablesReady) {
+            log.error("Run archive tables do not exist; apply migration-run-archive.sql, runs are not archived until then");
+        }
+    }
+
+    /**
+     * Move every run past the threshold, batch by batch, until a batch comes back short
+     *
+     * @return number of runs moved
+     */
+    @Scheduled(cron = "${orchestrator.run-archive.cron:0 30 0 * * *}")
+    public int archiveFinishedRuns() {
+        if (!enabled || !tablesReady) {
+            return 0;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> {
+                List<Long> runIds = archiveRepository.lockArchivable(ARCHIVABLE, cutoff, batchSize);
+                return archiveRepository.moveToArchive(runIds);
+            });
+            archived.increment(moved);
+            total += moved;
+        } while (moved >= batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} runs last changed before {}", total, cutoff);
+        }
+        return total;
+    }
+}
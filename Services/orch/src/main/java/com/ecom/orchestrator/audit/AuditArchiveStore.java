@@ -0,0 +1,159 @@
+package com.ecom.orchestrator.audit;
+
+import com.ecom.orchestrator.entity.AuditArchive;
+import com.ecom.orchestrator.entity.AuditEvent;
+import com.ecom.orchestrator.repository.AuditArchiveRepository;
+import com.ecom.orchestrator.repository.AuditEventBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for audit events: one gzip-compressed NDJSON file per archived partition,
+ * catalogued in audit_archive with the partition's time range.
+ */
+@Component
+@Slf4j
+public class AuditArchiveStore {
+
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private final AuditEventBatchRepository auditEventBatchRepository;
+    private final AuditArchiveRepository auditArchiveRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path archiveDir;
+
+    public AuditArchiveStore(AuditEventBatchRepository auditEventBatchRepository,
+                             AuditArchiveRepository auditArchiveRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${orchestrator.audit.partitioning.archive-dir:./audit-archive}") String archiveDir) {
+        this.auditEventBatchRepository = auditEventBatchRepository;
+        this.auditArchiveRepository = auditArchiveRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * Write all rows of a partition to a compressed file and register it.
+     * The file is written under a temporary name and moved into place once complete.
+     */
+    public AuditArchive archivePartition(String partitionName, LocalDateTime rangeStart, LocalDateTime rangeEnd) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(partitionName + FILE_SUFFIX);
+        Path temp = archiveDir.resolve(partitionName + FILE_SUFFIX + ".tmp");
+        AtomicLong rowCount = new AtomicLong();
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    auditEventBatchRepository.streamPartition(partitionName, event -> {
+                        try {
+                            writer.write(objectMapper.writeValueAsString(event));
+                            writer.write('\n');
+                            rowCount.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temp);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        AuditArchive archive = auditArchiveRepository.save(AuditArchive.builder()
+                .partitionName(partitionName)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .filePath(target.toAbsolutePath().toString())
+                .rowCount(rowCount.get())
+                .build());
+
+        log.info("Archived audit partition {} with {} rows to {}", partitionName, rowCount.get(), target);
+        return archive;
+    }
+
+    public boolean hasArchives() {
+        return auditArchiveRepository.count() > 0;
+    }
+
+    /**
+     * Find archived events of one execution. When a time window is given only archives overlapping it are read.
+     */
+    public List<AuditEvent> findEvents(String executionId, LocalDateTime from, LocalDateTime to) {
+        List<AuditArchive> archives = (from != null && to != null)
+                ? auditArchiveRepository.findOverlapping(from, to)
+                : auditArchiveRepository.findAllByOrderByRangeStartAsc();
+
+        List<AuditEvent> events = new ArrayList<>();
+        // Cheap substring check so only matching lines are parsed
+        String marker = "\"executionId\":" + quote(executionId);
+        for (AuditArchive archive : archives) {
+            readArchive(archive, marker, executionId, events);
+        }
+        return events;
+    }
+
+    private void readArchive(AuditArchive archive, String marker, String executionId, List<AuditEvent> events) {
+        Path file = Paths.get(archive.getFilePath());
+        if (!Files.exists(file)) {
+            log.warn("Audit archive file missing: partition={}, path={}", archive.getPartitionName(), file);
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.contains(marker)) {
+                    continue;
+                }
+                AuditEvent event = objectMapper.readValue(line, AuditEvent.class);
+                if (executionId.equals(event.getExecutionId())) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read audit archive: partition={}, path={}", archive.getPartitionName(), file, e);
+        }
+    }
+
+    private String quote(String value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid executionId: " + value, e);
+        }
+    }
+}
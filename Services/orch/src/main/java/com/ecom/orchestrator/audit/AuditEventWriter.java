@@ -0,0 +1,225 @@
+package com.ecom.orchestrator.audit;
+
+import com.ecom.orchestrator.entity.AuditEvent;
+import com.ecom.orchestrator.repository.AuditEventBatchRepository;
+import com.ecom.orchestrator.util.TimeOrderedUuid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline for audit events.
+ * Callers enqueue into a bounded lock-free ring buffer; a dedicated writer thread drains it and
+ * inserts with JDBC batches, flushing when a batch is full or the flush interval has elapsed.
+ */
+@Component
+@Slf4j
+public class AuditEventWriter {
+
+    private static final String METRIC_NAME = "orchestration.audit";
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AuditEventBatchRepository auditEventBatchRepository;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer flushLatency;
+    private final Timer eventLag;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditEventWriter(AuditEventBatchRepository auditEventBatchRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${orchestrator.audit.write-behind.capacity:8192}") int capacity,
+                            @Value("${orchestrator.audit.write-behind.batch-size:500}") int batchSize,
+                            @Value("${orchestrator.audit.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${orchestrator.audit.write-behind.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                            @Value("${orchestrator.audit.write-behind.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.auditEventBatchRepository = auditEventBatchRepository;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+
+        this.written = Counter.builder(METRIC_NAME + ".events")
+                .tag("result", "written")
+                .description("Audit events inserted by the write-behind writer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(METRIC_NAME + ".events")
+                .tag("result", "dropped")
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder(METRIC_NAME + ".events")
+                .tag("result", "failed")
+                .description("Audit events lost because their batch insert failed")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(METRIC_NAME + ".batch.size")
+                .description("Audit events per batch insert")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder(METRIC_NAME + ".flush.latency")
+                .description("Time spent inserting one audit batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.eventLag = Timer.builder(METRIC_NAME + ".event.lag")
+                .description("Age of the oldest event of a batch when the batch is written")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting in the write-behind buffer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit write-behind writer started: capacity={}, batchSize={}, overflowPolicy={}",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * Enqueue an event for writing. Never touches the database on the calling thread.
+     *
+     * @return false if the event was dropped
+     */
+    public boolean enqueue(AuditEvent event) {
+        // Defaults normally set by @PrePersist, which the JDBC path does not trigger
+        if (event.getId() == null) {
+            event.setId(TimeOrderedUuid.next());
+        }
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(LocalDateTime.now());
+        }
+
+        if (buffer.offer(event) || (overflowPolicy == AuditOverflowPolicy.BLOCK && offerWithTimeout(event))) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        }
+
+        dropped.increment();
+        log.debug("Audit buffer full, dropping event: executionId={}, eventType={}",
+                event.getExecutionId(), event.getEventType());
+        return false;
+    }
+
+    private boolean offerWithTimeout(AuditEvent event) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        LockSupport.unpark(writerThread);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0L;
+
+        while (running || !buffer.isEmpty()) {
+            boolean wasEmpty = batch.isEmpty();
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) {
+                batchStartedAt = System.nanoTime();
+            }
+
+            boolean full = batch.size() >= batchSize;
+            boolean due = !batch.isEmpty() && System.nanoTime() - batchStartedAt >= flushIntervalNanos;
+            if (full || due || (!running && !batch.isEmpty())) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+
+            if (drained == 0) {
+                LockSupport.parkNanos(this, Math.min(flushIntervalNanos, MAX_IDLE_PARK_NANOS));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        int size = batch.size();
+        LocalDateTime oldest = batch.get(0).getTimestamp();
+        if (oldest != null) {
+            eventLag.record(Duration.between(oldest, LocalDateTime.now()));
+        }
+        long start = System.nanoTime();
+        try {
+            auditEventBatchRepository.insertBatch(batch);
+            written.increment(size);
+            log.debug("Audit batch written: {} events", size);
+        } catch (Exception e) {
+            failed.increment(size);
+            log.error("Failed to write audit batch of {} events", size, e);
+        } finally {
+            batchSizes.record(size);
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stop accepting work and drain everything still buffered before the datasource goes away
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("Audit writer stopped with {} events still buffered", buffer.size());
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return (long) dropped.count();
+    }
+
+    public long getWrittenCount() {
+        return (long) written.count();
+    }
+}
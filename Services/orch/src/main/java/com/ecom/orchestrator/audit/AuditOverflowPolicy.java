@@ -0,0 +1,15 @@
+package com.ecom.orchestrator.audit;
+
+/**
+ * What to do with an audit event when the write-behind buffer is full
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Discard the event immediately and count it as dropped
+     */
+    DROP,
+    /**
+     * Wait up to the configured offer timeout for space, then drop
+     */
+    BLOCK
+}
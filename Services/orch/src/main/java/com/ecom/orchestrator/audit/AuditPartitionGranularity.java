@@ -0,0 +1,40 @@
+package com.ecom.orchestrator.audit;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Size of one audit_event range partition
+ */
+public enum AuditPartitionGranularity {
+    DAILY {
+        @Override
+        public LocalDate periodStart(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate nextPeriodStart(LocalDate periodStart) {
+            return periodStart.plusDays(1);
+        }
+    },
+    WEEKLY {
+        @Override
+        public LocalDate periodStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate nextPeriodStart(LocalDate periodStart) {
+            return periodStart.plusWeeks(1);
+        }
+    };
+
+    /**
+     * First day of the period containing the given date
+     */
+    public abstract LocalDate periodStart(LocalDate date);
+
+    public abstract LocalDate nextPeriodStart(LocalDate periodStart);
+}
@@ -0,0 +1,223 @@
+package com.ecom.orchestrator.audit;
+
+import com.ecom.orchestrator.repository.AuditArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains range partitioning of audit_event on timestamp.
+ * Creates partitions ahead of time and retires partitions older than the hot retention window
+ * by archiving them to compressed files and then detaching and dropping them.
+ */
+@Component
+@Slf4j
+public class AuditPartitionManager {
+
+    static final String PARENT_TABLE = "audit_event";
+    static final String DEFAULT_PARTITION = "audit_event_default";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern BOUND_PATTERN =
+            Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchiveStore auditArchiveStore;
+    private final AuditArchiveRepository auditArchiveRepository;
+    private final boolean enabled;
+    private final AuditPartitionGranularity granularity;
+    private final int premakePeriods;
+    private final int hotRetentionDays;
+    private final boolean archiveEnabled;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 AuditArchiveStore auditArchiveStore,
+                                 AuditArchiveRepository auditArchiveRepository,
+                                 @Value("${orchestrator.audit.partitioning.enabled:false}") boolean enabled,
+                                 @Value("${orchestrator.audit.partitioning.granularity:DAILY}") AuditPartitionGranularity granularity,
+                                 @Value("${orchestrator.audit.partitioning.premake-periods:7}") int premakePeriods,
+                                 @Value("${orchestrator.audit.partitioning.hot-retention-days:30}") int hotRetentionDays,
+                                 @Value("${orchestrator.audit.partitioning.archive-enabled:true}") boolean archiveEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditArchiveStore = auditArchiveStore;
+        this.auditArchiveRepository = auditArchiveRepository;
+        this.enabled = enabled;
+        this.granularity = granularity;
+        this.premakePeriods = premakePeriods;
+        this.hotRetentionDays = hotRetentionDays;
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("Audit partitioning disabled");
+            return;
+        }
+
+        convertToPartitionedIfNeeded();
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Daily maintenance: pre-create upcoming partitions and retire expired ones
+     */
+    @Scheduled(cron = "${orchestrator.audit.partitioning.maintenance-cron:0 15 0 * * *}")
+    public void runMaintenance() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+
+        createUpcomingPartitions();
+        applyRetention();
+    }
+
+    /**
+     * Replace a plain audit_event table (as created by the schema generator or older migrations)
+     * with a partitioned one, copying existing rows across.
+     */
+    void convertToPartitionedIfNeeded() {
+        if (isPartitioned()) {
+            return;
+        }
+
+        log.info("Converting {} to a range-partitioned table ({})", PARENT_TABLE, granularity);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE audit_event IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("ALTER TABLE audit_event RENAME TO audit_event_legacy");
+            jdbcTemplate.execute("CREATE TABLE audit_event (LIKE audit_event_legacy INCLUDING DEFAULTS) " +
+                    "PARTITION BY RANGE (timestamp)");
+            jdbcTemplate.execute("ALTER TABLE audit_event ADD PRIMARY KEY (id, timestamp)");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF audit_event DEFAULT");
+
+            LocalDateTime oldest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(timestamp) FROM audit_event_legacy", LocalDateTime.class);
+            LocalDate from = oldest != null ? oldest.toLocalDate() : LocalDate.now();
+            createPartitions(from, LocalDate.now());
+
+            int copied = jdbcTemplate.update("INSERT INTO audit_event SELECT * FROM audit_event_legacy");
+            jdbcTemplate.execute("DROP TABLE audit_event_legacy");
+
+            // Secondary indexes are created on the parent and cascade to every partition
+            jdbcTemplate.execute("CREATE INDEX idx_audit_execution_timestamp ON audit_event (execution_id, timestamp)");
+            jdbcTemplate.execute("CREATE INDEX idx_audit_orch_name_timestamp ON audit_event (orch_name, timestamp)");
+            log.info("Converted {} to partitioned table, copied {} rows", PARENT_TABLE, copied);
+        });
+    }
+
+    /**
+     * Make sure partitions exist for the current period and the configured number of periods ahead
+     */
+    public void createUpcomingPartitions() {
+        createPartitions(LocalDate.now(), LocalDate.now());
+    }
+
+    private void createPartitions(LocalDate from, LocalDate today) {
+        LocalDate periodStart = granularity.periodStart(from);
+        LocalDate last = granularity.periodStart(today);
+        for (int i = 0; i < premakePeriods; i++) {
+            last = granularity.nextPeriodStart(last);
+        }
+
+        while (!periodStart.isAfter(last)) {
+            LocalDate periodEnd = granularity.nextPeriodStart(periodStart);
+            createPartition(periodStart, periodEnd);
+            periodStart = periodEnd;
+        }
+    }
+
+    private void createPartition(LocalDate start, LocalDate end) {
+        String name = partitionName(start);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF audit_event " +
+                    "FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+        } catch (Exception e) {
+            // Typically rows for this range already sit in the default partition
+            log.error("Failed to create audit partition {} [{} - {})", name, start, end, e);
+        }
+    }
+
+    /**
+     * Archive and drop partitions that ended before the hot retention window.
+     * A partition is only dropped after its archive file was written and catalogued.
+     */
+    public void applyRetention() {
+        LocalDateTime cutoff = granularity.periodStart(LocalDate.now().minusDays(hotRetentionDays)).atStartOfDay();
+
+        for (AuditPartition partition : listPartitions()) {
+            if (partition.rangeEnd().isAfter(cutoff)) {
+                continue;
+            }
+
+            try {
+                if (archiveEnabled && !auditArchiveRepository.existsByPartitionName(partition.name())) {
+                    auditArchiveStore.archivePartition(partition.name(), partition.rangeStart(), partition.rangeEnd());
+                }
+                jdbcTemplate.execute("ALTER TABLE audit_event DETACH PARTITION " + partition.name());
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                log.info("Retired audit partition {} [{} - {})", partition.name(), partition.rangeStart(), partition.rangeEnd());
+            } catch (Exception e) {
+                log.error("Failed to retire audit partition {}, will retry on next run", partition.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Range partitions of audit_event with their bounds, oldest first (default partition excluded)
+     */
+    public List<AuditPartition> listPartitions() {
+        List<AuditPartition> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+                "FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? ORDER BY c.relname",
+                (RowCallbackHandler) rs -> {
+                    Matcher matcher = BOUND_PATTERN.matcher(rs.getString("bound"));
+                    if (matcher.find()) {
+                        partitions.add(new AuditPartition(rs.getString("relname"),
+                                parseBound(matcher.group(1)), parseBound(matcher.group(2))));
+                    }
+                },
+                PARENT_TABLE);
+        return partitions;
+    }
+
+    boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ?", Integer.class, PARENT_TABLE);
+        return count != null && count > 0;
+    }
+
+    static String partitionName(LocalDate periodStart) {
+        return PARENT_TABLE + "_p" + periodStart.format(NAME_FORMAT);
+    }
+
+    private static LocalDateTime parseBound(String bound) {
+        // Bounds render as 'yyyy-MM-dd HH:mm:ss' for timestamp columns
+        return LocalDateTime.parse(bound.length() > 19 ? bound.substring(0, 19) : bound, BOUND_FORMAT);
+    }
+
+    public record AuditPartition(String name, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    }
+}
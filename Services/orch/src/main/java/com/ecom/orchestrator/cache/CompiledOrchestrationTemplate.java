@@ -0,0 +1,134 @@
+package com.ecom.orchestrator.cache;
+
+import com.ecom.orchestrator.entity.OrchestrationStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationStepTemplate;
+import com.ecom.orchestrator.entity.OrchestrationTemplate;
+import com.ecom.orchestrator.entity.OrchestrationTypeEnum;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, pre-compiled view of an orchestration template.
+ * Steps are sorted by seq once and indexed by name, together with
+ * next/previous step lookup tables used for DO and UNDO transitions
+ * and, for DAG templates, the dependents of each step.
+ */
+@Getter
+public final class CompiledOrchestrationTemplate {
+
+    private final String orchName;
+    private final OrchestrationTypeEnum type;
+    private final String initiatorService;
+    private final OrchestrationStatusEnum status;
+
+    /**
+     * Steps sorted by seq ascending
+     */
+    private final List<CompiledStepTemplate> steps;
+
+    private final Map<String, CompiledStepTemplate> stepsByName;
+    private final Map<String, CompiledStepTemplate> nextStepByName;
+    private final Map<String, CompiledStepTemplate> previousStepByName;
+
+    /**
+     * Steps that declare a dependency on the key step, sorted by seq
+     */
+    private final Map<String, List<CompiledStepTemplate>> dependentsByName;
+
+    /**
+     * Steps without dependencies, the ones a DAG run starts with
+     */
+    private final List<CompiledStepTemplate> rootSteps;
+
+    private CompiledOrchestrationTemplate(OrchestrationTemplate template) {
+        this.orchName = template.getOrchName();
+        this.type = template.getType();
+        this.initiatorService = template.getInitiatorService();
+        this.status = template.getStatus();
+
+        List<OrchestrationStepTemplate> source = template.getSteps() != null ? template.getSteps() : List.of();
+        List<CompiledStepTemplate> sorted = source.stream()
+                .sorted(Comparator.comparing(OrchestrationStepTemplate::getSeq))
+                .map(CompiledStepTemplate::from)
+                .toList();
+
+        Map<String, CompiledStepTemplate> byName = new HashMap<>();
+        Map<String, CompiledStepTemplate> next = new HashMap<>();
+        Map<String, CompiledStepTemplate> previous = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            CompiledStepTemplate step = sorted.get(i);
+            byName.put(step.getStepName(), step);
+            if (i + 1 < sorted.size()) {
+                next.put(step.getStepName(), sorted.get(i + 1));
+            }
+            if (i > 0) {
+                previous.put(step.getStepName(), sorted.get(i - 1));
+            }
+        }
+
+        Map<String, List<CompiledStepTemplate>> dependents = new HashMap<>();
+        List<CompiledStepTemplate> roots = new ArrayList<>();
+        for (CompiledStepTemplate step : sorted) {
+            if (step.getDependsOn().isEmpty()) {
+                roots.add(step);
+            }
+            for (String dependency : step.getDependsOn()) {
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(step);
+            }
+        }
+        dependents.replaceAll((name, list) -> List.copyOf(list));
+
+        this.steps = sorted;
+        this.stepsByName = Collections.unmodifiableMap(byName);
+        this.nextStepByName = Collections.unmodifiableMap(next);
+        this.previousStepByName = Collections.unmodifiableMap(previous);
+        this.dependentsByName = Collections.unmodifiableMap(dependents);
+        this.rootSteps = List.copyOf(roots);
+    }
+
+    public static CompiledOrchestrationTemplate compile(OrchestrationTemplate template) {
+        return new CompiledOrchestrationTemplate(template);
+    }
+
+    public Optional<CompiledStepTemplate> getStep(String stepName) {
+        return Optional.ofNullable(stepsByName.get(stepName));
+    }
+
+    public Optional<CompiledStepTemplate> getFirstStep() {
+        return steps.isEmpty() ? Optional.empty() : Optional.of(steps.getFirst());
+    }
+
+    public Optional<CompiledStepTemplate> getNextStep(String stepName) {
+        return Optional.ofNullable(nextStepByName.get(stepName));
+    }
+
+    public Optional<CompiledStepTemplate> getPreviousStep(String stepName) {
+        return Optional.ofNullable(previousStepByName.get(stepName));
+    }
+
+    /**
+     * Steps sorted by seq descending, used for UNDO ordering
+     */
+    public List<CompiledStepTemplate> getStepsReversed() {
+        return steps.reversed();
+    }
+
+    public List<CompiledStepTemplate> getDependents(String stepName) {
+        return dependentsByName.getOrDefault(stepName, List.of());
+    }
+
+    public boolean isSequential() {
+        return type == OrchestrationTypeEnum.SEQUENTIAL;
+    }
+
+    public boolean isDag() {
+        return type == OrchestrationTypeEnum.DAG;
+    }
+}
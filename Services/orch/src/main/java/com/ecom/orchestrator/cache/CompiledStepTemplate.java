@@ -0,0 +1,53 @@
+package com.ecom.orchestrator.cache;
+
+import com.ecom.orchestrator.entity.OrchestrationStepTemplate;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable, detached snapshot of an {@link OrchestrationStepTemplate}.
+ * Safe to share across threads and transactions.
+ */
+@Value
+@Builder
+public class CompiledStepTemplate {
+
+    String stepName;
+    Integer seq;
+    String objectType;
+    String topicName;
+    String doTopic;
+    String undoTopic;
+    Integer maxRetries;
+    Long backoffMs;
+    Double backoffMultiplier;
+    Long maxBackoffMs;
+    Long timeoutMs;
+    Boolean sharedTopic;
+
+    /**
+     * Names of the steps this one waits for in a DAG template, never null
+     */
+    @Builder.Default
+    List<String> dependsOn = List.of();
+
+    public static CompiledStepTemplate from(OrchestrationStepTemplate stepTemplate) {
+        return CompiledStepTemplate.builder()
+                .stepName(stepTemplate.getStepName())
+                .seq(stepTemplate.getSeq())
+                .objectType(stepTemplate.getObjectType())
+                .topicName(stepTemplate.getTopicName())
+                .doTopic(stepTemplate.getDoTopic())
+                .undoTopic(stepTemplate.getUndoTopic())
+                .maxRetries(stepTemplate.getMaxRetries())
+                .backoffMs(stepTemplate.getBackoffMs())
+                .backoffMultiplier(stepTemplate.getBackoffMultiplier())
+                .maxBackoffMs(stepTemplate.getMaxBackoffMs())
+                .timeoutMs(stepTemplate.getTimeoutMs())
+                .sharedTopic(Boolean.TRUE.equals(stepTemplate.getSharedTopic()))
+                .dependsOn(stepTemplate.getDependsOn() != null ? List.copyOf(stepTemplate.getDependsOn()) : List.of())
+                .build();
+    }
+}
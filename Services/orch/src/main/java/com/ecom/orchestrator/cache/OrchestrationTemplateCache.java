@@ -0,0 +1,141 @@
+package com.ecom.orchestrator.cache;
+
+import com.ecom.orchestrator.entity.OrchestrationStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationTemplate;
+import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache of compiled orchestration templates keyed by orchName.
+ * Templates only change on registration, so step transitions read them from memory
+ * instead of running the fetch-join on every DO/UNDO response.
+ * Registration invalidates the entry only on the replica that handled it, so entries also expire:
+ * after orchestrator.template-cache.ttl-ms, or after not-ready-ttl-ms while the template is not
+ * registered yet, so other replicas stop recording new starts as NOT_REGISTERED soon after it is.
+ */
+@Component
+@Slf4j
+public class OrchestrationTemplateCache {
+
+    private static final String METRIC_NAME = "orchestration.template.cache";
+
+    private final OrchestrationTemplateRepository orchestrationTemplateRepository;
+    private final Map<String, Entry> templates = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final long ttlMs;
+    private final long notReadyTtlMs;
+    private final LongSupplier clock;
+
+    @Autowired
+    public OrchestrationTemplateCache(OrchestrationTemplateRepository orchestrationTemplateRepository,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${orchestrator.template-cache.ttl-ms:60000}") long ttlMs,
+                                      @Value("${orchestrator.template-cache.not-ready-ttl-ms:2000}") long notReadyTtlMs) {
+        this(orchestrationTemplateRepository, meterRegistry, ttlMs, notReadyTtlMs, System::currentTimeMillis);
+    }
+
+    OrchestrationTemplateCache(OrchestrationTemplateRepository orchestrationTemplateRepository,
+                               MeterRegistry meterRegistry, long ttlMs, long notReadyTtlMs, LongSupplier clock) {
+        this.orchestrationTemplateRepository = orchestrationTemplateRepository;
+        this.ttlMs = ttlMs;
+        this.notReadyTtlMs = notReadyTtlMs;
+        this.clock = clock;
+        this.hits = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "hit")
+                .description("Template cache lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME + ".requests")
+                .tag("result", "miss")
+                .description("Template cache lookups loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", templates, Map::size)
+                .description("Number of compiled templates held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get compiled template for orchestration, loading it from the database on a miss or once the
+     * entry expired. Missing templates are not cached.
+     */
+    public Optional<CompiledOrchestrationTemplate> get(String orchName) {
+        if (orchName == null) {
+            return Optional.empty();
+        }
+
+        long now = clock.getAsLong();
+        Entry cached = templates.get(orchName);
+        if (cached != null && now < cached.expiresAt()) {
+            hits.increment();
+            return Optional.of(cached.template());
+        }
+
+        misses.increment();
+        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository.findByOrchNameWithSteps(orchName);
+        if (templateOpt.isEmpty()) {
+            templates.remove(orchName);
+            return Optional.empty();
+        }
+
+        CompiledOrchestrationTemplate compiled = CompiledOrchestrationTemplate.compile(templateOpt.get());
+        long ttl = compiled.getStatus() == OrchestrationStatusEnum.SUCCESS ? ttlMs : notReadyTtlMs;
+        templates.put(orchName, new Entry(compiled, now + ttl));
+        log.debug("Compiled and cached orchestration template: {} with {} steps", orchName, compiled.getSteps().size());
+        return Optional.of(compiled);
+    }
+
+    /**
+     * Evict a template. When called inside a transaction the entry is evicted again
+     * after commit, so a concurrent reader cannot re-cache the pre-commit state.
+     */
+    public void invalidate(String orchName) {
+        if (orchName == null) {
+            return;
+        }
+
+        templates.remove(orchName);
+        log.debug("Invalidated cached orchestration template: {}", orchName);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    templates.remove(orchName);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        templates.clear();
+        log.info("Invalidated all cached orchestration templates");
+    }
+
+    public long getHitCount() {
+        return (long) hits.count();
+    }
+
+    public long getMissCount() {
+        return (long) misses.count();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private record Entry(CompiledOrchestrationTemplate template, long expiresAt) {
+    }
+}
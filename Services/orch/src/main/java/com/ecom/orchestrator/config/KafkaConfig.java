@@ -1,7 +1,11 @@
 package com.ecom.orchestrator.config;
 
 import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.messaging.deadletter.DeadLetterRouter;
 import com.ecom.orchestrator.serialization.ExecutionMessageDeserializer;
+import com.ecom.orchestrator.serialization.ExecutionMessageSerializer;
+import com.ecom.orchestrator.serialization.WireFormat;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -13,12 +17,15 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.messaging.Message;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,20 +39,66 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${orchestrator.kafka.listener.concurrency:1}")
+    private int listenerConcurrency;
+
+    @Value("${orchestrator.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${orchestrator.kafka.producer.delivery-timeout-ms:120000}")
+    private int deliveryTimeoutMs;
+
+    @Value("${orchestrator.kafka.producer.wire-format:json}")
+    private String wireFormat;
+
+    @Value("${orchestrator.dead-letter.retry-attempts:2}")
+    private long deadLetterRetryAttempts;
+
+    @Value("${orchestrator.dead-letter.retry-interval-ms:1000}")
+    private long deadLetterRetryIntervalMs;
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configProps = producerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ExecutionMessageSerializer.class);
+        // Validated here so a typo fails startup instead of the first send
+        configProps.put(WireFormat.CONFIG, WireFormat.fromName(wireFormat).name());
+        return withMetrics(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
+    /**
+     * Producer for raw payloads: dead-lettered records that could not be deserialized and parking lot replays
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> byteArrayProducerFactory() {
+        Map<String, Object> configProps = producerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return withMetrics(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
+    private Map<String, Object> producerProps() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // Idempotence keeps per-partition order with up to 5 requests in flight
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        // Let the outbox relay's sends share produce requests
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
 
         // Enable headers support
         configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, "");
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return configProps;
     }
 
     @Bean
@@ -53,6 +106,11 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    @Bean
+    public KafkaTemplate<String, byte[]> byteArrayKafkaTemplate() {
+        return new KafkaTemplate<>(byteArrayProducerFactory());
+    }
+
     @Bean
     public ConsumerFactory<String, ExecutionMessage> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -82,22 +140,126 @@ public class KafkaConfig {
         props.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, 300000); // 5 minutes
         props.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, 60000); // 1 minute
 
-        return new DefaultKafkaConsumerFactory<>(props);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(props));
+    }
+
+    /**
+     * Bind the client metrics of every consumer the factory creates, among them the
+     * kafka.consumer.fetch.manager.records.lag gauges per topic partition and records.lag.max
+     */
+    private <K, V> ConsumerFactory<K, V> withMetrics(DefaultKafkaConsumerFactory<K, V> factory) {
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    private <K, V> ProducerFactory<K, V> withMetrics(DefaultKafkaProducerFactory<K, V> factory) {
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Retries a failed record a few times, then moves it to its dead-letter topic and commits its offset.
+     * Deserialization failures are not retried.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(DeadLetterRouter deadLetterRouter) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(deadLetterRouter,
+                new FixedBackOff(deadLetterRetryIntervalMs, deadLetterRetryAttempts));
+        // Needed with manual ack modes, otherwise the recovered record is delivered again after a restart
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> kafkaListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
         ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE);
 
+        // Safe to raise above 1: records are keyed by flowId and the subscriber serializes each flow
+        factory.setConcurrency(listenerConcurrency);
+
         // Enable batch processing if needed
         factory.setBatchListener(false);
 
-        // Error handling
-        factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
+        // Failed records go to the dead-letter topic once retries are exhausted
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+
+        return factory;
+    }
+
+    /**
+     * Batch listener factory, used when orchestrator.kafka.listener.batch-enabled is true.
+     * A whole poll (up to MAX_POLL_RECORDS) is delivered at once and acknowledged once. A batch failed at
+     * one record is committed up to it, and that record is retried and dead-lettered like a single one.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> batchKafkaListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+
+        return factory;
+    }
+
+    /**
+     * Listener factory for orchestrator.kafka.listener.virtual-threads.enabled.
+     * Records are acknowledged from the virtual threads that handle them, possibly out of order;
+     * async acks defer each commit until the gap below it is filled. The error handler only sees
+     * deserialization failures here, handler failures are retried and dead-lettered by the subscriber.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> virtualThreadKafkaListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, ExecutionMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+
+        // The poll loops mostly wait on the network, so they run on virtual threads as well
+        SimpleAsyncTaskExecutor consumerExecutor = new SimpleAsyncTaskExecutor("kafka-consumer-vt-");
+        consumerExecutor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(consumerExecutor);
+
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(false);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+
+        return factory;
+    }
+
+    /**
+     * Consumer for dead-letter topics; values are read as raw bytes because they may not be valid messages
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // Pick up dead-letter topics created after startup within a minute
+        props.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, 60000);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(props));
+    }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> deadLetterKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(deadLetterConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        // A record that cannot be parked is retried until the database is back; it must not be skipped
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(5000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
         return factory;
     }
 
@@ -6,14 +6,19 @@ import java.util.Arrays;
 import java.util.List;
 
 import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_EVENT;
+import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_EXECUTION_START_BULK;
 
 @Component
 public class KafkaTopicConfig {
 
+    /**
+     * Topics the orchestrator-service listeners consume; created at startup if missing
+     */
     public List<String> getAllTopics() {
         return Arrays.asList(
 
-                ORCHESTRATOR_EVENT
+                ORCHESTRATOR_EVENT,
+                ORCHESTRATOR_EXECUTION_START_BULK
         );
     }
 }
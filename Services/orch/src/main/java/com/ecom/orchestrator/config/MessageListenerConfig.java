@@ -1,14 +1,18 @@
 package com.ecom.orchestrator.config;
 
 import com.ecom.orchestrator.messaging.interfaces.MessageSubscriber;
+import com.ecom.orchestrator.messaging.interfaces.TopicManager;
 import com.ecom.orchestrator.service.OrchestrationMessageHandler;
 import com.ecom.orchestrator.service.OrchestrationSingleEventMessageHandler;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_EVENT;
+import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_EXECUTION_START_BULK;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class MessageListenerConfig implements CommandLineRunner {
@@ -16,12 +20,22 @@ public class MessageListenerConfig implements CommandLineRunner {
     private final MessageSubscriber messageSubscriber;
     private final OrchestrationMessageHandler messageHandler;
     private final OrchestrationSingleEventMessageHandler singleEventMessageHandler;
+    private final KafkaTopicConfig kafkaTopicConfig;
+    private final TopicManager topicManager;
 
     @Override
     public void run(String... args) {
+        // The listeners pick up topics created here with their next metadata refresh
+        try {
+            topicManager.createTopics(kafkaTopicConfig.getAllTopics());
+        } catch (Exception e) {
+            log.error("Could not create listener topics {}: {}", kafkaTopicConfig.getAllTopics(), e.getMessage());
+        }
+
         // Subscribe to orchestration topics
         messageSubscriber.subscribe("orchestrator.registration", messageHandler);
         messageSubscriber.subscribe("orchestrator.execution.start", messageHandler);
+        messageSubscriber.subscribe(ORCHESTRATOR_EXECUTION_START_BULK, messageHandler);
         messageSubscriber.subscribe("orchestrator.response.result", messageHandler);
         messageSubscriber.subscribe(ORCHESTRATOR_EVENT, singleEventMessageHandler);
 
@@ -23,5 +23,8 @@ public final class RegistrationConstants {
     public static final String TOPIC_NAME_FORMAT = "orchestrator.%s.%s";
 
     public static  final  String ORCHESTRATOR_EVENT = "orchestrator.event";
+
+    // Bulk start events of clients that do not use the shared topic
+    public static final String ORCHESTRATOR_EXECUTION_START_BULK = "orchestrator.execution.start.bulk";
 }
 
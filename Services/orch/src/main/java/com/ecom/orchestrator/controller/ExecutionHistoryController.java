@@ -28,10 +28,12 @@ public class ExecutionHistoryController {
     @GetMapping("/orchestrations/{orchName}/executions")
     @Operation(
         summary = "Get execution history for a specific orchestration",
-        description = "Retrieve paginated list of all executions for an orchestration with optional filtering by status and date range"
+        description = "Retrieve paginated list of all executions for an orchestration with optional filtering by status and date range. " +
+                "Pass an empty cursor to page by keyset instead of page numbers; follow nextCursor for the next page"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Execution history retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
         @ApiResponse(responseCode = "404", description = "Orchestration not found")
     })
     public ResponseEntity<PagedExecutionHistoryResponseDto> getExecutionHistory(
@@ -44,6 +46,9 @@ public class ExecutionHistoryController {
             @Parameter(description = "Page size", example = "10")
             @RequestParam(defaultValue = "10") int size,
 
+            @Parameter(description = "Keyset cursor: empty for the first page, then nextCursor of the previous page")
+            @RequestParam(required = false) String cursor,
+
             @Parameter(description = "Field to sort by", example = "startTime")
             @RequestParam(required = false) String sortBy,
 
@@ -69,6 +74,7 @@ public class ExecutionHistoryController {
             ExecutionHistoryRequestDto request = ExecutionHistoryRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
                     .sortBy(sortBy)
                     .direction(direction)
                     .status(status)
@@ -88,6 +94,9 @@ public class ExecutionHistoryController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid execution history request for orchestration: {} - {}", orchName, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error retrieving execution history for orchestration: {}", orchName, e);
             return ResponseEntity.internalServerError().build();
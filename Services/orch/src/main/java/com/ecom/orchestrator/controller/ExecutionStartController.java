@@ -0,0 +1,62 @@
+package com.ecom.orchestrator.controller;
+
+import com.ecom.orchestrator.dto.BulkStartRequestDto;
+import com.ecom.orchestrator.dto.BulkStartResponseDto;
+import com.ecom.orchestrator.service.OrchestrationExecutorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Execution Start", description = "APIs for starting orchestration executions")
+public class ExecutionStartController {
+
+    private final OrchestrationExecutorService executorService;
+
+    @Value("${orchestrator.bulk-start.max-executions:10000}")
+    private int maxExecutions;
+
+    @PostMapping("/orchestrations/{orchName}/executions/bulk")
+    @Operation(summary = "Start executions in bulk",
+            description = "Start a batch of runs of one orchestration with batched inserts and outbox sends. " +
+                    "Executions whose flowId already has a run are skipped, so a request can be retried as is.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Executions started"),
+        @ApiResponse(responseCode = "400", description = "No executions or more than orchestrator.bulk-start.max-executions"),
+        @ApiResponse(responseCode = "404", description = "Orchestration not found")
+    })
+    public ResponseEntity<BulkStartResponseDto> startBulk(
+            @Parameter(description = "Orchestration name", example = "orderProcessing", required = true)
+            @PathVariable String orchName,
+            @RequestBody BulkStartRequestDto request) {
+
+        if (request.getExecutions() == null || request.getExecutions().isEmpty()
+                || request.getExecutions().size() > maxExecutions) {
+            log.warn("Rejected bulk start of {}: {} executions", orchName,
+                    request.getExecutions() == null ? 0 : request.getExecutions().size());
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<String> flowIds = executorService.startOrchestrations(orchName, request.getExecutions(), request.getHeaders());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(BulkStartResponseDto.builder().orchName(orchName).flowIds(flowIds).build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected bulk start: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
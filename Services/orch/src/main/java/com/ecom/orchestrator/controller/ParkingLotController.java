@@ -0,0 +1,94 @@
+package com.ecom.orchestrator.controller;
+
+import com.ecom.orchestrator.dto.PagedParkedMessageResponseDto;
+import com.ecom.orchestrator.dto.ParkedMessageDto;
+import com.ecom.orchestrator.dto.ParkingLotReplayRequestDto;
+import com.ecom.orchestrator.dto.ParkingLotReplayStatusDto;
+import com.ecom.orchestrator.service.ParkingLotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/parking-lot")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Parking Lot", description = "APIs for inspecting and replaying dead-lettered messages")
+public class ParkingLotController {
+
+    private final ParkingLotService parkingLotService;
+
+    @GetMapping("/messages")
+    @Operation(summary = "List parked messages", description = "Paginated list of parked messages, optionally filtered by status and original topic")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parked messages retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid status")
+    })
+    public ResponseEntity<PagedParkedMessageResponseDto> getParkedMessages(
+            @Parameter(description = "Filter by status (PARKED/REPLAYED)", example = "PARKED")
+            @RequestParam(required = false) String status,
+
+            @Parameter(description = "Filter by original topic", example = "orchestrator.response.result")
+            @RequestParam(required = false) String topic,
+
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+
+        try {
+            return ResponseEntity.ok(parkingLotService.findParkedMessages(status, topic, page, Math.min(size, 500)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid parking lot query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/messages/{id}")
+    @Operation(summary = "Get a parked message", description = "Parked message with payload, headers and the failure stack trace")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parked message retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Parked message not found")
+    })
+    public ResponseEntity<ParkedMessageDto> getParkedMessage(@PathVariable Long id) {
+        return parkingLotService.findParkedMessage(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/replays")
+    @Operation(summary = "Replay parked messages",
+            description = "Publish parked messages to their original topics at a throttled rate. The replay runs in the background.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Replay queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid rate or limit")
+    })
+    public ResponseEntity<ParkingLotReplayStatusDto> replay(@RequestBody ParkingLotReplayRequestDto request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(parkingLotService.startReplay(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected parking lot replay: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/replays/{replayId}")
+    @Operation(summary = "Get replay progress")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Replay status retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Replay not found on this instance")
+    })
+    public ResponseEntity<ParkingLotReplayStatusDto> getReplay(@PathVariable String replayId) {
+        return parkingLotService.getReplay(replayId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
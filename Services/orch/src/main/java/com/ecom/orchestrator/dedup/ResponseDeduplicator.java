@@ -0,0 +1,177 @@
+package com.ecom.orchestrator.dedup;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.repository.ProcessedResponseRepository;
+import com.ecom.orchestrator.util.MessageHeaderUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Drops worker responses that were already applied, keyed by flowId, step, phase and attempt.
+ * A bounded LRU of recently applied keys rejects most redeliveries before the run is loaded;
+ * the processed_response unique key catches the rest (restarts, evictions, other instances)
+ * inside the handling transaction.
+ * Responses without an attempt header come from workers that predate it and are never deduplicated.
+ */
+@Component
+@Slf4j
+public class ResponseDeduplicator {
+
+    public static final String ATTEMPT_HEADER = "attempt";
+    public static final String PHASE_DO = "DO";
+    public static final String PHASE_UNDO = "UNDO";
+
+    private final ProcessedResponseRepository processedResponseRepository;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final Map<String, Boolean> recent;
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter staleHits;
+
+    public ResponseDeduplicator(ProcessedResponseRepository processedResponseRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${orchestrator.dedup.enabled:true}") boolean enabled,
+                                @Value("${orchestrator.dedup.cache-size:100000}") int cacheSize,
+                                @Value("${orchestrator.dedup.retention-days:7}") int retentionDays) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("orchestrator.dedup.cache-size must be positive");
+        }
+        this.processedResponseRepository = processedResponseRepository;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.recent = new LinkedHashMap<>(Math.min(cacheSize, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.memoryHits = hitCounter(meterRegistry, "memory");
+        this.databaseHits = hitCounter(meterRegistry, "database");
+        this.staleHits = hitCounter(meterRegistry, "stale");
+    }
+
+    private static Counter hitCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("orchestration.response.duplicates")
+                .description("Worker responses dropped because they were already applied or superseded")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Phase a response belongs to; FAIL_STEP answers a DO call
+     */
+    public static String phaseOf(String action) {
+        return PHASE_UNDO.equalsIgnoreCase(action) ? PHASE_UNDO : PHASE_DO;
+    }
+
+    public static Integer attemptOf(ExecutionMessage message) {
+        return message != null ? MessageHeaderUtils.getInteger(message.getHeaders(), ATTEMPT_HEADER) : null;
+    }
+
+    /**
+     * Memory-only check, cheap enough to run on the listener thread before any database work
+     */
+    public boolean isDuplicate(String flowId, String stepName, String phase, Integer attempt) {
+        if (!enabled || attempt == null) {
+            return false;
+        }
+
+        boolean duplicate;
+        synchronized (recent) {
+            duplicate = recent.get(key(flowId, stepName, phase, attempt)) != null;
+        }
+        if (duplicate) {
+            memoryHits.increment();
+            log.info("Dropping duplicate response: flowId={}, stepName={}, phase={}, attempt={}",
+                    flowId, stepName, phase, attempt);
+        }
+        return duplicate;
+    }
+
+    /**
+     * Record the response as applied in the caller's transaction.
+     * If the transaction rolls back the claim goes with it, so a redelivery is processed again.
+     *
+     * @return false if the response was applied before and must be dropped
+     */
+    @Transactional
+    public boolean claim(String flowId, String stepName, String phase, Integer attempt) {
+        if (!enabled || attempt == null) {
+            return true;
+        }
+
+        String key = key(flowId, stepName, phase, attempt);
+        int inserted = processedResponseRepository.insertIfAbsent(flowId, stepName, phase, attempt, LocalDateTime.now());
+        if (inserted == 0) {
+            databaseHits.increment();
+            remember(key);
+            log.info("Dropping already processed response: flowId={}, stepName={}, phase={}, attempt={}",
+                    flowId, stepName, phase, attempt);
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(key);
+                }
+            });
+        } else {
+            remember(key);
+        }
+        return true;
+    }
+
+    /**
+     * A response for an earlier attempt arriving after the step moved on, e.g. a late answer to a timed out call
+     */
+    public boolean isStale(String flowId, Integer attempt, OrchestrationStepRun stepRun) {
+        if (!enabled || attempt == null || stepRun.getRetryCount() == null || attempt >= stepRun.getRetryCount()) {
+            return false;
+        }
+
+        staleHits.increment();
+        log.info("Dropping stale response: flowId={}, stepName={}, attempt={}, currentAttempt={}",
+                flowId, stepRun.getStepName(), attempt, stepRun.getRetryCount());
+        return true;
+    }
+
+    /**
+     * Forget durable markers past the retention window; by then no broker redelivery can arrive
+     */
+    @Scheduled(cron = "${orchestrator.dedup.purge-cron:0 45 0 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = processedResponseRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} processed response markers older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private void remember(String key) {
+        synchronized (recent) {
+            recent.put(key, Boolean.TRUE);
+        }
+    }
+
+    private static String key(String flowId, String stepName, String phase, int attempt) {
+        return flowId + '|' + stepName + '|' + phase + '|' + attempt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecom.orchestrator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Runs of one orchestration to start together; also the payload of a bulk start event")
+public class BulkStartRequestDto {
+
+    @Schema(description = "One entry per run; a flowId header is kept, otherwise a time-ordered one is assigned")
+    private List<ExecutionMessage> executions;
+
+    @Schema(description = "Headers added to every execution; an execution's own headers take precedence")
+    private Map<String, Object> headers;
+}
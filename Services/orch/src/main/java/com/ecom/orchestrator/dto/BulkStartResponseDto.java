@@ -0,0 +1,23 @@
+package com.ecom.orchestrator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Flow ids of a bulk start")
+public class BulkStartResponseDto {
+
+    @Schema(description = "Orchestration name", example = "orderProcessing")
+    private String orchName;
+
+    @Schema(description = "Flow id of every execution, in request order; ids that already had a run were not started again")
+    private List<String> flowIds;
+}
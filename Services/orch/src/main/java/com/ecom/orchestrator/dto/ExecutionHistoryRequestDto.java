@@ -16,6 +16,9 @@ import java.time.LocalDateTime;
 @Schema(description = "Request parameters for listing orchestration executions")
 public class ExecutionHistoryRequestDto {
 
+    @Schema(description = "Keyset cursor; empty for the first page, then nextCursor of the previous page. Replaces page when sorting by startTime")
+    private String cursor;
+
     @Schema(description = "Page number (0-based)", example = "0", defaultValue = "0")
     @Builder.Default
     private Integer page = 0;
@@ -40,4 +40,19 @@ public class ExecutionSummaryDto {
 
     @Schema(description = "Number of steps that failed", example = "0")
     private Integer failedSteps;
+
+    @Schema(description = "Number of steps of the execution", example = "3")
+    private Integer totalSteps;
+
+    @Schema(description = "Number of steps that were compensated", example = "0")
+    private Integer undoneSteps;
+
+    @Schema(description = "Execution duration in milliseconds, absent while running", example = "25333")
+    private Long durationMs;
+
+    @Schema(description = "Most recent step error", example = "Timed out waiting for worker response")
+    private String lastError;
+
+    @Schema(description = "Step that reported the most recent error", example = "createClient")
+    private String lastErrorStep;
 }
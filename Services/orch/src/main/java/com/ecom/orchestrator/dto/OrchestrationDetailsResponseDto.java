@@ -20,7 +20,7 @@ public class OrchestrationDetailsResponseDto {
     @Schema(description = "Orchestration name", example = "tenantCreation")
     private String orchName;
 
-    @Schema(description = "Orchestration type", example = "SEQUENTIAL", allowableValues = {"SEQUENTIAL", "SIMULTANEOUS"})
+    @Schema(description = "Orchestration type", example = "SEQUENTIAL", allowableValues = {"SEQUENTIAL", "SIMULTANEOUS", "DAG"})
     private String type;
 
     @Schema(description = "Overall orchestration status", example = "FAILED", allowableValues = {"REGISTERED", "PARTIALLY_REGISTERED", "FAILED"})
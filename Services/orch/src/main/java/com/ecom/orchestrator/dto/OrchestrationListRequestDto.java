@@ -34,7 +34,7 @@ public class OrchestrationListRequestDto {
     @Schema(description = "Filter by status", example = "REGISTERED", allowableValues = {"REGISTERED", "PARTIALLY_REGISTERED", "FAILED"})
     private String status;
 
-    @Schema(description = "Filter by type", example = "SEQUENTIAL", allowableValues = {"SEQUENTIAL", "SIMULTANEOUS"})
+    @Schema(description = "Filter by type", example = "SEQUENTIAL", allowableValues = {"SEQUENTIAL", "SIMULTANEOUS", "DAG"})
     private String type;
 
     @Schema(description = "Filter by orchestration name (case-insensitive contains)", example = "tenant")
@@ -19,7 +19,7 @@ public class OrchestrationRegistrationDto {
     @NotEmpty
     private String as; // "initiator" or "worker"
     @NotEmpty
-    private String type; // "sequential" or "simultaneous" (only for initiator)
+    private String type; // "sequential", "simultaneous" or "dag" (only for initiator)
     @NotEmpty
     @Valid
     private List<StepDefinitionDto> steps;
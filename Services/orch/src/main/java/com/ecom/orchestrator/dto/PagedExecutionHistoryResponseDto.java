@@ -1,5 +1,6 @@
 package com.ecom.orchestrator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,11 +12,13 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedExecutionHistoryResponseDto {
     
     private List<ExecutionSummaryDto> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements; // Not counted for cursor pages
+    private Integer totalPages;
+    private String nextCursor; // Absent on the last cursor page and for page-number requests
 }
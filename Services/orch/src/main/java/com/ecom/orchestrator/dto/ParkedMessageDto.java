@@ -0,0 +1,55 @@
+package com.ecom.orchestrator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A message parked after it could not be processed")
+public class ParkedMessageDto {
+
+    @Schema(description = "Parking lot id", example = "42")
+    private Long id;
+
+    @Schema(description = "Topic the message was consumed from", example = "orchestrator.response.result")
+    private String originalTopic;
+
+    private Integer originalPartition;
+
+    private Long originalOffset;
+
+    @Schema(description = "Record key, normally the flowId")
+    private String messageKey;
+
+    @Schema(description = "Original payload decoded as UTF-8")
+    private String payload;
+
+    private Map<String, String> headers;
+
+    @Schema(description = "Exception that made the message fail", example = "java.lang.IllegalStateException")
+    private String exceptionClass;
+
+    private String exceptionMessage;
+
+    @Schema(description = "Only included when a single message is requested")
+    private String stackTrace;
+
+    @Schema(description = "Parking status", example = "PARKED", allowableValues = {"PARKED", "REPLAYED"})
+    private String status;
+
+    private Integer replayCount;
+
+    private LocalDateTime parkedAt;
+
+    private LocalDateTime lastReplayedAt;
+}
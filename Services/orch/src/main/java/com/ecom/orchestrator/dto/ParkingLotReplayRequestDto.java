@@ -0,0 +1,29 @@
+package com.ecom.orchestrator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Selection of parked messages to publish again to their original topics")
+public class ParkingLotReplayRequestDto {
+
+    @Schema(description = "Replay exactly these parked messages; topic and limit are ignored when set")
+    private List<Long> ids;
+
+    @Schema(description = "Only replay messages parked from this topic", example = "orchestrator.response.result")
+    private String topic;
+
+    @Schema(description = "Maximum number of messages to replay", example = "5000")
+    private Integer limit;
+
+    @Schema(description = "Messages published per second", example = "200")
+    private Integer ratePerSecond;
+}
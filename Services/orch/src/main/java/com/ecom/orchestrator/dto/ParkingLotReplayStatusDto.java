@@ -0,0 +1,40 @@
+package com.ecom.orchestrator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress of a parking lot replay")
+public class ParkingLotReplayStatusDto {
+
+    private String replayId;
+
+    @Schema(description = "Replay state", example = "RUNNING", allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED"})
+    private String status;
+
+    private String topic;
+
+    private int ratePerSecond;
+
+    private int limit;
+
+    private long published;
+
+    private long failed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private String error;
+}
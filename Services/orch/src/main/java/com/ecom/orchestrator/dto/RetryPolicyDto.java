@@ -18,5 +18,11 @@ public class RetryPolicyDto {
 
     @Schema(description = "Backoff time between retries in milliseconds", example = "5000")
     private Long backoffMs;
+
+    @Schema(description = "Factor the backoff grows by with every further attempt", example = "2.0")
+    private Double backoffMultiplier;
+
+    @Schema(description = "Upper bound for the backoff in milliseconds", example = "300000")
+    private Long maxBackoffMs;
 }
 
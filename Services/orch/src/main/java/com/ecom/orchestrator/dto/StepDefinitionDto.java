@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,4 +26,10 @@ public class StepDefinitionDto {
     private String undoMethod;
 
     private Boolean sharedTopic = false;
+
+    private RetryPolicyDto retryPolicy; // Optional, service defaults apply when absent
+
+    private Long timeoutMs; // Optional, how long a DO call may go unanswered
+
+    private List<String> dependsOn; // Only for DAG initiators, steps that must succeed before this one starts
 }
@@ -1,5 +1,6 @@
 package com.ecom.orchestrator.entity;
 
+import com.ecom.orchestrator.util.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,9 +31,10 @@ import java.util.UUID;
 @AllArgsConstructor
 public class AuditEvent {
 
+    /** Native uuid: 16 bytes in the primary key instead of a 36 character string */
     @Id
-    @Column(name = "id", nullable = false, length = 36)
-    private String id;
+    @Column(name = "id", nullable = false)
+    private UUID id;
 
     @Column(name = "execution_id", nullable = false, length = 255)
     private String executionId;
@@ -82,7 +84,7 @@ public class AuditEvent {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = TimeOrderedUuid.next();
         }
         if (this.timestamp == null) {
             this.timestamp = LocalDateTime.now();
@@ -0,0 +1,21 @@
+package com.ecom.orchestrator.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link ExecutionStatusEnum} to its smallint code for the run and step run status columns
+ */
+@Converter
+public class ExecutionStatusConverter implements AttributeConverter<ExecutionStatusEnum, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(ExecutionStatusEnum status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public ExecutionStatusEnum convertToEntityAttribute(Short code) {
+        return code != null ? ExecutionStatusEnum.fromCode(code) : null;
+    }
+}
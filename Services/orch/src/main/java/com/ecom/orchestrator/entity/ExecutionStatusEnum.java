@@ -1,16 +1,48 @@
 package com.ecom.orchestrator.entity;
 
+/**
+ * Status of a run or step run. Stored as its smallint {@link #getCode() code}; codes are
+ * persisted, so a new status takes a new code and existing codes never change.
+ */
 public enum ExecutionStatusEnum {
-    PENDING,
-    IN_PROGRESS,
-    COMPLETED,
-    FAILED,
-    UNDOING,
-    UNDONE,
-    NOT_REGISTERED,
-    DO_SUCCESS,
-    DO_FAIL,
-    UNDO_SUCCESS,
-    UNDO_FAIL,
-    RETRY_EXHAUSTED
+    PENDING(0),
+    IN_PROGRESS(1),
+    COMPLETED(2),
+    FAILED(3),
+    UNDOING(4),
+    UNDONE(5),
+    NOT_REGISTERED(6),
+    DO_SUCCESS(7),
+    DO_FAIL(8),
+    UNDO_SUCCESS(9),
+    UNDO_FAIL(10),
+    RETRY_EXHAUSTED(11);
+
+    private static final ExecutionStatusEnum[] BY_CODE = new ExecutionStatusEnum[values().length];
+
+    static {
+        for (ExecutionStatusEnum status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final short code;
+
+    ExecutionStatusEnum(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no status has the code
+     */
+    public static ExecutionStatusEnum fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown execution status code: " + code);
+        }
+        return BY_CODE[code];
+    }
 }
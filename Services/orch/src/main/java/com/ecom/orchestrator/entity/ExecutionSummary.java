@@ -0,0 +1,70 @@
+package com.ecom.orchestrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalised read model of an orchestration run for the execution history.
+ * One row per run, rewritten by {@link com.ecom.orchestrator.summary.ExecutionSummaryProjector}
+ * in the transaction of every transition; the listing never touches runs or step runs.
+ */
+@Entity
+@Table(name = "execution_summary", indexes = {
+    @Index(name = "idx_execution_summary_orch_started", columnList = "orch_name, started_at, flow_id"),
+    @Index(name = "idx_execution_summary_orch_status_started", columnList = "orch_name, status, started_at, flow_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionSummary {
+
+    @Id
+    @Column(name = "flow_id", nullable = false, length = 255)
+    private String flowId;
+
+    @Column(name = "orch_name", nullable = false, length = 255)
+    private String orchName;
+
+    @Column(name = "initiator_service", length = 255)
+    private String initiatorService;
+
+    @Convert(converter = ExecutionStatusConverter.class)
+    @Column(name = "status", nullable = false, columnDefinition = "smallint")
+    private ExecutionStatusEnum status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "total_steps", nullable = false)
+    private Integer totalSteps;
+
+    @Column(name = "succeeded_steps", nullable = false)
+    private Integer succeededSteps;
+
+    @Column(name = "failed_steps", nullable = false)
+    private Integer failedSteps;
+
+    @Column(name = "undone_steps", nullable = false)
+    private Integer undoneSteps;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "last_error_step", length = 255)
+    private String lastErrorStep;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -8,17 +8,22 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Entity
-@Table(name = "orchestration_run")
+@Table(name = "orchestration_run", indexes = {
+    @Index(name = "idx_run_status_last_updated", columnList = "status, last_updated_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrchestrationRun {
 
+    /** Pooled sequence instead of IDENTITY, so inserts can be sent as JDBC batches */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orchestration_run_seq")
+    @SequenceGenerator(name = "orchestration_run_seq", sequenceName = "orchestration_run_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "flow_id", nullable = false, unique = true, length = 255)
@@ -27,8 +32,8 @@ public class OrchestrationRun {
     @Column(name = "orch_name", nullable = false, length = 255)
     private String orchName;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false, length = 50)
+    @Convert(converter = ExecutionStatusConverter.class)
+    @Column(name = "status", nullable = false, columnDefinition = "smallint")
     private ExecutionStatusEnum status;
 
     @Column(name = "correlation_id", length = 255)
@@ -47,9 +52,26 @@ public class OrchestrationRun {
     @Column(name = "last_updated_at")
     private LocalDateTime lastUpdatedAt;
 
+    /** Checked and incremented by every update; see RunStateMachine */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "orchestrationRun", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrchestrationStepRun> stepRuns;
 
+    /**
+     * Find a loaded step run by name without going back to the database
+     */
+    public Optional<OrchestrationStepRun> findStepRun(String stepName) {
+        if (stepRuns == null || stepName == null) {
+            return Optional.empty();
+        }
+        return stepRuns.stream()
+                .filter(stepRun -> stepName.equals(stepRun.getStepName()))
+                .findFirst();
+    }
+
     @PrePersist
     protected void onCreate() {
         this.startedAt = LocalDateTime.now();
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orchestration_step_run")
+@Table(name = "orchestration_step_run", indexes = {
+    @Index(name = "idx_step_run_deadline", columnList = "deadline_at"),
+    @Index(name = "uk_step_run_run_seq", columnList = "orchestration_run_id, seq", unique = true)
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +20,8 @@ import java.time.LocalDateTime;
 public class OrchestrationStepRun {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orchestration_step_run_seq")
+    @SequenceGenerator(name = "orchestration_step_run_seq", sequenceName = "orchestration_step_run_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,11 +31,12 @@ public class OrchestrationStepRun {
     @Column(name = "step_name", nullable = false, length = 255)
     private String stepName;
 
-    @Column(name = "seq", nullable = false)
+    /** Step key within the run together with the run id; unique per template, so no name join is needed */
+    @Column(name = "seq", nullable = false, columnDefinition = "smallint")
     private Integer seq;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false, length = 50)
+    @Convert(converter = ExecutionStatusConverter.class)
+    @Column(name = "status", nullable = false, columnDefinition = "smallint")
     private ExecutionStatusEnum status;
 
     @Column(name = "operation_type", length = 20)
@@ -70,4 +75,17 @@ public class OrchestrationStepRun {
     @Column(name = "rollback_triggered")
     @Builder.Default
     private Boolean rollbackTriggered = false;
+
+    /** When an unanswered DO call counts as failed; null while no call is outstanding */
+    @Column(name = "deadline_at")
+    private LocalDateTime deadlineAt;
+
+    /** Last DO message sent, kept so a timed-out call can be retried */
+    @Column(name = "last_message", columnDefinition = "TEXT")
+    private String lastMessage;
+
+    /** Checked and incremented by every update, so concurrent transitions of one step cannot both apply */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "orchestration_step_template")
@@ -46,6 +49,25 @@ import java.time.LocalDateTime;
     @Builder.Default
     private Integer maxRetries = 3;
 
+    @Column(name = "backoff_ms")
+    private Long backoffMs;
+
+    @Column(name = "backoff_multiplier")
+    private Double backoffMultiplier;
+
+    @Column(name = "max_backoff_ms")
+    private Long maxBackoffMs;
+
+    @Column(name = "timeout_ms")
+    private Long timeoutMs;
+
+    /**
+     * Names of the steps that must succeed before this one starts; only used by DAG templates
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "depends_on")
+    private List<String> dependsOn;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -2,5 +2,6 @@ package com.ecom.orchestrator.entity;
 
 public enum OrchestrationTypeEnum {
     SEQUENTIAL,
-    SIMULTANEOUS
+    SIMULTANEOUS,
+    DAG // Steps start as soon as all steps they depend on succeeded
 }
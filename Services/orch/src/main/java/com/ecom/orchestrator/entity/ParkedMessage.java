@@ -0,0 +1,78 @@
+package com.ecom.orchestrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message that could not be processed, copied from its dead-letter topic with the original
+ * payload bytes, headers and failure cause so it can be inspected and replayed
+ */
+@Entity
+@Table(name = "parked_message",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_parked_message_origin",
+                columnNames = {"original_topic", "original_partition", "original_offset"})
+    },
+    indexes = {
+        @Index(name = "idx_parked_message_status_id", columnList = "status, id"),
+        @Index(name = "idx_parked_message_topic", columnList = "original_topic")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkedMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "original_topic", nullable = false, length = 255)
+    private String originalTopic;
+
+    @Column(name = "original_partition", nullable = false)
+    private Integer originalPartition;
+
+    @Column(name = "original_offset", nullable = false)
+    private Long originalOffset;
+
+    @Column(name = "message_key", length = 255)
+    private String messageKey;
+
+    @Column(name = "payload", columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    /**
+     * Original record headers as a JSON object of UTF-8 strings
+     */
+    @Column(name = "headers", columnDefinition = "TEXT")
+    private String headers;
+
+    @Column(name = "exception_class", length = 500)
+    private String exceptionClass;
+
+    @Column(name = "exception_message", columnDefinition = "TEXT")
+    private String exceptionMessage;
+
+    @Column(name = "stack_trace", columnDefinition = "TEXT")
+    private String stackTrace;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ParkedMessageStatusEnum status;
+
+    @Builder.Default
+    @Column(name = "replay_count", nullable = false)
+    private Integer replayCount = 0;
+
+    @Column(name = "parked_at", nullable = false)
+    private LocalDateTime parkedAt;
+
+    @Column(name = "last_replayed_at")
+    private LocalDateTime lastReplayedAt;
+}
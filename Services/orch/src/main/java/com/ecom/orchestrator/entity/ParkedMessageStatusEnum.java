@@ -0,0 +1,6 @@
+package com.ecom.orchestrator.entity;
+
+public enum ParkedMessageStatusEnum {
+    PARKED,
+    REPLAYED
+}
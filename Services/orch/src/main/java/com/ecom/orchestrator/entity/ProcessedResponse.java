@@ -0,0 +1,47 @@
+package com.ecom.orchestrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker for a worker response that was applied to its step.
+ * The unique key makes a redelivered response for the same attempt fail to insert.
+ */
+@Entity
+@Table(name = "processed_response",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_processed_response", columnNames = {"flow_id", "step_name", "phase", "attempt"})
+    },
+    indexes = {
+        @Index(name = "idx_processed_response_processed_at", columnList = "processed_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedResponse {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flow_id", nullable = false, length = 255)
+    private String flowId;
+
+    @Column(name = "step_name", nullable = false, length = 255)
+    private String stepName;
+
+    @Column(name = "phase", nullable = false, length = 10)
+    private String phase;
+
+    @Column(name = "attempt", nullable = false)
+    private Integer attempt;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
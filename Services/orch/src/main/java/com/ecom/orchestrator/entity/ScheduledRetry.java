@@ -0,0 +1,69 @@
+package com.ecom.orchestrator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A step message waiting for its backoff to elapse before it is published again.
+ * Rows are claimed by one orchestrator instance at a time through a time-limited lease.
+ */
+@Entity
+@Table(name = "scheduled_retry",
+    uniqueConstraints = {
+        // UNDO restarts the step's attempt count, so its retries are told apart from the DO retries
+        @UniqueConstraint(name = "uk_scheduled_retry_flow_step_op_attempt",
+                columnNames = {"flow_id", "step_name", "operation_type", "attempt"})
+    },
+    indexes = {
+        @Index(name = "idx_scheduled_retry_due_at", columnList = "due_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledRetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flow_id", nullable = false, length = 255)
+    private String flowId;
+
+    @Column(name = "step_name", nullable = false, length = 255)
+    private String stepName;
+
+    @Column(name = "operation_type", nullable = false, length = 20)
+    private String operationType;
+
+    @Column(name = "attempt", nullable = false)
+    private Integer attempt;
+
+    @Column(name = "topic", nullable = false, length = 255)
+    private String topic;
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -55,7 +55,12 @@ public interface OrchestrationMapper {
     @Mapping(target = "topicName", expression = "java(generateTopicName(orchName, stepDto.getName()))")
     @Mapping(target = "doTopic", expression = "java(generateDoTopicName(orchName, stepDto.getName()))")
     @Mapping(target = "undoTopic", expression = "java(generateUndoTopicName(orchName, stepDto.getName()))")
-    @Mapping(target = "maxRetries", constant = "3")
+    @Mapping(target = "maxRetries", expression = "java(retryMaxRetries(stepDto))")
+    @Mapping(target = "backoffMs", expression = "java(stepDto.getRetryPolicy() != null ? stepDto.getRetryPolicy().getBackoffMs() : null)")
+    @Mapping(target = "backoffMultiplier", expression = "java(stepDto.getRetryPolicy() != null ? stepDto.getRetryPolicy().getBackoffMultiplier() : null)")
+    @Mapping(target = "maxBackoffMs", expression = "java(stepDto.getRetryPolicy() != null ? stepDto.getRetryPolicy().getMaxBackoffMs() : null)")
+    @Mapping(target = "timeoutMs", source = "stepDto.timeoutMs")
+    @Mapping(target = "dependsOn", source = "stepDto.dependsOn")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "sharedTopic", source = "sharedTopic")
     OrchestrationStepTemplate toStepTemplate(StepDefinitionDto stepDto,
@@ -145,6 +150,13 @@ public interface OrchestrationMapper {
         return String.format("orchestrator.%s.%s.undo", orchName, stepName);
     }
 
+    default Integer retryMaxRetries(StepDefinitionDto stepDto) {
+        if (stepDto.getRetryPolicy() == null || stepDto.getRetryPolicy().getMaxRetries() == null) {
+            return 3;
+        }
+        return stepDto.getRetryPolicy().getMaxRetries();
+    }
+
     default Map<String, Object> createRegisteredStepsMap(List<StepDefinitionDto> steps) {
         Map<String, Object> registeredStepsMap = new HashMap<>();
         registeredStepsMap.put("steps", steps);
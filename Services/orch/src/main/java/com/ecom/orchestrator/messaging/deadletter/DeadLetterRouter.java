@@ -0,0 +1,89 @@
+package com.ecom.orchestrator.messaging.deadletter;
+
+import com.ecom.orchestrator.messaging.interfaces.TopicManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes records that could not be processed to {@code <topic>.dead-letter}.
+ * Records that failed deserialization are forwarded with their original bytes, all others as
+ * deserialized; the original headers are kept and the failure cause is added as kafka_dlt-* headers.
+ * If publishing fails the exception propagates, so the source offset is not committed.
+ */
+@Component
+@Slf4j
+public class DeadLetterRouter implements ConsumerAwareRecordRecoverer {
+
+    public static final String DEAD_LETTER_SUFFIX = ".dead-letter";
+
+    private final DeadLetterPublishingRecoverer recoverer;
+    private final TopicManager topicManager;
+    private final MeterRegistry meterRegistry;
+
+    public DeadLetterRouter(KafkaTemplate<String, Object> kafkaTemplate,
+                            KafkaTemplate<String, byte[]> byteArrayKafkaTemplate,
+                            TopicManager topicManager,
+                            MeterRegistry meterRegistry) {
+        // The first template whose value type matches is used, so the raw one must come first
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, byteArrayKafkaTemplate);
+        templates.put(Object.class, kafkaTemplate);
+        this.recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> new TopicPartition(deadLetterTopic(record.topic()), -1));
+        this.topicManager = topicManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static String deadLetterTopic(String topic) {
+        return topic + DEAD_LETTER_SUFFIX;
+    }
+
+    @Override
+    public void accept(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception) {
+        String deadLetterTopic = deadLetterTopic(record.topic());
+        // Answered from the topic registry once the topic is known
+        topicManager.createTopic(deadLetterTopic);
+
+        recoverer.accept(record, consumer, exception);
+
+        String reason = isDeserializationFailure(exception) ? "deserialization" : "processing";
+        Counter.builder("orchestration.dead_letter.messages")
+                .description("Records moved to a dead-letter topic")
+                .tag("topic", record.topic())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.error("Moved record to dead-letter topic: topic={}, partition={}, offset={}, key={}, reason={}, cause={}",
+                record.topic(), record.partition(), record.offset(), record.key(), reason, rootMessage(exception));
+    }
+
+    private static boolean isDeserializationFailure(Throwable exception) {
+        for (Throwable t = exception; t != null; t = t.getCause()) {
+            if (t instanceof DeserializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable exception) {
+        Throwable root = exception;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecom.orchestrator.messaging.deadletter;
+
+import com.ecom.orchestrator.service.ParkingLotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies every record of the dead-letter topics into the parking lot.
+ * Failures are retried by the container until the record is stored, so nothing leaves the topic unparked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingLotListener {
+
+    private final ParkingLotService parkingLotService;
+
+    @KafkaListener(topicPattern = "${orchestrator.dead-letter.topic-pattern:.*\\.dead-letter}",
+            groupId = "orchestrator-parking-lot",
+            containerFactory = "deadLetterKafkaListenerContainerFactory",
+            autoStartup = "${orchestrator.dead-letter.parking-lot-enabled:true}")
+    public void onDeadLetter(ConsumerRecord<String, byte[]> record) {
+        log.debug("Parking dead-lettered record: topic={}, partition={}, offset={}",
+                record.topic(), record.partition(), record.offset());
+        parkingLotService.park(record);
+    }
+}
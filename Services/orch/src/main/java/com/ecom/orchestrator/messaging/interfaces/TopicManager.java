@@ -1,9 +1,16 @@
 package com.ecom.orchestrator.messaging.interfaces;
 
+import java.util.Collection;
+
 /**
  * Topic management interface for broker abstraction
  */
 public interface TopicManager {
     boolean topicExists(String topic);
     void createTopic(String topic);
+
+    /**
+     * Create the missing topics among the given ones in one round trip
+     */
+    void createTopics(Collection<String> topics);
 }
@@ -0,0 +1,147 @@
+package com.ecom.orchestrator.messaging.kafka;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes message handling serially per flowId.
+ * Each flowId is pinned to one of a fixed number of single-threaded lanes, so messages of one flow
+ * run one at a time and in submission order, while different flows run concurrently on other lanes.
+ * <p>
+ * With orchestrator.kafka.listener.virtual-threads.enabled every task runs on its own virtual thread
+ * instead, chained behind the previous task of the same flow. Concurrency is then bounded by
+ * max-in-flight permits rather than the lane count; submit blocks the caller while none are free.
+ */
+@Component
+@Slf4j
+public class FlowSerialExecutor {
+
+    private final ExecutorService[] lanes;
+    private final ExecutorService virtualExecutor;
+    private final Semaphore inFlight;
+    private final Map<String, CompletableFuture<Void>> flowTails = new ConcurrentHashMap<>();
+
+    public FlowSerialExecutor(int laneCount) {
+        this(laneCount, false, 0);
+    }
+
+    @Autowired
+    public FlowSerialExecutor(@Value("${orchestrator.kafka.listener.flow-lanes:16}") int laneCount,
+                              @Value("${orchestrator.kafka.listener.virtual-threads.enabled:false}") boolean virtualThreads,
+                              @Value("${orchestrator.kafka.listener.virtual-threads.max-in-flight:256}") int maxInFlight) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("flow-lanes must be at least 1, was " + laneCount);
+        }
+
+        if (virtualThreads) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("virtual-threads.max-in-flight must be at least 1, was " + maxInFlight);
+            }
+            this.lanes = new ExecutorService[0];
+            this.virtualExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("flow-vt-", 0).factory());
+            this.inFlight = new Semaphore(maxInFlight);
+            log.info("Initialized flow serial executor on virtual threads with {} in-flight permits", maxInFlight);
+            return;
+        }
+
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("flow-lane-" + i + "-"));
+        }
+        this.virtualExecutor = null;
+        this.inFlight = null;
+        log.info("Initialized flow serial executor with {} lanes", laneCount);
+    }
+
+    /**
+     * Submit a task for the given flow. Tasks without a flowId run on the calling thread.
+     */
+    public CompletableFuture<Void> submit(String flowId, Runnable task) {
+        if (flowId == null || flowId.isEmpty()) {
+            return CompletableFuture.runAsync(task, Runnable::run);
+        }
+        if (virtualExecutor != null) {
+            return submitVirtual(flowId, task);
+        }
+        return CompletableFuture.runAsync(task, lanes[laneFor(flowId)]);
+    }
+
+    private CompletableFuture<Void> submitVirtual(String flowId, Runnable task) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // A failed predecessor must not stop the flow, same as a lane keeps running after a failure
+        CompletableFuture<Void> next = flowTails.compute(flowId, (id, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, virtualExecutor)
+                : tail.handle((result, error) -> null).thenRunAsync(task, virtualExecutor));
+
+        next.whenComplete((result, error) -> {
+            inFlight.release();
+            // Only forget the tail if no later task was chained behind it meanwhile
+            flowTails.remove(flowId, next);
+        });
+        return next;
+    }
+
+    int laneFor(String flowId) {
+        return Math.floorMod(flowId.hashCode(), lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualExecutor != null;
+    }
+
+    /**
+     * Free in-flight permits in virtual thread mode, -1 in lane mode
+     */
+    public int availablePermits() {
+        return inFlight != null ? inFlight.availablePermits() : -1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            awaitTermination(lane);
+        }
+        if (virtualExecutor != null) {
+            awaitTermination(virtualExecutor);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.ecom.orchestrator.messaging.kafka;
 
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.util.MessageHeaderUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -17,13 +21,21 @@ public class KafkaMessagePublisher implements MessagePublisher {
 
     @Override
     public void send(String topic, ExecutionMessage message) {
-        try {
-            // Extract payload as byte array
+        sendAsync(topic, message);
+    }
 
+    /**
+     * Send and return the broker acknowledgement, for callers that must know the message was written
+     */
+    public CompletableFuture<SendResult<String, Object>> sendAsync(String topic, ExecutionMessage message) {
+        try {
+            // Key by flowId so every message of a flow lands on the same partition and keeps its order
+            String flowId = MessageHeaderUtils.getString(message.getHeaders(), "flowId", null);
 
             // Send the message with headers - Kafka will automatically include Spring Message headers
-            kafkaTemplate.send(topic, message);
-            log.debug("Message sent to topic: {} with headers: {}", topic, message.getHeaders());
+            CompletableFuture<SendResult<String, Object>> result = kafkaTemplate.send(topic, flowId, message);
+            log.debug("Message sent to topic: {} with key: {} and headers: {}", topic, flowId, message.getHeaders());
+            return result;
         } catch (Exception e) {
             log.error("Failed to send message to topic: {}", topic, e);
             throw new RuntimeException("Failed to send message", e);
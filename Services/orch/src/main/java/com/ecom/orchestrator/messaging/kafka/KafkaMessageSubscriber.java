@@ -2,15 +2,20 @@ package com.ecom.orchestrator.messaging.kafka;
 
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.dto.KafkaMessageDto;
+import com.ecom.orchestrator.messaging.deadletter.DeadLetterRouter;
 import com.ecom.orchestrator.messaging.interfaces.MessageHandler;
 import com.ecom.orchestrator.messaging.interfaces.MessageSubscriber;
+import com.ecom.orchestrator.util.MessageHeaderUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
@@ -23,8 +28,14 @@ import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
@@ -38,67 +49,294 @@ public class KafkaMessageSubscriber implements MessageSubscriber {
 
     private final Map<String, MessageHandler> handlers = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper;
+    private final FlowSerialExecutor flowSerialExecutor;
+    private final DeadLetterRouter deadLetterRouter;
+
+    @Value("${orchestrator.dead-letter.retry-attempts:2}")
+    private long retryAttempts;
+
+    @Value("${orchestrator.dead-letter.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
     @Override
     public void subscribe(String topic, MessageHandler handler) {
         handlers.put(topic, handler);
         log.info("Subscribed to topic: {} with handler: {}", topic, handler.getClass().getSimpleName());
     }
 
-    @KafkaListener(topics = "#{kafkaTopicConfig.getAllTopics()}", groupId = "orchestrator-service")
+    @KafkaListener(topics = "#{kafkaTopicConfig.getAllTopics()}", groupId = "orchestrator-service",
+            autoStartup = "#{!${orchestrator.kafka.listener.batch-enabled:false} && !${orchestrator.kafka.listener.virtual-threads.enabled:false}}")
     public void listen(@Payload ExecutionMessage event,
                       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                      @Header(name = KafkaHeaders.RECEIVED_KEY, required = false) String key,
                       org.springframework.messaging.MessageHeaders messageHeaders,
                       org.springframework.kafka.support.Acknowledgment acknowledgment) {
 
-        log.info("[KafkaMessageSubscriber] Received message from topic: {}", topic);
-        try {
-            log.info("[KafkaMessageSubscriber] Checking for deserialization error for topic: {}", topic);
-            // Check if there was a deserialization error
+        log.debug("[KafkaMessageSubscriber] Received message from topic: {}", topic);
+
+        if (event == null) {
+            // Only a missing value can come from a failed deserialization, so valid records skip the header scan
             if (hasDeserializationError(messageHeaders)) {
-                log.info("[KafkaMessageSubscriber] Deserialization error detected for topic: {}", topic);
                 handleDeserializationError(topic, messageHeaders);
-                return; // Discard the message and continue processing
+                throw new IllegalStateException("Undeserializable record from topic: " + topic);
             }
+            log.warn("Received empty or null payload from topic: {}, discarding message", topic);
+            acknowledge(acknowledgment, topic);
+            return;
+        }
 
-            log.info("[KafkaMessageSubscriber] Validating payload for topic: {}", topic);
-            // Validate payload
-            if (event == null) {
-                log.warn("Received empty or null payload from topic: {}, discarding message", topic);
-                return; // Discard empty messages
+        MessageHandler handler = handlers.get(topic);
+        if (handler == null) {
+            log.warn("No handler found for topic: {}, discarding message", topic);
+            acknowledge(acknowledgment, topic);
+            return;
+        }
+
+        log.debug("[KafkaMessageSubscriber] Found handler for topic: {}: {}", topic, handler.getClass().getSimpleName());
+        try {
+            // Messages of the same flow can arrive on different topics and consumer threads;
+            // the flow lane serializes them so they never update the same run concurrently
+            String flowId = resolveFlowId(key, event);
+            flowSerialExecutor.submit(flowId, () -> handler.onMessage(topic, event)).join();
+            log.debug("[KafkaMessageSubscriber] Successfully processed message from topic: {}", topic);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error processing message from topic: {}", topic, cause);
+            logMessageDetailsForDebugging(topic, messageHeaders,
+                    cause instanceof Exception ex ? ex : new RuntimeException(cause));
+            // The container's error handler retries the record and then moves it to the dead-letter topic
+            throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+        }
+
+        acknowledge(acknowledgment, topic);
+    }
+
+    private void acknowledge(org.springframework.kafka.support.Acknowledgment acknowledgment, String topic) {
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+            log.trace("Message acknowledged for topic: {}", topic);
+        }
+    }
+
+    /**
+     * Virtual thread listener, enabled with orchestrator.kafka.listener.virtual-threads.enabled.
+     * The record is handed to its flow without waiting, so the consumer keeps polling while handlers
+     * block on JDBC and sends; the flow executor's in-flight permits throttle it when handlers fall behind.
+     * Each record is acknowledged once handled or dead-lettered, and with async acks the container only
+     * commits an offset after every lower offset of the partition was acknowledged, so a crash or
+     * rebalance redelivers unfinished records instead of skipping them. A record whose dead-letter publish
+     * fails is never acknowledged before it was published.
+     */
+    @KafkaListener(topics = "#{kafkaTopicConfig.getAllTopics()}", groupId = "orchestrator-service",
+            containerFactory = "virtualThreadKafkaListenerContainerFactory",
+            autoStartup = "${orchestrator.kafka.listener.virtual-threads.enabled:false}")
+    public void listenAsync(ConsumerRecord<String, ExecutionMessage> record,
+                            org.springframework.kafka.support.Acknowledgment acknowledgment) {
+        if (record.value() == null) {
+            // ErrorHandlingDeserializer yields a null value and exception headers on failure
+            IllegalStateException failure = new IllegalStateException("Undeserializable record from topic: " + record.topic());
+            if (!deadLetter(record, failure)) {
+                // The container's error handler seeks back to the record and dead-letters it again
+                throw failure;
             }
+            acknowledge(acknowledgment, record.topic());
+            return;
+        }
+
+        MessageHandler handler = handlers.get(record.topic());
+        if (handler == null) {
+            log.warn("No handler found for topic: {}, discarding message", record.topic());
+            acknowledge(acknowledgment, record.topic());
+            return;
+        }
 
-            MessageHandler handler = handlers.get(topic);
-            if (handler != null) {
-                log.info("[KafkaMessageSubscriber] Found handler for topic: {}: {}", topic, handler.getClass().getSimpleName());
+        String flowId = resolveFlowId(record.key(), record.value());
+        flowSerialExecutor.submit(flowId, () -> {
+            try {
+                handleWithRetry(handler, record);
+            } catch (RuntimeException e) {
+                log.error("Error processing message from topic: {}, partition: {}, offset: {}",
+                        record.topic(), record.partition(), record.offset(), e);
+                if (!deadLetterUntilPublished(record, e)) {
+                    return;
+                }
+            }
+            acknowledge(acknowledgment, record.topic());
+        });
+    }
+
+    /**
+     * Publish a failed record to its dead-letter topic, trying again every retry interval while that fails.
+     * The waiting only parks the flow's virtual thread; the in-flight limit throttles the consumer if the
+     * dead-letter topic stays unreachable.
+     *
+     * @return false if interrupted first; the record stays unacknowledged and is delivered again after a restart
+     */
+    private boolean deadLetterUntilPublished(ConsumerRecord<String, ExecutionMessage> record, Exception cause) {
+        while (!deadLetter(record, cause)) {
+            try {
+                Thread.sleep(retryIntervalMs);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same retries the container error handler applies to the synchronous listener; sleeping here only
+     * parks a virtual thread and holds back later records of the same flow, not the partition
+     */
+    private void handleWithRetry(MessageHandler handler, ConsumerRecord<String, ExecutionMessage> record) {
+        for (long attempt = 1; ; attempt++) {
+            try {
+                handler.onMessage(record.topic(), record.value());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt > retryAttempts) {
+                    throw e;
+                }
+                log.warn("Retry {}/{} for topic: {}, partition: {}, offset: {} - Error: {}",
+                        attempt, retryAttempts, record.topic(), record.partition(), record.offset(), e.getMessage());
                 try {
-                    handler.onMessage(topic, event);
-                    log.info("[KafkaMessageSubscriber] Successfully processed message from topic: {}", topic);
-                } catch (Exception e) {
-                    log.error("Error processing message from topic: {}, message will be discarded", topic, e);
-                    // Log message details for debugging (without exposing sensitive data)
-                    logMessageDetailsForDebugging(topic, messageHeaders, e);
-                    // Optionally send to dead letter topic
-                   // sendToDeadLetterTopic(topic, payload, messageHeaders, e);
+                    Thread.sleep(retryIntervalMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
                 }
+            }
+        }
+    }
+
+    /**
+     * Batch listener, enabled with orchestrator.kafka.listener.batch-enabled unless virtual threads are enabled,
+     * so only one listener consumes the orchestrator-service group.
+     * Records of a poll are grouped by flowId; each flow's records are handled in order on its flow lane
+     * while different flows run in parallel. Offsets are committed once after the whole batch is handled.
+     * A record that can neither be handled nor dead-lettered stops its flow and fails the batch at that record:
+     * the container's error handler commits the records before it and delivers it and the rest again.
+     */
+    @KafkaListener(topics = "#{kafkaTopicConfig.getAllTopics()}", groupId = "orchestrator-service",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{${orchestrator.kafka.listener.batch-enabled:false} && !${orchestrator.kafka.listener.virtual-threads.enabled:false}}")
+    public void listenBatch(List<ConsumerRecord<String, ExecutionMessage>> records,
+                            org.springframework.kafka.support.Acknowledgment acknowledgment) {
+        long start = System.currentTimeMillis();
+        Map<String, List<ConsumerRecord<String, ExecutionMessage>>> recordsByFlow = new LinkedHashMap<>();
+        List<ConsumerRecord<String, ExecutionMessage>> recordsWithoutFlow = new ArrayList<>();
+
+        for (ConsumerRecord<String, ExecutionMessage> record : records) {
+            // ErrorHandlingDeserializer yields a null value on failure; dispatch dead-letters it in partition order
+            String flowId = record.value() != null ? resolveFlowId(record.key(), record.value()) : null;
+            if (flowId == null || flowId.isEmpty()) {
+                recordsWithoutFlow.add(record);
             } else {
-                log.warn("No handler found for topic: {}, discarding message", topic);
+                recordsByFlow.computeIfAbsent(flowId, k -> new ArrayList<>()).add(record);
             }
-        } finally {
-            log.info("[KafkaMessageSubscriber] Acknowledging message for topic: {}", topic);
-            // ALWAYS acknowledge the message to prevent redelivery on restart
-            // This is crucial - even failed messages should be acked to avoid infinite reprocessing
-            if (acknowledgment != null) {
-                acknowledgment.acknowledge();
-                log.trace("Message acknowledged for topic: {}", topic);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(recordsByFlow.size());
+        recordsByFlow.forEach((flowId, flowRecords) ->
+                futures.add(flowSerialExecutor.submit(flowId, () -> flowRecords.forEach(this::dispatch))));
+
+        List<BatchListenerFailedException> failures = new ArrayList<>();
+        // Records without a flow (e.g. registration) keep partition order on the listener thread
+        try {
+            recordsWithoutFlow.forEach(this::dispatch);
+        } catch (BatchListenerFailedException e) {
+            failures.add(e);
+        }
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof BatchListenerFailedException failure)) {
+                    throw e;
+                }
+                failures.add(failure);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            // Every record before the first failed one was handled or dead-lettered
+            throw failures.stream()
+                    .min(Comparator.comparingInt(failure -> records.indexOf(failure.getRecord())))
+                    .orElseThrow();
+        }
+
+        // Commit the whole batch once; failed records were moved to their dead-letter topic
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+        log.info("[KafkaMessageSubscriber] Processed batch of {} records across {} flows in {} ms",
+                records.size(), recordsByFlow.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Dispatch a single record of a batch to its topic handler
+     *
+     * @throws BatchListenerFailedException if the record failed and could not be dead-lettered either
+     */
+    private void dispatch(ConsumerRecord<String, ExecutionMessage> record) {
+        Exception failure;
+        if (record.value() == null) {
+            failure = new IllegalStateException("Undeserializable record");
+        } else {
+            MessageHandler handler = handlers.get(record.topic());
+            if (handler == null) {
+                log.warn("No handler found for topic: {}, discarding message", record.topic());
+                return;
+            }
+
+            try {
+                handler.onMessage(record.topic(), record.value());
+                return;
+            } catch (Exception e) {
+                log.error("Error processing message from topic: {}, partition: {}, offset: {}",
+                        record.topic(), record.partition(), record.offset(), e);
+                failure = e;
             }
         }
+
+        if (!deadLetter(record, failure)) {
+            throw new BatchListenerFailedException("Failed to dead-letter record from topic: " + record.topic(),
+                    failure, record);
+        }
+    }
+
+    /**
+     * Move a failed record to its dead-letter topic
+     *
+     * @return false if publishing failed; the record must then not be acknowledged
+     */
+    private boolean deadLetter(ConsumerRecord<String, ExecutionMessage> record, Exception cause) {
+        try {
+            deadLetterRouter.accept(record, cause);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to dead-letter record from topic: {}, partition: {}, offset: {}",
+                    record.topic(), record.partition(), record.offset(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Resolve flowId from the record key, falling back to the flowId header
+     */
+    private String resolveFlowId(String key, ExecutionMessage event) {
+        if (key != null && !key.isEmpty()) {
+            return key;
+        }
+        return MessageHeaderUtils.getString(event.getHeaders(), "flowId", null);
     }
 
     /**
      * Check if the message has deserialization errors
      */
     private boolean hasDeserializationError(org.springframework.messaging.MessageHeaders headers) {
-        log.info("[KafkaMessageSubscriber] Checking for deserialization error in headers");
+        log.debug("[KafkaMessageSubscriber] Checking for deserialization error in headers");
         // Check for ErrorHandlingDeserializer error headers using multiple possible header names
         Object deserializationException = headers.get(VALUE_DESERIALIZER_EXCEPTION_HEADER);
         Object keyDeserializationException = headers.get(KEY_DESERIALIZER_EXCEPTION_HEADER);
@@ -143,31 +381,28 @@ public class KafkaMessageSubscriber implements MessageSubscriber {
 
         if (valueException instanceof DeserializationException) {
             DeserializationException deserEx = (DeserializationException) valueException;
-            log.error("Failed to deserialize message value from topic: {}. Error: {}. Original data length: {} bytes. Message discarded.",
+            log.error("Failed to deserialize message value from topic: {}. Error: {}. Original data length: {} bytes.",
                      topic, deserEx.getMessage(), deserEx.getData() != null ? deserEx.getData().length : 0);
         } else if (valueException instanceof Exception) {
             Exception ex = (Exception) valueException;
-            log.error("Failed to deserialize message value from topic: {}. Error: {}. Message discarded.",
+            log.error("Failed to deserialize message value from topic: {}. Error: {}.",
                      topic, ex.getMessage());
         }
 
         if (keyException instanceof DeserializationException) {
             DeserializationException deserEx = (DeserializationException) keyException;
-            log.error("Failed to deserialize message key from topic: {}. Error: {}. Message discarded.",
+            log.error("Failed to deserialize message key from topic: {}. Error: {}.",
                      topic, deserEx.getMessage());
         } else if (keyException instanceof Exception) {
             Exception ex = (Exception) keyException;
-            log.error("Failed to deserialize message key from topic: {}. Error: {}. Message discarded.",
+            log.error("Failed to deserialize message key from topic: {}. Error: {}.",
                      topic, ex.getMessage());
         }
 
         // If no specific exceptions found, log general deserialization error
         if (valueException == null && keyException == null) {
-            log.error("Deserialization error detected for topic: {} but no exception details found in headers. Message discarded.", topic);
+            log.error("Deserialization error detected for topic: {} but no exception details found in headers.", topic);
         }
-
-        // Increment metrics for monitoring
-        logDeserializationMetrics(topic);
     }
 
     /**
@@ -211,43 +446,4 @@ public class KafkaMessageSubscriber implements MessageSubscriber {
 
         return sanitizedHeaders;
     }
-
-    /**
-     * Send failed messages to a dead letter topic for later analysis
-     */
-    private void sendToDeadLetterTopic(String originalTopic, byte[] payload,
-                                      org.springframework.messaging.MessageHeaders headers, Exception error) {
-        log.info("[KafkaMessageSubscriber] Sending message to dead letter topic for original topic: {}", originalTopic);
-        try {
-            String deadLetterTopic = originalTopic + ".dead-letter";
-
-            // Create enhanced headers with error information
-            Map<String, Object> enhancedHeaders = new HashMap<>(headers);
-            enhancedHeaders.put("original_topic", originalTopic);
-            enhancedHeaders.put("error_message", error.getMessage());
-            enhancedHeaders.put("error_class", error.getClass().getName());
-            enhancedHeaders.put("failed_at", System.currentTimeMillis());
-
-            log.info("Sending failed message to dead letter topic: {}", deadLetterTopic);
-
-            // Note: You would need to inject KafkaTemplate or MessagePublisher here
-            // For now, just log the intent
-            log.debug("Dead letter message would be sent to: {} with enhanced headers", deadLetterTopic);
-
-        } catch (Exception dlqException) {
-            log.error("Failed to send message to dead letter topic for original topic: {}", originalTopic, dlqException);
-        }
-    }
-
-    /**
-     * Log metrics for monitoring deserialization failures
-     */
-    private void logDeserializationMetrics(String topic) {
-        log.info("[KafkaMessageSubscriber] Logging deserialization metrics for topic: {}", topic);
-        // This could integrate with your metrics system (Micrometer, Prometheus, etc.)
-        log.info("Deserialization failure recorded for topic: {}", topic);
-
-        // Example: Increment counter for monitoring
-        // meterRegistry.counter("kafka.deserialization.failures", "topic", topic).increment();
-    }
 }
@@ -1,52 +1,152 @@
 package com.ecom.orchestrator.messaging.kafka;
 
 import com.ecom.orchestrator.messaging.interfaces.TopicManager;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
-import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Kafka topic administration backed by an in-memory registry of known topic names.
+ * The registry is loaded on first use, refreshed periodically and updated on every create,
+ * so existence checks do not fetch cluster metadata. A topic created elsewhere may be missing
+ * until the next refresh; creating it again is harmless because an existing topic counts as created.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaTopicManager implements TopicManager {
 
     private final AdminClient adminClient;
+    private final int partitions;
+    private final short replicationFactor;
+    private final long adminTimeoutMs;
+
+    private volatile Set<String> knownTopics;
+
+    public KafkaTopicManager(AdminClient adminClient,
+                             @Value("${orchestrator.kafka.topics.partitions:3}") int partitions,
+                             @Value("${orchestrator.kafka.topics.replication-factor:1}") short replicationFactor,
+                             @Value("${orchestrator.kafka.topics.admin-timeout-ms:10000}") long adminTimeoutMs) {
+        if (partitions < 1 || replicationFactor < 1) {
+            throw new IllegalArgumentException("orchestrator.kafka.topics partitions and replication-factor must be positive");
+        }
+        this.adminClient = adminClient;
+        this.partitions = partitions;
+        this.replicationFactor = replicationFactor;
+        this.adminTimeoutMs = adminTimeoutMs;
+    }
 
     @Override
     public boolean topicExists(String topic) {
-        try {
-            ListTopicsResult listTopicsResult = adminClient.listTopics();
-            Set<String> topics = listTopicsResult.names().get();
-            return topics.contains(topic);
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("Error checking if topic exists: {}", topic, e);
-            return false;
-        }
+        Set<String> topics = registry();
+        return topics != null && topics.contains(topic);
     }
 
     @Override
     public void createTopic(String topic) {
-        if (topicExists(topic)) {
-            log.debug("Topic already exists: {}", topic);
+        createTopics(List.of(topic));
+    }
+
+    /**
+     * Create all missing topics with a single admin request
+     */
+    @Override
+    public void createTopics(Collection<String> topics) {
+        List<NewTopic> missing = new ArrayList<>();
+        for (String topic : new LinkedHashSet<>(topics)) {
+            if (topicExists(topic)) {
+                log.debug("Topic already exists: {}", topic);
+            } else {
+                missing.add(new NewTopic(topic, partitions, replicationFactor));
+            }
+        }
+        if (missing.isEmpty()) {
             return;
         }
 
+        CreateTopicsResult result = adminClient.createTopics(missing);
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<String, KafkaFuture<Void>> entry : result.values().entrySet()) {
+            String topic = entry.getKey();
+            try {
+                entry.getValue().get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+                log.info("Created topic: {} with {} partitions", topic, partitions);
+                remember(topic);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TopicExistsException) {
+                    log.debug("Topic was created concurrently: {}", topic);
+                    remember(topic);
+                } else {
+                    log.error("Error creating topic: {}", topic, e.getCause());
+                    failed.add(topic);
+                }
+            } catch (TimeoutException e) {
+                log.error("Timed out creating topic: {}", topic);
+                failed.add(topic);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while creating topics: " + topics, e);
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            throw new RuntimeException("Failed to create topics: " + failed);
+        }
+    }
+
+    /**
+     * Reload the registry from the cluster, picking up topics created or deleted by others
+     */
+    @Scheduled(initialDelayString = "${orchestrator.kafka.topics.refresh-ms:60000}",
+            fixedDelayString = "${orchestrator.kafka.topics.refresh-ms:60000}")
+    public void refresh() {
         try {
-            NewTopic newTopic = new NewTopic(topic, 3, (short) 1);
-            CreateTopicsResult result = adminClient.createTopics(Collections.singletonList(newTopic));
-            result.all().get();
-            log.info("Created topic: {}", topic);
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("Error creating topic: {}", topic, e);
-            throw new RuntimeException("Failed to create topic: " + topic, e);
+            Set<String> topics = ConcurrentHashMap.newKeySet();
+            topics.addAll(adminClient.listTopics().names().get(adminTimeoutMs, TimeUnit.MILLISECONDS));
+            knownTopics = topics;
+            log.debug("Refreshed topic registry: {} topics", topics.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Could not refresh topic registry, keeping {} known topics: {}",
+                    knownTopics != null ? knownTopics.size() : 0, e.getMessage());
+        }
+    }
+
+    /**
+     * The registry, loaded on first use; null while the cluster has never been reachable
+     */
+    private Set<String> registry() {
+        if (knownTopics == null) {
+            synchronized (this) {
+                if (knownTopics == null) {
+                    refresh();
+                }
+            }
+        }
+        return knownTopics;
+    }
+
+    private void remember(String topic) {
+        Set<String> topics = knownTopics;
+        if (topics != null) {
+            topics.add(topic);
         }
     }
 }
@@ -0,0 +1,94 @@
+package com.ecom.orchestrator.messaging.outbox;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OutboxMessage;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.messaging.kafka.KafkaMessagePublisher;
+import com.ecom.orchestrator.repository.OutboxMessageRepository;
+import com.ecom.orchestrator.util.MessageHeaderUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publisher used by the orchestration flow. Inside a transaction the message is written to the
+ * outbox table and only published by {@link OutboxRelay} once the transaction committed, so a
+ * rollback never leaves a message behind and a commit never loses one.
+ * Outside a transaction messages go straight to the broker.
+ */
+@Component
+@Primary
+@Slf4j
+public class OutboxMessagePublisher implements MessagePublisher {
+
+    private static final Object WAKE_UP_REGISTERED = new Object();
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final KafkaMessagePublisher kafkaMessagePublisher;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxMessagePublisher(OutboxMessageRepository outboxMessageRepository,
+                                  KafkaMessagePublisher kafkaMessagePublisher,
+                                  OutboxRelay outboxRelay,
+                                  ObjectMapper objectMapper,
+                                  @Value("${orchestrator.outbox.enabled:true}") boolean enabled) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.kafkaMessagePublisher = kafkaMessagePublisher;
+        this.outboxRelay = outboxRelay;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void send(String topic, ExecutionMessage message) {
+        if (!enabled || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            kafkaMessagePublisher.send(topic, message);
+            return;
+        }
+
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .topic(topic)
+                .messageKey(MessageHeaderUtils.getString(message.getHeaders(), "flowId", null))
+                .message(toJson(message))
+                .build());
+        wakeRelayAfterCommit();
+        log.debug("Message queued in outbox for topic: {}", topic);
+    }
+
+    /**
+     * Let the relay publish right after commit instead of waiting for its next poll; registered once per transaction
+     */
+    private void wakeRelayAfterCommit() {
+        if (TransactionSynchronizationManager.hasResource(WAKE_UP_REGISTERED)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WAKE_UP_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WAKE_UP_REGISTERED);
+            }
+        });
+    }
+
+    private String toJson(ExecutionMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox message", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.ecom.orchestrator.messaging.outbox;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OutboxMessage;
+import com.ecom.orchestrator.messaging.kafka.KafkaMessagePublisher;
+import com.ecom.orchestrator.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes outbox rows to Kafka in batches on a dedicated thread.
+ * A batch is claimed with SKIP LOCKED and a lease in one short transaction, sent without holding
+ * a connection, and the acknowledged rows are deleted in a second transaction. Rows whose send
+ * failed, or that were claimed by an instance that died, are sent again once their lease expires,
+ * so delivery is at least once. The relay is woken after every commit that wrote to the outbox
+ * and otherwise polls.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final KafkaMessagePublisher kafkaMessagePublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long leaseMs;
+    private final long sendTimeoutMs;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchLatency;
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                       KafkaMessagePublisher kafkaMessagePublisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${orchestrator.outbox.enabled:true}") boolean enabled,
+                       @Value("${orchestrator.outbox.batch-size:200}") int batchSize,
+                       @Value("${orchestrator.outbox.poll-interval-ms:200}") long pollIntervalMs,
+                       @Value("${orchestrator.outbox.lease-ms:30000}") long leaseMs,
+                       @Value("${orchestrator.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.kafkaMessagePublisher = kafkaMessagePublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+        this.leaseMs = leaseMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        this.published = Counter.builder("orchestration.outbox.messages")
+                .tag("result", "published")
+                .description("Outbox messages acknowledged by the broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("orchestration.outbox.messages")
+                .tag("result", "failed")
+                .description("Outbox messages whose send failed and will be retried")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("orchestration.outbox.batch.latency")
+                .description("Time to claim, send and delete one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Transactional outbox disabled, messages are sent directly");
+            return;
+        }
+
+        running = true;
+        relayThread = new Thread(this::runLoop, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+        log.info("Outbox relay started: batchSize={}", batchSize);
+    }
+
+    /**
+     * Signal that new rows were committed
+     */
+    public void wakeUp() {
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) {
+                log.error("Outbox relay iteration failed", e);
+                relayed = 0;
+            }
+
+            if (relayed < batchSize) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Claim, send and delete one batch
+     *
+     * @return number of rows claimed
+     */
+    int relayBatch() {
+        List<OutboxMessage> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage row : batch) {
+            sends.add(send(row));
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                acknowledged.add(batch.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("Outbox message not acknowledged, retrying after lease: id={}, topic={}",
+                        batch.get(i).getId(), batch.get(i).getTopic(), e);
+            }
+        }
+
+        if (!acknowledged.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.deleteByIds(acknowledged));
+            published.increment(acknowledged.size());
+        }
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claim() {
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> pending = outboxMessageRepository.lockPending(now, batchSize);
+            if (!pending.isEmpty()) {
+                outboxMessageRepository.updateLease(pending.stream().map(OutboxMessage::getId).toList(),
+                        now.plus(leaseMs, ChronoUnit.MILLIS));
+            }
+            return pending;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private CompletableFuture<?> send(OutboxMessage row) {
+        try {
+            ExecutionMessage message = objectMapper.readValue(row.getMessage(), ExecutionMessage.class);
+            return kafkaMessagePublisher.sendAsync(row.getTopic(), message);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (relayThread == null) {
+            return;
+        }
+
+        LockSupport.unpark(relayThread);
+        try {
+            relayThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
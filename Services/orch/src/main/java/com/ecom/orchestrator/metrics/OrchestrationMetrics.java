@@ -0,0 +1,102 @@
+package com.ecom.orchestrator.metrics;
+
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the engine's hot paths, tagged by orchName, stepName and outcome.
+ * Tag values come from registered templates only, so the number of series is bounded by the
+ * steps that exist. Every timer's count doubles as the throughput of its path.
+ * Values are taken when a method is called and recorded once the transition commits, so a transition
+ * retried after a conflict is counted once.
+ */
+@Component
+public class OrchestrationMetrics {
+
+    public static final String PHASE_DO = "do";
+    public static final String PHASE_UNDO = "undo";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Meter.MeterProvider<Timer> responseTimers;
+    private final Meter.MeterProvider<Timer> stepDurations;
+    private final Meter.MeterProvider<Timer> dispatchTimers;
+    private final Meter.MeterProvider<Timer> flowDurations;
+
+    public OrchestrationMetrics(MeterRegistry meterRegistry) {
+        this.responseTimers = Timer.builder("orchestration.step.response")
+                .description("Time spent applying a worker response to the run")
+                .withRegistry(meterRegistry);
+        this.stepDurations = Timer.builder("orchestration.step.duration")
+                .description("Time from the first DO call of a step to its final response, retries included")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.dispatchTimers = Timer.builder("orchestration.step.dispatch")
+                .description("Time spent handing a DO or UNDO message to the publisher")
+                .withRegistry(meterRegistry);
+        this.flowDurations = Timer.builder("orchestration.flow.duration")
+                .description("End-to-end latency of a run from start to its terminal status")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    /**
+     * Record the handling of a DO or UNDO response that was applied to its step
+     *
+     * @param startNanos {@link System#nanoTime()} taken when the response was picked up
+     */
+    public void recordResponse(String phase, OrchestrationRun run, OrchestrationStepRun stepRun,
+                               boolean success, long startNanos) {
+        String outcome = outcome(success);
+        Timer responseTimer = responseTimers.withTags("phase", phase, "orchName", orchName(run),
+                "stepName", stepRun.getStepName(), "outcome", outcome);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        TransactionCallbacks.afterCommit(() -> responseTimer.record(elapsedNanos, TimeUnit.NANOSECONDS));
+
+        if (PHASE_DO.equals(phase) && stepRun.getStartedAt() != null) {
+            Timer stepDuration = stepDurations.withTags("orchName", orchName(run), "stepName", stepRun.getStepName(),
+                    "outcome", outcome);
+            Duration duration = Duration.between(stepRun.getStartedAt(), LocalDateTime.now());
+            TransactionCallbacks.afterCommit(() -> stepDuration.record(duration));
+        }
+    }
+
+    public void recordDispatch(String phase, OrchestrationRun run, String stepName, boolean sent, long startNanos) {
+        Timer dispatchTimer = dispatchTimers.withTags("phase", phase, "orchName", orchName(run), "stepName", stepName,
+                "outcome", sent ? "sent" : "failed");
+        long elapsedNanos = System.nanoTime() - startNanos;
+        TransactionCallbacks.afterCommit(() -> dispatchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Record a run that reached COMPLETED, UNDONE or FAILED; the outcome tag is the status
+     */
+    public void recordFlowFinished(OrchestrationRun run) {
+        if (run.getStartedAt() == null) {
+            return;
+        }
+        LocalDateTime end = run.getCompletedAt() != null ? run.getCompletedAt() : LocalDateTime.now();
+        Timer flowDuration = flowDurations.withTags("orchName", orchName(run),
+                "outcome", run.getStatus().name().toLowerCase(Locale.ROOT));
+        Duration duration = Duration.between(run.getStartedAt(), end);
+        TransactionCallbacks.afterCommit(() -> flowDuration.record(duration));
+    }
+
+    private static String outcome(boolean success) {
+        return success ? "success" : "failure";
+    }
+
+    private static String orchName(OrchestrationRun run) {
+        return run.getOrchName() != null ? run.getOrchName() : UNKNOWN;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.AuditArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditArchiveRepository extends JpaRepository<AuditArchive, Long> {
+
+    boolean existsByPartitionName(String partitionName);
+
+    /**
+     * Find archives whose time range overlaps [from, to)
+     */
+    @Query("SELECT aa FROM AuditArchive aa WHERE aa.rangeEnd > :from AND aa.rangeStart < :to " +
+           "ORDER BY aa.rangeStart ASC")
+    List<AuditArchive> findOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    List<AuditArchive> findAllByOrderByRangeStartAsc();
+}
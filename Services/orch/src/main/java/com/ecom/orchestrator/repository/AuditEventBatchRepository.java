@@ -0,0 +1,146 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.AuditEntityTypeEnum;
+import com.ecom.orchestrator.entity.AuditEvent;
+import com.ecom.orchestrator.entity.AuditEventTypeEnum;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Plain JDBC access to audit_event for batch inserts and partition scans.
+ * Bypasses the persistence context so audit inserts never join orchestration transactions.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class AuditEventBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_event " +
+            "(id, execution_id, orch_name, entity_type, step_name, event_type, status, timestamp, reason, " +
+            "details, created_by, service_name, operation_type, duration_ms, retry_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?)";
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_event_[a-z0-9_]+");
+    private static final TypeReference<Map<String, Object>> DETAILS_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Insert all events with a single JDBC batch
+     */
+    public void insertBatch(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setString(2, event.getExecutionId());
+            ps.setString(3, event.getOrchName());
+            ps.setString(4, event.getEntityType() != null ? event.getEntityType().name() : null);
+            ps.setString(5, event.getStepName());
+            ps.setString(6, event.getEventType() != null ? event.getEventType().name() : null);
+            ps.setString(7, event.getStatus());
+            ps.setTimestamp(8, Timestamp.valueOf(event.getTimestamp()));
+            ps.setString(9, event.getReason());
+            ps.setString(10, toJson(event));
+            ps.setString(11, event.getCreatedBy());
+            ps.setString(12, event.getServiceName());
+            ps.setString(13, event.getOperationType());
+            if (event.getDurationMs() != null) {
+                ps.setLong(14, event.getDurationMs());
+            } else {
+                ps.setNull(14, Types.BIGINT);
+            }
+            if (event.getRetryCount() != null) {
+                ps.setInt(15, event.getRetryCount());
+            } else {
+                ps.setNull(15, Types.INTEGER);
+            }
+        });
+    }
+
+    /**
+     * Stream every row of one audit_event partition, ordered by execution and time.
+     * Call inside a transaction so the driver uses a cursor instead of loading the partition in memory.
+     */
+    public void streamPartition(String partitionName, Consumer<AuditEvent> consumer) {
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + partitionName);
+        }
+
+        String sql = "SELECT * FROM " + partitionName + " ORDER BY execution_id, timestamp";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private AuditEvent mapRow(ResultSet rs) throws SQLException {
+        String entityType = rs.getString("entity_type");
+        String eventType = rs.getString("event_type");
+        long durationMs = rs.getLong("duration_ms");
+        boolean durationNull = rs.wasNull();
+        int retryCount = rs.getInt("retry_count");
+        boolean retryNull = rs.wasNull();
+
+        return AuditEvent.builder()
+                .id(rs.getObject("id", UUID.class))
+                .executionId(rs.getString("execution_id"))
+                .orchName(rs.getString("orch_name"))
+                .entityType(entityType != null ? AuditEntityTypeEnum.valueOf(entityType) : null)
+                .stepName(rs.getString("step_name"))
+                .eventType(eventType != null ? AuditEventTypeEnum.valueOf(eventType) : null)
+                .status(rs.getString("status"))
+                .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                .reason(rs.getString("reason"))
+                .details(fromJson(rs.getString("details")))
+                .createdBy(rs.getString("created_by"))
+                .serviceName(rs.getString("service_name"))
+                .operationType(rs.getString("operation_type"))
+                .durationMs(durationNull ? null : durationMs)
+                .retryCount(retryNull ? null : retryCount)
+                .build();
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, DETAILS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse audit details: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(AuditEvent event) {
+        if (event.getDetails() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getDetails());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize audit details: executionId={}, eventType={}",
+                    event.getExecutionId(), event.getEventType(), e);
+            return null;
+        }
+    }
+}
@@ -9,9 +9,10 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface AuditEventRepository extends JpaRepository<AuditEvent, String> {
+public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID> {
 
     /**
      * Find all audit events for a specific execution, ordered by timestamp
@@ -61,7 +62,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, String>
     List<AuditEvent> findFailedEventsByExecutionId(@Param("executionId") String executionId);
 
     /**
-     * Delete old audit events (for cleanup/archiving)
+     * Delete old audit events row by row (for cleanup/archiving).
+     * Only for non-partitioned deployments; with partitioning enabled retention drops whole partitions.
      */
     void deleteByTimestampBefore(LocalDateTime timestamp);
 }
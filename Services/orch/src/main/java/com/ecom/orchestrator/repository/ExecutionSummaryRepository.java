@@ -0,0 +1,164 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.ExecutionSummary;
+import com.ecom.orchestrator.summary.ExecutionSummaryCursor;
+import com.ecom.orchestrator.summary.ExecutionSummaryFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC access to execution_summary. Statuses are stored as their smallint codes, like in the run tables.
+ * Writes are upserts so a transition never has to read the row first; reads are keyset or
+ * offset pages served from the (orch_name, [status,] started_at, flow_id) indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExecutionSummaryRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO execution_summary " +
+            "(flow_id, orch_name, initiator_service, status, started_at, completed_at, duration_ms, " +
+            "total_steps, succeeded_steps, failed_steps, undone_steps, last_error, last_error_step, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (flow_id) DO UPDATE SET " +
+            "initiator_service = COALESCE(EXCLUDED.initiator_service, execution_summary.initiator_service), " +
+            "status = EXCLUDED.status, completed_at = EXCLUDED.completed_at, duration_ms = EXCLUDED.duration_ms, " +
+            "total_steps = EXCLUDED.total_steps, succeeded_steps = EXCLUDED.succeeded_steps, " +
+            "failed_steps = EXCLUDED.failed_steps, undone_steps = EXCLUDED.undone_steps, " +
+            // A retry that succeeds clears the step's error; the run keeps showing the last one
+            "last_error = COALESCE(EXCLUDED.last_error, execution_summary.last_error), " +
+            "last_error_step = COALESCE(EXCLUDED.last_error_step, execution_summary.last_error_step), " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String SELECT_COLUMNS = "SELECT flow_id, orch_name, initiator_service, status, started_at, " +
+            "completed_at, duration_ms, total_steps, succeeded_steps, failed_steps, undone_steps, last_error, " +
+            "last_error_step, updated_at FROM execution_summary";
+
+    private static final RowMapper<ExecutionSummary> ROW_MAPPER = (rs, rowNum) -> ExecutionSummary.builder()
+            .flowId(rs.getString("flow_id"))
+            .orchName(rs.getString("orch_name"))
+            .initiatorService(rs.getString("initiator_service"))
+            .status(ExecutionStatusEnum.fromCode(rs.getShort("status")))
+            .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+            .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+            .durationMs(rs.getObject("duration_ms", Long.class))
+            .totalSteps(rs.getInt("total_steps"))
+            .succeededSteps(rs.getInt("succeeded_steps"))
+            .failedSteps(rs.getInt("failed_steps"))
+            .undoneSteps(rs.getInt("undone_steps"))
+            .lastError(rs.getString("last_error"))
+            .lastErrorStep(rs.getString("last_error_step"))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert or overwrite the rows of all given runs with a single JDBC batch
+     */
+    public void upsertAll(List<ExecutionSummary> summaries) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, summaries, summaries.size(), (ps, summary) -> {
+            ps.setString(1, summary.getFlowId());
+            ps.setString(2, summary.getOrchName());
+            ps.setString(3, summary.getInitiatorService());
+            ps.setShort(4, summary.getStatus().getCode());
+            ps.setTimestamp(5, Timestamp.valueOf(summary.getStartedAt()));
+            ps.setTimestamp(6, summary.getCompletedAt() != null ? Timestamp.valueOf(summary.getCompletedAt()) : null);
+            if (summary.getDurationMs() != null) {
+                ps.setLong(7, summary.getDurationMs());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            ps.setInt(8, summary.getTotalSteps());
+            ps.setInt(9, summary.getSucceededSteps());
+            ps.setInt(10, summary.getFailedSteps());
+            ps.setInt(11, summary.getUndoneSteps());
+            ps.setString(12, summary.getLastError());
+            ps.setString(13, summary.getLastErrorStep());
+            ps.setTimestamp(14, Timestamp.valueOf(summary.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * Next page by start time after the cursor (or the first page without one).
+     * Costs one index range scan of limit rows no matter how deep the page is.
+     */
+    public List<ExecutionSummary> findByStartedAt(ExecutionSummaryFilter filter, ExecutionSummaryCursor after,
+                                                  boolean ascending, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        appendWhere(sql, args, filter);
+        if (after != null) {
+            sql.append(ascending ? " AND (started_at, flow_id) > (?, ?)" : " AND (started_at, flow_id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.startedAt()));
+            args.add(after.flowId());
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        sql.append(" ORDER BY started_at ").append(direction).append(", flow_id ").append(direction);
+        sql.append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Offset page sorted by any listed column, for callers that need page numbers
+     *
+     * @param sortColumn one of started_at, completed_at, status (by code), flow_id
+     */
+    public List<ExecutionSummary> findPage(ExecutionSummaryFilter filter, String sortColumn, boolean ascending,
+                                           int offset, int limit) {
+        String column = switch (sortColumn) {
+            case "started_at", "completed_at", "status", "flow_id" -> sortColumn;
+            default -> throw new IllegalArgumentException("Unsupported sort column: " + sortColumn);
+        };
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        appendWhere(sql, args, filter);
+        String direction = ascending ? "ASC" : "DESC";
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (!"flow_id".equals(column)) {
+            sql.append(", flow_id ").append(direction);
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public long count(ExecutionSummaryFilter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM execution_summary");
+        appendWhere(sql, args, filter);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    private static void appendWhere(StringBuilder sql, List<Object> args, ExecutionSummaryFilter filter) {
+        sql.append(" WHERE orch_name = ?");
+        args.add(filter.orchName());
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().getCode());
+        }
+        if (filter.fromDate() != null) {
+            sql.append(" AND started_at >= ?");
+            args.add(Timestamp.valueOf(filter.fromDate()));
+        }
+        if (filter.toDate() != null) {
+            sql.append(" AND started_at <= ?");
+            args.add(Timestamp.valueOf(filter.toDate()));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
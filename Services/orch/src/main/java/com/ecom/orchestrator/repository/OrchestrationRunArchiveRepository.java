@@ -0,0 +1,185 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to the cold run tables, orchestration_run_archive and orchestration_step_run_archive.
+ * They are created by migration-run-archive.sql, and every statement names its columns, so a column added to
+ * a hot table but not to its archive table or the lists below is reported by {@link #verifyTables()}
+ * instead of being dropped or shifted. Archived runs are read back as detached entities and are never
+ * written through the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrchestrationRunArchiveRepository {
+
+    static final List<String> RUN_COLUMNS = List.of(
+            "id", "flow_id", "orch_name", "status", "correlation_id", "triggered_by",
+            "started_at", "completed_at", "last_updated_at", "version");
+
+    static final List<String> STEP_RUN_COLUMNS = List.of(
+            "id", "orchestration_run_id", "step_name", "seq", "status", "operation_type", "worker_service",
+            "error_message", "failure_reason", "retry_count", "max_retries", "last_retry_at", "started_at",
+            "completed_at", "undone_at", "rollback_triggered", "deadline_at", "last_message", "version");
+
+    private static final String RUN_COLUMN_LIST = String.join(", ", RUN_COLUMNS);
+    private static final String STEP_RUN_COLUMN_LIST = String.join(", ", STEP_RUN_COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Check that the hot and archive tables have exactly the columns that are moved between them
+     *
+     * @return false if the archive tables have not been created yet
+     * @throws IllegalStateException if a table has a column the lists above do not name, or lacks one they do
+     */
+    public boolean verifyTables() {
+        boolean runs = verifyColumns("orchestration_run", "orchestration_run_archive", RUN_COLUMNS);
+        boolean stepRuns = verifyColumns("orchestration_step_run", "orchestration_step_run_archive", STEP_RUN_COLUMNS);
+        return runs && stepRuns;
+    }
+
+    private boolean verifyColumns(String table, String archiveTable, List<String> columns) {
+        Set<String> archiveColumns = findColumns(archiveTable);
+        if (archiveColumns.isEmpty()) {
+            return false;
+        }
+        requireColumns(table, findColumns(table), columns);
+        requireColumns(archiveTable, archiveColumns, columns);
+        return true;
+    }
+
+    private Set<String> findColumns(String table) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ?",
+                String.class, table));
+    }
+
+    private static void requireColumns(String table, Set<String> actual, List<String> expected) {
+        if (!actual.equals(new HashSet<>(expected))) {
+            throw new IllegalStateException("Columns of " + table + " " + actual + " do not match the archived columns "
+                    + expected + "; a migration changing a run table must change its archive table and "
+                    + "OrchestrationRunArchiveRepository as well");
+        }
+    }
+
+    /**
+     * Lock up to {@code limit} finished runs last changed before {@code cutoff}, oldest first.
+     * Runs with a DO call still awaiting its answer are left alone. Call inside a transaction;
+     * runs locked by a concurrent transition are skipped and picked up by a later pass.
+     */
+    public List<Long> lockArchivable(Collection<ExecutionStatusEnum> statuses, LocalDateTime cutoff, int limit) {
+        Short[] codes = statuses.stream().map(ExecutionStatusEnum::getCode).toArray(Short[]::new);
+        return jdbcTemplate.query(
+                "SELECT r.id FROM orchestration_run r " +
+                "WHERE r.status = ANY (?) AND r.last_updated_at < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM orchestration_step_run s " +
+                "                WHERE s.orchestration_run_id = r.id AND s.deadline_at IS NOT NULL) " +
+                "ORDER BY r.last_updated_at LIMIT ? FOR UPDATE OF r SKIP LOCKED",
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("smallint", codes));
+                    ps.setTimestamp(2, Timestamp.valueOf(cutoff));
+                    ps.setInt(3, limit);
+                },
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * Move the runs and their step runs to the archive tables, step runs first because they reference
+     * their run. Call in the transaction that locked the runs.
+     *
+     * @return number of runs moved
+     */
+    public int moveToArchive(List<Long> runIds) {
+        if (runIds.isEmpty()) {
+            return 0;
+        }
+        PreparedStatementSetter ids = ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", runIds.toArray()));
+        jdbcTemplate.update("WITH moved AS (DELETE FROM orchestration_step_run " +
+                "WHERE orchestration_run_id = ANY (?) RETURNING " + STEP_RUN_COLUMN_LIST + ") " +
+                "INSERT INTO orchestration_step_run_archive (" + STEP_RUN_COLUMN_LIST + ") " +
+                "SELECT " + STEP_RUN_COLUMN_LIST + " FROM moved", ids);
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM orchestration_run " +
+                "WHERE id = ANY (?) RETURNING " + RUN_COLUMN_LIST + ") " +
+                "INSERT INTO orchestration_run_archive (" + RUN_COLUMN_LIST + ") " +
+                "SELECT " + RUN_COLUMN_LIST + " FROM moved", ids);
+    }
+
+    public Optional<OrchestrationRun> findByFlowId(String flowId) {
+        return jdbcTemplate.query("SELECT " + RUN_COLUMN_LIST + " FROM orchestration_run_archive WHERE flow_id = ?",
+                (rs, rowNum) -> mapRun(rs), flowId).stream().findFirst();
+    }
+
+    /**
+     * Archived run with its step runs, ordered by seq
+     */
+    public Optional<OrchestrationRun> findByFlowIdWithSteps(String flowId) {
+        Optional<OrchestrationRun> runOpt = findByFlowId(flowId);
+        runOpt.ifPresent(run -> run.setStepRuns(new ArrayList<>(jdbcTemplate.query(
+                "SELECT " + STEP_RUN_COLUMN_LIST + " FROM orchestration_step_run_archive " +
+                "WHERE orchestration_run_id = ? ORDER BY seq",
+                (rs, rowNum) -> mapStepRun(rs, run), run.getId()))));
+        return runOpt;
+    }
+
+    private OrchestrationRun mapRun(ResultSet rs) throws SQLException {
+        return OrchestrationRun.builder()
+                .id(rs.getLong("id"))
+                .flowId(rs.getString("flow_id"))
+                .orchName(rs.getString("orch_name"))
+                .status(ExecutionStatusEnum.fromCode(rs.getShort("status")))
+                .correlationId(rs.getString("correlation_id"))
+                .triggeredBy(rs.getString("triggered_by"))
+                .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .lastUpdatedAt(toLocalDateTime(rs.getTimestamp("last_updated_at")))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private OrchestrationStepRun mapStepRun(ResultSet rs, OrchestrationRun run) throws SQLException {
+        return OrchestrationStepRun.builder()
+                .id(rs.getLong("id"))
+                .orchestrationRun(run)
+                .stepName(rs.getString("step_name"))
+                .seq((int) rs.getShort("seq"))
+                .status(ExecutionStatusEnum.fromCode(rs.getShort("status")))
+                .operationType(rs.getString("operation_type"))
+                .workerService(rs.getString("worker_service"))
+                .errorMessage(rs.getString("error_message"))
+                .failureReason(rs.getString("failure_reason"))
+                .retryCount(rs.getInt("retry_count"))
+                .maxRetries(rs.getInt("max_retries"))
+                .lastRetryAt(toLocalDateTime(rs.getTimestamp("last_retry_at")))
+                .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .undoneAt(toLocalDateTime(rs.getTimestamp("undone_at")))
+                .rollbackTriggered(rs.getBoolean("rollback_triggered"))
+                .deadlineAt(toLocalDateTime(rs.getTimestamp("deadline_at")))
+                .lastMessage(rs.getString("last_message"))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +26,10 @@ public interface OrchestrationRunRepository extends JpaRepository<OrchestrationR
 
     @Query("SELECT or FROM OrchestrationRun or LEFT JOIN FETCH or.stepRuns WHERE or.flowId = :flowId")
     Optional<OrchestrationRun> findByFlowIdWithSteps(@Param("flowId") String flowId);
+
+    /**
+     * Flow ids of the given ones that already have a run, so a redelivered bulk start skips them
+     */
+    @Query("SELECT r.flowId FROM OrchestrationRun r WHERE r.flowId IN :flowIds")
+    List<String> findExistingFlowIds(@Param("flowIds") Collection<String> flowIds);
 }
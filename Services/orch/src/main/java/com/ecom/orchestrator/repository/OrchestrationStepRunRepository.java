@@ -3,8 +3,13 @@ package com.ecom.orchestrator.repository;
 import com.ecom.orchestrator.entity.OrchestrationStepRun;
 import com.ecom.orchestrator.entity.ExecutionStatusEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +23,37 @@ public interface OrchestrationStepRunRepository extends JpaRepository<Orchestrat
     List<OrchestrationStepRun> findByStatus(ExecutionStatusEnum status);
 
     List<OrchestrationStepRun> findByOrchestrationRunFlowIdAndStatus(String flowId, ExecutionStatusEnum status);
+
+    /**
+     * Lock in-progress step runs whose deadline has passed, oldest first.
+     * Served by the deadline index, which only holds steps with an outstanding call;
+     * rows locked by another instance are skipped.
+     */
+    default List<ExpiredStepRun> lockExpired(LocalDateTime now, int limit) {
+        return lockExpired(now, ExecutionStatusEnum.IN_PROGRESS.getCode(), limit);
+    }
+
+    /**
+     * Status is stored as its smallint code, which native queries have to compare against
+     */
+    @Query(value = "SELECT sr.id AS \"id\", r.flow_id AS \"flowId\", r.orch_name AS \"orchName\", " +
+                   "sr.step_name AS \"stepName\", sr.retry_count AS \"retryCount\" " +
+                   "FROM orchestration_step_run sr JOIN orchestration_run r ON r.id = sr.orchestration_run_id " +
+                   "WHERE sr.deadline_at <= :now AND sr.status = :status " +
+                   "ORDER BY sr.deadline_at LIMIT :limit FOR UPDATE OF sr SKIP LOCKED",
+           nativeQuery = true)
+    List<ExpiredStepRun> lockExpired(@Param("now") LocalDateTime now, @Param("status") short status,
+                                     @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OrchestrationStepRun sr SET sr.deadlineAt = :deadline WHERE sr.id IN :ids")
+    int updateDeadlines(@Param("ids") Collection<Long> ids, @Param("deadline") LocalDateTime deadline);
+
+    interface ExpiredStepRun {
+        Long getId();
+        String getFlowId();
+        String getOrchName();
+        String getStepName();
+        Integer getRetryCount();
+    }
 }
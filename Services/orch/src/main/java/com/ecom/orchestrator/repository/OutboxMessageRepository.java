@@ -0,0 +1,33 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Lock unpublished messages in write order, skipping rows leased or locked by another relay
+     */
+    @Query(value = "SELECT * FROM outbox_message " +
+                   "WHERE lease_until IS NULL OR lease_until < :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> lockPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage om SET om.leaseUntil = :leaseUntil WHERE om.id IN :ids")
+    int updateLease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage om WHERE om.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
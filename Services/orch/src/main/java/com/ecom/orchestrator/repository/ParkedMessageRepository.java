@@ -0,0 +1,53 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.ParkedMessage;
+import com.ecom.orchestrator.entity.ParkedMessageStatusEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ParkedMessageRepository extends JpaRepository<ParkedMessage, Long> {
+
+    boolean existsByOriginalTopicAndOriginalPartitionAndOriginalOffset(String originalTopic, Integer originalPartition,
+                                                                      Long originalOffset);
+
+    long countByStatus(ParkedMessageStatusEnum status);
+
+    @Query("SELECT p FROM ParkedMessage p " +
+           "WHERE (:status IS NULL OR p.status = :status) " +
+           "AND (:topic IS NULL OR p.originalTopic = :topic)")
+    Page<ParkedMessage> search(@Param("status") ParkedMessageStatusEnum status,
+                               @Param("topic") String topic,
+                               Pageable pageable);
+
+    /**
+     * Next page of parked messages after the given id, in id order
+     */
+    @Query("SELECT p FROM ParkedMessage p " +
+           "WHERE p.status = :status AND p.id > :afterId " +
+           "AND (:topic IS NULL OR p.originalTopic = :topic) " +
+           "ORDER BY p.id")
+    List<ParkedMessage> findNextBatch(@Param("status") ParkedMessageStatusEnum status,
+                                      @Param("topic") String topic,
+                                      @Param("afterId") long afterId,
+                                      Pageable pageable);
+
+    @Query("SELECT p FROM ParkedMessage p WHERE p.status = :status AND p.id IN :ids ORDER BY p.id")
+    List<ParkedMessage> findByStatusAndIdIn(@Param("status") ParkedMessageStatusEnum status,
+                                            @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ParkedMessage p SET p.status = com.ecom.orchestrator.entity.ParkedMessageStatusEnum.REPLAYED, " +
+           "p.replayCount = p.replayCount + 1, p.lastReplayedAt = :replayedAt " +
+           "WHERE p.id IN :ids AND p.status = com.ecom.orchestrator.entity.ParkedMessageStatusEnum.PARKED")
+    int markReplayed(@Param("ids") Collection<Long> ids, @Param("replayedAt") LocalDateTime replayedAt);
+}
@@ -0,0 +1,34 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.ProcessedResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedResponseRepository extends JpaRepository<ProcessedResponse, Long> {
+
+    /**
+     * Record a response unless it was recorded before.
+     *
+     * @return 1 if the row was inserted, 0 if the response is a duplicate
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_response (flow_id, step_name, phase, attempt, processed_at) " +
+            "VALUES (:flowId, :stepName, :phase, :attempt, :processedAt) " +
+            "ON CONFLICT ON CONSTRAINT uk_processed_response DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("flowId") String flowId,
+                       @Param("stepName") String stepName,
+                       @Param("phase") String phase,
+                       @Param("attempt") int attempt,
+                       @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedResponse p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.ecom.orchestrator.repository;
+
+import com.ecom.orchestrator.entity.ScheduledRetry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledRetryRepository extends JpaRepository<ScheduledRetry, Long> {
+
+    /**
+     * Lock due retries that are not leased by another instance.
+     * Rows locked by a concurrent claim are skipped rather than waited for.
+     */
+    @Query(value = "SELECT * FROM scheduled_retry " +
+                   "WHERE due_at <= :now AND (lease_until IS NULL OR lease_until < :now) " +
+                   "ORDER BY due_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ScheduledRetry> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    boolean existsByFlowIdAndStepNameAndOperationTypeAndAttempt(String flowId, String stepName, String operationType,
+                                                               Integer attempt);
+}
@@ -0,0 +1,215 @@
+package com.ecom.orchestrator.retry;
+
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.entity.ScheduledRetry;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.messaging.kafka.FlowSerialExecutor;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.repository.ScheduledRetryRepository;
+import com.ecom.orchestrator.service.AuditService;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.timeout.StepTimeouts;
+import com.ecom.orchestrator.util.TransactionCallbacks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Publishes scheduled retries once their backoff has elapsed.
+ * Every instance polls the table; due rows are claimed with FOR UPDATE SKIP LOCKED and leased to
+ * the claiming instance, so replicas never publish the same retry concurrently and rows leased by
+ * an instance that died are picked up again once the lease expires.
+ * A claimed retry is published on its flow's lane through {@link TransitionExecutor}, like a worker
+ * response, so it never races a response of the same flow and a conflict is retried right away.
+ */
+@Component
+@Slf4j
+public class DelayedRetryDispatcher {
+
+    private static final Set<ExecutionStatusEnum> TERMINAL_RUN_STATUSES = Set.of(
+            ExecutionStatusEnum.COMPLETED, ExecutionStatusEnum.FAILED,
+            ExecutionStatusEnum.UNDOING, ExecutionStatusEnum.UNDONE);
+
+    private final ScheduledRetryRepository scheduledRetryRepository;
+    private final OrchestrationRunRepository orchestrationRunRepository;
+    private final MessagePublisher messagePublisher;
+    private final AuditService auditService;
+    private final OrchestrationTemplateCache templateCache;
+    private final StepTimeouts stepTimeouts;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransitionExecutor transitionExecutor;
+    private final FlowSerialExecutor flowSerialExecutor;
+    private final int batchSize;
+    private final long leaseMs;
+    private final String instanceId;
+
+    private final Counter dispatched;
+    private final Counter discarded;
+    private final Counter failed;
+
+    public DelayedRetryDispatcher(ScheduledRetryRepository scheduledRetryRepository,
+                                  OrchestrationRunRepository orchestrationRunRepository,
+                                  MessagePublisher messagePublisher,
+                                  AuditService auditService,
+                                  OrchestrationTemplateCache templateCache,
+                                  StepTimeouts stepTimeouts,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  TransitionExecutor transitionExecutor,
+                                  FlowSerialExecutor flowSerialExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${orchestrator.retry.batch-size:100}") int batchSize,
+                                  @Value("${orchestrator.retry.lease-ms:30000}") long leaseMs,
+                                  @Value("${orchestrator.instance-id:#{T(java.util.UUID).randomUUID().toString()}}") String instanceId) {
+        this.scheduledRetryRepository = scheduledRetryRepository;
+        this.orchestrationRunRepository = orchestrationRunRepository;
+        this.messagePublisher = messagePublisher;
+        this.auditService = auditService;
+        this.templateCache = templateCache;
+        this.stepTimeouts = stepTimeouts;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transitionExecutor = transitionExecutor;
+        this.flowSerialExecutor = flowSerialExecutor;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.instanceId = instanceId;
+
+        this.dispatched = Counter.builder("orchestration.retry.dispatched")
+                .tag("result", "published")
+                .description("Scheduled retries published after their backoff")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("orchestration.retry.dispatched")
+                .tag("result", "discarded")
+                .description("Scheduled retries dropped because the step moved on in the meantime")
+                .register(meterRegistry);
+        this.failed = Counter.builder("orchestration.retry.dispatched")
+                .tag("result", "failed")
+                .description("Scheduled retries that could not be published and stay leased until retried")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orchestrator.retry.poll-interval-ms:500}")
+    public void dispatchDue() {
+        List<ScheduledRetry> claimed;
+        do {
+            claimed = claimDue();
+            List<CompletableFuture<Void>> handled = claimed.stream()
+                    .map(retry -> flowSerialExecutor.submit(retry.getFlowId(), () -> dispatch(retry)))
+                    .toList();
+            try {
+                CompletableFuture.allOf(handled.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                log.error("Retry dispatch failed", e.getCause());
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    /**
+     * Lease a batch of due retries to this instance in a short transaction
+     */
+    List<ScheduledRetry> claimDue() {
+        List<ScheduledRetry> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ScheduledRetry> due = scheduledRetryRepository.lockDue(now, batchSize);
+            LocalDateTime leaseUntil = now.plus(leaseMs, ChronoUnit.MILLIS);
+            for (ScheduledRetry retry : due) {
+                retry.setLeaseOwner(instanceId);
+                retry.setLeaseUntil(leaseUntil);
+            }
+            return due;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    /**
+     * Publish one claimed retry and delete it. A retry whose step has since completed,
+     * failed for good or moved to another attempt is deleted without publishing.
+     */
+    void dispatch(ScheduledRetry retry) {
+        try {
+            transitionExecutor.run(retry.getFlowId(), () -> {
+                Optional<OrchestrationStepRun> stepRunOpt = findCurrentStepRun(retry);
+                if (stepRunOpt.isEmpty()) {
+                    log.info("Discarding stale retry: flowId={}, stepName={}, attempt={}",
+                            retry.getFlowId(), retry.getStepName(), retry.getAttempt());
+                    scheduledRetryRepository.deleteById(retry.getId());
+                    TransactionCallbacks.afterCommit(discarded::increment);
+                    return;
+                }
+
+                OrchestrationStepRun stepRun = stepRunOpt.get();
+                OrchestrationRun run = stepRun.getOrchestrationRun();
+                if (isUndo(retry)) {
+                    auditService.recordUndoStart(run.getFlowId(), run.getOrchName(), stepRun.getStepName(),
+                            stepRun.getWorkerService());
+                } else {
+                    auditService.recordStepStart(run.getFlowId(), run.getOrchName(), stepRun.getStepName(),
+                            stepRun.getWorkerService(), retry.getOperationType());
+                }
+
+                messagePublisher.send(retry.getTopic(), readMessage(retry));
+                if (!isUndo(retry)) {
+                    // Only DO calls have a deadline
+                    templateCache.get(run.getOrchName())
+                            .flatMap(template -> template.getStep(stepRun.getStepName()))
+                            .ifPresent(stepTemplate -> stepTimeouts.arm(stepRun, stepTemplate, retry.getMessage()));
+                }
+                scheduledRetryRepository.deleteById(retry.getId());
+                TransactionCallbacks.afterCommit(dispatched::increment);
+                log.info("Retry published: flowId={}, stepName={}, attempt={}, topic={}",
+                        retry.getFlowId(), retry.getStepName(), retry.getAttempt(), retry.getTopic());
+            });
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Failed to publish retry, it is picked up again after the lease expires: flowId={}, stepName={}, attempt={}",
+                    retry.getFlowId(), retry.getStepName(), retry.getAttempt(), e);
+        }
+    }
+
+    /**
+     * The step run this retry belongs to, if it is still waiting for exactly this attempt: a DO retry
+     * while the run goes forward, an UNDO retry while the run is being rolled back
+     */
+    private Optional<OrchestrationStepRun> findCurrentStepRun(ScheduledRetry retry) {
+        boolean undo = isUndo(retry);
+        return orchestrationRunRepository.findByFlowIdWithSteps(retry.getFlowId())
+                .filter(run -> undo
+                        ? run.getStatus() == ExecutionStatusEnum.UNDOING
+                        : !TERMINAL_RUN_STATUSES.contains(run.getStatus()))
+                .flatMap(run -> run.findStepRun(retry.getStepName()))
+                .filter(stepRun -> stepRun.getStatus() == (undo ? ExecutionStatusEnum.UNDOING : ExecutionStatusEnum.IN_PROGRESS))
+                .filter(stepRun -> retry.getAttempt().equals(stepRun.getRetryCount()));
+    }
+
+    private static boolean isUndo(ScheduledRetry retry) {
+        return "UNDO".equals(retry.getOperationType());
+    }
+
+    private ExecutionMessage readMessage(ScheduledRetry retry) {
+        try {
+            return objectMapper.readValue(retry.getMessage(), ExecutionMessage.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable retry message: id=" + retry.getId(), e);
+        }
+    }
+}
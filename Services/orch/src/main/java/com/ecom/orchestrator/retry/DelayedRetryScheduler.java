@@ -0,0 +1,87 @@
+package com.ecom.orchestrator.retry;
+
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.entity.ScheduledRetry;
+import com.ecom.orchestrator.repository.ScheduledRetryRepository;
+import com.ecom.orchestrator.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Persists step messages that must be published again after a backoff.
+ * The row is written in the caller's transaction, so a retry is scheduled exactly when the
+ * step's retry count is committed; {@link DelayedRetryDispatcher} publishes it once due.
+ */
+@Component
+@Slf4j
+public class DelayedRetryScheduler {
+
+    private final ScheduledRetryRepository scheduledRetryRepository;
+    private final RetryBackoff retryBackoff;
+    private final ObjectMapper objectMapper;
+    private final Counter scheduled;
+
+    public DelayedRetryScheduler(ScheduledRetryRepository scheduledRetryRepository,
+                                 RetryBackoff retryBackoff,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.scheduledRetryRepository = scheduledRetryRepository;
+        this.retryBackoff = retryBackoff;
+        this.objectMapper = objectMapper;
+        this.scheduled = Counter.builder("orchestration.retry.scheduled")
+                .description("Step retries scheduled with a backoff")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule the step's current retry attempt.
+     *
+     * @return the backoff applied in milliseconds
+     */
+    public long schedule(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun,
+                         CompiledStepTemplate stepTemplate, String operationType,
+                         String topic, ExecutionMessage message) {
+        int attempt = stepRun.getRetryCount();
+        long delayMs = retryBackoff.delayMs(stepTemplate, attempt);
+
+        if (scheduledRetryRepository.existsByFlowIdAndStepNameAndOperationTypeAndAttempt(
+                orchestrationRun.getFlowId(), stepRun.getStepName(), operationType, attempt)) {
+            log.warn("Retry already scheduled: flowId={}, stepName={}, operationType={}, attempt={}",
+                    orchestrationRun.getFlowId(), stepRun.getStepName(), operationType, attempt);
+            return delayMs;
+        }
+
+        scheduledRetryRepository.save(ScheduledRetry.builder()
+                .flowId(orchestrationRun.getFlowId())
+                .stepName(stepRun.getStepName())
+                .operationType(operationType)
+                .attempt(attempt)
+                .topic(topic)
+                .message(toJson(message))
+                .dueAt(LocalDateTime.now().plus(delayMs, ChronoUnit.MILLIS))
+                .build());
+        TransactionCallbacks.afterCommit(scheduled::increment);
+
+        log.info("Retry scheduled: flowId={}, stepName={}, attempt={}, backoffMs={}",
+                orchestrationRun.getFlowId(), stepRun.getStepName(), attempt, delayMs);
+        return delayMs;
+    }
+
+    private String toJson(ExecutionMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize retry message", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecom.orchestrator.retry;
+
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delay before a retry attempt: exponential growth from the step's base backoff,
+ * capped at the step's maximum, with random jitter so failed steps of many flows do not retry in lockstep.
+ * Steps registered without a retry policy use the service defaults.
+ */
+@Component
+public class RetryBackoff {
+
+    private final long defaultBackoffMs;
+    private final double defaultMultiplier;
+    private final long defaultMaxBackoffMs;
+    private final double jitter;
+
+    public RetryBackoff(@Value("${orchestrator.retry.default-backoff-ms:5000}") long defaultBackoffMs,
+                        @Value("${orchestrator.retry.default-multiplier:2.0}") double defaultMultiplier,
+                        @Value("${orchestrator.retry.default-max-backoff-ms:300000}") long defaultMaxBackoffMs,
+                        @Value("${orchestrator.retry.jitter:0.2}") double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("orchestrator.retry.jitter must be between 0 and 1, was " + jitter);
+        }
+        this.defaultBackoffMs = defaultBackoffMs;
+        this.defaultMultiplier = defaultMultiplier;
+        this.defaultMaxBackoffMs = defaultMaxBackoffMs;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Delay for the given attempt (1 for the first retry), jitter included
+     */
+    public long delayMs(CompiledStepTemplate step, int attempt) {
+        long base = baseDelayMs(step, attempt);
+        long spread = (long) (base * jitter);
+        if (spread == 0) {
+            return base;
+        }
+        return base - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    /**
+     * Delay for the given attempt without jitter
+     */
+    public long baseDelayMs(CompiledStepTemplate step, int attempt) {
+        long backoff = step.getBackoffMs() != null ? step.getBackoffMs() : defaultBackoffMs;
+        double multiplier = step.getBackoffMultiplier() != null ? step.getBackoffMultiplier() : defaultMultiplier;
+        long maxBackoff = step.getMaxBackoffMs() != null ? step.getMaxBackoffMs() : defaultMaxBackoffMs;
+
+        double delay = backoff * Math.pow(Math.max(1.0, multiplier), Math.max(0, attempt - 1));
+        return (long) Math.min(Math.max(0, delay), maxBackoff);
+    }
+}
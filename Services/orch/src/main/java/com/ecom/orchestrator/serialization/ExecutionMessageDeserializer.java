@@ -1,33 +1,42 @@
 package com.ecom.orchestrator.serialization;
 
 import com.ecom.orchestrator.dto.ExecutionMessage;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 
+/**
+ * Reads ExecutionMessages in any {@link WireFormat}, chosen per record from its header or its bytes
+ */
 public class ExecutionMessageDeserializer implements Deserializer<ExecutionMessage> {
 
-    private final ObjectMapper objectMapper;
+    private final Map<WireFormat, ObjectReader> readers = new EnumMap<>(WireFormat.class);
 
     public ExecutionMessageDeserializer() {
-        this.objectMapper = new ObjectMapper();
+        for (WireFormat format : WireFormat.values()) {
+            readers.put(format, format.mapper().readerFor(ExecutionMessage.class));
+        }
     }
 
-    public ExecutionMessageDeserializer(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    @Override
+    public ExecutionMessage deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
     }
 
     @Override
-    public ExecutionMessage deserialize(String topic, byte[] data) {
+    public ExecutionMessage deserialize(String topic, Headers headers, byte[] data) {
         if (data == null || data.length == 0) {
             return null;
         }
 
         try {
-            return objectMapper.readValue(data, ExecutionMessage.class);
-        } catch (IOException e) {
+            return readers.get(WireFormat.of(headers, data)).readValue(data);
+        } catch (IOException | IllegalArgumentException e) {
             throw new SerializationException("Error deserializing ExecutionMessage from topic: " + topic, e);
         }
     }
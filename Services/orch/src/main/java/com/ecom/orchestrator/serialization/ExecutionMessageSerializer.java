@@ -0,0 +1,60 @@
+package com.ecom.orchestrator.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes record values in the {@link WireFormat} configured under {@link WireFormat#CONFIG} and names it in
+ * the record's wire format header. A header copied from another record (dead-lettering) is replaced, so it
+ * always describes the bytes it travels with.
+ */
+public class ExecutionMessageSerializer implements Serializer<Object> {
+
+    private WireFormat wireFormat;
+
+    public ExecutionMessageSerializer() {
+        this(WireFormat.JSON);
+    }
+
+    public ExecutionMessageSerializer(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (configs.containsKey(WireFormat.CONFIG)) {
+            wireFormat = WireFormat.fromName(configs.get(WireFormat.CONFIG));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            return wireFormat.mapper().writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new SerializationException("Error serializing " + wireFormat + " message for topic: " + topic, e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        byte[] bytes = serialize(topic, data);
+        if (bytes != null && headers != null) {
+            headers.remove(WireFormat.HEADER);
+            headers.add(WireFormat.HEADER, wireFormat.headerValue());
+        }
+        return bytes;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecom.orchestrator.serialization;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodings of ExecutionMessage on Kafka. Producers name the encoding in the {@link #HEADER} record header;
+ * records without it (older producers, copies made outside the serializers) are recognised by the Smile
+ * signature and otherwise read as JSON, so JSON and Smile records can share a topic during a rollout.
+ */
+public enum WireFormat {
+
+    JSON(JsonMapper.builder()),
+    /**
+     * Binary JSON: same data model, so untyped payloads round-trip as with JSON, but field names are
+     * back-referenced and numbers are not written as text
+     */
+    SMILE(SmileMapper.builder());
+
+    public static final String HEADER = "orch-wire-format";
+
+    /**
+     * Producer config key the serializers read the outgoing encoding from
+     */
+    public static final String CONFIG = "orchestrator.wire-format";
+
+    // ':' ')' '\n' - every Smile document starts with it, JSON never does
+    private static final byte[] SMILE_SIGNATURE = {0x3A, 0x29, 0x0A};
+
+    private final ObjectMapper mapper;
+    private final byte[] headerValue;
+
+    WireFormat(MapperBuilder<?, ?> builder) {
+        // Same settings as Spring Kafka's JsonSerializer, which wrote these records before
+        this.mapper = builder
+                .configure(MapperFeature.DEFAULT_VIEW_INCLUSION, false)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .findAndAddModules()
+                .build();
+        this.headerValue = name().toLowerCase().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    public byte[] headerValue() {
+        return headerValue;
+    }
+
+    /**
+     * Resolve a configured name (case-insensitive), JSON when it is not set
+     */
+    public static WireFormat fromName(Object name) {
+        if (name == null || name.toString().isBlank()) {
+            return JSON;
+        }
+        return valueOf(name.toString().trim().toUpperCase());
+    }
+
+    /**
+     * Encoding of a received record: the header if present, otherwise detected from the bytes
+     *
+     * @throws IllegalArgumentException if the header names an encoding this version does not know
+     */
+    public static WireFormat of(Headers headers, byte[] data) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        if (header == null || header.value() == null) {
+            return detect(data);
+        }
+        for (WireFormat format : values()) {
+            if (Arrays.equals(format.headerValue, header.value())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported wire format: " + new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encoding of stored bytes that lost their headers
+     */
+    public static WireFormat detect(byte[] data) {
+        if (data != null && data.length >= SMILE_SIGNATURE.length
+                && data[0] == SMILE_SIGNATURE[0] && data[1] == SMILE_SIGNATURE[1] && data[2] == SMILE_SIGNATURE[2]) {
+            return SMILE;
+        }
+        return JSON;
+    }
+}
@@ -1,25 +1,32 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.audit.AuditArchiveStore;
+import com.ecom.orchestrator.audit.AuditEventWriter;
 import com.ecom.orchestrator.dto.AuditEventDto;
 import com.ecom.orchestrator.dto.AuditTimelineResponseDto;
 import com.ecom.orchestrator.entity.*;
 import com.ecom.orchestrator.repository.AuditEventRepository;
+import com.ecom.orchestrator.repository.OrchestrationRunArchiveRepository;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Service responsible for recording and retrieving audit events.
- * Records events asynchronously to avoid blocking the main orchestration flow.
+ * Records are handed to the write-behind {@link AuditEventWriter} so they never block
+ * or join the main orchestration transaction.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,30 +34,42 @@ import java.util.stream.Collectors;
 public class AuditService {
 
     private final AuditEventRepository auditEventRepository;
+    private final AuditEventWriter auditEventWriter;
+    private final AuditArchiveStore auditArchiveStore;
+    private final OrchestrationRunRepository orchestrationRunRepository;
+    private final OrchestrationRunArchiveRepository runArchiveRepository;
 
     /**
-     * Record an audit event asynchronously
+     * Record an audit event; it is buffered and written in a batch by the audit writer.
+     * Inside a transaction it is handed over after commit, so a rolled back or retried transition
+     * does not leave events for changes that never happened.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void recordEvent(AuditEvent event) {
-        try {
-            auditEventRepository.save(event);
-            log.debug("Audit event recorded: executionId={}, eventType={}, stepName={}",
+        TransactionCallbacks.afterCommit(() -> enqueue(event));
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (auditEventWriter.enqueue(event)) {
+            log.debug("Audit event queued: executionId={}, eventType={}, stepName={}",
                 event.getExecutionId(), event.getEventType(), event.getStepName());
-        } catch (Exception e) {
-            log.error("Failed to record audit event: executionId={}, eventType={}",
-                event.getExecutionId(), event.getEventType(), e);
         }
     }
 
+    /**
+     * Find all events of an execution across the live table and archived partitions, ordered by timestamp
+     */
+    public List<AuditEvent> findEvents(String executionId) {
+        List<AuditEvent> events = auditEventRepository.findByExecutionIdOrderByTimestampAsc(executionId);
+        return mergeArchived(executionId, events);
+    }
+
     /**
      * Get complete timeline for an execution
      */
     public AuditTimelineResponseDto getTimeline(String executionId) {
         log.info("Fetching audit timeline for executionId: {}", executionId);
 
-        List<AuditEvent> events = auditEventRepository.findByExecutionIdOrderByTimestampAsc(executionId);
+        List<AuditEvent> events = findEvents(executionId);
 
         if (events.isEmpty()) {
             log.warn("No audit events found for executionId: {}", executionId);
@@ -91,8 +110,13 @@ public class AuditService {
 
         log.info("Fetching filtered audit timeline for executionId: {}", executionId);
 
-        List<AuditEvent> events = auditEventRepository.findByExecutionIdWithFilters(
-            executionId, eventType, status, from, to);
+        List<AuditEvent> events = mergeArchived(executionId, auditEventRepository.findByExecutionIdWithFilters(
+            executionId, eventType, status, from, to)).stream()
+            .filter(e -> eventType == null || e.getEventType() == eventType)
+            .filter(e -> status == null || status.equals(e.getStatus()))
+            .filter(e -> from == null || !e.getTimestamp().isBefore(from))
+            .filter(e -> to == null || !e.getTimestamp().isAfter(to))
+            .collect(Collectors.toList());
 
         if (events.isEmpty()) {
             return AuditTimelineResponseDto.builder()
@@ -114,6 +138,40 @@ public class AuditService {
             .build();
     }
 
+    /**
+     * Add events from archived partitions. The run's lifetime narrows which archive files are read;
+     * if the run is unknown every archive is scanned.
+     */
+    private List<AuditEvent> mergeArchived(String executionId, List<AuditEvent> hotEvents) {
+        if (!auditArchiveStore.hasArchives()) {
+            return hotEvents;
+        }
+
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
+        // Runs old enough for archived audit partitions have usually been archived as well
+        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowId(executionId)
+                .or(() -> runArchiveRepository.findByFlowId(executionId));
+        if (runOpt.isPresent() && runOpt.get().getStartedAt() != null) {
+            OrchestrationRun run = runOpt.get();
+            windowStart = run.getStartedAt().minusMinutes(1);
+            windowEnd = (run.getCompletedAt() != null ? run.getCompletedAt() : LocalDateTime.now()).plusMinutes(1);
+        }
+
+        List<AuditEvent> archived = auditArchiveStore.findEvents(executionId, windowStart, windowEnd);
+        if (archived.isEmpty()) {
+            return hotEvents;
+        }
+
+        // An event can exist in both places if a partition was archived but not yet dropped
+        Map<UUID, AuditEvent> byId = new LinkedHashMap<>();
+        archived.forEach(e -> byId.put(e.getId(), e));
+        hotEvents.forEach(e -> byId.put(e.getId(), e));
+        return byId.values().stream()
+            .sorted(Comparator.comparing(AuditEvent::getTimestamp))
+            .collect(Collectors.toList());
+    }
+
     // ===== Helper Methods for Recording Specific Events =====
 
     /**
@@ -432,7 +490,7 @@ public class AuditService {
 
     private AuditEventDto toDto(AuditEvent event) {
         return AuditEventDto.builder()
-            .id(event.getId())
+            .id(event.getId().toString())
             .executionId(event.getExecutionId())
             .orchName(event.getOrchName())
             .entityType(event.getEntityType().name())
@@ -1,12 +1,20 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.entity.*;
 import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.metrics.OrchestrationMetrics;
 import com.ecom.orchestrator.repository.OrchestrationRunRepository;
-import com.ecom.orchestrator.repository.OrchestrationStepRunRepository;
-import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
 import com.ecom.orchestrator.repository.WorkerRegistrationRepository;
+import com.ecom.orchestrator.retry.DelayedRetryScheduler;
+import com.ecom.orchestrator.state.RunStateMachine;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import com.ecom.orchestrator.timeout.StepTimeouts;
 import com.ecom.orchestrator.util.MessageHeaderUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +22,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -31,19 +37,36 @@ import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_
 public class DoOperationHandler {
 
     private final OrchestrationRunRepository orchestrationRunRepository;
-    private final OrchestrationStepRunRepository stepRunRepository;
-    private final OrchestrationTemplateRepository orchestrationTemplateRepository;
+    private final OrchestrationTemplateCache templateCache;
     private final WorkerRegistrationRepository workerRegistrationRepository;
     private final MessagePublisher messagePublisher;
     private final UndoOperationHandler undoOperationHandler;
     private final AuditService auditService;
+    private final DelayedRetryScheduler retryScheduler;
+    private final StepTimeouts stepTimeouts;
+    private final ResponseDeduplicator responseDeduplicator;
+    private final ExecutionSummaryProjector summaryProjector;
+    private final OrchestrationMetrics metrics;
+    private final RunStateMachine stateMachine;
+    private final TransitionExecutor transitionExecutor;
 
     /**
-     * Handle DO response from worker
+     * Handle DO response from worker.
+     * The run aggregate is loaded once with its step runs; every transition below mutates
+     * the managed entities in memory and Hibernate flushes the changes in one batch on commit.
+     * A commit that conflicts with another transition of the flow is retried from a fresh read.
      */
-    @Transactional
     public void handleDoResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
         log.info("Handling DO response: flowId={}, stepName={}, success={}", flowId, stepName, success);
+        transitionExecutor.run(flowId, () -> applyDoResponse(flowId, stepName, success, errorMessage, message));
+    }
+
+    private void applyDoResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
+
+        Integer attempt = ResponseDeduplicator.attemptOf(message);
+        if (!responseDeduplicator.claim(flowId, stepName, ResponseDeduplicator.PHASE_DO, attempt)) {
+            return;
+        }
 
         Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
         if (runOpt.isEmpty()) {
@@ -52,8 +75,7 @@ public class DoOperationHandler {
         }
 
         OrchestrationRun orchestrationRun = runOpt.get();
-        Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                .findByOrchestrationRunFlowIdAndStepName(flowId, stepName);
+        Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepName);
 
         if (stepRunOpt.isEmpty()) {
             log.error("Step run not found: flowId={}, stepName={}", flowId, stepName);
@@ -61,12 +83,69 @@ public class DoOperationHandler {
         }
 
         OrchestrationStepRun stepRun = stepRunOpt.get();
+        if (responseDeduplicator.isStale(flowId, attempt, stepRun)) {
+            return;
+        }
+        if (stepRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS) {
+            // The step is not waiting for this call any more, e.g. a redelivery after it moved on
+            log.warn("Ignoring DO response for step in status {}: flowId={}, stepName={}",
+                    stepRun.getStatus(), flowId, stepName);
+            return;
+        }
+        stateMachine.claim(orchestrationRun);
+        summaryProjector.track(orchestrationRun);
 
+        long start = System.nanoTime();
         if (success) {
             handleDoSuccess(orchestrationRun, stepRun, message);
         } else {
             handleDoFailure(orchestrationRun, stepRun, errorMessage, message);
         }
+        metrics.recordResponse(OrchestrationMetrics.PHASE_DO, orchestrationRun, stepRun, success, start);
+    }
+
+    /**
+     * Fail a DO call that was not answered before its deadline, as if the worker had reported a failure.
+     *
+     * @return false if the step was answered or moved to another attempt in the meantime
+     */
+    public boolean handleStepTimeout(String flowId, String stepName, int attempt) {
+        return transitionExecutor.execute(flowId, () -> applyStepTimeout(flowId, stepName, attempt));
+    }
+
+    private boolean applyStepTimeout(String flowId, String stepName, int attempt) {
+        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
+        if (runOpt.isEmpty()) {
+            return false;
+        }
+
+        OrchestrationRun orchestrationRun = runOpt.get();
+        Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepName);
+        if (stepRunOpt.isEmpty() || stepRunOpt.get().getRetryCount() != attempt) {
+            log.debug("Step timeout no longer applies: flowId={}, stepName={}, attempt={}", flowId, stepName, attempt);
+            return false;
+        }
+
+        OrchestrationStepRun stepRun = stepRunOpt.get();
+        if (stepRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS
+                || orchestrationRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS) {
+            // The run failed or is compensating; this call is not waited for any more
+            stepTimeouts.disarm(stepRun);
+            return false;
+        }
+
+        // Claim the attempt so a response arriving after the deadline is dropped as a duplicate
+        if (!responseDeduplicator.claim(flowId, stepName, ResponseDeduplicator.PHASE_DO, attempt)) {
+            return false;
+        }
+
+        log.warn("DO operation timed out: flowId={}, stepName={}, attempt={}", flowId, stepName, attempt);
+        stateMachine.claim(orchestrationRun);
+        summaryProjector.track(orchestrationRun);
+
+        handleDoFailure(orchestrationRun, stepRun, "Timed out waiting for worker response",
+                stepTimeouts.lastMessage(stepRun));
+        return true;
     }
 
     /**
@@ -82,10 +161,10 @@ public class DoOperationHandler {
         }
 
         // Update step status to DO_SUCCESS
-        stepRun.setStatus(ExecutionStatusEnum.DO_SUCCESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.DO_SUCCESS);
         stepRun.setCompletedAt(LocalDateTime.now());
         stepRun.setErrorMessage(null);
-        stepRunRepository.save(stepRun);
+        stepTimeouts.clear(stepRun);
 
         // Record audit event for step success
         auditService.recordStepSuccess(
@@ -99,18 +178,19 @@ public class DoOperationHandler {
         );
 
         // Get orchestration template
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
+        CompiledOrchestrationTemplate template = templateOpt.get();
 
         // Proceed to next step based on orchestration type
-        if (template.getType() == OrchestrationTypeEnum.SEQUENTIAL) {
+        if (template.isDag()) {
+            handleDagDoSuccess(orchestrationRun, template, stepRun, message);
+        } else if (template.isSequential()) {
             handleSequentialDoSuccess(orchestrationRun, template, stepRun.getStepName(), message);
         } else {
             handleParallelDoSuccess(orchestrationRun);
@@ -126,6 +206,7 @@ public class DoOperationHandler {
                 orchestrationRun.getFlowId(), stepRun.getStepName(), errorMessage);
 
         stepRun.setErrorMessage(errorMessage);
+        stepTimeouts.disarm(stepRun);
 
         // Record audit event for step failure
         auditService.recordStepFailure(
@@ -138,6 +219,16 @@ public class DoOperationHandler {
             "DO"
         );
 
+        if (orchestrationRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS && isDag(orchestrationRun)) {
+            // Another branch already failed the run; nothing to compensate here and a retry would not be sent
+            stateMachine.transition(stepRun, ExecutionStatusEnum.FAILED);
+            stepRun.setCompletedAt(LocalDateTime.now());
+            stepTimeouts.clear(stepRun);
+            log.info("Branch step failed after the run failed: flowId={}, stepName={}",
+                    orchestrationRun.getFlowId(), stepRun.getStepName());
+            return;
+        }
+
         // Check if we can retry
         if (stepRun.getRetryCount() < stepRun.getMaxRetries()) {
             retryDoOperation(orchestrationRun, stepRun, message);
@@ -147,52 +238,48 @@ public class DoOperationHandler {
     }
 
     /**
-     * Retry DO operation
+     * Retry DO operation after the step's backoff; the message is published by the retry dispatcher once due
      */
     private void retryDoOperation(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun, ExecutionMessage message) {
         stepRun.setRetryCount(stepRun.getRetryCount() + 1);
-        stepRun.setStatus(ExecutionStatusEnum.IN_PROGRESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.IN_PROGRESS);
         stepRun.setLastRetryAt(LocalDateTime.now());
-        stepRunRepository.save(stepRun);
 
         log.info("Retrying DO operation: flowId={}, stepName={}, attempt={}/{}",
                 orchestrationRun.getFlowId(), stepRun.getStepName(),
                 stepRun.getRetryCount(), stepRun.getMaxRetries());
 
-        // Record audit event for retry attempt
-        auditService.recordRetryAttempt(
-            orchestrationRun.getFlowId(),
-            orchestrationRun.getOrchName(),
-            stepRun.getStepName(),
-            stepRun.getRetryCount(),
-            stepRun.getMaxRetries(),
-            "DO",
-            5000L  // Default backoff time in ms (configurable)
-        );
-
         // Get step template to find DO topic
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
-        Optional<OrchestrationStepTemplate> stepTemplateOpt = template.getSteps().stream()
-                .filter(st -> st.getStepName().equals(stepRun.getStepName()))
-                .findFirst();
+        Optional<CompiledStepTemplate> stepTemplateOpt = templateOpt.get().getStep(stepRun.getStepName());
 
         if (stepTemplateOpt.isEmpty()) {
             log.error("Step template not found: {}", stepRun.getStepName());
             return;
         }
 
-        OrchestrationStepTemplate stepTemplate = stepTemplateOpt.get();
+        CompiledStepTemplate stepTemplate = stepTemplateOpt.get();
 
-        // Send message to DO topic
-        sendDoMessage(orchestrationRun.getFlowId(), stepTemplate, message);
+        prepareDoMessage(orchestrationRun.getFlowId(), stepRun, stepTemplate, message);
+        long backoffMs = retryScheduler.schedule(orchestrationRun, stepRun, stepTemplate, "DO",
+                doTopic(stepTemplate), message);
+
+        // Record audit event for retry attempt
+        auditService.recordRetryAttempt(
+            orchestrationRun.getFlowId(),
+            orchestrationRun.getOrchName(),
+            stepRun.getStepName(),
+            stepRun.getRetryCount(),
+            stepRun.getMaxRetries(),
+            "DO",
+            backoffMs
+        );
     }
 
     /**
@@ -203,14 +290,13 @@ public class DoOperationHandler {
                 orchestrationRun.getFlowId(), stepRun.getStepName());
 
         // Update step status to RETRY_EXHAUSTED
-        stepRun.setStatus(ExecutionStatusEnum.RETRY_EXHAUSTED);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.RETRY_EXHAUSTED);
         stepRun.setCompletedAt(LocalDateTime.now());
-        stepRunRepository.save(stepRun);
+        stepTimeouts.clear(stepRun);
 
         // Update orchestration run status to FAILED
-        orchestrationRun.setStatus(ExecutionStatusEnum.FAILED);
+        stateMachine.transition(orchestrationRun, ExecutionStatusEnum.FAILED);
         orchestrationRun.setCompletedAt(LocalDateTime.now());
-        orchestrationRunRepository.save(orchestrationRun);
 
         // Record audit events
         auditService.recordStepFailure(
@@ -238,45 +324,85 @@ public class DoOperationHandler {
 
         // Trigger UNDO for all successfully completed steps
         log.info("Triggering UNDO for completed steps due to retry exhaustion");
-        undoOperationHandler.undoOrchestration(orchestrationRun.getFlowId(), message);
+        undoOperationHandler.undoOrchestration(orchestrationRun, message);
     }
 
     /**
      * Handle sequential DO success - execute next step
      */
-    private void handleSequentialDoSuccess(OrchestrationRun orchestrationRun, OrchestrationTemplate template,
+    private void handleSequentialDoSuccess(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template,
                                            String completedStepName, ExecutionMessage message) {
         log.info("Handling sequential DO success: flowId={}, completedStep={}",
                 orchestrationRun.getFlowId(), completedStepName);
 
-        // Find next step
-        List<OrchestrationStepTemplate> sortedSteps = template.getSteps().stream()
-                .sorted(Comparator.comparing(OrchestrationStepTemplate::getSeq))
-                .toList();
-
-        Optional<OrchestrationStepTemplate> nextStepOpt = sortedSteps.stream()
-                .filter(step -> {
-                    OrchestrationStepRun stepRun = orchestrationRun.getStepRuns().stream()
-                            .filter(sr -> sr.getStepName().equals(step.getStepName()))
-                            .findFirst()
-                            .orElse(null);
-                    return stepRun != null && stepRun.getStatus() == ExecutionStatusEnum.PENDING;
-                })
-                .findFirst();
+        Map<String, OrchestrationStepRun> stepRunsByName = orchestrationRun.getStepRuns().stream()
+                .collect(Collectors.toMap(OrchestrationStepRun::getStepName, sr -> sr, (a, b) -> a));
+
+        // Find next pending step using the pre-computed next-step lookup
+        Optional<CompiledStepTemplate> nextStepOpt = template.getNextStep(completedStepName);
+        while (nextStepOpt.isPresent()) {
+            OrchestrationStepRun nextRun = stepRunsByName.get(nextStepOpt.get().getStepName());
+            if (nextRun != null && nextRun.getStatus() == ExecutionStatusEnum.PENDING) {
+                break;
+            }
+            nextStepOpt = template.getNextStep(nextStepOpt.get().getStepName());
+        }
 
         if (nextStepOpt.isPresent()) {
             // Execute next step
-            OrchestrationStepTemplate nextStep = nextStepOpt.get();
+            CompiledStepTemplate nextStep = nextStepOpt.get();
             log.info("Executing next step: {}", nextStep.getStepName());
 
             // Update next step status to IN_PROGRESS
-            updateStepRunStatus(orchestrationRun.getFlowId(), nextStep.getStepName(),
-                    ExecutionStatusEnum.IN_PROGRESS, nextStep.getMaxRetries());
+            OrchestrationStepRun nextRun = stepRunsByName.get(nextStep.getStepName());
+            updateStepRunStatus(nextRun, ExecutionStatusEnum.IN_PROGRESS, nextStep.getMaxRetries());
 
-            sendDoMessage(orchestrationRun.getFlowId(), nextStep, message);
+            sendDoMessage(orchestrationRun, nextRun, nextStep, message);
         } else {
             // All steps completed successfully
-            completeOrchestration(orchestrationRun.getFlowId());
+            completeOrchestration(orchestrationRun);
+        }
+    }
+
+    /**
+     * Handle DAG DO success - start every dependent whose dependencies have all succeeded,
+     * complete the run once all steps succeeded
+     */
+    private void handleDagDoSuccess(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template,
+                                    OrchestrationStepRun completedRun, ExecutionMessage message) {
+        log.info("Handling DAG DO success: flowId={}, completedStep={}",
+                orchestrationRun.getFlowId(), completedRun.getStepName());
+
+        if (orchestrationRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS) {
+            // A parallel branch failed while this step was running; its work has to be compensated as well
+            undoOperationHandler.undoLateSuccess(orchestrationRun, template, completedRun, message);
+            return;
+        }
+
+        Map<String, OrchestrationStepRun> stepRunsByName = orchestrationRun.getStepRuns().stream()
+                .collect(Collectors.toMap(OrchestrationStepRun::getStepName, sr -> sr, (a, b) -> a));
+
+        for (CompiledStepTemplate dependent : template.getDependents(completedRun.getStepName())) {
+            OrchestrationStepRun dependentRun = stepRunsByName.get(dependent.getStepName());
+            if (dependentRun == null || dependentRun.getStatus() != ExecutionStatusEnum.PENDING) {
+                continue;
+            }
+
+            boolean ready = dependent.getDependsOn().stream()
+                    .map(stepRunsByName::get)
+                    .allMatch(sr -> sr != null && sr.getStatus() == ExecutionStatusEnum.DO_SUCCESS);
+            if (ready) {
+                log.info("Executing ready step: {}", dependent.getStepName());
+                updateStepRunStatus(dependentRun, ExecutionStatusEnum.IN_PROGRESS, dependent.getMaxRetries());
+                sendDoMessage(orchestrationRun, dependentRun, dependent, message);
+            }
+        }
+
+        boolean allCompleted = orchestrationRun.getStepRuns().stream()
+                .allMatch(stepRun -> stepRun.getStatus() == ExecutionStatusEnum.DO_SUCCESS);
+
+        if (allCompleted) {
+            completeOrchestration(orchestrationRun);
         }
     }
 
@@ -291,132 +417,145 @@ public class DoOperationHandler {
                 .allMatch(stepRun -> stepRun.getStatus() == ExecutionStatusEnum.DO_SUCCESS);
 
         if (allCompleted) {
-            completeOrchestration(orchestrationRun.getFlowId());
+            completeOrchestration(orchestrationRun);
         }
     }
 
     /**
      * Send DO message to worker
      */
-    public void sendDoMessage(String flowId, OrchestrationStepTemplate stepTemplate, ExecutionMessage message) {
+    public void sendDoMessage(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun,
+                              CompiledStepTemplate stepTemplate, ExecutionMessage message) {
+        String flowId = orchestrationRun.getFlowId();
         log.info("Sending DO message: flowId={}, stepName={}, sharedtopic={}",
                 flowId, stepTemplate.getStepName(), stepTemplate.getSharedTopic());
 
-        // Get orchestration name and worker service for audit
-        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowId(flowId);
-        if (runOpt.isPresent()) {
-            String orchName = runOpt.get().getOrchName();
-            Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                    .findByOrchestrationRunFlowIdAndStepName(flowId, stepTemplate.getStepName());
-
-            if (stepRunOpt.isPresent()) {
-                String workerService = stepRunOpt.get().getWorkerService();
-
-                // Record audit event for step start
-                auditService.recordStepStart(flowId, orchName, stepTemplate.getStepName(), workerService, "DO");
-            }
-        }
+        // Record audit event for step start
+        auditService.recordStepStart(flowId, orchestrationRun.getOrchName(), stepTemplate.getStepName(),
+                stepRun.getWorkerService(), "DO");
 
+        long start = System.nanoTime();
         try {
-            message.getHeaders().put("stepName", stepTemplate.getStepName());
-            message.getHeaders().put("eventType", "do"+stepTemplate.getStepName());
-            messagePublisher.send(Boolean.TRUE.equals(stepTemplate.getSharedTopic())?ORCHESTRATOR_EVENT:stepTemplate.getDoTopic(), message);
+            prepareDoMessage(flowId, stepRun, stepTemplate, message);
+            messagePublisher.send(doTopic(stepTemplate), message);
+            stepTimeouts.arm(stepRun, stepTemplate, message);
+            metrics.recordDispatch(OrchestrationMetrics.PHASE_DO, orchestrationRun, stepTemplate.getStepName(), true, start);
             log.info("DO message sent successfully: flowId={}, stepName={}", flowId, stepTemplate.getStepName());
         } catch (Exception e) {
+            metrics.recordDispatch(OrchestrationMetrics.PHASE_DO, orchestrationRun, stepTemplate.getStepName(), false, start);
             log.error("Failed to send DO message: flowId={}, stepName={}", flowId, stepTemplate.getStepName(), e);
             // Update step status to failed
-            Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                    .findByOrchestrationRunFlowIdAndStepName(flowId, stepTemplate.getStepName());
-
-            if (stepRunOpt.isPresent()) {
-                handleDoFailure(orchestrationRunRepository.findByFlowId(flowId).get(),
-                        stepRunOpt.get(), "Failed to send DO message: " + e.getMessage(), message);
-            }
+            handleDoFailure(orchestrationRun, stepRun, "Failed to send DO message: " + e.getMessage(), message);
         }
     }
 
+    private void prepareDoMessage(String flowId, OrchestrationStepRun stepRun, CompiledStepTemplate stepTemplate,
+                                  ExecutionMessage message) {
+        message.getHeaders().put("flowId", flowId);
+        message.getHeaders().put("stepName", stepTemplate.getStepName());
+        message.getHeaders().put(ResponseDeduplicator.ATTEMPT_HEADER, stepRun.getRetryCount());
+        message.getHeaders().put("eventType", "do"+stepTemplate.getStepName());
+    }
+
+    private boolean isDag(OrchestrationRun orchestrationRun) {
+        return templateCache.get(orchestrationRun.getOrchName())
+                .map(CompiledOrchestrationTemplate::isDag)
+                .orElse(false);
+    }
+
+    private String doTopic(CompiledStepTemplate stepTemplate) {
+        return Boolean.TRUE.equals(stepTemplate.getSharedTopic()) ? ORCHESTRATOR_EVENT : stepTemplate.getDoTopic();
+    }
+
     /**
-     * Start DO operations for orchestration
+     * Start DO operations for a freshly created orchestration run.
+     * The run must carry its step runs so no lookups are needed.
      */
     @Transactional
-    public void startDoOperations(String flowId, OrchestrationTemplate template, ExecutionMessage message) {
+    public void startDoOperations(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template, ExecutionMessage message) {
         log.info("Starting DO operations: flowId={}, orchName={}, type={}",
-                flowId, template.getOrchName(), template.getType());
-
-        if (template.getType() == OrchestrationTypeEnum.SEQUENTIAL) {
+                orchestrationRun.getFlowId(), template.getOrchName(), template.getType());
+        summaryProjector.track(orchestrationRun);
+
+        if (template.isDag()) {
+            // Execute every step without dependencies, the rest follow as their dependencies succeed
+            for (CompiledStepTemplate stepTemplate : template.getRootSteps()) {
+                Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepTemplate.getStepName());
+                if (stepRunOpt.isPresent()) {
+                    updateStepRunStatus(stepRunOpt.get(), ExecutionStatusEnum.IN_PROGRESS, stepTemplate.getMaxRetries());
+                    sendDoMessage(orchestrationRun, stepRunOpt.get(), stepTemplate, message);
+                }
+            }
+        } else if (template.isSequential()) {
             // Execute first step only
-            List<OrchestrationStepTemplate> sortedSteps = template.getSteps().stream()
-                    .sorted(Comparator.comparing(OrchestrationStepTemplate::getSeq))
-                    .toList();
-
-            if (!sortedSteps.isEmpty()) {
-                OrchestrationStepTemplate firstStep = sortedSteps.getFirst();
-                updateStepRunStatus(flowId, firstStep.getStepName(), ExecutionStatusEnum.IN_PROGRESS, firstStep.getMaxRetries());
-                sendDoMessage(flowId, firstStep, message);
+            Optional<CompiledStepTemplate> firstStepOpt = template.getFirstStep();
+
+            if (firstStepOpt.isPresent()) {
+                CompiledStepTemplate firstStep = firstStepOpt.get();
+                Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(firstStep.getStepName());
+                if (stepRunOpt.isPresent()) {
+                    updateStepRunStatus(stepRunOpt.get(), ExecutionStatusEnum.IN_PROGRESS, firstStep.getMaxRetries());
+                    sendDoMessage(orchestrationRun, stepRunOpt.get(), firstStep, message);
+                }
             }
         } else {
             // Execute all steps in parallel
-            for (OrchestrationStepTemplate stepTemplate : template.getSteps()) {
-                updateStepRunStatus(flowId, stepTemplate.getStepName(), ExecutionStatusEnum.IN_PROGRESS, stepTemplate.getMaxRetries());
-                sendDoMessage(flowId, stepTemplate, message);
+            for (CompiledStepTemplate stepTemplate : template.getSteps()) {
+                Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepTemplate.getStepName());
+                if (stepRunOpt.isPresent()) {
+                    updateStepRunStatus(stepRunOpt.get(), ExecutionStatusEnum.IN_PROGRESS, stepTemplate.getMaxRetries());
+                    sendDoMessage(orchestrationRun, stepRunOpt.get(), stepTemplate, message);
+                }
             }
         }
     }
 
     /**
-     * Update step run status
+     * Update step run status in memory; the change is flushed with the transaction
      */
-    private void updateStepRunStatus(String flowId, String stepName, ExecutionStatusEnum status, Integer maxRetries) {
-        Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                .findByOrchestrationRunFlowIdAndStepName(flowId, stepName);
-
-        if (stepRunOpt.isPresent()) {
-            OrchestrationStepRun stepRun = stepRunOpt.get();
-            stepRun.setStatus(status);
+    private void updateStepRunStatus(OrchestrationStepRun stepRun, ExecutionStatusEnum status, Integer maxRetries) {
+        if (stepRun == null) {
+            return;
+        }
 
-            if (maxRetries != null) {
-                stepRun.setMaxRetries(maxRetries);
-            }
+        stateMachine.transition(stepRun, status);
 
-            if (status == ExecutionStatusEnum.IN_PROGRESS && stepRun.getStartedAt() == null) {
-                stepRun.setStartedAt(LocalDateTime.now());
-            }
+        if (maxRetries != null) {
+            stepRun.setMaxRetries(maxRetries);
+        }
 
-            stepRunRepository.save(stepRun);
-            log.info("Step run status updated: flowId={}, stepName={}, status={}", flowId, stepName, status);
+        if (status == ExecutionStatusEnum.IN_PROGRESS && stepRun.getStartedAt() == null) {
+            stepRun.setStartedAt(LocalDateTime.now());
         }
+
+        log.info("Step run status updated: flowId={}, stepName={}, status={}",
+                stepRun.getOrchestrationRun().getFlowId(), stepRun.getStepName(), status);
     }
 
     /**
      * Complete orchestration
      */
-    private void completeOrchestration(String flowId) {
-        log.info("Completing orchestration: flowId={}", flowId);
-
-        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowId(flowId);
-        if (runOpt.isPresent()) {
-            OrchestrationRun run = runOpt.get();
+    private void completeOrchestration(OrchestrationRun run) {
+        log.info("Completing orchestration: flowId={}", run.getFlowId());
 
-            // Calculate total duration
-            Long durationMs = null;
-            if (run.getStartedAt() != null) {
-                durationMs = java.time.Duration.between(run.getStartedAt(), LocalDateTime.now()).toMillis();
-            }
+        // Calculate total duration
+        Long durationMs = null;
+        if (run.getStartedAt() != null) {
+            durationMs = java.time.Duration.between(run.getStartedAt(), LocalDateTime.now()).toMillis();
+        }
 
-            run.setStatus(ExecutionStatusEnum.COMPLETED);
-            run.setCompletedAt(LocalDateTime.now());
-            orchestrationRunRepository.save(run);
+        stateMachine.transition(run, ExecutionStatusEnum.COMPLETED);
+        run.setCompletedAt(LocalDateTime.now());
 
-            // Record audit event for orchestration completion
-            auditService.recordOrchestrationComplete(
-                flowId,
-                run.getOrchName(),
-                "SUCCESS",
-                durationMs
-            );
+        // Record audit event for orchestration completion
+        auditService.recordOrchestrationComplete(
+            run.getFlowId(),
+            run.getOrchName(),
+            "SUCCESS",
+            durationMs
+        );
+        metrics.recordFlowFinished(run);
 
-            log.info("Orchestration completed successfully: flowId={}", flowId);
-        }
+        log.info("Orchestration completed successfully: flowId={}", run.getFlowId());
     }
 }
-
@@ -5,6 +5,7 @@ import com.ecom.orchestrator.dto.RetryPolicyDto;
 import com.ecom.orchestrator.dto.StepExecutionDto;
 import com.ecom.orchestrator.dto.TimelineEventDto;
 import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.repository.OrchestrationRunArchiveRepository;
 import com.ecom.orchestrator.repository.OrchestrationRunRepository;
 import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 public class ExecutionDetailsService {
 
     private final OrchestrationRunRepository orchestrationRunRepository;
+    private final OrchestrationRunArchiveRepository runArchiveRepository;
     private final OrchestrationTemplateRepository orchestrationTemplateRepository;
 
     public ExecutionDetailsResponseDto getExecutionDetails(String orchName, String executionId) {
@@ -40,8 +42,9 @@ public class ExecutionDetailsService {
         String initiatorService = template.getInitiatorService();
         String orchestrationType = template.getType().name();
 
-        // Find the specific execution with step data
-        Optional<OrchestrationRun> executionOpt = orchestrationRunRepository.findByFlowIdWithSteps(executionId);
+        // Find the specific execution with step data, in the archive once it was moved there
+        Optional<OrchestrationRun> executionOpt = orchestrationRunRepository.findByFlowIdWithSteps(executionId)
+                .or(() -> runArchiveRepository.findByFlowIdWithSteps(executionId));
 
         if (executionOpt.isEmpty()) {
             log.warn("Execution not found: {}", executionId);
@@ -1,22 +1,16 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
 import com.ecom.orchestrator.dto.ExecutionHistoryRequestDto;
 import com.ecom.orchestrator.dto.ExecutionSummaryDto;
 import com.ecom.orchestrator.dto.PagedExecutionHistoryResponseDto;
 import com.ecom.orchestrator.entity.ExecutionStatusEnum;
-import com.ecom.orchestrator.entity.OrchestrationRun;
-import com.ecom.orchestrator.entity.OrchestrationStepRun;
-import com.ecom.orchestrator.entity.OrchestrationTemplate;
-import com.ecom.orchestrator.repository.OrchestrationRunRepository;
-import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
-import com.ecom.orchestrator.specification.ExecutionHistorySpecifications;
+import com.ecom.orchestrator.entity.ExecutionSummary;
+import com.ecom.orchestrator.repository.ExecutionSummaryRepository;
+import com.ecom.orchestrator.summary.ExecutionSummaryCursor;
+import com.ecom.orchestrator.summary.ExecutionSummaryFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,101 +20,101 @@ import java.util.List;
 @Slf4j
 public class ExecutionHistoryService {
 
-    private final OrchestrationRunRepository orchestrationRunRepository;
-    private final OrchestrationTemplateRepository orchestrationTemplateRepository;
+    private final ExecutionSummaryRepository summaryRepository;
+    private final OrchestrationTemplateCache templateCache;
 
+    /**
+     * List executions of an orchestration from the execution_summary read model.
+     * With a cursor (empty for the first page) pages are read by keyset on start time and come without
+     * totals; otherwise the page number is used and the matching executions are counted.
+     */
     public PagedExecutionHistoryResponseDto getExecutionHistory(String orchName, ExecutionHistoryRequestDto request) {
         log.info("Fetching execution history for orchestration: {} with filters - page: {}, size: {}, status: {}",
                 orchName, request.getPage(), request.getSize(), request.getStatus());
 
         // Verify orchestration exists
-        if (!orchestrationTemplateRepository.existsByOrchName(orchName)) {
+        if (templateCache.get(orchName).isEmpty()) {
             log.warn("Orchestration not found: {}", orchName);
             return null; // This will be handled by controller to return 404
         }
 
-        // Create sort object
-        Sort sort = createSort(request.getSortBy(), request.getDirection());
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
+        ExecutionSummaryFilter filter = buildFilter(orchName, request);
+        boolean ascending = "asc".equalsIgnoreCase(request.getDirection());
+        String sortColumn = mapToColumn(request.getSortBy());
 
-        // Build dynamic specification
-        Specification<OrchestrationRun> spec = buildSpecification(orchName, request);
-
-        // Execute query
-        Page<OrchestrationRun> executionPage = orchestrationRunRepository.findAll(spec, pageable);
+        if (request.getCursor() != null && "started_at".equals(sortColumn)) {
+            return getKeysetPage(filter, request, ascending);
+        }
 
-        // Convert to DTOs
-        List<ExecutionSummaryDto> content = executionPage.getContent()
+        List<ExecutionSummaryDto> content = summaryRepository.findPage(filter, sortColumn, ascending,
+                        request.getPage() * request.getSize(), request.getSize())
                 .stream()
                 .map(this::convertToExecutionSummary)
                 .toList();
+        long totalElements = summaryRepository.count(filter);
 
         log.info("Retrieved {} executions out of {} total for orchestration: {}",
-                content.size(), executionPage.getTotalElements(), orchName);
+                content.size(), totalElements, orchName);
 
         return PagedExecutionHistoryResponseDto.builder()
                 .content(content)
                 .page(request.getPage())
                 .size(request.getSize())
-                .totalElements(executionPage.getTotalElements())
-                .totalPages(executionPage.getTotalPages())
+                .totalElements(totalElements)
+                .totalPages(request.getSize() > 0 ? (int) ((totalElements + request.getSize() - 1) / request.getSize()) : 0)
                 .build();
     }
 
-    private Sort createSort(String sortBy, String direction) {
-        // Default sorting by startTime DESC
-        if (sortBy == null || sortBy.isEmpty()) {
-            sortBy = "startTime";
+    private PagedExecutionHistoryResponseDto getKeysetPage(ExecutionSummaryFilter filter,
+                                                           ExecutionHistoryRequestDto request, boolean ascending) {
+        ExecutionSummaryCursor after = request.getCursor().isEmpty()
+                ? null
+                : ExecutionSummaryCursor.decode(request.getCursor());
+
+        // One extra row tells whether another page follows
+        List<ExecutionSummary> rows = summaryRepository.findByStartedAt(filter, after, ascending, request.getSize() + 1);
+        boolean hasMore = rows.size() > request.getSize();
+        List<ExecutionSummary> pageRows = hasMore ? rows.subList(0, request.getSize()) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ExecutionSummary last = pageRows.getLast();
+            nextCursor = new ExecutionSummaryCursor(last.getStartedAt(), last.getFlowId()).encode();
         }
 
-        // Validate sort direction
-        Sort.Direction sortDirection = Sort.Direction.DESC;
-        if ("asc".equalsIgnoreCase(direction)) {
-            sortDirection = Sort.Direction.ASC;
-        }
-
-        // Map API field names to entity field names
-        String entityFieldName = mapToEntityField(sortBy);
-
-        return Sort.by(sortDirection, entityFieldName);
+        return PagedExecutionHistoryResponseDto.builder()
+                .content(pageRows.stream().map(this::convertToExecutionSummary).toList())
+                .size(request.getSize())
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    private String mapToEntityField(String apiFieldName) {
+    private String mapToColumn(String apiFieldName) {
+        // Default sorting by startTime
+        if (apiFieldName == null || apiFieldName.isEmpty()) {
+            return "started_at";
+        }
         return switch (apiFieldName.toLowerCase()) {
-            case "starttime" -> "startedAt";
-            case "endtime" -> "completedAt";
+            case "endtime" -> "completed_at";
             case "status" -> "status";
-            case "executionid" -> "flowId";
-            default -> "startedAt"; // Default to startTime
+            case "executionid" -> "flow_id";
+            default -> "started_at"; // Default to startTime
         };
     }
 
-    private Specification<OrchestrationRun> buildSpecification(String orchName, ExecutionHistoryRequestDto request) {
-        Specification<OrchestrationRun> spec = Specification.where(null);
-
-        // Always filter by orchestration name
-        spec = spec.and(ExecutionHistorySpecifications.hasOrchName(orchName));
+    private ExecutionSummaryFilter buildFilter(String orchName, ExecutionHistoryRequestDto request) {
+        ExecutionStatusEnum statusEnum = null;
 
         // Status filter
         if (request.getStatus() != null && !request.getStatus().isEmpty()) {
             try {
-                ExecutionStatusEnum statusEnum = mapApiStatusToEnum(request.getStatus());
-                spec = spec.and(ExecutionHistorySpecifications.hasStatus(statusEnum));
+                statusEnum = mapApiStatusToEnum(request.getStatus());
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid status filter: {}", request.getStatus());
             }
         }
 
-        // Date range filters
-        if (request.getFromDate() != null) {
-            spec = spec.and(ExecutionHistorySpecifications.startedAfter(request.getFromDate()));
-        }
-
-        if (request.getToDate() != null) {
-            spec = spec.and(ExecutionHistorySpecifications.startedBefore(request.getToDate()));
-        }
-
-        return spec;
+        return new ExecutionSummaryFilter(orchName, statusEnum, request.getFromDate(), request.getToDate());
     }
 
     private ExecutionStatusEnum mapApiStatusToEnum(String apiStatus) {
@@ -150,34 +144,20 @@ public class ExecutionHistoryService {
         };
     }
 
-    private ExecutionSummaryDto convertToExecutionSummary(OrchestrationRun run) {
-        // Get initiator from orchestration template
-        String initiator = orchestrationTemplateRepository.findByOrchName(run.getOrchName())
-                .map(OrchestrationTemplate::getInitiatorService)
-                .orElse("unknown");
-
-        // Calculate step statistics
-        int executedSteps = 0;
-        int failedSteps = 0;
-
-        if (run.getStepRuns() != null) {
-            for (OrchestrationStepRun stepRun : run.getStepRuns()) {
-                if (stepRun.getStatus() == ExecutionStatusEnum.COMPLETED) {
-                    executedSteps++;
-                } else if (stepRun.getStatus() == ExecutionStatusEnum.FAILED) {
-                    failedSteps++;
-                }
-            }
-        }
-
+    private ExecutionSummaryDto convertToExecutionSummary(ExecutionSummary summary) {
         return ExecutionSummaryDto.builder()
-                .executionId(run.getFlowId())
-                .status(mapEnumToApiStatus(run.getStatus()))
-                .startTime(run.getStartedAt())
-                .endTime(run.getCompletedAt())
-                .initiator(initiator)
-                .executedSteps(executedSteps)
-                .failedSteps(failedSteps)
+                .executionId(summary.getFlowId())
+                .status(mapEnumToApiStatus(summary.getStatus()))
+                .startTime(summary.getStartedAt())
+                .endTime(summary.getCompletedAt())
+                .initiator(summary.getInitiatorService() != null ? summary.getInitiatorService() : "unknown")
+                .executedSteps(summary.getSucceededSteps())
+                .failedSteps(summary.getFailedSteps())
+                .totalSteps(summary.getTotalSteps())
+                .undoneSteps(summary.getUndoneSteps())
+                .durationMs(summary.getDurationMs())
+                .lastError(summary.getLastError())
+                .lastErrorStep(summary.getLastErrorStep())
                 .build();
     }
 }
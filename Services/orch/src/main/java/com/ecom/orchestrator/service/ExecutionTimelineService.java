@@ -2,7 +2,6 @@ package com.ecom.orchestrator.service;
 
 import com.ecom.orchestrator.dto.TimelineEventDto;
 import com.ecom.orchestrator.entity.AuditEvent;
-import com.ecom.orchestrator.repository.AuditEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +15,7 @@ import java.util.List;
 @Slf4j
 public class ExecutionTimelineService {
 
-    private final AuditEventRepository auditEventRepository;
+    private final AuditService auditService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -24,7 +23,7 @@ public class ExecutionTimelineService {
      */
     public List<TimelineEventDto> getTimeline(String executionId) {
         log.info("Building timeline for executionId: {}", executionId);
-        List<AuditEvent> events = auditEventRepository.findByExecutionIdOrderByTimestampAsc(executionId);
+        List<AuditEvent> events = auditService.findEvents(executionId);
         return events.stream().map(this::toTimelineEventDto).toList();
     }
 
@@ -1,12 +1,20 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.entity.*;
 import com.ecom.orchestrator.repository.*;
 import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import com.ecom.orchestrator.util.TimeOrderedUuid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -15,30 +23,41 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrchestrationExecutorService {
 
-    private final OrchestrationTemplateRepository orchestrationTemplateRepository;
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final OrchestrationTemplateCache templateCache;
     private final WorkerRegistrationRepository workerRegistrationRepository;
     private final OrchestrationRunRepository orchestrationRunRepository;
     private final OrchestrationStepRunRepository stepRunRepository;
     private final MessagePublisher messagePublisher;
     private final DoOperationHandler doOperationHandler;
     private final AuditService auditService;
+    private final ExecutionSummaryProjector summaryProjector;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orchestrator.bulk-start.chunk-size:500}")
+    private int bulkChunkSize = 500;
 
     public OrchestrationExecutorService(
-            OrchestrationTemplateRepository orchestrationTemplateRepository,
+            OrchestrationTemplateCache templateCache,
             WorkerRegistrationRepository workerRegistrationRepository,
             OrchestrationRunRepository orchestrationRunRepository,
             OrchestrationStepRunRepository stepRunRepository,
             MessagePublisher messagePublisher,
             DoOperationHandler doOperationHandler,
-            AuditService auditService) {
+            AuditService auditService,
+            ExecutionSummaryProjector summaryProjector,
+            PlatformTransactionManager transactionManager) {
 
-        this.orchestrationTemplateRepository = orchestrationTemplateRepository;
+        this.templateCache = templateCache;
         this.workerRegistrationRepository = workerRegistrationRepository;
         this.orchestrationRunRepository = orchestrationRunRepository;
         this.stepRunRepository = stepRunRepository;
         this.messagePublisher = messagePublisher;
         this.doOperationHandler = doOperationHandler;
         this.auditService = auditService;
+        this.summaryProjector = summaryProjector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -46,12 +65,11 @@ public class OrchestrationExecutorService {
         log.info("Starting orchestration: {}", orchName);
 
         // Validate orchestration exists and is ready
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchName);
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchName);
 
         // Generate flow ID
         String flowId = message.getHeaders().get("flowId") != null ?
-                message.getHeaders().get("flowId").toString() : UUID.randomUUID().toString();
+                message.getHeaders().get("flowId").toString() : TimeOrderedUuid.nextString();
         log.info("Generated flowId: {} for orchestration: {}", flowId, orchName);
         // Create orchestration run
         OrchestrationRun orchestrationRun = OrchestrationRun.builder()
@@ -63,10 +81,11 @@ public class OrchestrationExecutorService {
             throw new IllegalArgumentException("Orchestration not found: " + orchName);
         }
 
-        OrchestrationTemplate template = templateOpt.get();
+        CompiledOrchestrationTemplate template = templateOpt.get();
 
         if (template.getStatus() != OrchestrationStatusEnum.SUCCESS) {
             orchestrationRunRepository.save(orchestrationRun);
+            summaryProjector.track(orchestrationRun);
             log.info("Orchestration not ready: " + orchName +
                     " Status: " + template.getStatus());
         }else {
@@ -85,26 +104,137 @@ public class OrchestrationExecutorService {
             auditService.recordOrchestrationStart(flowId, orchName, initiator);
 
             // Create step runs with max retries from template
-            List<OrchestrationStepRun> stepRuns = template.getSteps().stream()
-                    .map(stepTemplate -> OrchestrationStepRun.builder()
-                            .orchestrationRun(savedOrchestrationRun)
-                            .stepName(stepTemplate.getStepName())
-                            .seq(stepTemplate.getSeq())
-                            .status(ExecutionStatusEnum.PENDING)
-                            .maxRetries(stepTemplate.getMaxRetries())
-                            .retryCount(0)
-                            .build())
-                    .collect(Collectors.toList());
+            List<OrchestrationStepRun> stepRuns = createStepRuns(savedOrchestrationRun, template);
 
             stepRunRepository.saveAll(stepRuns);
             savedOrchestrationRun.setStepRuns(stepRuns);
 
             // Execute using DoOperationHandler
-            doOperationHandler.startDoOperations(flowId, template, message);
+            doOperationHandler.startDoOperations(savedOrchestrationRun, template, message);
         }
         return flowId;
     }
 
+    /**
+     * Start a batch of runs of one orchestration and return their flow ids in request order.
+     * Runs are written in chunks of orchestrator.bulk-start.chunk-size, one transaction each: runs, step runs
+     * and the outbox rows of the first DO messages go out as JDBC batches and the outbox relay sends the
+     * messages in batches. Flow ids that already have a run (e.g. a redelivered request) are skipped, also when
+     * the run was started concurrently: the chunk then fails on the unique flow id and is written again.
+     */
+    public List<String> startOrchestrations(String orchName, List<ExecutionMessage> messages) {
+        CompiledOrchestrationTemplate template = templateCache.get(orchName)
+                .orElseThrow(() -> new IllegalArgumentException("Orchestration not found: " + orchName));
+        log.info("Starting {} orchestrations in bulk: {}", messages.size(), orchName);
+
+        List<String> flowIds = new ArrayList<>(messages.size());
+        for (int from = 0; from < messages.size(); from += bulkChunkSize) {
+            List<ExecutionMessage> chunk = messages.subList(from, Math.min(from + bulkChunkSize, messages.size()));
+            flowIds.addAll(startChunkSkippingConflicts(orchName, template, chunk));
+        }
+        return flowIds;
+    }
+
+    /**
+     * Run a chunk in its own transaction. A run committed for one of its flow ids after the chunk checked
+     * for existing ones fails the whole chunk on the unique flow_id and nothing of it is written;
+     * the next attempt finds that run and skips the flow id.
+     */
+    private List<String> startChunkSkippingConflicts(String orchName, CompiledOrchestrationTemplate template,
+                                                     List<ExecutionMessage> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> startChunk(orchName, template, chunk));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Bulk start chunk of {} collided with a concurrent start, writing it again: {}",
+                        orchName, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Bulk start where every execution also carries the shared headers; an execution's own headers win
+     */
+    public List<String> startOrchestrations(String orchName, List<ExecutionMessage> executions, Map<String, Object> sharedHeaders) {
+        List<ExecutionMessage> messages = new ArrayList<>(executions.size());
+        for (ExecutionMessage execution : executions) {
+            Map<String, Object> headers = sharedHeaders != null ? new HashMap<>(sharedHeaders) : new HashMap<>();
+            if (execution.getHeaders() != null) {
+                headers.putAll(execution.getHeaders());
+            }
+            messages.add(new ExecutionMessage(execution.getPayload(), headers));
+        }
+        return startOrchestrations(orchName, messages);
+    }
+
+    private List<String> startChunk(String orchName, CompiledOrchestrationTemplate template, List<ExecutionMessage> messages) {
+        List<String> flowIds = new ArrayList<>(messages.size());
+        for (ExecutionMessage message : messages) {
+            Object flowId = message.getHeaders() != null ? message.getHeaders().get("flowId") : null;
+            flowIds.add(flowId != null ? flowId.toString() : TimeOrderedUuid.nextString());
+        }
+        Set<String> existing = new HashSet<>(orchestrationRunRepository.findExistingFlowIds(flowIds));
+        boolean ready = template.getStatus() == OrchestrationStatusEnum.SUCCESS;
+
+        List<OrchestrationRun> runs = new ArrayList<>(messages.size());
+        List<ExecutionMessage> runMessages = new ArrayList<>(messages.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < messages.size(); i++) {
+            String flowId = flowIds.get(i);
+            if (existing.contains(flowId) || !seen.add(flowId)) {
+                log.info("Skipping bulk start of existing flowId: {}", flowId);
+                continue;
+            }
+            runs.add(OrchestrationRun.builder()
+                    .flowId(flowId)
+                    .orchName(orchName)
+                    .status(ready ? ExecutionStatusEnum.IN_PROGRESS : ExecutionStatusEnum.NOT_REGISTERED)
+                    .build());
+            runMessages.add(messages.get(i));
+        }
+        orchestrationRunRepository.saveAll(runs);
+
+        if (!ready) {
+            runs.forEach(summaryProjector::track);
+            log.info("Orchestration not ready: {} Status: {}", orchName, template.getStatus());
+            return flowIds;
+        }
+
+        List<OrchestrationStepRun> stepRuns = new ArrayList<>(runs.size() * template.getSteps().size());
+        for (OrchestrationRun run : runs) {
+            List<OrchestrationStepRun> runStepRuns = createStepRuns(run, template);
+            run.setStepRuns(runStepRuns);
+            stepRuns.addAll(runStepRuns);
+        }
+        stepRunRepository.saveAll(stepRuns);
+
+        for (int i = 0; i < runs.size(); i++) {
+            OrchestrationRun run = runs.get(i);
+            auditService.recordOrchestrationStart(run.getFlowId(), orchName, template.getInitiatorService());
+            doOperationHandler.startDoOperations(run, template, runMessages.get(i));
+        }
+        return flowIds;
+    }
+
+    /**
+     * Step runs of a new run, pending and with the max retries of their template
+     */
+    private List<OrchestrationStepRun> createStepRuns(OrchestrationRun run, CompiledOrchestrationTemplate template) {
+        return template.getSteps().stream()
+                .map(stepTemplate -> OrchestrationStepRun.builder()
+                        .orchestrationRun(run)
+                        .stepName(stepTemplate.getStepName())
+                        .seq(stepTemplate.getSeq())
+                        .status(ExecutionStatusEnum.PENDING)
+                        .maxRetries(stepTemplate.getMaxRetries())
+                        .retryCount(0)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     // Backward compatibility method - deprecated
     @Deprecated
     public void handleStepResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
@@ -1,5 +1,7 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
+import com.ecom.orchestrator.dto.BulkStartRequestDto;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.dto.OrchestrationRegistrationDto;
 import com.ecom.orchestrator.messaging.interfaces.MessageHandler;
@@ -22,18 +24,21 @@ public class OrchestrationMessageHandler implements MessageHandler {
     private final DoOperationHandler doOperationHandler;
     private final UndoOperationHandler undoOperationHandler;
     private final ObjectMapper objectMapper;
+    private final ResponseDeduplicator responseDeduplicator;
 
     public OrchestrationMessageHandler(
             OrchestrationRegistryService registryService,
             OrchestrationExecutorService executorService,
             DoOperationHandler doOperationHandler,
             UndoOperationHandler undoOperationHandler,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ResponseDeduplicator responseDeduplicator) {
         this.registryService = registryService;
         this.executorService = executorService;
         this.doOperationHandler = doOperationHandler;
         this.undoOperationHandler = undoOperationHandler;
         this.objectMapper = objectMapper;
+        this.responseDeduplicator = responseDeduplicator;
     }
 
     @Override
@@ -45,6 +50,8 @@ public class OrchestrationMessageHandler implements MessageHandler {
                 handleRegistrationMessage(message);
             } else if (topic.equals("orchestrator.execution.start")) {
                 handleExecutionStartMessage(message);
+            } else if (topic.equals("orchestrator.execution.start.bulk")) {
+                handleBulkExecutionStartMessage(message);
             } else if (topic.contains("orchestrator.") && (topic.contains(".response") || topic.contains(".result"))) {
                 handleStepResponseMessage(message);
             } else {
@@ -52,6 +59,7 @@ public class OrchestrationMessageHandler implements MessageHandler {
             }
         } catch (Exception e) {
             log.error("Error processing message from topic: {}", topic, e);
+            throw e; // Re-throw so the subscriber can retry and dead-letter the message
         }
     }
 
@@ -227,6 +235,33 @@ public class OrchestrationMessageHandler implements MessageHandler {
             executorService.startOrchestration(orchName,message);
         } catch (Exception e) {
             log.error("Error handling execution start message", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start every execution of a bulk start event; the event's headers apply to all of them
+     */
+    private void handleBulkExecutionStartMessage(ExecutionMessage message) {
+        try {
+            String orchName = message.getHeaders().get("orchestrationName").toString();
+            BulkStartRequestDto request = objectMapper.convertValue(message.getPayload(), BulkStartRequestDto.class);
+            if (request == null || request.getExecutions() == null) {
+                log.warn("Bulk start event without executions for orchestration: {}", orchName);
+                return;
+            }
+
+            Map<String, Object> sharedHeaders = new HashMap<>(message.getHeaders());
+            if (request.getHeaders() != null) {
+                sharedHeaders.putAll(request.getHeaders());
+            }
+            // Each execution carries its own flowId; the event itself starts no run
+            sharedHeaders.remove("flowId");
+
+            executorService.startOrchestrations(orchName, request.getExecutions(), sharedHeaders);
+        } catch (Exception e) {
+            log.error("Error handling bulk execution start message", e);
+            throw e;
         }
     }
 
@@ -243,6 +278,12 @@ public class OrchestrationMessageHandler implements MessageHandler {
                 log.info("Received step response: flowId={}, stepName={}, action={}, success={}",
                         flowId, stepName, action, success);
 
+                // Redelivered responses are dropped here, before the run is loaded
+                if (responseDeduplicator.isDuplicate(flowId, stepName, ResponseDeduplicator.phaseOf(action),
+                        ResponseDeduplicator.attemptOf(message))) {
+                    return;
+                }
+
                 if ("FAIL_STEP".equalsIgnoreCase(action)) {
                     log.info("Handling FAIL_STEP action for flowId={}, stepName={}", flowId, stepName);
                     // For FAIL_STEP, we treat it as an undo operation
@@ -257,6 +298,7 @@ public class OrchestrationMessageHandler implements MessageHandler {
             }
         } catch (Exception e) {
             log.error("Error handling step response message", e);
+            throw e;
         }
     }
 
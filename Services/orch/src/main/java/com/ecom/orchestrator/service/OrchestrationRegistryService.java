@@ -1,5 +1,6 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
 import com.ecom.orchestrator.constant.RegistrationConstants;
 import com.ecom.orchestrator.dto.OrchestrationRegistrationDto;
 import com.ecom.orchestrator.dto.RegistrationResult;
@@ -24,6 +25,7 @@ public class OrchestrationRegistryService {
     private final RegistrationStrategyFactory strategyFactory;
     private final OrchestrationStatusService orchestrationStatusService;
     private final RegistrationAsyncService asyncService;
+    private final OrchestrationTemplateCache templateCache;
 
     /**
      * Register orchestration using strategy pattern
@@ -46,6 +48,9 @@ public class OrchestrationRegistryService {
             orchestrationStatusService.updateOrchestrationStatus(registrationDto.getOrchestrationName());
         }
 
+        // Template steps or status may have changed, drop the compiled copy
+        templateCache.invalidate(registrationDto.getOrchestrationName());
+
         // Determine role enum for audit
         RegistrationRoleEnum roleEnum = RegistrationConstants.ROLE_INITIATOR.equalsIgnoreCase(registrationDto.getAs())
                 ? RegistrationRoleEnum.INITIATOR
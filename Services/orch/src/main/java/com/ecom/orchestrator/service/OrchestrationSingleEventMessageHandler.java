@@ -1,5 +1,7 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
+import com.ecom.orchestrator.dto.BulkStartRequestDto;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.dto.OrchestrationRegistrationDto;
 import com.ecom.orchestrator.messaging.interfaces.MessageHandler;
@@ -19,24 +21,28 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
 
     public static final String ORCHESTRATOR_REGISTRATION = "orchestrator.registration";
     public static final String ORCHESTRATOR_EXECUTION_START = "orchestrator.execution.start";
+    public static final String ORCHESTRATOR_EXECUTION_START_BULK = "orchestrator.execution.start.bulk";
     public static final String ORCHESTRATOR_RESPONSE_RESULT = "orchestrator.response.result";
     private final OrchestrationRegistryService registryService;
     private final OrchestrationExecutorService executorService;
     private final DoOperationHandler doOperationHandler;
     private final UndoOperationHandler undoOperationHandler;
     private final ObjectMapper objectMapper;
+    private final ResponseDeduplicator responseDeduplicator;
 
     public OrchestrationSingleEventMessageHandler(
             OrchestrationRegistryService registryService,
             OrchestrationExecutorService executorService,
             DoOperationHandler doOperationHandler,
             UndoOperationHandler undoOperationHandler,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ResponseDeduplicator responseDeduplicator) {
         this.registryService = registryService;
         this.executorService = executorService;
         this.doOperationHandler = doOperationHandler;
         this.undoOperationHandler = undoOperationHandler;
         this.objectMapper = objectMapper;
+        this.responseDeduplicator = responseDeduplicator;
     }
 
     @Override
@@ -49,6 +55,8 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
                 handleRegistrationMessage(message);
             } else if (eventType.equalsIgnoreCase(ORCHESTRATOR_EXECUTION_START)) {
                 handleExecutionStartMessage(message);
+            } else if (eventType.equalsIgnoreCase(ORCHESTRATOR_EXECUTION_START_BULK)) {
+                handleBulkExecutionStartMessage(message);
             } else if (eventType.equalsIgnoreCase(ORCHESTRATOR_RESPONSE_RESULT)) {
                 handleStepResponseMessage(message);
             } else {
@@ -56,6 +64,7 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
             }
         } catch (Exception e) {
             log.error("Error processing message from topic: {}", topic, e);
+            throw e; // Re-throw so the subscriber can retry and dead-letter the message
         }
     }
 
@@ -231,6 +240,34 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
             executorService.startOrchestration(orchName,message);
         } catch (Exception e) {
             log.error("Error handling execution start message", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start every execution of a bulk start event; the event's headers apply to all of them
+     */
+    private void handleBulkExecutionStartMessage(ExecutionMessage message) {
+        try {
+            String orchName = message.getHeaders().get("orchestrationName").toString();
+            BulkStartRequestDto request = objectMapper.convertValue(message.getPayload(), BulkStartRequestDto.class);
+            if (request == null || request.getExecutions() == null) {
+                log.warn("Bulk start event without executions for orchestration: {}", orchName);
+                return;
+            }
+
+            Map<String, Object> sharedHeaders = new HashMap<>(message.getHeaders());
+            if (request.getHeaders() != null) {
+                sharedHeaders.putAll(request.getHeaders());
+            }
+            // Each execution carries its own flowId; the event itself starts no run
+            sharedHeaders.remove("flowId");
+            sharedHeaders.put("eventType", ORCHESTRATOR_EXECUTION_START);
+
+            executorService.startOrchestrations(orchName, request.getExecutions(), sharedHeaders);
+        } catch (Exception e) {
+            log.error("Error handling bulk execution start message", e);
+            throw e;
         }
     }
 
@@ -247,6 +284,12 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
                 log.info("Received step response: flowId={}, stepName={}, action={}, success={}",
                         flowId, stepName, action, success);
 
+                // Redelivered responses are dropped here, before the run is loaded
+                if (responseDeduplicator.isDuplicate(flowId, stepName, ResponseDeduplicator.phaseOf(action),
+                        ResponseDeduplicator.attemptOf(message))) {
+                    return;
+                }
+
                 if ("FAIL_STEP".equalsIgnoreCase(action)) {
                     log.info("Handling FAIL_STEP action for flowId={}, stepName={}", flowId, stepName);
                     // For FAIL_STEP, we treat it as an undo operation
@@ -261,6 +304,7 @@ public class OrchestrationSingleEventMessageHandler implements MessageHandler {
             }
         } catch (Exception e) {
             log.error("Error handling step response message", e);
+            throw e;
         }
     }
 
@@ -0,0 +1,477 @@
+package com.ecom.orchestrator.service;
+
+import com.ecom.orchestrator.dto.PagedParkedMessageResponseDto;
+import com.ecom.orchestrator.dto.ParkedMessageDto;
+import com.ecom.orchestrator.dto.ParkingLotReplayRequestDto;
+import com.ecom.orchestrator.dto.ParkingLotReplayStatusDto;
+import com.ecom.orchestrator.entity.ParkedMessage;
+import com.ecom.orchestrator.entity.ParkedMessageStatusEnum;
+import com.ecom.orchestrator.messaging.deadletter.DeadLetterRouter;
+import com.ecom.orchestrator.repository.ParkedMessageRepository;
+import com.ecom.orchestrator.serialization.WireFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parking lot for dead-lettered messages: stores them with payload, headers and failure cause,
+ * serves queries, and replays selections to their original topics at a throttled rate.
+ * Replays run one at a time on a dedicated thread; a message is marked REPLAYED only after
+ * the broker acknowledged it, so a failed or interrupted replay can simply be started again.
+ */
+@Service
+@Slf4j
+public class ParkingLotService {
+
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+    private static final String DESERIALIZER_EXCEPTION_HEADER_PREFIX = "springDeserializerException";
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {};
+    private static final int MAX_STACK_TRACE_LENGTH = 8000;
+    private static final int MAX_TRACKED_REPLAYS = 50;
+
+    private final ParkedMessageRepository parkedMessageRepository;
+    private final KafkaTemplate<String, byte[]> byteArrayKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int replayBatchSize;
+    private final int defaultRatePerSecond;
+    private final int maxRatePerSecond;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter parked;
+    private final Counter replayed;
+    private final Counter replayFailed;
+    private final ExecutorService replayExecutor;
+    private final Map<String, ReplayJob> replays = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReplayJob> eldest) {
+            return size() > MAX_TRACKED_REPLAYS;
+        }
+    };
+
+    public ParkingLotService(ParkedMessageRepository parkedMessageRepository,
+                             KafkaTemplate<String, byte[]> byteArrayKafkaTemplate,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${orchestrator.dead-letter.replay.batch-size:500}") int replayBatchSize,
+                             @Value("${orchestrator.dead-letter.replay.default-rate-per-second:100}") int defaultRatePerSecond,
+                             @Value("${orchestrator.dead-letter.replay.max-rate-per-second:1000}") int maxRatePerSecond,
+                             @Value("${orchestrator.dead-letter.replay.default-limit:1000}") int defaultLimit,
+                             @Value("${orchestrator.dead-letter.replay.max-limit:100000}") int maxLimit,
+                             @Value("${orchestrator.dead-letter.replay.send-timeout-ms:30000}") long sendTimeoutMs) {
+        this.parkedMessageRepository = parkedMessageRepository;
+        this.byteArrayKafkaTemplate = byteArrayKafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replayBatchSize = replayBatchSize;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.maxRatePerSecond = maxRatePerSecond;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        Gauge.builder("orchestration.parking_lot.backlog", backlog, AtomicLong::get)
+                .description("Parked messages waiting to be replayed")
+                .register(meterRegistry);
+        this.parked = Counter.builder("orchestration.parking_lot.parked")
+                .description("Dead-lettered messages stored in the parking lot")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("orchestration.parking_lot.replayed")
+                .tag("result", "published")
+                .description("Parked messages replayed to their original topic")
+                .register(meterRegistry);
+        this.replayFailed = Counter.builder("orchestration.parking_lot.replayed")
+                .tag("result", "failed")
+                .description("Parked messages replayed to their original topic")
+                .register(meterRegistry);
+        this.replayExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("parking-lot-replay-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+
+    /**
+     * Store a record read from a dead-letter topic; records already parked are skipped
+     */
+    public void park(ConsumerRecord<String, byte[]> record) {
+        String originalTopic = headerString(record, KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        Integer originalPartition = headerInt(record, KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        Long originalOffset = headerLong(record, KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        if (originalTopic == null || originalPartition == null || originalOffset == null) {
+            // Not written by the dead-letter router; fall back to the dead-letter record's own position
+            originalTopic = stripSuffix(record.topic());
+            originalPartition = record.partition();
+            originalOffset = record.offset();
+        }
+
+        if (parkedMessageRepository.existsByOriginalTopicAndOriginalPartitionAndOriginalOffset(
+                originalTopic, originalPartition, originalOffset)) {
+            log.debug("Message already parked: topic={}, partition={}, offset={}",
+                    originalTopic, originalPartition, originalOffset);
+            return;
+        }
+
+        parkedMessageRepository.save(ParkedMessage.builder()
+                .originalTopic(originalTopic)
+                .originalPartition(originalPartition)
+                .originalOffset(originalOffset)
+                .messageKey(record.key())
+                .payload(record.value())
+                .headers(toJson(originalHeaders(record)))
+                .exceptionClass(headerString(record, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .exceptionMessage(headerString(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE))
+                .stackTrace(truncate(headerString(record, KafkaHeaders.DLT_EXCEPTION_STACKTRACE)))
+                .status(ParkedMessageStatusEnum.PARKED)
+                .parkedAt(LocalDateTime.now())
+                .build());
+
+        parked.increment();
+        backlog.incrementAndGet();
+        log.info("Parked message: topic={}, partition={}, offset={}, key={}",
+                originalTopic, originalPartition, originalOffset, record.key());
+    }
+
+    public PagedParkedMessageResponseDto findParkedMessages(String status, String topic, int page, int size) {
+        ParkedMessageStatusEnum statusFilter = status != null ? ParkedMessageStatusEnum.valueOf(status.toUpperCase()) : null;
+        Page<ParkedMessage> result = parkedMessageRepository.search(statusFilter, topic,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id")));
+
+        return PagedParkedMessageResponseDto.builder()
+                .content(result.getContent().stream().map(message -> toDto(message, false)).toList())
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .build();
+    }
+
+    public Optional<ParkedMessageDto> findParkedMessage(Long id) {
+        return parkedMessageRepository.findById(id).map(message -> toDto(message, true));
+    }
+
+    /**
+     * Queue a replay of the selected parked messages
+     */
+    public ParkingLotReplayStatusDto startReplay(ParkingLotReplayRequestDto request) {
+        int rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : defaultRatePerSecond;
+        int limit = request.getLimit() != null ? request.getLimit() : defaultLimit;
+        if (rate <= 0 || rate > maxRatePerSecond) {
+            throw new IllegalArgumentException("ratePerSecond must be between 1 and " + maxRatePerSecond);
+        }
+        List<Long> ids = request.getIds() != null ? request.getIds().stream().distinct().sorted().toList() : null;
+        if (ids != null) {
+            limit = ids.size();
+        }
+        if (limit <= 0 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        ReplayJob job = new ReplayJob(UUID.randomUUID().toString(), ids, request.getTopic(), rate, limit);
+        synchronized (replays) {
+            replays.put(job.id, job);
+        }
+        replayExecutor.submit(() -> runReplay(job));
+
+        log.info("Queued parking lot replay {}: topic={}, ids={}, limit={}, rate={}/s",
+                job.id, job.topic, job.ids != null ? job.ids.size() : null, job.limit, rate);
+        return job.toDto();
+    }
+
+    public Optional<ParkingLotReplayStatusDto> getReplay(String replayId) {
+        synchronized (replays) {
+            return Optional.ofNullable(replays.get(replayId)).map(ReplayJob::toDto);
+        }
+    }
+
+    /**
+     * Publish the job's messages in id order, pacing sends to the job's rate.
+     * Each batch is awaited before its rows are marked, so at most one batch is in flight.
+     */
+    void runReplay(ReplayJob job) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / job.ratePerSecond;
+        long nextSendAt = System.nanoTime();
+        long afterId = 0;
+        int selected = 0;
+
+        try {
+            while (selected < job.limit && !Thread.currentThread().isInterrupted()) {
+                int size = Math.min(job.limit - selected, replayBatchSize);
+                List<ParkedMessage> batch;
+                if (job.ids != null) {
+                    // Ids that are no longer parked are skipped
+                    batch = parkedMessageRepository.findByStatusAndIdIn(ParkedMessageStatusEnum.PARKED,
+                            job.ids.subList(selected, selected + size));
+                    selected += size;
+                } else {
+                    batch = parkedMessageRepository.findNextBatch(ParkedMessageStatusEnum.PARKED, job.topic, afterId,
+                            PageRequest.of(0, size));
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    afterId = batch.get(batch.size() - 1).getId();
+                    selected += batch.size();
+                }
+
+                List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+                for (ParkedMessage message : batch) {
+                    long waitNanos = nextSendAt - System.nanoTime();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+                    // Time spent waiting for acks is not made up with a burst
+                    nextSendAt = Math.max(nextSendAt, System.nanoTime()) + intervalNanos;
+                    futures.add(send(message));
+                }
+
+                List<Long> published = awaitAcks(batch, futures, job);
+                if (!published.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            parkedMessageRepository.markReplayed(published, LocalDateTime.now()));
+                    backlog.updateAndGet(current -> Math.max(0, current - published.size()));
+                }
+            }
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            log.error("Parking lot replay {} failed", job.id, e);
+            job.status = "FAILED";
+            job.error = e.getMessage();
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            log.info("Parking lot replay {} finished: status={}, published={}, failed={}",
+                    job.id, job.status, job.published.get(), job.failed.get());
+        }
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(ParkedMessage message) {
+        List<Header> headers = new ArrayList<>();
+        fromJson(message.getHeaders()).forEach((name, value) ->
+                headers.add(new RecordHeader(name, value != null ? value.getBytes(StandardCharsets.UTF_8) : null)));
+        try {
+            return byteArrayKafkaTemplate.send(new ProducerRecord<>(message.getOriginalTopic(), null,
+                    message.getMessageKey(), message.getPayload(), headers));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<Long> awaitAcks(List<ParkedMessage> batch, List<CompletableFuture<SendResult<String, byte[]>>> futures,
+                                 ReplayJob job) {
+        List<Long> published = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            ParkedMessage message = batch.get(i);
+            try {
+                long remainingNanos = Math.max(0, deadline - System.nanoTime());
+                futures.get(i).get(remainingNanos, TimeUnit.NANOSECONDS);
+                published.add(message.getId());
+                replayed.increment();
+                job.published.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                replayFailed.increment();
+                job.failed.incrementAndGet();
+                log.warn("Failed to replay parked message {} to {}: {}",
+                        message.getId(), message.getOriginalTopic(), e.getMessage());
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Re-sync the backlog gauge with the table, which other instances may have changed
+     */
+    @Scheduled(fixedDelayString = "${orchestrator.dead-letter.backlog-refresh-ms:30000}")
+    public void refreshBacklog() {
+        try {
+            backlog.set(parkedMessageRepository.countByStatus(ParkedMessageStatusEnum.PARKED));
+        } catch (Exception e) {
+            log.warn("Failed to refresh parking lot backlog: {}", e.getMessage());
+        }
+    }
+
+    long backlog() {
+        return backlog.get();
+    }
+
+    private ParkedMessageDto toDto(ParkedMessage message, boolean withStackTrace) {
+        return ParkedMessageDto.builder()
+                .id(message.getId())
+                .originalTopic(message.getOriginalTopic())
+                .originalPartition(message.getOriginalPartition())
+                .originalOffset(message.getOriginalOffset())
+                .messageKey(message.getMessageKey())
+                .payload(payloadText(message.getPayload()))
+                .headers(fromJson(message.getHeaders()))
+                .exceptionClass(message.getExceptionClass())
+                .exceptionMessage(message.getExceptionMessage())
+                .stackTrace(withStackTrace ? message.getStackTrace() : null)
+                .status(message.getStatus().name())
+                .replayCount(message.getReplayCount())
+                .parkedAt(message.getParkedAt())
+                .lastReplayedAt(message.getLastReplayedAt())
+                .build();
+    }
+
+    /**
+     * Headers of the failed record as UTF-8 strings, without the ones describing the failure
+     */
+    private static Map<String, String> originalHeaders(ConsumerRecord<String, byte[]> record) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : record.headers()) {
+            if (header.key().startsWith(DLT_HEADER_PREFIX) || header.key().startsWith(DESERIALIZER_EXCEPTION_HEADER_PREFIX)) {
+                continue;
+            }
+            headers.put(header.key(), header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null);
+        }
+        return headers;
+    }
+
+    private static String headerString(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static Integer headerInt(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null && header.value().length == Integer.BYTES
+                ? ByteBuffer.wrap(header.value()).getInt() : null;
+    }
+
+    private static Long headerLong(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null && header.value().length == Long.BYTES
+                ? ByteBuffer.wrap(header.value()).getLong() : null;
+    }
+
+    private static String stripSuffix(String topic) {
+        return topic.endsWith(DeadLetterRouter.DEAD_LETTER_SUFFIX)
+                ? topic.substring(0, topic.length() - DeadLetterRouter.DEAD_LETTER_SUFFIX.length())
+                : topic;
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_STACK_TRACE_LENGTH ? value.substring(0, MAX_STACK_TRACE_LENGTH) : value;
+    }
+
+    /**
+     * Payload for display; binary records are shown as the JSON they encode, undecodable bytes as they are
+     */
+    private static String payloadText(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        if (WireFormat.detect(payload) == WireFormat.SMILE) {
+            try {
+                return WireFormat.JSON.mapper().writeValueAsString(WireFormat.SMILE.mapper().readTree(payload));
+            } catch (IOException e) {
+                log.debug("Parked payload is not valid Smile, showing raw bytes: {}", e.getMessage());
+            }
+        }
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private String toJson(Map<String, String> headers) {
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize parked message headers", e);
+        }
+    }
+
+    private Map<String, String> fromJson(String headers) {
+        if (headers == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(headers, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse parked message headers: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    static final class ReplayJob {
+        final String id;
+        final List<Long> ids;
+        final String topic;
+        final int ratePerSecond;
+        final int limit;
+        final AtomicLong published = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        volatile String status = "QUEUED";
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime completedAt;
+        volatile String error;
+
+        ReplayJob(String id, List<Long> ids, String topic, int ratePerSecond, int limit) {
+            this.id = id;
+            this.ids = ids;
+            this.topic = topic;
+            this.ratePerSecond = ratePerSecond;
+            this.limit = limit;
+        }
+
+        ParkingLotReplayStatusDto toDto() {
+            return ParkingLotReplayStatusDto.builder()
+                    .replayId(id)
+                    .status(status)
+                    .topic(topic)
+                    .ratePerSecond(ratePerSecond)
+                    .limit(limit)
+                    .published(published.get())
+                    .failed(failed.get())
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
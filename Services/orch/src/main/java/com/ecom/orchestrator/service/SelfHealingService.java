@@ -1,5 +1,6 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
 import com.ecom.orchestrator.entity.OrchestrationStatusEnum;
 import com.ecom.orchestrator.entity.OrchestrationTemplate;
 import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
@@ -19,6 +20,7 @@ public class SelfHealingService {
 
     private final OrchestrationTemplateRepository orchestrationTemplateRepository;
     private final WorkerRegistrationRepository workerRegistrationRepository;
+    private final OrchestrationTemplateCache templateCache;
 
     //@Scheduled(fixedDelay = 60000) // Run every 60 seconds
     @Transactional
@@ -50,6 +52,7 @@ public class SelfHealingService {
                 template.setStatus(OrchestrationStatusEnum.SUCCESS);
                 template.setFailureReason(null);
                 orchestrationTemplateRepository.save(template);
+                templateCache.invalidate(template.getOrchName());
 
                 log.info("Self-healing: Orchestration status updated to SUCCESS: {}", template.getOrchName());
             }
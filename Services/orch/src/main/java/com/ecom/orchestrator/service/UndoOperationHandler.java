@@ -1,17 +1,24 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.entity.*;
 import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.metrics.OrchestrationMetrics;
 import com.ecom.orchestrator.repository.OrchestrationRunRepository;
-import com.ecom.orchestrator.repository.OrchestrationStepRunRepository;
-import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
+import com.ecom.orchestrator.retry.DelayedRetryScheduler;
+import com.ecom.orchestrator.state.RunStateMachine;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import com.ecom.orchestrator.timeout.StepTimeouts;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,30 +34,56 @@ import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_
 public class UndoOperationHandler {
 
     private final OrchestrationRunRepository orchestrationRunRepository;
-    private final OrchestrationStepRunRepository stepRunRepository;
-    private final OrchestrationTemplateRepository orchestrationTemplateRepository;
+    private final OrchestrationTemplateCache templateCache;
     private final MessagePublisher messagePublisher;
     private final AuditService auditService;
+    private final DelayedRetryScheduler retryScheduler;
+    private final StepTimeouts stepTimeouts;
+    private final ResponseDeduplicator responseDeduplicator;
+    private final ExecutionSummaryProjector summaryProjector;
+    private final OrchestrationMetrics metrics;
+    private final RunStateMachine stateMachine;
+    private final TransitionExecutor transitionExecutor;
 
     public UndoOperationHandler(
             OrchestrationRunRepository orchestrationRunRepository,
-            OrchestrationStepRunRepository stepRunRepository,
-            OrchestrationTemplateRepository orchestrationTemplateRepository,
+            OrchestrationTemplateCache templateCache,
             MessagePublisher messagePublisher,
-            AuditService auditService) {
+            AuditService auditService,
+            DelayedRetryScheduler retryScheduler,
+            StepTimeouts stepTimeouts,
+            ResponseDeduplicator responseDeduplicator,
+            ExecutionSummaryProjector summaryProjector,
+            OrchestrationMetrics metrics,
+            RunStateMachine stateMachine,
+            TransitionExecutor transitionExecutor) {
         this.orchestrationRunRepository = orchestrationRunRepository;
-        this.stepRunRepository = stepRunRepository;
-        this.orchestrationTemplateRepository = orchestrationTemplateRepository;
+        this.templateCache = templateCache;
         this.messagePublisher = messagePublisher;
         this.auditService = auditService;
+        this.retryScheduler = retryScheduler;
+        this.stepTimeouts = stepTimeouts;
+        this.responseDeduplicator = responseDeduplicator;
+        this.summaryProjector = summaryProjector;
+        this.metrics = metrics;
+        this.stateMachine = stateMachine;
+        this.transitionExecutor = transitionExecutor;
     }
 
     /**
-     * Handle UNDO response from worker
+     * Handle UNDO response from worker; a commit that conflicts with another transition of the flow is retried
      */
-    @Transactional
     public void handleUndoResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
         log.info("Handling UNDO response: flowId={}, stepName={}, success={}", flowId, stepName, success);
+        transitionExecutor.run(flowId, () -> applyUndoResponse(flowId, stepName, success, errorMessage, message));
+    }
+
+    private void applyUndoResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
+
+        Integer attempt = ResponseDeduplicator.attemptOf(message);
+        if (!responseDeduplicator.claim(flowId, stepName, ResponseDeduplicator.PHASE_UNDO, attempt)) {
+            return;
+        }
 
         Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
         if (runOpt.isEmpty()) {
@@ -59,8 +92,7 @@ public class UndoOperationHandler {
         }
 
         OrchestrationRun orchestrationRun = runOpt.get();
-        Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                .findByOrchestrationRunFlowIdAndStepName(flowId, stepName);
+        Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepName);
 
         if (stepRunOpt.isEmpty()) {
             log.error("Step run not found: flowId={}, stepName={}", flowId, stepName);
@@ -68,12 +100,24 @@ public class UndoOperationHandler {
         }
 
         OrchestrationStepRun stepRun = stepRunOpt.get();
+        if (responseDeduplicator.isStale(flowId, attempt, stepRun)) {
+            return;
+        }
+        if (stepRun.getStatus() != ExecutionStatusEnum.UNDOING) {
+            log.warn("Ignoring UNDO response for step in status {}: flowId={}, stepName={}",
+                    stepRun.getStatus(), flowId, stepName);
+            return;
+        }
+        stateMachine.claim(orchestrationRun);
+        summaryProjector.track(orchestrationRun);
 
+        long start = System.nanoTime();
         if (success) {
             handleUndoSuccess(orchestrationRun, stepRun, message);
         } else {
             handleUndoFailure(orchestrationRun, stepRun, errorMessage, message);
         }
+        metrics.recordResponse(OrchestrationMetrics.PHASE_UNDO, orchestrationRun, stepRun, success, start);
     }
 
     /**
@@ -83,9 +127,18 @@ public class UndoOperationHandler {
      * 2. Check if we can retry the failed step
      * 3. If retries exhausted, trigger UNDO for all previously completed steps
      */
-    @Transactional
     public void handleFailResponse(String flowId, String stepName, boolean success, String errorMessage, ExecutionMessage message) {
         log.info("Handling FAIL_STEP action: flowId={}, stepName={}, error={}", flowId, stepName, errorMessage);
+        transitionExecutor.run(flowId, () -> applyFailResponse(flowId, stepName, errorMessage, message));
+    }
+
+    private void applyFailResponse(String flowId, String stepName, String errorMessage, ExecutionMessage message) {
+
+        // FAIL_STEP answers a DO call and shares its dedup key with DO responses
+        Integer attempt = ResponseDeduplicator.attemptOf(message);
+        if (!responseDeduplicator.claim(flowId, stepName, ResponseDeduplicator.PHASE_DO, attempt)) {
+            return;
+        }
 
         Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
         if (runOpt.isEmpty()) {
@@ -94,8 +147,7 @@ public class UndoOperationHandler {
         }
 
         OrchestrationRun orchestrationRun = runOpt.get();
-        Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                .findByOrchestrationRunFlowIdAndStepName(flowId, stepName);
+        Optional<OrchestrationStepRun> stepRunOpt = orchestrationRun.findStepRun(stepName);
 
         if (stepRunOpt.isEmpty()) {
             log.error("Step run not found: flowId={}, stepName={}", flowId, stepName);
@@ -103,12 +155,23 @@ public class UndoOperationHandler {
         }
 
         OrchestrationStepRun stepRun = stepRunOpt.get();
+        if (responseDeduplicator.isStale(flowId, attempt, stepRun)) {
+            return;
+        }
+        if (stepRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS) {
+            log.warn("Ignoring FAIL_STEP response for step in status {}: flowId={}, stepName={}",
+                    stepRun.getStatus(), flowId, stepName);
+            return;
+        }
+        stateMachine.claim(orchestrationRun);
+        summaryProjector.track(orchestrationRun);
 
         log.warn("Step failed explicitly (FAIL_STEP action): flowId={}, stepName={}, error={}",
                 orchestrationRun.getFlowId(), stepRun.getStepName(), errorMessage);
 
         // Update step error message
         stepRun.setErrorMessage(errorMessage);
+        stepTimeouts.disarm(stepRun);
 
         // Record audit event for step failure
         auditService.recordStepFailure(
@@ -121,6 +184,14 @@ public class UndoOperationHandler {
             "DO"
         );
 
+        if (orchestrationRun.getStatus() != ExecutionStatusEnum.IN_PROGRESS && isDag(orchestrationRun)) {
+            // Another branch already failed the run; nothing to compensate here and a retry would not be sent
+            stateMachine.transition(stepRun, ExecutionStatusEnum.FAILED);
+            stepRun.setCompletedAt(LocalDateTime.now());
+            stepTimeouts.clear(stepRun);
+            return;
+        }
+
         // Check if we can retry
         if (stepRun.getRetryCount() < stepRun.getMaxRetries()) {
             retryFailedStep(orchestrationRun, stepRun, message);
@@ -130,52 +201,36 @@ public class UndoOperationHandler {
     }
 
     /**
-     * Retry failed step (DO operation)
+     * Retry failed step (DO operation) after the step's backoff
      */
     private void retryFailedStep(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun, ExecutionMessage message) {
         stepRun.setRetryCount(stepRun.getRetryCount() + 1);
-        stepRun.setStatus(ExecutionStatusEnum.IN_PROGRESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.IN_PROGRESS);
         stepRun.setLastRetryAt(LocalDateTime.now());
-        stepRunRepository.save(stepRun);
 
         log.info("Retrying failed step (DO operation): flowId={}, stepName={}, attempt={}/{}",
                 orchestrationRun.getFlowId(), stepRun.getStepName(),
                 stepRun.getRetryCount(), stepRun.getMaxRetries());
 
-        // Record audit event for retry attempt
-        auditService.recordRetryAttempt(
-            orchestrationRun.getFlowId(),
-            orchestrationRun.getOrchName(),
-            stepRun.getStepName(),
-            stepRun.getRetryCount(),
-            stepRun.getMaxRetries(),
-            "DO",
-            5000L  // Default backoff time in ms
-        );
-
         // Get step template to find DO topic
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
-        Optional<OrchestrationStepTemplate> stepTemplateOpt = template.getSteps().stream()
-                .filter(st -> st.getStepName().equals(stepRun.getStepName()))
-                .findFirst();
+        Optional<CompiledStepTemplate> stepTemplateOpt = templateOpt.get().getStep(stepRun.getStepName());
 
         if (stepTemplateOpt.isEmpty()) {
             log.error("Step template not found: {}", stepRun.getStepName());
             return;
         }
 
-        OrchestrationStepTemplate stepTemplate = stepTemplateOpt.get();
+        CompiledStepTemplate stepTemplate = stepTemplateOpt.get();
 
-        // Send message to DO topic for retry
-        sendDoMessageForRetry(orchestrationRun.getFlowId(), stepTemplate, message);
+        // Schedule the DO message for retry
+        scheduleDoMessageForRetry(orchestrationRun, stepRun, stepTemplate, message);
     }
 
     /**
@@ -186,14 +241,13 @@ public class UndoOperationHandler {
                 orchestrationRun.getFlowId(), stepRun.getStepName());
 
         // Update step status to FAILED
-        stepRun.setStatus(ExecutionStatusEnum.FAILED);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.FAILED);
         stepRun.setCompletedAt(LocalDateTime.now());
-        stepRunRepository.save(stepRun);
+        stepTimeouts.clear(stepRun);
         log.info("Step marked as FAILED: flowId={}, stepName={}", orchestrationRun.getFlowId(), stepRun.getStepName());
 
         // Update orchestration run status to FAILED
-        orchestrationRun.setStatus(ExecutionStatusEnum.FAILED);
-        orchestrationRunRepository.save(orchestrationRun);
+        stateMachine.transition(orchestrationRun, ExecutionStatusEnum.FAILED);
         log.info("Orchestration run marked as FAILED: flowId={}", orchestrationRun.getFlowId());
 
         // Trigger UNDO for all successfully completed steps (DO_SUCCESS)
@@ -203,21 +257,23 @@ public class UndoOperationHandler {
 
         if (!completedSteps.isEmpty()) {
             log.info("Triggering UNDO for {} successfully completed steps due to step failure", completedSteps.size());
-            undoOrchestration(orchestrationRun.getFlowId(), message);
+            undoOrchestration(orchestrationRun, message);
         } else {
             log.info("No completed steps to undo for flowId: {}", orchestrationRun.getFlowId());
             // Complete the orchestration as failed
             orchestrationRun.setCompletedAt(LocalDateTime.now());
-            orchestrationRunRepository.save(orchestrationRun);
+            metrics.recordFlowFinished(orchestrationRun);
             log.error("Orchestration failed with no steps to undo: flowId={}", orchestrationRun.getFlowId());
         }
     }
 
     /**
-     * Send DO message for retry
+     * Schedule DO message for retry; the retry dispatcher publishes it once the backoff has elapsed
      */
-    private void sendDoMessageForRetry(String flowId, OrchestrationStepTemplate stepTemplate, ExecutionMessage message) {
-        log.info("Sending DO message for retry: flowId={}, stepName={}, topic={}",
+    private void scheduleDoMessageForRetry(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun,
+                                           CompiledStepTemplate stepTemplate, ExecutionMessage message) {
+        String flowId = orchestrationRun.getFlowId();
+        log.info("Scheduling DO message for retry: flowId={}, stepName={}, topic={}",
                 flowId, stepTemplate.getStepName(), stepTemplate.getDoTopic());
 
         // Add step information to message headers
@@ -226,22 +282,22 @@ public class UndoOperationHandler {
         headers.put("stepName", stepTemplate.getStepName());
         headers.put("action", "DO");
         headers.put("seq", stepTemplate.getSeq());
+        headers.put(ResponseDeduplicator.ATTEMPT_HEADER, stepRun.getRetryCount());
         headers.put("eventType", "do"+stepTemplate.getStepName());
-        try {
-            messagePublisher.send(Boolean.TRUE.equals(stepTemplate.getSharedTopic())?ORCHESTRATOR_EVENT:stepTemplate.getDoTopic(), message);
-            log.info("DO message sent successfully for retry: flowId={}, stepName={}", flowId, stepTemplate.getStepName());
-        } catch (Exception e) {
-            log.error("Failed to send DO message for retry: flowId={}, stepName={}", flowId, stepTemplate.getStepName(), e);
 
-            // If sending retry message fails, trigger UNDO directly
-            Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
-            Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                    .findByOrchestrationRunFlowIdAndStepName(flowId, stepTemplate.getStepName());
+        long backoffMs = retryScheduler.schedule(orchestrationRun, stepRun, stepTemplate, "DO",
+                Boolean.TRUE.equals(stepTemplate.getSharedTopic())?ORCHESTRATOR_EVENT:stepTemplate.getDoTopic(), message);
 
-            if (runOpt.isPresent() && stepRunOpt.isPresent()) {
-                handleFailRetryExhausted(runOpt.get(), stepRunOpt.get(), message);
-            }
-        }
+        // Record audit event for retry attempt
+        auditService.recordRetryAttempt(
+            flowId,
+            orchestrationRun.getOrchName(),
+            stepRun.getStepName(),
+            stepRun.getRetryCount(),
+            stepRun.getMaxRetries(),
+            "DO",
+            backoffMs
+        );
     }
     /**
      * Handle successful UNDO operation
@@ -256,11 +312,10 @@ public class UndoOperationHandler {
         }
 
         // Update step status to UNDO_SUCCESS
-        stepRun.setStatus(ExecutionStatusEnum.UNDO_SUCCESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.UNDO_SUCCESS);
         stepRun.setUndoneAt(LocalDateTime.now());
         stepRun.setErrorMessage(null);
         stepRun.setRetryCount(0); // Reset retry count for undo
-        stepRunRepository.save(stepRun);
 
         // Record audit event for UNDO completion
         auditService.recordUndoComplete(
@@ -272,18 +327,19 @@ public class UndoOperationHandler {
         );
 
         // Get orchestration template
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
+        CompiledOrchestrationTemplate template = templateOpt.get();
 
         // Proceed to next step based on orchestration type
-        if (template.getType() == OrchestrationTypeEnum.SEQUENTIAL) {
+        if (template.isDag()) {
+            undoReadyDagSteps(orchestrationRun, template, message);
+        } else if (template.isSequential()) {
             handleSequentialUndoSuccess(orchestrationRun, template, stepRun.getStepName(), message);
         } else {
             handleParallelUndoSuccess(orchestrationRun);
@@ -322,36 +378,43 @@ public class UndoOperationHandler {
      */
     private void retryUndoOperation(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun, ExecutionMessage message) {
         stepRun.setRetryCount(stepRun.getRetryCount() + 1);
-        stepRun.setStatus(ExecutionStatusEnum.UNDOING);
-        stepRunRepository.save(stepRun);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.UNDOING);
 
         log.info("Retrying UNDO operation: flowId={}, stepName={}, attempt={}/{}",
                 orchestrationRun.getFlowId(), stepRun.getStepName(),
                 stepRun.getRetryCount(), stepRun.getMaxRetries());
 
         // Get step template to find UNDO topic
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
-        Optional<OrchestrationStepTemplate> stepTemplateOpt = template.getSteps().stream()
-                .filter(st -> st.getStepName().equals(stepRun.getStepName()))
-                .findFirst();
+        Optional<CompiledStepTemplate> stepTemplateOpt = templateOpt.get().getStep(stepRun.getStepName());
 
         if (stepTemplateOpt.isEmpty()) {
             log.error("Step template not found: {}", stepRun.getStepName());
             return;
         }
 
-        OrchestrationStepTemplate stepTemplate = stepTemplateOpt.get();
+        CompiledStepTemplate stepTemplate = stepTemplateOpt.get();
+
+        // Published again by DelayedRetryDispatcher once the step's backoff has elapsed
+        prepareUndoMessage(orchestrationRun.getFlowId(), stepRun, stepTemplate, message);
+        long backoffMs = retryScheduler.schedule(orchestrationRun, stepRun, stepTemplate, "UNDO",
+                undoTopic(stepTemplate), message);
 
-        // Send message to UNDO topic
-        sendUndoMessage(orchestrationRun.getFlowId(), stepTemplate, message);
+        auditService.recordRetryAttempt(
+            orchestrationRun.getFlowId(),
+            orchestrationRun.getOrchName(),
+            stepRun.getStepName(),
+            stepRun.getRetryCount(),
+            stepRun.getMaxRetries(),
+            "UNDO",
+            backoffMs
+        );
     }
 
     /**
@@ -362,14 +425,13 @@ public class UndoOperationHandler {
                 orchestrationRun.getFlowId(), stepRun.getStepName());
 
         // Update step status to UNDO_FAIL
-        stepRun.setStatus(ExecutionStatusEnum.UNDO_FAIL);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.UNDO_FAIL);
         stepRun.setUndoneAt(LocalDateTime.now());
-        stepRunRepository.save(stepRun);
 
         // Update orchestration run status to FAILED (UNDO failed)
-        orchestrationRun.setStatus(ExecutionStatusEnum.FAILED);
+        stateMachine.transition(orchestrationRun, ExecutionStatusEnum.FAILED);
         orchestrationRun.setCompletedAt(LocalDateTime.now());
-        orchestrationRunRepository.save(orchestrationRun);
+        metrics.recordFlowFinished(orchestrationRun);
 
         log.error("UNDO process failed completely for flowId: {}", orchestrationRun.getFlowId());
     }
@@ -377,39 +439,35 @@ public class UndoOperationHandler {
     /**
      * Handle sequential UNDO success - undo previous step (reverse order)
      */
-    private void handleSequentialUndoSuccess(OrchestrationRun orchestrationRun, OrchestrationTemplate template,
+    private void handleSequentialUndoSuccess(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template,
                                             String completedStepName, ExecutionMessage message) {
         log.info("Handling sequential UNDO success: flowId={}, completedStep={}",
                 orchestrationRun.getFlowId(), completedStepName);
 
-        // Find next step to undo (in reverse order)
-        List<OrchestrationStepTemplate> sortedSteps = template.getSteps().stream()
-                .sorted(Comparator.comparing(OrchestrationStepTemplate::getSeq).reversed())
-                .collect(Collectors.toList());
+        Map<String, OrchestrationStepRun> stepRunsByName = orchestrationRun.getStepRuns().stream()
+                .collect(Collectors.toMap(OrchestrationStepRun::getStepName, sr -> sr, (a, b) -> a));
 
-        // Find steps that need undo (DO_SUCCESS status)
-        Optional<OrchestrationStepTemplate> nextStepOpt = sortedSteps.stream()
+        // Find steps that need undo (DO_SUCCESS status), in reverse order
+        Optional<CompiledStepTemplate> nextStepOpt = template.getStepsReversed().stream()
                 .filter(step -> {
-                    OrchestrationStepRun stepRun = orchestrationRun.getStepRuns().stream()
-                            .filter(sr -> sr.getStepName().equals(step.getStepName()))
-                            .findFirst()
-                            .orElse(null);
+                    OrchestrationStepRun stepRun = stepRunsByName.get(step.getStepName());
                     return stepRun != null && stepRun.getStatus() == ExecutionStatusEnum.DO_SUCCESS;
                 })
                 .findFirst();
 
         if (nextStepOpt.isPresent()) {
             // Undo next step
-            OrchestrationStepTemplate nextStep = nextStepOpt.get();
+            CompiledStepTemplate nextStep = nextStepOpt.get();
             log.info("Undoing next step: {}", nextStep.getStepName());
 
             // Update step status to UNDOING
-            updateStepRunStatus(orchestrationRun.getFlowId(), nextStep.getStepName(), ExecutionStatusEnum.UNDOING);
+            OrchestrationStepRun nextRun = stepRunsByName.get(nextStep.getStepName());
+            updateStepRunStatus(nextRun, ExecutionStatusEnum.UNDOING);
 
-            sendUndoMessage(orchestrationRun.getFlowId(), nextStep, message);
+            sendUndoMessage(orchestrationRun, nextRun, nextStep, message);
         } else {
             // All steps undone
-            completeUndoProcess(orchestrationRun.getFlowId());
+            completeUndoProcess(orchestrationRun);
         }
     }
 
@@ -427,54 +485,107 @@ public class UndoOperationHandler {
                 .allMatch(stepRun -> stepRun.getStatus() == ExecutionStatusEnum.UNDO_SUCCESS);
 
         if (allUndone) {
-            completeUndoProcess(orchestrationRun.getFlowId());
+            completeUndoProcess(orchestrationRun);
         }
     }
 
+    /**
+     * Handle DAG UNDO progress - undo every completed step whose dependents are all undone.
+     * A branch is compensated in reverse dependency order, independent branches in parallel;
+     * steps that never succeeded are left alone. An exhausted UNDO stops its branch like it stops
+     * a sequential rollback and keeps the run FAILED.
+     */
+    private void undoReadyDagSteps(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template,
+                                   ExecutionMessage message) {
+        Map<String, OrchestrationStepRun> stepRunsByName = orchestrationRun.getStepRuns().stream()
+                .collect(Collectors.toMap(OrchestrationStepRun::getStepName, sr -> sr, (a, b) -> a));
+
+        for (CompiledStepTemplate step : template.getStepsReversed()) {
+            OrchestrationStepRun stepRun = stepRunsByName.get(step.getStepName());
+            if (stepRun == null || stepRun.getStatus() != ExecutionStatusEnum.DO_SUCCESS) {
+                continue;
+            }
+
+            boolean dependentsUndone = template.getDependents(step.getStepName()).stream()
+                    .map(dependent -> stepRunsByName.get(dependent.getStepName()))
+                    .noneMatch(sr -> sr != null && (sr.getStatus() == ExecutionStatusEnum.DO_SUCCESS
+                            || sr.getStatus() == ExecutionStatusEnum.UNDOING
+                            || sr.getStatus() == ExecutionStatusEnum.UNDO_FAIL));
+            if (dependentsUndone) {
+                log.info("Undoing step: {}", step.getStepName());
+                updateStepRunStatus(stepRun, ExecutionStatusEnum.UNDOING);
+                sendUndoMessage(orchestrationRun, stepRun, step, message);
+            }
+        }
+
+        boolean settled = orchestrationRun.getStepRuns().stream()
+                .noneMatch(sr -> sr.getStatus() == ExecutionStatusEnum.DO_SUCCESS
+                        || sr.getStatus() == ExecutionStatusEnum.UNDOING
+                        || sr.getStatus() == ExecutionStatusEnum.UNDO_FAIL);
+        if (settled) {
+            completeUndoProcess(orchestrationRun);
+        }
+    }
+
+    /**
+     * Compensate a DAG step whose DO succeeded after a parallel branch had already failed the run
+     */
+    public void undoLateSuccess(OrchestrationRun orchestrationRun, CompiledOrchestrationTemplate template,
+                                OrchestrationStepRun stepRun, ExecutionMessage message) {
+        log.info("Undoing step that succeeded after the run failed: flowId={}, stepName={}",
+                orchestrationRun.getFlowId(), stepRun.getStepName());
+
+        if (orchestrationRun.getStatus() == ExecutionStatusEnum.UNDONE) {
+            // The rollback already finished without this step; reopen it
+            stateMachine.transition(orchestrationRun, ExecutionStatusEnum.UNDOING);
+        }
+        undoReadyDagSteps(orchestrationRun, template, message);
+    }
+
     /**
      * Send UNDO message to worker
      */
-    public void sendUndoMessage(String flowId, OrchestrationStepTemplate stepTemplate, ExecutionMessage message) {
+    public void sendUndoMessage(OrchestrationRun orchestrationRun, OrchestrationStepRun stepRun,
+                                CompiledStepTemplate stepTemplate, ExecutionMessage message) {
+        String flowId = orchestrationRun.getFlowId();
         log.info("Sending UNDO message: flowId={}, stepName={}, topic={}",
                 flowId, stepTemplate.getStepName(), stepTemplate.getUndoTopic());
 
-        // Get orchestration name and worker service for audit
-        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowId(flowId);
-        if (runOpt.isPresent()) {
-            String orchName = runOpt.get().getOrchName();
-            Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                    .findByOrchestrationRunFlowIdAndStepName(flowId, stepTemplate.getStepName());
+        // Record audit event for UNDO start
+        auditService.recordUndoStart(flowId, orchestrationRun.getOrchName(), stepTemplate.getStepName(),
+                stepRun.getWorkerService());
 
-            if (stepRunOpt.isPresent()) {
-                String workerService = stepRunOpt.get().getWorkerService();
+        prepareUndoMessage(flowId, stepRun, stepTemplate, message);
+        long start = System.nanoTime();
+        try {
+            messagePublisher.send(undoTopic(stepTemplate), message);
+            metrics.recordDispatch(OrchestrationMetrics.PHASE_UNDO, orchestrationRun, stepTemplate.getStepName(), true, start);
+            log.info("UNDO message sent successfully: flowId={}, stepName={}", flowId, stepTemplate.getStepName());
+        } catch (Exception e) {
+            metrics.recordDispatch(OrchestrationMetrics.PHASE_UNDO, orchestrationRun, stepTemplate.getStepName(), false, start);
+            log.error("Failed to send UNDO message: flowId={}, stepName={}", flowId, stepTemplate.getStepName(), e);
 
-                // Record audit event for UNDO start
-                auditService.recordUndoStart(flowId, orchName, stepTemplate.getStepName(), workerService);
-            }
+            // Update step status to UNDO_FAIL
+            handleUndoFailure(orchestrationRun, stepRun, "Failed to send UNDO message: " + e.getMessage(), message);
         }
+    }
 
-        // Add step information to message headers
+    /**
+     * Add the step information to the headers of an UNDO message
+     */
+    private void prepareUndoMessage(String flowId, OrchestrationStepRun stepRun, CompiledStepTemplate stepTemplate,
+                                    ExecutionMessage message) {
         Map<String, Object> headers = message.getHeaders();
         headers.put("flowId", flowId);
         headers.put("stepName", stepTemplate.getStepName());
         headers.put("action", "UNDO");
         headers.put("seq", stepTemplate.getSeq());
-        headers.put("eventType", "undo"+stepTemplate.getStepName());
-        try {
-            messagePublisher.send(Boolean.TRUE.equals(stepTemplate.getSharedTopic())?ORCHESTRATOR_EVENT:stepTemplate.getUndoTopic(), message);
-            log.info("UNDO message sent successfully: flowId={}, stepName={}", flowId, stepTemplate.getStepName());
-        } catch (Exception e) {
-            log.error("Failed to send UNDO message: flowId={}, stepName={}", flowId, stepTemplate.getStepName(), e);
-
-            // Update step status to UNDO_FAIL
-            Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                    .findByOrchestrationRunFlowIdAndStepName(flowId, stepTemplate.getStepName());
+        headers.put(ResponseDeduplicator.ATTEMPT_HEADER, stepRun.getRetryCount());
+        headers.put("eventType", "undo" + stepTemplate.getStepName());
+    }
 
-            if (stepRunOpt.isPresent()) {
-                handleUndoFailure(orchestrationRunRepository.findByFlowId(flowId).get(),
-                        stepRunOpt.get(), "Failed to send UNDO message: " + e.getMessage(), message);
-            }
-        }
+    private String undoTopic(CompiledStepTemplate stepTemplate) {
+        return Boolean.TRUE.equals(stepTemplate.getSharedTopic()) ? ORCHESTRATOR_EVENT : stepTemplate.getUndoTopic();
     }
 
     /**
@@ -482,30 +593,36 @@ public class UndoOperationHandler {
      */
     @Transactional
     public void undoOrchestration(String flowId, ExecutionMessage message) {
-        log.info("Starting UNDO process for orchestration: flowId={}", flowId);
-
         Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
         if (runOpt.isEmpty()) {
             log.error("Orchestration run not found for flowId: {}", flowId);
             return;
         }
 
-        OrchestrationRun orchestrationRun = runOpt.get();
+        summaryProjector.track(runOpt.get());
+        undoOrchestration(runOpt.get(), message);
+    }
+
+    /**
+     * Start UNDO process for an already loaded orchestration run with its step runs
+     */
+    @Transactional
+    public void undoOrchestration(OrchestrationRun orchestrationRun, ExecutionMessage message) {
+        String flowId = orchestrationRun.getFlowId();
+        log.info("Starting UNDO process for orchestration: flowId={}", flowId);
 
         // Update orchestration status to UNDOING
-        orchestrationRun.setStatus(ExecutionStatusEnum.UNDOING);
-        orchestrationRunRepository.save(orchestrationRun);
+        stateMachine.transition(orchestrationRun, ExecutionStatusEnum.UNDOING);
 
         // Get orchestration template
-        Optional<OrchestrationTemplate> templateOpt = orchestrationTemplateRepository
-                .findByOrchNameWithSteps(orchestrationRun.getOrchName());
+        Optional<CompiledOrchestrationTemplate> templateOpt = templateCache.get(orchestrationRun.getOrchName());
 
         if (templateOpt.isEmpty()) {
             log.error("Orchestration template not found: {}", orchestrationRun.getOrchName());
             return;
         }
 
-        OrchestrationTemplate template = templateOpt.get();
+        CompiledOrchestrationTemplate template = templateOpt.get();
 
         // Find all successfully completed steps (DO_SUCCESS)
         List<OrchestrationStepRun> stepsToUndo = orchestrationRun.getStepRuns().stream()
@@ -522,89 +639,87 @@ public class UndoOperationHandler {
 
         if (stepsToUndo.isEmpty()) {
             log.info("No steps to undo for flowId: {}", flowId);
-            completeUndoProcess(flowId);
+            completeUndoProcess(orchestrationRun);
             return;
         }
 
-        if (template.getType() == OrchestrationTypeEnum.SEQUENTIAL) {
-            // Undo in reverse order - start with last successful step
-            List<OrchestrationStepTemplate> sortedSteps = template.getSteps().stream()
-                    .sorted(Comparator.comparing(OrchestrationStepTemplate::getSeq).reversed())
-                    .collect(Collectors.toList());
+        Map<String, OrchestrationStepRun> stepsToUndoByName = stepsToUndo.stream()
+                .collect(Collectors.toMap(OrchestrationStepRun::getStepName, sr -> sr, (a, b) -> a));
 
-            Optional<OrchestrationStepTemplate> firstToUndoOpt = sortedSteps.stream()
-                    .filter(step -> stepsToUndo.stream()
-                            .anyMatch(sr -> sr.getStepName().equals(step.getStepName())))
+        if (template.isDag()) {
+            // Undo the last completed step of every branch, the rest follow as their dependents are undone
+            undoReadyDagSteps(orchestrationRun, template, message);
+        } else if (template.isSequential()) {
+            // Undo in reverse order - start with last successful step
+            Optional<CompiledStepTemplate> firstToUndoOpt = template.getStepsReversed().stream()
+                    .filter(step -> stepsToUndoByName.containsKey(step.getStepName()))
                     .findFirst();
 
             if (firstToUndoOpt.isPresent()) {
-                OrchestrationStepTemplate firstToUndo = firstToUndoOpt.get();
-                updateStepRunStatus(flowId, firstToUndo.getStepName(), ExecutionStatusEnum.UNDOING);
-                sendUndoMessage(flowId, firstToUndo, message);
+                CompiledStepTemplate firstToUndo = firstToUndoOpt.get();
+                OrchestrationStepRun stepRun = stepsToUndoByName.get(firstToUndo.getStepName());
+                updateStepRunStatus(stepRun, ExecutionStatusEnum.UNDOING);
+                sendUndoMessage(orchestrationRun, stepRun, firstToUndo, message);
             }
         } else {
             // Undo all successful steps in parallel
             for (OrchestrationStepRun stepRun : stepsToUndo) {
-                Optional<OrchestrationStepTemplate> stepTemplateOpt = template.getSteps().stream()
-                        .filter(st -> st.getStepName().equals(stepRun.getStepName()))
-                        .findFirst();
+                Optional<CompiledStepTemplate> stepTemplateOpt = template.getStep(stepRun.getStepName());
 
                 if (stepTemplateOpt.isPresent()) {
-                    updateStepRunStatus(flowId, stepRun.getStepName(), ExecutionStatusEnum.UNDOING);
-                    sendUndoMessage(flowId, stepTemplateOpt.get(), message);
+                    updateStepRunStatus(stepRun, ExecutionStatusEnum.UNDOING);
+                    sendUndoMessage(orchestrationRun, stepRun, stepTemplateOpt.get(), message);
                 }
             }
         }
     }
 
+    private boolean isDag(OrchestrationRun orchestrationRun) {
+        return templateCache.get(orchestrationRun.getOrchName())
+                .map(CompiledOrchestrationTemplate::isDag)
+                .orElse(false);
+    }
+
     /**
-     * Update step run status
+     * Update step run status in memory; the change is flushed with the transaction
      */
-    private void updateStepRunStatus(String flowId, String stepName, ExecutionStatusEnum status) {
-        Optional<OrchestrationStepRun> stepRunOpt = stepRunRepository
-                .findByOrchestrationRunFlowIdAndStepName(flowId, stepName);
+    private void updateStepRunStatus(OrchestrationStepRun stepRun, ExecutionStatusEnum status) {
+        if (stepRun == null) {
+            return;
+        }
 
-        if (stepRunOpt.isPresent()) {
-            OrchestrationStepRun stepRun = stepRunOpt.get();
-            stepRun.setStatus(status);
+        stateMachine.transition(stepRun, status);
 
-            if (status == ExecutionStatusEnum.UNDOING) {
-                stepRun.setRetryCount(0); // Reset retry count for undo
-            }
-
-            stepRunRepository.save(stepRun);
-            log.info("Step run status updated: flowId={}, stepName={}, status={}", flowId, stepName, status);
+        if (status == ExecutionStatusEnum.UNDOING) {
+            stepRun.setRetryCount(0); // Reset retry count for undo
         }
+
+        log.info("Step run status updated: flowId={}, stepName={}, status={}",
+                stepRun.getOrchestrationRun().getFlowId(), stepRun.getStepName(), status);
     }
 
     /**
      * Complete UNDO process
      */
-    private void completeUndoProcess(String flowId) {
-        log.info("Completing UNDO process: flowId={}", flowId);
-
-        Optional<OrchestrationRun> runOpt = orchestrationRunRepository.findByFlowIdWithSteps(flowId);
-        if (runOpt.isPresent()) {
-            OrchestrationRun run = runOpt.get();
-
-            // Count rolled back steps
-            int rolledBackCount = (int) run.getStepRuns().stream()
-                    .filter(sr -> sr.getStatus() == ExecutionStatusEnum.UNDO_SUCCESS)
-                    .count();
-
-            run.setStatus(ExecutionStatusEnum.UNDONE);
-            run.setCompletedAt(LocalDateTime.now());
-            orchestrationRunRepository.save(run);
-
-            // Record audit event for rollback completion
-            auditService.recordRollbackComplete(
-                flowId,
-                run.getOrchName(),
-                rolledBackCount
-            );
+    private void completeUndoProcess(OrchestrationRun run) {
+        log.info("Completing UNDO process: flowId={}", run.getFlowId());
+
+        // Count rolled back steps
+        int rolledBackCount = (int) run.getStepRuns().stream()
+                .filter(sr -> sr.getStatus() == ExecutionStatusEnum.UNDO_SUCCESS)
+                .count();
+
+        stateMachine.transition(run, ExecutionStatusEnum.UNDONE);
+        run.setCompletedAt(LocalDateTime.now());
+
+        // Record audit event for rollback completion
+        auditService.recordRollbackComplete(
+            run.getFlowId(),
+            run.getOrchName(),
+            rolledBackCount
+        );
+        metrics.recordFlowFinished(run);
 
-            log.info("Orchestration UNDO completed: flowId={}, rolledBackSteps={}", flowId, rolledBackCount);
-        }
+        log.info("Orchestration UNDO completed: flowId={}, rolledBackSteps={}", run.getFlowId(), rolledBackCount);
     }
 }
-
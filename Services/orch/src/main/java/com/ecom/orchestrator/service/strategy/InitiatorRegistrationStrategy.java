@@ -102,6 +102,8 @@ public class InitiatorRegistrationStrategy implements RegistrationStrategy {
         // Validate all steps
         Map<String, String> validationErrors = initiatorValidator.validateSteps(
                 registrationDto.getSteps(), registrationDto.getOrchestrationName());
+        initiatorValidator.validateDependencies(registrationDto.getSteps(), registrationDto.getOrchestrationName())
+                .forEach(validationErrors::putIfAbsent);
 
         failedSteps.addAll(validationErrors.values());
 
@@ -135,31 +137,37 @@ public class InitiatorRegistrationStrategy implements RegistrationStrategy {
                         registrationDto.getOrchestrationName());
             }
 
-//            for (OrchestrationStepTemplate savedTemplate : savedTemplates) {
-//                log.info("Created step template: {} with DO topic: {}, UNDO topic: {} and ID: {} for orchestration: {}",
-//                        savedTemplate.getStepName(),
-//                        savedTemplate.getDoTopic(),
-//                        savedTemplate.getUndoTopic(),
-//                        savedTemplate.getId(),
-//                        registrationDto.getOrchestrationName());
-//
-//                // Create DO topic
-//                topicManager.createTopic(savedTemplate.getDoTopic());
-//                log.info("Created DO topic: {}", savedTemplate.getDoTopic());
-//
-//                // Create UNDO topic
-//                topicManager.createTopic(savedTemplate.getUndoTopic());
-//                log.info("Created UNDO topic: {}", savedTemplate.getUndoTopic());
-//
-//                // Create legacy topic for backward compatibility
-//                topicManager.createTopic(savedTemplate.getTopicName());
-//                log.info("Created legacy topic: {} for backward compatibility", savedTemplate.getTopicName());
-//            }
+            createStepTopics(savedTemplates);
 
             return RegistrationStatusEnum.PENDING;
         }
 
         return RegistrationStatusEnum.SUCCESS;
     }
+
+    /**
+     * Create the DO/UNDO topics of all dedicated-topic steps in one admin request.
+     * Shared-topic steps use the orchestrator event topic. A failure is logged and does not fail
+     * the registration; the topics are then left to the broker's auto-creation as before.
+     */
+    private void createStepTopics(List<OrchestrationStepTemplate> savedTemplates) {
+        List<String> topics = new ArrayList<>();
+        for (OrchestrationStepTemplate savedTemplate : savedTemplates) {
+            if (Boolean.TRUE.equals(savedTemplate.getSharedTopic())) {
+                continue;
+            }
+            topics.add(savedTemplate.getDoTopic());
+            topics.add(savedTemplate.getUndoTopic());
+        }
+        if (topics.isEmpty()) {
+            return;
+        }
+
+        try {
+            topicManager.createTopics(topics);
+        } catch (Exception e) {
+            log.error("Could not create step topics {}: {}", topics, e.getMessage());
+        }
+    }
 }
 
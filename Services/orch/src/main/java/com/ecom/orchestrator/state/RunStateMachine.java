@@ -0,0 +1,93 @@
+package com.ecom.orchestrator.state;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ecom.orchestrator.entity.ExecutionStatusEnum.*;
+
+/**
+ * Status transitions of an orchestration run and its step runs.
+ * OrchestrationRun and OrchestrationStepRun are versioned, so Hibernate writes a changed row with
+ * UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?. Every status change bumps the
+ * version, which makes the update conditional on the status the row was read in as well.
+ * A transition of any step claims its run, so two responses of one flow handled at the same time
+ * (parallel branches, another instance) conflict on the run row instead of both deciding on a view
+ * without the other's step; {@link TransitionExecutor} retries the one that lost.
+ */
+@Component
+public class RunStateMachine {
+
+    private static final Map<ExecutionStatusEnum, Set<ExecutionStatusEnum>> TRANSITIONS = new EnumMap<>(ExecutionStatusEnum.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(IN_PROGRESS));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(COMPLETED, FAILED, UNDOING));
+        // Manual rollback of a finished run
+        TRANSITIONS.put(COMPLETED, EnumSet.of(UNDOING));
+        TRANSITIONS.put(FAILED, EnumSet.of(UNDOING, UNDONE));
+        TRANSITIONS.put(UNDOING, EnumSet.of(UNDONE, FAILED));
+        // A DAG branch that succeeds after the rollback finished reopens it
+        TRANSITIONS.put(UNDONE, EnumSet.of(UNDOING, FAILED));
+    }
+
+    private static final Map<ExecutionStatusEnum, Set<ExecutionStatusEnum>> STEP_TRANSITIONS = new EnumMap<>(ExecutionStatusEnum.class);
+
+    static {
+        STEP_TRANSITIONS.put(PENDING, EnumSet.of(IN_PROGRESS));
+        // A retried DO call stays IN_PROGRESS; FAILED marks a DAG branch that failed after its run did
+        STEP_TRANSITIONS.put(IN_PROGRESS, EnumSet.of(DO_SUCCESS, FAILED, RETRY_EXHAUSTED));
+        STEP_TRANSITIONS.put(DO_SUCCESS, EnumSet.of(UNDOING));
+        // A retried UNDO call stays UNDOING
+        STEP_TRANSITIONS.put(UNDOING, EnumSet.of(UNDO_SUCCESS, UNDO_FAIL));
+    }
+
+    public static boolean isAllowed(ExecutionStatusEnum from, ExecutionStatusEnum to) {
+        return from == to || TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    public static boolean isStepAllowed(ExecutionStatusEnum from, ExecutionStatusEnum to) {
+        return from == to || STEP_TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Move the run to another status; the change is written with the transaction
+     *
+     * @throws IllegalStateException if the run cannot go from its current status to {@code to}
+     */
+    public void transition(OrchestrationRun run, ExecutionStatusEnum to) {
+        if (!isAllowed(run.getStatus(), to)) {
+            throw new IllegalStateException("Illegal run transition " + run.getStatus() + " -> " + to
+                    + " for flowId: " + run.getFlowId());
+        }
+        run.setStatus(to);
+    }
+
+    /**
+     * Move the step run to another status; the change is written with the transaction
+     *
+     * @throws IllegalStateException if the step run cannot go from its current status to {@code to}
+     */
+    public void transition(OrchestrationStepRun stepRun, ExecutionStatusEnum to) {
+        if (!isStepAllowed(stepRun.getStatus(), to)) {
+            throw new IllegalStateException("Illegal step transition " + stepRun.getStatus() + " -> " + to
+                    + " for step: " + stepRun.getStepName());
+        }
+        stepRun.setStatus(to);
+    }
+
+    /**
+     * Mark the run as changed by this transaction, so its versioned update goes out even when only
+     * step runs changed and a concurrent transition of the same flow fails instead of overwriting
+     */
+    public void claim(OrchestrationRun run) {
+        run.setLastUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecom.orchestrator.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transition of a flow in its own transaction and runs it again from a fresh read when the
+ * commit lost against a concurrent transition of the same flow. Conflicts only happen between
+ * transitions of one flow, so a few short retries settle them without locking rows up front.
+ * Called inside an existing transaction the unit joins it and a conflict is left to the caller.
+ */
+@Component
+@Slf4j
+public class TransitionExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Counter retried;
+    private final Counter exhausted;
+
+    public TransitionExecutor(PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${orchestrator.transition.max-attempts:5}") int maxAttempts,
+                              @Value("${orchestrator.transition.backoff-ms:10}") long backoffMs) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("orchestrator.transition.max-attempts must be positive");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.retried = conflictCounter(meterRegistry, "retried");
+        this.exhausted = conflictCounter(meterRegistry, "exhausted");
+    }
+
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("orchestration.transition.conflicts")
+                .description("Run transitions that lost against a concurrent transition of the same flow")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void run(String flowId, Runnable unit) {
+        execute(flowId, () -> {
+            unit.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(String flowId, Supplier<T> unit) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return unit.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> unit.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("Transition conflict not resolved after {} attempts: flowId={}", attempt, flowId);
+                    throw e;
+                }
+                retried.increment();
+                log.debug("Transition conflict, retrying: flowId={}, attempt={}", flowId, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        if (backoffMs <= 0) {
+            return;
+        }
+        // Jitter keeps the transitions that collided from colliding again
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying transition", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecom.orchestrator.summary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of an execution history page: its start time and flowId.
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record ExecutionSummaryCursor(LocalDateTime startedAt, String flowId) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = startedAt + String.valueOf(SEPARATOR) + flowId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static ExecutionSummaryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new ExecutionSummaryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecom.orchestrator.summary;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of an execution history query; orchName is required, everything else is optional
+ */
+public record ExecutionSummaryFilter(String orchName, ExecutionStatusEnum status,
+                                     LocalDateTime fromDate, LocalDateTime toDate) {
+}
@@ -0,0 +1,110 @@
+package com.ecom.orchestrator.summary;
+
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.entity.ExecutionSummary;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.repository.ExecutionSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the execution_summary row of every run a transition touches.
+ * Handlers call {@link #track} once they hold the run aggregate; just before the transaction commits
+ * the rows are derived from the in-memory aggregate and written with one upsert batch, so a transition
+ * costs no extra reads and several transitions of one transaction a single write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionSummaryProjector {
+
+    private final ExecutionSummaryRepository summaryRepository;
+    private final OrchestrationTemplateCache templateCache;
+
+    public void track(OrchestrationRun run) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            summaryRepository.upsertAll(List.of(summarize(run)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, OrchestrationRun> tracked = (Map<String, OrchestrationRun>) TransactionSynchronizationManager.getResource(this);
+        if (tracked == null) {
+            Map<String, OrchestrationRun> runs = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, runs);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    summaryRepository.upsertAll(runs.values().stream().map(ExecutionSummaryProjector.this::summarize).toList());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ExecutionSummaryProjector.this);
+                }
+            });
+            tracked = runs;
+        }
+        tracked.put(run.getFlowId(), run);
+    }
+
+    ExecutionSummary summarize(OrchestrationRun run) {
+        int total = 0;
+        int succeeded = 0;
+        int failed = 0;
+        int undone = 0;
+        OrchestrationStepRun lastFailure = null;
+
+        if (run.getStepRuns() != null) {
+            for (OrchestrationStepRun stepRun : run.getStepRuns()) {
+                total++;
+                switch (stepRun.getStatus()) {
+                    case DO_SUCCESS, COMPLETED -> succeeded++;
+                    case FAILED, DO_FAIL, RETRY_EXHAUSTED, UNDO_FAIL -> failed++;
+                    case UNDO_SUCCESS -> undone++;
+                    default -> { }
+                }
+                if (stepRun.getErrorMessage() != null
+                        && (lastFailure == null || stepRun.getSeq() > lastFailure.getSeq())) {
+                    lastFailure = stepRun;
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startedAt = run.getStartedAt() != null ? run.getStartedAt() : now;
+        Long durationMs = run.getCompletedAt() != null
+                ? Duration.between(startedAt, run.getCompletedAt()).toMillis()
+                : null;
+
+        return ExecutionSummary.builder()
+                .flowId(run.getFlowId())
+                .orchName(run.getOrchName())
+                .initiatorService(templateCache.get(run.getOrchName())
+                        .map(CompiledOrchestrationTemplate::getInitiatorService)
+                        .orElse(null))
+                .status(run.getStatus())
+                .startedAt(startedAt)
+                .completedAt(run.getCompletedAt())
+                .durationMs(durationMs)
+                .totalSteps(total)
+                .succeededSteps(succeeded)
+                .failedSteps(failed)
+                .undoneSteps(undone)
+                .lastError(lastFailure != null ? lastFailure.getErrorMessage() : null)
+                .lastErrorStep(lastFailure != null ? lastFailure.getStepName() : null)
+                .updatedAt(now)
+                .build();
+    }
+}
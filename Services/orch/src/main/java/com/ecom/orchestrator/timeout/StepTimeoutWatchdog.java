@@ -0,0 +1,116 @@
+package com.ecom.orchestrator.timeout;
+
+import com.ecom.orchestrator.messaging.kafka.FlowSerialExecutor;
+import com.ecom.orchestrator.repository.OrchestrationStepRunRepository;
+import com.ecom.orchestrator.repository.OrchestrationStepRunRepository.ExpiredStepRun;
+import com.ecom.orchestrator.service.DoOperationHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fails DO calls that were not answered before their deadline.
+ * Expired step runs are found through the deadline index and claimed with SKIP LOCKED; the claim
+ * pushes the deadline out by a lease so another instance takes over if this one dies mid-way.
+ * Each timeout is then handled on the flow's lane like a worker failure, which retries the step
+ * or, once retries are exhausted, fails the run and compensates.
+ */
+@Component
+@Slf4j
+public class StepTimeoutWatchdog {
+
+    private static final String METRIC_NAME = "orchestration.step.timeouts";
+
+    private final OrchestrationStepRunRepository stepRunRepository;
+    private final DoOperationHandler doOperationHandler;
+    private final FlowSerialExecutor flowSerialExecutor;
+    private final MeterRegistry meterRegistry;
+    // One counter per orchestration, registered on its first timeout
+    private final Map<String, Counter> timeoutCounters = new ConcurrentHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseMs;
+
+    public StepTimeoutWatchdog(OrchestrationStepRunRepository stepRunRepository,
+                               DoOperationHandler doOperationHandler,
+                               FlowSerialExecutor flowSerialExecutor,
+                               MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${orchestrator.step-timeout.enabled:true}") boolean enabled,
+                               @Value("${orchestrator.step-timeout.batch-size:200}") int batchSize,
+                               @Value("${orchestrator.step-timeout.lease-ms:60000}") long leaseMs) {
+        this.stepRunRepository = stepRunRepository;
+        this.doOperationHandler = doOperationHandler;
+        this.flowSerialExecutor = flowSerialExecutor;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+    }
+
+    @Scheduled(fixedDelayString = "${orchestrator.step-timeout.scan-interval-ms:1000}")
+    public void scan() {
+        if (!enabled) {
+            return;
+        }
+
+        List<ExpiredStepRun> expired;
+        do {
+            expired = claimExpired();
+            List<CompletableFuture<Void>> handled = expired.stream()
+                    .map(step -> flowSerialExecutor.submit(step.getFlowId(), () -> fire(step)))
+                    .toList();
+            try {
+                CompletableFuture.allOf(handled.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                log.error("Step timeout handling failed", e.getCause());
+            }
+        } while (expired.size() == batchSize);
+    }
+
+    /**
+     * Lock a batch of expired step runs and extend their deadline by the lease
+     */
+    List<ExpiredStepRun> claimExpired() {
+        List<ExpiredStepRun> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ExpiredStepRun> expired = stepRunRepository.lockExpired(now, batchSize);
+            if (!expired.isEmpty()) {
+                stepRunRepository.updateDeadlines(expired.stream().map(ExpiredStepRun::getId).toList(),
+                        now.plus(leaseMs, ChronoUnit.MILLIS));
+            }
+            return expired;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void fire(ExpiredStepRun step) {
+        try {
+            if (doOperationHandler.handleStepTimeout(step.getFlowId(), step.getStepName(), step.getRetryCount())) {
+                timeoutCounters.computeIfAbsent(step.getOrchName(), orchName -> Counter.builder(METRIC_NAME)
+                                .tag("orchestration", orchName)
+                                .description("DO calls failed because the worker did not answer in time")
+                                .register(meterRegistry))
+                        .increment();
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle step timeout, retrying after the lease: flowId={}, stepName={}",
+                    step.getFlowId(), step.getStepName(), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecom.orchestrator.timeout;
+
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+
+/**
+ * Arms and clears the response deadline of a step run.
+ * A deadline is set whenever a DO message goes out and cleared as soon as the step is answered,
+ * so only steps with an outstanding call are visible to {@link StepTimeoutWatchdog}.
+ */
+@Component
+@Slf4j
+public class StepTimeouts {
+
+    private final ObjectMapper objectMapper;
+    private final long defaultTimeoutMs;
+
+    public StepTimeouts(ObjectMapper objectMapper,
+                        @Value("${orchestrator.step-timeout.default-ms:300000}") long defaultTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    /**
+     * Start the step's deadline for a DO message that was just sent
+     */
+    public void arm(OrchestrationStepRun stepRun, CompiledStepTemplate stepTemplate, ExecutionMessage message) {
+        arm(stepRun, stepTemplate, toJson(message));
+    }
+
+    /**
+     * Start the step's deadline for an already serialized DO message
+     */
+    public void arm(OrchestrationStepRun stepRun, CompiledStepTemplate stepTemplate, String messageJson) {
+        stepRun.setDeadlineAt(LocalDateTime.now().plus(timeoutMs(stepTemplate), ChronoUnit.MILLIS));
+        stepRun.setLastMessage(messageJson);
+    }
+
+    /**
+     * The step was answered; no deadline is outstanding any more
+     */
+    public void disarm(OrchestrationStepRun stepRun) {
+        stepRun.setDeadlineAt(null);
+    }
+
+    /**
+     * The step reached a final state; the kept message is no longer needed either
+     */
+    public void clear(OrchestrationStepRun stepRun) {
+        stepRun.setDeadlineAt(null);
+        stepRun.setLastMessage(null);
+    }
+
+    public long timeoutMs(CompiledStepTemplate stepTemplate) {
+        return stepTemplate.getTimeoutMs() != null ? stepTemplate.getTimeoutMs() : defaultTimeoutMs;
+    }
+
+    /**
+     * The last DO message sent for the step, or an empty message if none was kept
+     */
+    public ExecutionMessage lastMessage(OrchestrationStepRun stepRun) {
+        if (stepRun.getLastMessage() != null) {
+            try {
+                ExecutionMessage message = objectMapper.readValue(stepRun.getLastMessage(), ExecutionMessage.class);
+                if (message.getHeaders() == null) {
+                    message.setHeaders(new HashMap<>());
+                }
+                return message;
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable last message for step run {}: {}", stepRun.getId(), e.getMessage());
+            }
+        }
+        return ExecutionMessage.builder().headers(new HashMap<>()).build();
+    }
+
+    private String toJson(ExecutionMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize DO message for timeout tracking: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecom.orchestrator.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that must only happen for committed changes, such as audit events and metrics.
+ * A transition retried after an optimistic-lock conflict runs its body more than once but commits once.
+ */
+@UtilityClass
+public class TransactionCallbacks {
+
+    /**
+     * Run the callback after the current transaction commits, or right away outside a transaction.
+     * Nothing runs if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    callback.run();
+                }
+            });
+        } else {
+            callback.run();
+        }
+    }
+}
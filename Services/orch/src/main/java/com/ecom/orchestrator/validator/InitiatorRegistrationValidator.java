@@ -46,6 +46,15 @@ public class InitiatorRegistrationValidator {
                 continue;
             }
 
+            // Step runs store seq as smallint
+            if (step.getSeq() != null && (step.getSeq() < 0 || step.getSeq() > Short.MAX_VALUE)) {
+                validationErrors.put(step.getName(),
+                        "Sequence number " + step.getSeq() + " out of range 0.." + Short.MAX_VALUE + " for step: " + step.getName());
+                log.warn("Sequence number out of range in registration request: {} for step: {} in orchestration: {}",
+                        step.getSeq(), step.getName(), orchName);
+                continue;
+            }
+
             // Check if step template already exists (safety check)
             if (stepTemplateRepository.existsByTemplateOrchNameAndStepName(orchName, step.getName())) {
                 validationErrors.put(step.getName(), "Step template already exists: " + step.getName());
@@ -60,6 +69,68 @@ public class InitiatorRegistrationValidator {
         return validationErrors;
     }
 
+    /**
+     * Validate declared step dependencies: every dependency must name another step of the
+     * request and the dependencies must not form a cycle
+     *
+     * @return Map of step names to validation error messages (empty if all valid)
+     */
+    public Map<String, String> validateDependencies(List<StepDefinitionDto> steps, String orchName) {
+        Map<String, String> validationErrors = new HashMap<>();
+        Map<String, List<String>> dependsOn = new LinkedHashMap<>();
+        for (StepDefinitionDto step : steps) {
+            dependsOn.putIfAbsent(step.getName(), step.getDependsOn() != null ? step.getDependsOn() : List.of());
+        }
+
+        for (Map.Entry<String, List<String>> entry : dependsOn.entrySet()) {
+            for (String dependency : entry.getValue()) {
+                if (entry.getKey().equals(dependency) || !dependsOn.containsKey(dependency)) {
+                    validationErrors.put(entry.getKey(),
+                            "Unknown dependency " + dependency + " for step: " + entry.getKey());
+                    log.warn("Unknown dependency {} for step: {} in orchestration: {}",
+                            dependency, entry.getKey(), orchName);
+                }
+            }
+        }
+        if (!validationErrors.isEmpty()) {
+            return validationErrors;
+        }
+
+        // Kahn's algorithm; whatever cannot be ordered is on or behind a cycle
+        Map<String, Integer> unresolved = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : dependsOn.entrySet()) {
+            Set<String> distinct = new HashSet<>(entry.getValue());
+            unresolved.put(entry.getKey(), distinct.size());
+            for (String dependency : distinct) {
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        unresolved.forEach((name, count) -> {
+            if (count == 0) {
+                ready.add(name);
+            }
+        });
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            unresolved.remove(name);
+            for (String dependent : dependents.getOrDefault(name, List.of())) {
+                if (unresolved.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        for (String name : unresolved.keySet()) {
+            validationErrors.put(name, "Dependency cycle involving step: " + name);
+            log.warn("Dependency cycle involving step: {} in orchestration: {}", name, orchName);
+        }
+
+        return validationErrors;
+    }
+
     /**
      * Check if all validations passed
      */
@@ -0,0 +1,93 @@
+package com.ecom.orchestrator.archive;
+
+import com.ecom.orchestrator.repository.OrchestrationRunArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RunArchiverTest {
+
+    private final OrchestrationRunArchiveRepository archiveRepository = mock(OrchestrationRunArchiveRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void movesBatchesUntilOneComesBackShort() {
+        RunArchiver archiver = initializedArchiver(2);
+        when(archiveRepository.lockArchivable(any(), any(), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(archiveRepository.moveToArchive(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        assertEquals(5, archiver.archiveFinishedRuns());
+
+        InOrder inOrder = inOrder(archiveRepository);
+        inOrder.verify(archiveRepository).moveToArchive(List.of(1L, 2L));
+        inOrder.verify(archiveRepository).moveToArchive(List.of(3L, 4L));
+        inOrder.verify(archiveRepository).moveToArchive(List.of(5L));
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(5.0, meterRegistry.get("orchestration.runs.archived").counter().count());
+    }
+
+    @Test
+    void onlyFinishedRunsPastTheThresholdAreSelected() {
+        RunArchiver archiver = initializedArchiver(100);
+        when(archiveRepository.lockArchivable(any(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, archiver.archiveFinishedRuns());
+
+        verify(archiveRepository).lockArchivable(eq(RunArchiver.ARCHIVABLE),
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(7).plusMinutes(1))
+                        && cutoff.isAfter(LocalDateTime.now().minusDays(7).minusMinutes(1))),
+                eq(100));
+        verify(archiveRepository).moveToArchive(List.of());
+    }
+
+    @Test
+    void disabledArchiverLeavesTheTablesAlone() {
+        RunArchiver archiver = archiver(false, 100);
+
+        archiver.initialize();
+        assertEquals(0, archiver.archiveFinishedRuns());
+
+        verifyNoInteractions(archiveRepository, transactionManager);
+    }
+
+    @Test
+    void nothingIsMovedUntilTheArchiveTablesExist() {
+        when(archiveRepository.verifyTables()).thenReturn(false);
+        RunArchiver archiver = archiver(true, 100);
+
+        archiver.initialize();
+        assertEquals(0, archiver.archiveFinishedRuns());
+
+        verify(archiveRepository).verifyTables();
+        verifyNoMoreInteractions(archiveRepository);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void columnDriftFailsStartup() {
+        when(archiveRepository.verifyTables()).thenThrow(new IllegalStateException("Columns of orchestration_run_archive"));
+
+        assertThrows(IllegalStateException.class, () -> archiver(true, 100).initialize());
+    }
+
+    private RunArchiver initializedArchiver(int batchSize) {
+        when(archiveRepository.verifyTables()).thenReturn(true);
+        RunArchiver archiver = archiver(true, batchSize);
+        archiver.initialize();
+        return archiver;
+    }
+
+    private RunArchiver archiver(boolean enabled, int batchSize) {
+        return new RunArchiver(archiveRepository, transactionManager, meterRegistry, enabled, 7, batchSize);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecom.orchestrator.audit;
+
+import com.ecom.orchestrator.entity.AuditArchive;
+import com.ecom.orchestrator.entity.AuditEntityTypeEnum;
+import com.ecom.orchestrator.entity.AuditEvent;
+import com.ecom.orchestrator.entity.AuditEventTypeEnum;
+import com.ecom.orchestrator.repository.AuditArchiveRepository;
+import com.ecom.orchestrator.repository.AuditEventBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditArchiveStoreTest {
+
+    private static final LocalDateTime DAY_START = LocalDate.of(2026, 10, 1).atStartOfDay();
+    private static final UUID E1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID E2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID E3 = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Mock
+    private AuditEventBatchRepository auditEventBatchRepository;
+
+    @Mock
+    private AuditArchiveRepository auditArchiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path archiveDir;
+
+    private AuditArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        store = new AuditArchiveStore(auditEventBatchRepository, auditArchiveRepository,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, archiveDir.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archivedPartitionCanBeSearchedByExecution() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AuditEvent> consumer = invocation.getArgument(1);
+            consumer.accept(event(E1, "flow-1", DAY_START.plusHours(1)));
+            consumer.accept(event(E2, "flow-2", DAY_START.plusHours(2)));
+            consumer.accept(event(E3, "flow-1", DAY_START.plusHours(3)));
+            return null;
+        }).when(auditEventBatchRepository).streamPartition(eq("audit_event_p20261001"), any(Consumer.class));
+        when(auditArchiveRepository.save(any(AuditArchive.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuditArchive archive = store.archivePartition("audit_event_p20261001", DAY_START, DAY_START.plusDays(1));
+
+        assertEquals(3L, archive.getRowCount());
+        assertTrue(Files.exists(Path.of(archive.getFilePath())));
+        assertFalse(Files.exists(archiveDir.resolve("audit_event_p20261001.ndjson.gz.tmp")));
+
+        when(auditArchiveRepository.findOverlapping(DAY_START, DAY_START.plusHours(4))).thenReturn(List.of(archive));
+        List<AuditEvent> events = store.findEvents("flow-1", DAY_START, DAY_START.plusHours(4));
+
+        assertEquals(List.of(E1, E3), events.stream().map(AuditEvent::getId).toList());
+        assertEquals(DAY_START.plusHours(1), events.get(0).getTimestamp());
+        assertEquals("value", events.get(0).getDetails().get("key"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedArchiveLeavesNoFileAndNoCatalogEntry() {
+        doThrow(new IllegalStateException("connection lost"))
+                .when(auditEventBatchRepository).streamPartition(eq("audit_event_p20261001"), any(Consumer.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> store.archivePartition("audit_event_p20261001", DAY_START, DAY_START.plusDays(1)));
+
+        assertFalse(Files.exists(archiveDir.resolve("audit_event_p20261001.ndjson.gz")));
+        assertFalse(Files.exists(archiveDir.resolve("audit_event_p20261001.ndjson.gz.tmp")));
+        verify(auditArchiveRepository, never()).save(any());
+    }
+
+    @Test
+    void withoutWindowAllArchivesAreScanned() {
+        when(auditArchiveRepository.findAllByOrderByRangeStartAsc()).thenReturn(List.of());
+
+        assertTrue(store.findEvents("flow-1", null, null).isEmpty());
+
+        verify(auditArchiveRepository, never()).findOverlapping(any(), any());
+    }
+
+    private AuditEvent event(UUID id, String executionId, LocalDateTime timestamp) {
+        return AuditEvent.builder()
+                .id(id)
+                .executionId(executionId)
+                .orchName("order-flow")
+                .entityType(AuditEntityTypeEnum.STEP)
+                .eventType(AuditEventTypeEnum.STEP_SUCCESS)
+                .stepName("reserve")
+                .timestamp(timestamp)
+                .details(Map.of("key", "value"))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecom.orchestrator.audit;
+
+import com.ecom.orchestrator.entity.AuditEntityTypeEnum;
+import com.ecom.orchestrator.entity.AuditEvent;
+import com.ecom.orchestrator.entity.AuditEventTypeEnum;
+import com.ecom.orchestrator.repository.AuditEventBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventWriterTest {
+
+    @Mock
+    private AuditEventBatchRepository auditEventBatchRepository;
+
+    private AuditEventWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void testEnqueue_WritesFullBatchesAndAssignsDefaults() {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<AuditEvent> batch = invocation.getArgument(0);
+            batch.forEach(event -> {
+                assertNotNull(event.getId());
+                assertNotNull(event.getTimestamp());
+            });
+            batchSizes.add(batch.size());
+            return null;
+        }).when(auditEventBatchRepository).insertBatch(anyList());
+
+        writer = createWriter(1024, 10, 60_000, AuditOverflowPolicy.DROP);
+        writer.start();
+        for (int i = 0; i < 30; i++) {
+            assertTrue(writer.enqueue(event(i)));
+        }
+
+        verify(auditEventBatchRepository, timeout(5000).times(3)).insertBatch(anyList());
+        assertEquals(List.of(10, 10, 10), batchSizes);
+        assertEquals(30, writer.getWrittenCount());
+    }
+
+    @Test
+    void testEnqueue_PartialBatchFlushedAfterInterval() {
+        writer = createWriter(1024, 100, 50, AuditOverflowPolicy.DROP);
+        writer.start();
+
+        writer.enqueue(event(1));
+        writer.enqueue(event(2));
+
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventBatchRepository, timeout(5000)).insertBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    void testEnqueue_DropsWhenBufferFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(auditEventBatchRepository).insertBatch(anyList());
+
+        writer = createWriter(4, 1, 60_000, AuditOverflowPolicy.DROP);
+        writer.start();
+
+        // First event is taken by the writer, which then blocks inside the insert
+        writer.enqueue(event(0));
+        verify(auditEventBatchRepository, timeout(5000)).insertBatch(anyList());
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(writer.enqueue(event(i)));
+        }
+
+        assertFalse(writer.enqueue(event(5)));
+        assertEquals(1, writer.getDroppedCount());
+        release.countDown();
+    }
+
+    @Test
+    void testShutdown_FlushesBufferedEvents() {
+        writer = createWriter(1024, 100, 60_000, AuditOverflowPolicy.DROP);
+        writer.start();
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(event(i));
+        }
+
+        writer.shutdown();
+
+        assertEquals(5, writer.getWrittenCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    private AuditEventWriter createWriter(int capacity, int batchSize, long flushIntervalMs, AuditOverflowPolicy policy) {
+        return new AuditEventWriter(auditEventBatchRepository, new SimpleMeterRegistry(),
+                capacity, batchSize, flushIntervalMs, policy, 10);
+    }
+
+    private AuditEvent event(int i) {
+        return AuditEvent.builder()
+                .executionId("flow-" + i)
+                .orchName("orch")
+                .entityType(AuditEntityTypeEnum.STEP)
+                .eventType(AuditEventTypeEnum.STEP_STARTED)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecom.orchestrator.cache;
+
+import com.ecom.orchestrator.entity.OrchestrationStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationStepTemplate;
+import com.ecom.orchestrator.entity.OrchestrationTemplate;
+import com.ecom.orchestrator.entity.OrchestrationTypeEnum;
+import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrchestrationTemplateCacheTest {
+
+    @Mock
+    private OrchestrationTemplateRepository orchestrationTemplateRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private OrchestrationTemplateCache templateCache;
+
+    @BeforeEach
+    void setUp() {
+        templateCache = new OrchestrationTemplateCache(orchestrationTemplateRepository, new SimpleMeterRegistry(),
+                60_000, 2_000, now::get);
+    }
+
+    @Test
+    void testGet_LoadsOnceThenServesFromMemory() {
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate()));
+
+        Optional<CompiledOrchestrationTemplate> first = templateCache.get("tenantCreation");
+        Optional<CompiledOrchestrationTemplate> second = templateCache.get("tenantCreation");
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        verify(orchestrationTemplateRepository, times(1)).findByOrchNameWithSteps("tenantCreation");
+        assertEquals(1, templateCache.getHitCount());
+        assertEquals(1, templateCache.getMissCount());
+    }
+
+    @Test
+    void testGet_StepsSortedAndLookupTablesBuilt() {
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate()));
+
+        CompiledOrchestrationTemplate template = templateCache.get("tenantCreation").orElseThrow();
+
+        assertEquals(List.of("createRealm", "createClient", "createUser"),
+                template.getSteps().stream().map(CompiledStepTemplate::getStepName).toList());
+        assertEquals("createRealm", template.getFirstStep().orElseThrow().getStepName());
+        assertEquals("createClient", template.getNextStep("createRealm").orElseThrow().getStepName());
+        assertTrue(template.getNextStep("createUser").isEmpty());
+        assertEquals("createRealm", template.getPreviousStep("createClient").orElseThrow().getStepName());
+        assertEquals("createUser", template.getStepsReversed().getFirst().getStepName());
+    }
+
+    @Test
+    void testGet_MissingTemplateNotCached() {
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("unknown"))
+                .thenReturn(Optional.empty());
+
+        assertTrue(templateCache.get("unknown").isEmpty());
+        assertTrue(templateCache.get("unknown").isEmpty());
+
+        verify(orchestrationTemplateRepository, times(2)).findByOrchNameWithSteps("unknown");
+        assertEquals(0, templateCache.size());
+    }
+
+    @Test
+    void testInvalidate_ReloadsOnNextGet() {
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate()));
+
+        templateCache.get("tenantCreation");
+        templateCache.invalidate("tenantCreation");
+        templateCache.get("tenantCreation");
+
+        verify(orchestrationTemplateRepository, times(2)).findByOrchNameWithSteps("tenantCreation");
+    }
+
+    @Test
+    void testGet_ReloadsAfterTtl() {
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate()));
+
+        templateCache.get("tenantCreation");
+        now.addAndGet(59_999);
+        templateCache.get("tenantCreation");
+        now.addAndGet(1);
+        templateCache.get("tenantCreation");
+
+        verify(orchestrationTemplateRepository, times(2)).findByOrchNameWithSteps("tenantCreation");
+    }
+
+    @Test
+    void testGet_NotReadyTemplateExpiresSooner() {
+        OrchestrationTemplate pending = createTemplate();
+        pending.setStatus(OrchestrationStatusEnum.PENDING);
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(pending), Optional.of(createTemplate()));
+
+        assertEquals(OrchestrationStatusEnum.PENDING, templateCache.get("tenantCreation").orElseThrow().getStatus());
+        now.addAndGet(2_000);
+
+        // Registered on another replica in the meantime
+        assertEquals(OrchestrationStatusEnum.SUCCESS, templateCache.get("tenantCreation").orElseThrow().getStatus());
+    }
+
+    @Test
+    void testGet_DagRootsAndDependentsBuilt() {
+        OrchestrationTemplate dag = createTemplate();
+        dag.setType(OrchestrationTypeEnum.DAG);
+        // createRealm and createUser are independent, createClient joins both
+        dag.getSteps().get(2).setDependsOn(List.of("createRealm", "createUser"));
+        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
+                .thenReturn(Optional.of(dag));
+
+        CompiledOrchestrationTemplate template = templateCache.get("tenantCreation").orElseThrow();
+
+        assertTrue(template.isDag());
+        assertFalse(template.isSequential());
+        assertEquals(List.of("createRealm", "createUser"),
+                template.getRootSteps().stream().map(CompiledStepTemplate::getStepName).toList());
+        assertEquals(List.of("createClient"),
+                template.getDependents("createRealm").stream().map(CompiledStepTemplate::getStepName).toList());
+        assertEquals(List.of("createClient"),
+                template.getDependents("createUser").stream().map(CompiledStepTemplate::getStepName).toList());
+        assertTrue(template.getDependents("createClient").isEmpty());
+        assertTrue(template.getStep("createRealm").orElseThrow().getDependsOn().isEmpty());
+    }
+
+    private OrchestrationTemplate createTemplate() {
+        OrchestrationTemplate template = OrchestrationTemplate.builder()
+                .id(1L)
+                .orchName("tenantCreation")
+                .type(OrchestrationTypeEnum.SEQUENTIAL)
+                .initiatorService("tenant-service")
+                .status(OrchestrationStatusEnum.SUCCESS)
+                .build();
+
+        template.setSteps(List.of(
+                createStep(template, "createUser", 3),
+                createStep(template, "createRealm", 1),
+                createStep(template, "createClient", 2)
+        ));
+        return template;
+    }
+
+    private OrchestrationStepTemplate createStep(OrchestrationTemplate template, String stepName, int seq) {
+        return OrchestrationStepTemplate.builder()
+                .stepName(stepName)
+                .seq(seq)
+                .objectType("String")
+                .topicName("orchestrator.tenantCreation." + stepName)
+                .doTopic("orchestrator.tenantCreation." + stepName + ".do")
+                .undoTopic("orchestrator.tenantCreation." + stepName + ".undo")
+                .template(template)
+                .build();
+    }
+}
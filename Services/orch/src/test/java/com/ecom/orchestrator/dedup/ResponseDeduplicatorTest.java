@@ -0,0 +1,130 @@
+package com.ecom.orchestrator.dedup;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.repository.ProcessedResponseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseDeduplicatorTest {
+
+    @Mock
+    private ProcessedResponseRepository processedResponseRepository;
+
+    private MeterRegistry meterRegistry;
+    private ResponseDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new ResponseDeduplicator(processedResponseRepository, meterRegistry, true, 2, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void claimedResponseIsDuplicateInMemory() {
+        when(processedResponseRepository.insertIfAbsent(eq("flow-1"), eq("reserve"), eq("DO"), eq(0), any()))
+                .thenReturn(1);
+
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "DO", 0));
+        assertTrue(deduplicator.claim("flow-1", "reserve", "DO", 0));
+
+        assertTrue(deduplicator.isDuplicate("flow-1", "reserve", "DO", 0));
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "DO", 1));
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "UNDO", 0));
+        assertEquals(1.0, hits("memory"));
+    }
+
+    @Test
+    void claimIsRememberedOnlyAfterCommit() {
+        when(processedResponseRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyInt(), any()))
+                .thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(deduplicator.claim("flow-1", "reserve", "DO", 0));
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "DO", 0));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(deduplicator.isDuplicate("flow-1", "reserve", "DO", 0));
+    }
+
+    @Test
+    void conflictingInsertIsDroppedAsDuplicate() {
+        when(processedResponseRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyInt(), any()))
+                .thenReturn(0);
+
+        assertFalse(deduplicator.claim("flow-1", "reserve", "DO", 2));
+        assertEquals(1.0, hits("database"));
+        assertTrue(deduplicator.isDuplicate("flow-1", "reserve", "DO", 2));
+    }
+
+    @Test
+    void responsesWithoutAttemptAreNeverDeduplicated() {
+        assertTrue(deduplicator.claim("flow-1", "reserve", "DO", null));
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "DO", null));
+        verifyNoInteractions(processedResponseRepository);
+    }
+
+    @Test
+    void leastRecentlyUsedKeysAreEvicted() {
+        when(processedResponseRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyInt(), any()))
+                .thenReturn(1);
+
+        deduplicator.claim("flow-1", "reserve", "DO", 0);
+        deduplicator.claim("flow-2", "reserve", "DO", 0);
+        deduplicator.claim("flow-3", "reserve", "DO", 0);
+
+        assertFalse(deduplicator.isDuplicate("flow-1", "reserve", "DO", 0));
+        assertTrue(deduplicator.isDuplicate("flow-3", "reserve", "DO", 0));
+    }
+
+    @Test
+    void responseForEarlierAttemptIsStale() {
+        OrchestrationStepRun stepRun = OrchestrationStepRun.builder().stepName("reserve").retryCount(2).build();
+
+        assertTrue(deduplicator.isStale("flow-1", 1, stepRun));
+        assertFalse(deduplicator.isStale("flow-1", 2, stepRun));
+        assertFalse(deduplicator.isStale("flow-1", null, stepRun));
+        assertEquals(1.0, hits("stale"));
+    }
+
+    @Test
+    void attemptAndPhaseAreReadFromResponse() {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("attempt", "3");
+
+        assertEquals(3, ResponseDeduplicator.attemptOf(new ExecutionMessage("payload", headers)));
+        assertEquals("DO", ResponseDeduplicator.phaseOf("FAIL_STEP"));
+        assertEquals("DO", ResponseDeduplicator.phaseOf(null));
+        assertEquals("UNDO", ResponseDeduplicator.phaseOf("undo"));
+    }
+
+    private double hits(String source) {
+        return meterRegistry.get("orchestration.response.duplicates").tag("source", source).counter().count();
+    }
+}
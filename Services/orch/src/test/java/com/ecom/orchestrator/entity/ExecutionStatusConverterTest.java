@@ -0,0 +1,37 @@
+package com.ecom.orchestrator.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionStatusConverterTest {
+
+    private final ExecutionStatusConverter converter = new ExecutionStatusConverter();
+
+    @Test
+    void everyStatusRoundTripsThroughItsCode() {
+        for (ExecutionStatusEnum status : ExecutionStatusEnum.values()) {
+            Short code = converter.convertToDatabaseColumn(status);
+            assertEquals(status, converter.convertToEntityAttribute(code));
+        }
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void codesAreUniqueAndStable() {
+        assertEquals(ExecutionStatusEnum.values().length,
+                Arrays.stream(ExecutionStatusEnum.values()).map(ExecutionStatusEnum::getCode).distinct().count());
+        // Persisted values; migration-compact-keys.sql maps the same codes
+        assertEquals(1, ExecutionStatusEnum.IN_PROGRESS.getCode());
+        assertEquals(11, ExecutionStatusEnum.RETRY_EXHAUSTED.getCode());
+    }
+
+    @Test
+    void unknownCodeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ExecutionStatusEnum.fromCode((short) 99));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionStatusEnum.fromCode((short) -1));
+    }
+}
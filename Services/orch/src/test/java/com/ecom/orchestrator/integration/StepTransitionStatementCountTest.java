@@ -0,0 +1,266 @@
+package com.ecom.orchestrator.integration;
+
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.metrics.OrchestrationMetrics;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.repository.OrchestrationStepRunRepository;
+import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
+import com.ecom.orchestrator.retry.DelayedRetryScheduler;
+import com.ecom.orchestrator.service.AuditService;
+import com.ecom.orchestrator.service.DoOperationHandler;
+import com.ecom.orchestrator.service.UndoOperationHandler;
+import com.ecom.orchestrator.state.RunStateMachine;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import com.ecom.orchestrator.timeout.StepTimeouts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements issued for a single DO step transition.
+ * The legacy scenario replays the lookups the handler used to issue per response
+ * so the two numbers can be compared in the test output.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DoOperationHandler.class, UndoOperationHandler.class, OrchestrationTemplateCache.class,
+        ResponseDeduplicator.class, OrchestrationMetrics.class, RunStateMachine.class, TransitionExecutor.class,
+        StepTransitionStatementCountTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StepTransitionStatementCountTest {
+
+    private static final String ORCH_NAME = "statementCount";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("orchestrator_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.jdbc.batch_size", () -> "50");
+        registry.add("spring.jpa.properties.hibernate.order_updates", () -> "true");
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private MessagePublisher messagePublisher;
+
+    @MockBean
+    private AuditService auditService;
+
+    @MockBean
+    private DelayedRetryScheduler retryScheduler;
+
+    @MockBean
+    private StepTimeouts stepTimeouts;
+
+    @MockBean
+    private ExecutionSummaryProjector summaryProjector;
+
+    @Autowired
+    private DoOperationHandler doOperationHandler;
+
+    @Autowired
+    private OrchestrationTemplateCache templateCache;
+
+    @Autowired
+    private OrchestrationTemplateRepository templateRepository;
+
+    @Autowired
+    private OrchestrationRunRepository orchestrationRunRepository;
+
+    @Autowired
+    private OrchestrationStepRunRepository stepRunRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        if (templateRepository.findByOrchName(ORCH_NAME).isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> templateRepository.save(createTemplate()));
+        }
+        // Warm the template cache so only the run aggregate is read during the transition
+        templateCache.get(ORCH_NAME);
+    }
+
+    @Test
+    void testSequentialDoSuccess_SingleReadAndBatchedWrite() {
+        String flowId = createRun();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+                doOperationHandler.handleDoResponse(flowId, "step1", true, null, message(flowId)));
+        long statements = statistics.getPrepareStatementCount();
+
+        // One fetch-join select for the run aggregate, one batched update for the two step runs
+        // and the versioned update that claims the run
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(3, statements);
+
+        OrchestrationRun run = orchestrationRunRepository.findByFlowIdWithSteps(flowId).orElseThrow();
+        assertEquals(ExecutionStatusEnum.DO_SUCCESS, run.findStepRun("step1").orElseThrow().getStatus());
+        assertEquals(ExecutionStatusEnum.IN_PROGRESS, run.findStepRun("step2").orElseThrow().getStatus());
+    }
+
+    @Test
+    void testLegacyLookupSequence_StatementCount() {
+        String flowId = createRun();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Lookups issued per DO success before the run aggregate was reused
+            orchestrationRunRepository.findByFlowIdWithSteps(flowId);
+            OrchestrationStepRun completed = stepRunRepository
+                    .findByOrchestrationRunFlowIdAndStepName(flowId, "step1").orElseThrow();
+            completed.setStatus(ExecutionStatusEnum.DO_SUCCESS);
+            stepRunRepository.save(completed);
+            templateRepository.findByOrchNameWithSteps(ORCH_NAME);
+            OrchestrationStepRun next = stepRunRepository
+                    .findByOrchestrationRunFlowIdAndStepName(flowId, "step2").orElseThrow();
+            next.setStatus(ExecutionStatusEnum.IN_PROGRESS);
+            stepRunRepository.save(next);
+            orchestrationRunRepository.findByFlowId(flowId);
+            stepRunRepository.findByOrchestrationRunFlowIdAndStepName(flowId, "step2");
+        });
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        String secondFlowId = createRun();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+                doOperationHandler.handleDoResponse(secondFlowId, "step1", true, null, message(secondFlowId)));
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < legacyStatements,
+                "DO success issued " + statements + " statements, the legacy lookups " + legacyStatements);
+    }
+
+    @Test
+    void testLastStepSuccess_CompletesRunInSameFlush() {
+        String flowId = createRun();
+        transactionTemplate.executeWithoutResult(status ->
+                doOperationHandler.handleDoResponse(flowId, "step1", true, null, message(flowId)));
+        transactionTemplate.executeWithoutResult(status ->
+                doOperationHandler.handleDoResponse(flowId, "step2", true, null, message(flowId)));
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+                doOperationHandler.handleDoResponse(flowId, "step3", true, null, message(flowId)));
+
+        // Select, one update for the step run and one for the run
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(ExecutionStatusEnum.COMPLETED,
+                orchestrationRunRepository.findByFlowId(flowId).orElseThrow().getStatus());
+    }
+
+    private String createRun() {
+        String flowId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            OrchestrationRun run = orchestrationRunRepository.save(OrchestrationRun.builder()
+                    .flowId(flowId)
+                    .orchName(ORCH_NAME)
+                    .status(ExecutionStatusEnum.IN_PROGRESS)
+                    .build());
+
+            List<OrchestrationStepRun> stepRuns = new ArrayList<>();
+            for (int seq = 1; seq <= 3; seq++) {
+                stepRuns.add(OrchestrationStepRun.builder()
+                        .orchestrationRun(run)
+                        .stepName("step" + seq)
+                        .seq(seq)
+                        .status(seq == 1 ? ExecutionStatusEnum.IN_PROGRESS : ExecutionStatusEnum.PENDING)
+                        .workerService("worker-service")
+                        .build());
+            }
+            stepRunRepository.saveAll(stepRuns);
+        });
+        return flowId;
+    }
+
+    private ExecutionMessage message(String flowId) {
+        HashMap<String, Object> headers = new HashMap<>();
+        headers.put("flowId", flowId);
+        return new ExecutionMessage("payload", headers);
+    }
+
+    private OrchestrationTemplate createTemplate() {
+        OrchestrationTemplate template = OrchestrationTemplate.builder()
+                .orchName(ORCH_NAME)
+                .type(OrchestrationTypeEnum.SEQUENTIAL)
+                .initiatorService("initiator-service")
+                .status(OrchestrationStatusEnum.SUCCESS)
+                .build();
+
+        List<OrchestrationStepTemplate> steps = new ArrayList<>();
+        for (int seq = 1; seq <= 3; seq++) {
+            steps.add(OrchestrationStepTemplate.builder()
+                    .template(template)
+                    .stepName("step" + seq)
+                    .seq(seq)
+                    .objectType("String")
+                    .topicName("orchestrator." + ORCH_NAME + ".step" + seq)
+                    .doTopic("orchestrator." + ORCH_NAME + ".step" + seq + ".do")
+                    .undoTopic("orchestrator." + ORCH_NAME + ".step" + seq + ".undo")
+                    .build());
+        }
+        template.setSteps(steps);
+        return template;
+    }
+}
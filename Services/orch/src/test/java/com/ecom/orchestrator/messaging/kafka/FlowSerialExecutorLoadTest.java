@@ -0,0 +1,69 @@
+package com.ecom.orchestrator.messaging.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the platform lane model against virtual threads for handlers that block,
+ * the way step handlers block on JDBC round trips and broker acks.
+ * The workload is small enough for the regular test run; a failure reports both timings.
+ */
+class FlowSerialExecutorLoadTest {
+
+    private static final int FLOWS = 400;
+    private static final int MESSAGES_PER_FLOW = 5;
+    private static final long BLOCKING_MILLIS = 5;
+
+    @Test
+    void testVirtualThreadsOutperformLanesForBlockingHandlers() {
+        long platformMillis = run(new FlowSerialExecutor(16));
+        long virtualMillis = run(new FlowSerialExecutor(16, true, 256));
+
+        // 2000 x 5 ms over 16 lanes cannot finish under 625 ms, virtual threads need a fraction of that
+        assertTrue(virtualMillis * 3 < platformMillis,
+                "virtual threads took " + virtualMillis + " ms, platform lanes " + platformMillis + " ms");
+    }
+
+    private long run(FlowSerialExecutor executor) {
+        Map<String, AtomicInteger> lastSeqByFlow = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(FLOWS * MESSAGES_PER_FLOW);
+        try {
+            long start = System.nanoTime();
+            // Interleave flows like records arriving from a partition
+            for (int seq = 0; seq < MESSAGES_PER_FLOW; seq++) {
+                for (int flow = 0; flow < FLOWS; flow++) {
+                    String flowId = "flow-" + flow;
+                    int expected = seq;
+                    futures.add(executor.submit(flowId, () -> {
+                        sleep(BLOCKING_MILLIS);
+                        int previous = lastSeqByFlow.computeIfAbsent(flowId, k -> new AtomicInteger(-1))
+                                .getAndSet(expected);
+                        if (previous != expected - 1) {
+                            throw new IllegalStateException("Out of order in " + flowId + ": " + previous + " before " + expected);
+                        }
+                    }));
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecom.orchestrator.messaging.kafka;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowSerialExecutorTest {
+
+    private FlowSerialExecutor flowSerialExecutor;
+
+    @BeforeEach
+    void setUp() {
+        flowSerialExecutor = new FlowSerialExecutor(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flowSerialExecutor.shutdown();
+    }
+
+    @Test
+    void testSubmit_SameFlowRunsInSubmissionOrder() {
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int seq = i;
+            futures.add(flowSerialExecutor.submit("flow-1", () -> processed.add(seq)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, processed.get(i));
+        }
+    }
+
+    @Test
+    void testSubmit_DifferentLanesRunConcurrently() throws Exception {
+        String flowA = "flow-a";
+        String flowB = findFlowOnOtherLane(flowA);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Void> a = flowSerialExecutor.submit(flowA, () -> awaitOther(bothStarted));
+        CompletableFuture<Void> b = flowSerialExecutor.submit(flowB, () -> awaitOther(bothStarted));
+
+        a.get(5, TimeUnit.SECONDS);
+        b.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testSubmit_NoFlowIdRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Thread> executedOn = new ArrayList<>();
+
+        flowSerialExecutor.submit(null, () -> executedOn.add(Thread.currentThread())).join();
+
+        assertSame(caller, executedOn.getFirst());
+    }
+
+    @Test
+    void testSubmit_FailurePropagatesAndLaneKeepsWorking() {
+        CompletableFuture<Void> failed = flowSerialExecutor.submit("flow-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertTrue(assertThrows(Exception.class, failed::join).getCause() instanceof IllegalStateException);
+        assertDoesNotThrow(() -> flowSerialExecutor.submit("flow-1", () -> { }).join());
+    }
+
+    @Test
+    void testVirtualThreads_SameFlowRunsInSubmissionOrder() {
+        FlowSerialExecutor virtualExecutor = new FlowSerialExecutor(4, true, 16);
+        try {
+            List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++) {
+                int seq = i;
+                futures.add(virtualExecutor.submit("flow-1", () -> processed.add(seq)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, processed.get(i));
+            }
+            assertEquals(16, virtualExecutor.availablePermits());
+        } finally {
+            virtualExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testVirtualThreads_FailureDoesNotStopFlow() {
+        FlowSerialExecutor virtualExecutor = new FlowSerialExecutor(4, true, 16);
+        try {
+            CompletableFuture<Void> failed = virtualExecutor.submit("flow-1", () -> {
+                throw new IllegalStateException("boom");
+            });
+            CompletableFuture<Void> next = virtualExecutor.submit("flow-1", () -> { });
+
+            assertTrue(assertThrows(Exception.class, failed::join).getCause() instanceof IllegalStateException);
+            assertDoesNotThrow(next::join);
+        } finally {
+            virtualExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testVirtualThreads_SubmitBlocksWhenNoPermitIsFree() throws Exception {
+        FlowSerialExecutor virtualExecutor = new FlowSerialExecutor(4, true, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            virtualExecutor.submit("flow-a", () -> await(release));
+            virtualExecutor.submit("flow-b", () -> await(release));
+            assertEquals(0, virtualExecutor.availablePermits());
+
+            CompletableFuture<CompletableFuture<Void>> third =
+                    CompletableFuture.supplyAsync(() -> virtualExecutor.submit("flow-c", () -> { }));
+            assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            third.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            virtualExecutor.shutdown();
+        }
+    }
+
+    private String findFlowOnOtherLane(String flowId) {
+        int lane = flowSerialExecutor.laneFor(flowId);
+        for (int i = 0; ; i++) {
+            String candidate = "flow-" + i;
+            if (flowSerialExecutor.laneFor(candidate) != lane) {
+                return candidate;
+            }
+        }
+    }
+
+    private void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Other lane did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
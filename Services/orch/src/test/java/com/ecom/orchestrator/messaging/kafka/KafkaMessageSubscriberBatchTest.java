@@ -0,0 +1,164 @@
+package com.ecom.orchestrator.messaging.kafka;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.messaging.deadletter.DeadLetterRouter;
+import com.ecom.orchestrator.messaging.interfaces.MessageHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ecom.orchestrator.constant.RegistrationConstants.ORCHESTRATOR_EVENT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KafkaMessageSubscriberBatchTest {
+
+    private FlowSerialExecutor flowSerialExecutor;
+    private DeadLetterRouter deadLetterRouter;
+    private KafkaMessageSubscriber subscriber;
+    private final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        flowSerialExecutor = new FlowSerialExecutor(4);
+        deadLetterRouter = mock(DeadLetterRouter.class);
+        subscriber = new KafkaMessageSubscriber(new ObjectMapper(), flowSerialExecutor, deadLetterRouter);
+        subscriber.subscribe(ORCHESTRATOR_EVENT, (topic, message) ->
+                handled.add(message.getHeaders().get("flowId") + ":" + message.getHeaders().get("seq")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        flowSerialExecutor.shutdown();
+    }
+
+    @Test
+    void testListenBatch_KeepsOrderWithinFlowAndAcksOnce() {
+        List<ConsumerRecord<String, ExecutionMessage>> records = new ArrayList<>();
+        long offset = 0;
+        for (int seq = 0; seq < 20; seq++) {
+            for (String flowId : List.of("flow-a", "flow-b", "flow-c")) {
+                records.add(record(flowId, seq, offset++));
+            }
+        }
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        subscriber.listenBatch(records, acknowledgment);
+
+        assertEquals(60, handled.size());
+        for (String flowId : List.of("flow-a", "flow-b", "flow-c")) {
+            List<String> flowEvents = handled.stream().filter(e -> e.startsWith(flowId + ":")).toList();
+            for (int seq = 0; seq < 20; seq++) {
+                assertEquals(flowId + ":" + seq, flowEvents.get(seq));
+            }
+        }
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testListenBatch_FailingRecordDoesNotBlockBatch() {
+        MessageHandler failingHandler = mock(MessageHandler.class);
+        doThrow(new IllegalStateException("boom")).when(failingHandler).onMessage(eq(ORCHESTRATOR_EVENT), any());
+        subscriber.subscribe(ORCHESTRATOR_EVENT, failingHandler);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        subscriber.listenBatch(List.of(record("flow-a", 0, 0), record("flow-a", 1, 1)), acknowledgment);
+
+        verify(failingHandler, times(2)).onMessage(eq(ORCHESTRATOR_EVENT), any());
+        verify(deadLetterRouter, times(2)).accept(any(ConsumerRecord.class), any(IllegalStateException.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testListenBatch_SkipsUndeserializableRecords() {
+        List<ConsumerRecord<String, ExecutionMessage>> records = List.of(
+                new ConsumerRecord<>(ORCHESTRATOR_EVENT, 0, 0, "flow-a", null),
+                record("flow-a", 1, 1));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        subscriber.listenBatch(records, acknowledgment);
+
+        assertEquals(List.of("flow-a:1"), handled);
+        verify(deadLetterRouter).accept(eq(records.get(0)), any(Exception.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testListenBatch_FailsAtRecordThatCannotBeDeadLettered() {
+        MessageHandler failingHandler = mock(MessageHandler.class);
+        doThrow(new IllegalStateException("boom")).when(failingHandler).onMessage(eq(ORCHESTRATOR_EVENT), any());
+        subscriber.subscribe(ORCHESTRATOR_EVENT, failingHandler);
+        doThrow(new IllegalStateException("broker down")).when(deadLetterRouter).accept(any(ConsumerRecord.class), any(Exception.class));
+        List<ConsumerRecord<String, ExecutionMessage>> records = List.of(
+                record("flow-a", 0, 0), record("flow-a", 1, 1), record("flow-b", 0, 2));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> subscriber.listenBatch(records, acknowledgment));
+
+        assertSame(records.get(0), e.getRecord());
+        // The rest of the failed flow waits for the redelivery
+        verify(failingHandler, never()).onMessage(eq(ORCHESTRATOR_EVENT), argThat(m -> "flow-a".equals(m.getHeaders().get("flowId"))
+                && Integer.valueOf(1).equals(m.getHeaders().get("seq"))));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testListenAsync_DeadLettersUndeserializableRecord() {
+        ConsumerRecord<String, ExecutionMessage> record = new ConsumerRecord<>(ORCHESTRATOR_EVENT, 0, 0, "flow-a", null);
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        subscriber.listenAsync(record, acknowledgment);
+
+        assertTrue(handled.isEmpty());
+        verify(deadLetterRouter).accept(eq(record), any(Exception.class));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void testListenAsync_UndeserializableRecordIsNotAckedWhenDeadLetterFails() {
+        ConsumerRecord<String, ExecutionMessage> record = new ConsumerRecord<>(ORCHESTRATOR_EVENT, 0, 0, "flow-a", null);
+        doThrow(new IllegalStateException("broker down")).when(deadLetterRouter).accept(any(ConsumerRecord.class), any(Exception.class));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        assertThrows(IllegalStateException.class, () -> subscriber.listenAsync(record, acknowledgment));
+
+        verifyNoInteractions(acknowledgment);
+    }
+
+    @Test
+    void testListenAsync_AcksFailedRecordOnlyOnceDeadLettered() {
+        MessageHandler failingHandler = mock(MessageHandler.class);
+        doThrow(new IllegalStateException("boom")).when(failingHandler).onMessage(eq(ORCHESTRATOR_EVENT), any());
+        subscriber.subscribe(ORCHESTRATOR_EVENT, failingHandler);
+        doThrow(new IllegalStateException("broker down"))
+                .doNothing()
+                .when(deadLetterRouter).accept(any(ConsumerRecord.class), any(Exception.class));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        subscriber.listenAsync(record("flow-a", 0, 0), acknowledgment);
+
+        verify(acknowledgment, timeout(1000)).acknowledge();
+        verify(deadLetterRouter, times(2)).accept(any(ConsumerRecord.class), any(IllegalStateException.class));
+    }
+
+    private ConsumerRecord<String, ExecutionMessage> record(String flowId, int seq, long offset) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", flowId);
+        headers.put("seq", seq);
+        return new ConsumerRecord<>(ORCHESTRATOR_EVENT, 0, offset, flowId, new ExecutionMessage("payload", headers));
+    }
+}
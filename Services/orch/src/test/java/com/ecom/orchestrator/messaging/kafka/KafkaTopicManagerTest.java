@@ -0,0 +1,110 @@
+package com.ecom.orchestrator.messaging.kafka;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaTopicManagerTest {
+
+    @Mock
+    private AdminClient adminClient;
+
+    @Mock
+    private ListTopicsResult listTopicsResult;
+
+    @Mock
+    private CreateTopicsResult createTopicsResult;
+
+    private KafkaTopicManager topicManager;
+
+    @BeforeEach
+    void setUp() {
+        topicManager = new KafkaTopicManager(adminClient, 12, (short) 1, 1000);
+        lenient().when(adminClient.listTopics()).thenReturn(listTopicsResult);
+        lenient().when(listTopicsResult.names()).thenReturn(KafkaFuture.completedFuture(Set.of("existing")));
+    }
+
+    @Test
+    void testTopicExists_MetadataIsFetchedOnce() {
+        assertTrue(topicManager.topicExists("existing"));
+        assertFalse(topicManager.topicExists("missing"));
+        assertTrue(topicManager.topicExists("existing"));
+
+        verify(adminClient, times(1)).listTopics();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTopics_CreatesOnlyMissingTopicsInOneRequest() {
+        Map<String, KafkaFuture<Void>> results = new LinkedHashMap<>();
+        results.put("orders.do", KafkaFuture.completedFuture(null));
+        results.put("orders.undo", KafkaFuture.completedFuture(null));
+        when(createTopicsResult.values()).thenReturn(results);
+        when(adminClient.createTopics(any(Collection.class))).thenReturn(createTopicsResult);
+
+        topicManager.createTopics(List.of("existing", "orders.do", "orders.undo", "orders.do"));
+
+        ArgumentCaptor<Collection<NewTopic>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(adminClient, times(1)).createTopics(captor.capture());
+        assertEquals(List.of("orders.do", "orders.undo"), captor.getValue().stream().map(NewTopic::name).toList());
+        assertTrue(captor.getValue().stream().allMatch(topic -> topic.numPartitions() == 12));
+
+        // Created topics are known without another metadata fetch
+        assertTrue(topicManager.topicExists("orders.do"));
+        topicManager.createTopic("orders.undo");
+        verify(adminClient, times(1)).createTopics(any(Collection.class));
+        verify(adminClient, times(1)).listTopics();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTopics_TopicCreatedElsewhereCountsAsCreated() {
+        KafkaFutureImpl<Void> exists = new KafkaFutureImpl<>();
+        exists.completeExceptionally(new TopicExistsException("orders.do"));
+        when(createTopicsResult.values()).thenReturn(Map.<String, KafkaFuture<Void>>of("orders.do", exists));
+        when(adminClient.createTopics(any(Collection.class))).thenReturn(createTopicsResult);
+
+        assertDoesNotThrow(() -> topicManager.createTopic("orders.do"));
+        assertTrue(topicManager.topicExists("orders.do"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTopics_FailureIsReportedAfterAllTopics() {
+        KafkaFutureImpl<Void> failed = new KafkaFutureImpl<>();
+        failed.completeExceptionally(new IllegalStateException("broker down"));
+        Map<String, KafkaFuture<Void>> results = new LinkedHashMap<>();
+        results.put("orders.do", failed);
+        results.put("orders.undo", KafkaFuture.completedFuture(null));
+        when(createTopicsResult.values()).thenReturn(results);
+        when(adminClient.createTopics(any(Collection.class))).thenReturn(createTopicsResult);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> topicManager.createTopics(List.of("orders.do", "orders.undo")));
+
+        assertTrue(e.getMessage().contains("orders.do"));
+        assertFalse(topicManager.topicExists("orders.do"));
+        assertTrue(topicManager.topicExists("orders.undo"));
+    }
+}
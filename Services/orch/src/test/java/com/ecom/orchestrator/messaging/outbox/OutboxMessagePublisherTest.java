@@ -0,0 +1,109 @@
+package com.ecom.orchestrator.messaging.outbox;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OutboxMessage;
+import com.ecom.orchestrator.messaging.kafka.KafkaMessagePublisher;
+import com.ecom.orchestrator.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxMessagePublisherTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private KafkaMessagePublisher kafkaMessagePublisher;
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    private OutboxMessagePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new OutboxMessagePublisher(outboxMessageRepository, kafkaMessagePublisher, outboxRelay,
+                new ObjectMapper(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void insideTransactionMessageIsWrittenToOutboxAndRelayWokenAfterCommit() {
+        beginTransaction();
+
+        publisher.send("orchestrator.order.reserve.do", message("flow-1"));
+        publisher.send("orchestrator.order.charge.do", message("flow-1"));
+
+        ArgumentCaptor<OutboxMessage> saved = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository, times(2)).save(saved.capture());
+        assertEquals("orchestrator.order.reserve.do", saved.getAllValues().get(0).getTopic());
+        assertEquals("flow-1", saved.getAllValues().get(0).getMessageKey());
+        assertTrue(saved.getAllValues().get(0).getMessage().contains("\"flowId\":\"flow-1\""));
+        verifyNoInteractions(kafkaMessagePublisher);
+
+        // One wake-up per transaction, and only once it committed
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        verify(outboxRelay, never()).wakeUp();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(outboxRelay).wakeUp();
+    }
+
+    @Test
+    void rolledBackTransactionDoesNotWakeRelay() {
+        beginTransaction();
+
+        publisher.send("orchestrator.order.reserve.do", message("flow-1"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(outboxRelay, never()).wakeUp();
+        verifyNoInteractions(kafkaMessagePublisher);
+    }
+
+    @Test
+    void outsideTransactionMessageIsSentDirectly() {
+        ExecutionMessage message = message("flow-1");
+
+        publisher.send("registration.status", message);
+
+        verify(kafkaMessagePublisher).send("registration.status", message);
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
+    private void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private ExecutionMessage message(String flowId) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", flowId);
+        return new ExecutionMessage("payload", headers);
+    }
+}
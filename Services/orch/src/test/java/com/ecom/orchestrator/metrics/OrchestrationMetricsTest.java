@@ -0,0 +1,149 @@
+package com.ecom.orchestrator.metrics;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrchestrationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrchestrationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new OrchestrationMetrics(meterRegistry);
+    }
+
+    @Test
+    void testRecordResponse_TaggedByStepAndOutcome() {
+        OrchestrationRun run = run(ExecutionStatusEnum.IN_PROGRESS);
+        OrchestrationStepRun stepRun = stepRun(run, LocalDateTime.now().minusSeconds(2));
+
+        metrics.recordResponse(OrchestrationMetrics.PHASE_DO, run, stepRun, true, System.nanoTime());
+        metrics.recordResponse(OrchestrationMetrics.PHASE_DO, run, stepRun, false, System.nanoTime());
+        metrics.recordResponse(OrchestrationMetrics.PHASE_DO, run, stepRun, true, System.nanoTime());
+
+        assertEquals(2, responseTimer("do", "success").count());
+        assertEquals(1, responseTimer("do", "failure").count());
+
+        Timer stepDuration = meterRegistry.get("orchestration.step.duration")
+                .tags("orchName", "tenantCreation", "stepName", "createRealm", "outcome", "success")
+                .timer();
+        assertEquals(2, stepDuration.count());
+        assertTrue(stepDuration.max(TimeUnit.SECONDS) >= 2);
+    }
+
+    @Test
+    void testRecordResponse_UndoHasNoStepDuration() {
+        OrchestrationRun run = run(ExecutionStatusEnum.UNDOING);
+
+        metrics.recordResponse(OrchestrationMetrics.PHASE_UNDO, run, stepRun(run, LocalDateTime.now()), true,
+                System.nanoTime());
+
+        assertEquals(1, responseTimer("undo", "success").count());
+        assertNull(meterRegistry.find("orchestration.step.duration").timer());
+    }
+
+    @Test
+    void testRecordDispatch_CountsSentAndFailed() {
+        OrchestrationRun run = run(ExecutionStatusEnum.IN_PROGRESS);
+
+        metrics.recordDispatch(OrchestrationMetrics.PHASE_DO, run, "createRealm", true, System.nanoTime());
+        metrics.recordDispatch(OrchestrationMetrics.PHASE_DO, run, "createRealm", false, System.nanoTime());
+
+        assertEquals(1, meterRegistry.get("orchestration.step.dispatch").tag("outcome", "sent").timer().count());
+        assertEquals(1, meterRegistry.get("orchestration.step.dispatch").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testRecordFlowFinished_UsesStartAndCompletionTime() {
+        OrchestrationRun run = run(ExecutionStatusEnum.UNDONE);
+        run.setStartedAt(LocalDateTime.of(2026, 10, 18, 8, 0, 0));
+        run.setCompletedAt(LocalDateTime.of(2026, 10, 18, 8, 0, 30));
+
+        metrics.recordFlowFinished(run);
+
+        Timer flowDuration = meterRegistry.get("orchestration.flow.duration")
+                .tags("orchName", "tenantCreation", "outcome", "undone")
+                .timer();
+        assertEquals(1, flowDuration.count());
+        assertEquals(30, flowDuration.totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void testRecordFlowFinished_SkipsRunWithoutStart() {
+        OrchestrationRun run = run(ExecutionStatusEnum.COMPLETED);
+        run.setStartedAt(null);
+
+        metrics.recordFlowFinished(run);
+
+        assertNull(meterRegistry.find("orchestration.flow.duration").timer());
+    }
+
+    @Test
+    void testRecordInTransaction_OnlyCountsCommittedAttempt() {
+        OrchestrationRun run = run(ExecutionStatusEnum.IN_PROGRESS);
+        OrchestrationStepRun stepRun = stepRun(run, LocalDateTime.now());
+
+        // First attempt lost an optimistic-lock conflict and rolled back, the second committed
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> metrics.recordResponse(OrchestrationMetrics.PHASE_DO, run, stepRun, true, System.nanoTime()));
+        assertEquals(0, responseTimer("do", "success").count());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> metrics.recordResponse(OrchestrationMetrics.PHASE_DO, run, stepRun, true, System.nanoTime()));
+        assertEquals(1, responseTimer("do", "success").count());
+    }
+
+    private void completeTransaction(int status, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                    synchronization.afterCommit();
+                }
+                synchronization.afterCompletion(status);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Timer responseTimer(String phase, String outcome) {
+        return meterRegistry.get("orchestration.step.response")
+                .tags("phase", phase, "orchName", "tenantCreation", "stepName", "createRealm", "outcome", outcome)
+                .timer();
+    }
+
+    private OrchestrationRun run(ExecutionStatusEnum status) {
+        return OrchestrationRun.builder()
+                .flowId("flow-1")
+                .orchName("tenantCreation")
+                .status(status)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private OrchestrationStepRun stepRun(OrchestrationRun run, LocalDateTime startedAt) {
+        return OrchestrationStepRun.builder()
+                .orchestrationRun(run)
+                .stepName("createRealm")
+                .seq(1)
+                .status(ExecutionStatusEnum.IN_PROGRESS)
+                .startedAt(startedAt)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecom.orchestrator.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrchestrationRunArchiveRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OrchestrationRunArchiveRepository repository = new OrchestrationRunArchiveRepository(jdbcTemplate);
+
+    @Test
+    void matchingTablesAreReady() {
+        columns("orchestration_run", OrchestrationRunArchiveRepository.RUN_COLUMNS);
+        columns("orchestration_run_archive", OrchestrationRunArchiveRepository.RUN_COLUMNS);
+        columns("orchestration_step_run", OrchestrationRunArchiveRepository.STEP_RUN_COLUMNS);
+        columns("orchestration_step_run_archive", OrchestrationRunArchiveRepository.STEP_RUN_COLUMNS);
+
+        assertTrue(repository.verifyTables());
+    }
+
+    @Test
+    void missingArchiveTablesAreNotReady() {
+        columns("orchestration_run", OrchestrationRunArchiveRepository.RUN_COLUMNS);
+        columns("orchestration_run_archive", List.of());
+        columns("orchestration_step_run", OrchestrationRunArchiveRepository.STEP_RUN_COLUMNS);
+        columns("orchestration_step_run_archive", List.of());
+
+        assertFalse(repository.verifyTables());
+    }
+
+    @Test
+    void columnAddedOnlyToTheHotTableFails() {
+        List<String> hotColumns = new ArrayList<>(OrchestrationRunArchiveRepository.STEP_RUN_COLUMNS);
+        hotColumns.add("worker_host");
+        columns("orchestration_run", OrchestrationRunArchiveRepository.RUN_COLUMNS);
+        columns("orchestration_run_archive", OrchestrationRunArchiveRepository.RUN_COLUMNS);
+        columns("orchestration_step_run", hotColumns);
+        columns("orchestration_step_run_archive", OrchestrationRunArchiveRepository.STEP_RUN_COLUMNS);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, repository::verifyTables);
+        assertTrue(e.getMessage().contains("worker_host"));
+    }
+
+    private void columns(String table, List<String> columns) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(table))).thenReturn(columns);
+    }
+}
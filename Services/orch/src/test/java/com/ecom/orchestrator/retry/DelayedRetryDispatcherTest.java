@@ -0,0 +1,106 @@
+package com.ecom.orchestrator.retry;
+
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.ecom.orchestrator.entity.ScheduledRetry;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.messaging.kafka.FlowSerialExecutor;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.repository.ScheduledRetryRepository;
+import com.ecom.orchestrator.service.AuditService;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.timeout.StepTimeouts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DelayedRetryDispatcherTest {
+
+    private static final String FLOW_ID = "flow-1";
+
+    private final ScheduledRetryRepository scheduledRetryRepository = mock(ScheduledRetryRepository.class);
+    private final OrchestrationRunRepository orchestrationRunRepository = mock(OrchestrationRunRepository.class);
+    private final MessagePublisher messagePublisher = mock(MessagePublisher.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final OrchestrationTemplateCache templateCache = mock(OrchestrationTemplateCache.class);
+    private final StepTimeouts stepTimeouts = mock(StepTimeouts.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final FlowSerialExecutor flowSerialExecutor = new FlowSerialExecutor(2);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DelayedRetryDispatcher dispatcher;
+    private OrchestrationRun run;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TransitionExecutor transitionExecutor = new TransitionExecutor(transactionManager, meterRegistry, 3, 0);
+        dispatcher = new DelayedRetryDispatcher(scheduledRetryRepository, orchestrationRunRepository, messagePublisher,
+                auditService, templateCache, stepTimeouts, objectMapper, transactionManager, transitionExecutor,
+                flowSerialExecutor, meterRegistry, 10, 30_000, "instance-1");
+
+        run = OrchestrationRun.builder().flowId(FLOW_ID).orchName("orderProcessing")
+                .status(ExecutionStatusEnum.UNDOING).build();
+        run.setStepRuns(List.of(OrchestrationStepRun.builder().orchestrationRun(run).stepName("reserveInventory")
+                .status(ExecutionStatusEnum.UNDOING).retryCount(1).build()));
+        when(orchestrationRunRepository.findByFlowIdWithSteps(FLOW_ID)).thenReturn(Optional.of(run));
+    }
+
+    @AfterEach
+    void tearDown() {
+        flowSerialExecutor.shutdown();
+    }
+
+    @Test
+    void conflictWithAConcurrentResponseIsRetriedRightAway() throws Exception {
+        ScheduledRetry retry = retry("UNDO", 1);
+        when(scheduledRetryRepository.lockDue(any(), anyInt())).thenReturn(List.of(retry), List.of());
+        doThrow(new ObjectOptimisticLockingFailureException(OrchestrationStepRun.class, 1L))
+                .doNothing()
+                .when(messagePublisher).send(anyString(), any(ExecutionMessage.class));
+
+        dispatcher.dispatchDue();
+
+        verify(messagePublisher, times(2)).send(eq("orchestrator.orderProcessing.reserveInventory.undo"), any(ExecutionMessage.class));
+        verify(scheduledRetryRepository).deleteById(retry.getId());
+        verify(auditService, times(2)).recordUndoStart(FLOW_ID, "orderProcessing", "reserveInventory", null);
+        verifyNoInteractions(stepTimeouts);
+    }
+
+    @Test
+    void doRetryOfARunBeingRolledBackIsDiscarded() throws Exception {
+        ScheduledRetry retry = retry("DO", 1);
+        when(scheduledRetryRepository.lockDue(any(), anyInt())).thenReturn(List.of(retry), List.of());
+
+        dispatcher.dispatchDue();
+
+        verifyNoInteractions(messagePublisher);
+        verify(scheduledRetryRepository).deleteById(retry.getId());
+    }
+
+    private ScheduledRetry retry(String operationType, int attempt) throws Exception {
+        return ScheduledRetry.builder()
+                .id(7L)
+                .flowId(FLOW_ID)
+                .stepName("reserveInventory")
+                .operationType(operationType)
+                .attempt(attempt)
+                .topic("orchestrator.orderProcessing.reserveInventory." + operationType.toLowerCase())
+                .message(objectMapper.writeValueAsString(new ExecutionMessage("payload", new HashMap<>())))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecom.orchestrator.retry;
+
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBackoffTest {
+
+    private final RetryBackoff noJitter = new RetryBackoff(5000, 2.0, 300_000, 0.0);
+
+    @Test
+    void stepWithoutPolicyUsesDefaults() {
+        CompiledStepTemplate step = CompiledStepTemplate.builder().stepName("reserve").build();
+
+        assertEquals(5000, noJitter.delayMs(step, 1));
+        assertEquals(10_000, noJitter.delayMs(step, 2));
+        assertEquals(20_000, noJitter.delayMs(step, 3));
+    }
+
+    @Test
+    void delayGrowsExponentiallyUpToTheCap() {
+        CompiledStepTemplate step = CompiledStepTemplate.builder()
+                .stepName("charge")
+                .backoffMs(1000L)
+                .backoffMultiplier(3.0)
+                .maxBackoffMs(20_000L)
+                .build();
+
+        assertEquals(1000, noJitter.baseDelayMs(step, 1));
+        assertEquals(3000, noJitter.baseDelayMs(step, 2));
+        assertEquals(9000, noJitter.baseDelayMs(step, 3));
+        assertEquals(20_000, noJitter.baseDelayMs(step, 4));
+        assertEquals(20_000, noJitter.baseDelayMs(step, 30));
+    }
+
+    @Test
+    void jitterStaysWithinTheConfiguredSpread() {
+        RetryBackoff backoff = new RetryBackoff(5000, 2.0, 300_000, 0.2);
+        CompiledStepTemplate step = CompiledStepTemplate.builder().stepName("reserve").backoffMs(10_000L).build();
+
+        boolean varied = false;
+        long first = backoff.delayMs(step, 1);
+        for (int i = 0; i < 200; i++) {
+            long delay = backoff.delayMs(step, 1);
+            assertTrue(delay >= 8000 && delay <= 12_000, "delay out of range: " + delay);
+            varied |= delay != first;
+        }
+        assertTrue(varied);
+    }
+
+    @Test
+    void rejectsJitterOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBackoff(5000, 2.0, 300_000, 1.5));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecom.orchestrator.serialization;
+
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionMessageSerializationTest {
+
+    private static final String TOPIC = "orchestrator.response.result";
+
+    private final ExecutionMessageDeserializer deserializer = new ExecutionMessageDeserializer();
+
+    @Test
+    void testSmileRoundTrip_SetsHeaderAndIsSmallerThanJson() {
+        ExecutionMessage message = message();
+        Headers smileHeaders = new RecordHeaders();
+        Headers jsonHeaders = new RecordHeaders();
+
+        byte[] smile = new ExecutionMessageSerializer(WireFormat.SMILE).serialize(TOPIC, smileHeaders, message);
+        byte[] json = new ExecutionMessageSerializer(WireFormat.JSON).serialize(TOPIC, jsonHeaders, message);
+
+        assertArrayEquals("smile".getBytes(StandardCharsets.UTF_8), smileHeaders.lastHeader(WireFormat.HEADER).value());
+        assertArrayEquals("json".getBytes(StandardCharsets.UTF_8), jsonHeaders.lastHeader(WireFormat.HEADER).value());
+        assertTrue(smile.length < json.length, "smile " + smile.length + " bytes, json " + json.length);
+
+        assertEquals(message, deserializer.deserialize(TOPIC, smileHeaders, smile));
+        assertEquals(message, deserializer.deserialize(TOPIC, jsonHeaders, json));
+    }
+
+    @Test
+    void testDeserialize_WithoutHeader_DetectsFormat() {
+        ExecutionMessage message = message();
+
+        byte[] smile = new ExecutionMessageSerializer(WireFormat.SMILE).serialize(TOPIC, message);
+        byte[] json = new ExecutionMessageSerializer(WireFormat.JSON).serialize(TOPIC, message);
+
+        assertEquals(message, deserializer.deserialize(TOPIC, new RecordHeaders(), smile));
+        assertEquals(message, deserializer.deserialize(TOPIC, json));
+    }
+
+    @Test
+    void testSerialize_ReplacesCopiedHeader() {
+        Headers headers = new RecordHeaders();
+        headers.add(WireFormat.HEADER, "smile".getBytes(StandardCharsets.UTF_8));
+
+        byte[] json = new ExecutionMessageSerializer(WireFormat.JSON).serialize(TOPIC, headers, message());
+
+        assertEquals(1, headers.toArray().length);
+        assertArrayEquals("json".getBytes(StandardCharsets.UTF_8), headers.lastHeader(WireFormat.HEADER).value());
+        assertEquals(message(), deserializer.deserialize(TOPIC, headers, json));
+    }
+
+    @Test
+    void testConfigure_ReadsWireFormat() {
+        ExecutionMessageSerializer serializer = new ExecutionMessageSerializer();
+
+        serializer.configure(Map.of(WireFormat.CONFIG, "Smile"), false);
+
+        assertEquals(WireFormat.SMILE, serializer.getWireFormat());
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.fromName("avro"));
+    }
+
+    @Test
+    void testDeserialize_UnknownWireFormatHeader_Fails() {
+        Headers headers = new RecordHeaders();
+        headers.add(WireFormat.HEADER, "avro".getBytes(StandardCharsets.UTF_8));
+        byte[] json = new ExecutionMessageSerializer(WireFormat.JSON).serialize(TOPIC, message());
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, headers, json));
+    }
+
+    private static ExecutionMessage message() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", "order-42");
+        payload.put("items", List.of(Map.of("productId", "product-1", "quantity", 2)));
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "0b7d4f0e-2f4b-4f6e-9a53-6f1d2f1c9a10");
+        headers.put("orchName", "orderProcessing");
+        headers.put("stepName", "reserveInventory");
+        headers.put("action", "DO");
+        headers.put("status", true);
+        headers.put("attempt", 0);
+        return new ExecutionMessage(payload, headers);
+    }
+}
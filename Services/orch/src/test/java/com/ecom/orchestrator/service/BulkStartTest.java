@@ -0,0 +1,205 @@
+package com.ecom.orchestrator.service;
+
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.repository.OrchestrationStepRunRepository;
+import com.ecom.orchestrator.repository.WorkerRegistrationRepository;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkStartTest {
+
+    private static final String ORCH_NAME = "flashSale";
+
+    @Mock
+    private OrchestrationTemplateCache templateCache;
+
+    @Mock
+    private WorkerRegistrationRepository workerRegistrationRepository;
+
+    @Mock
+    private OrchestrationRunRepository orchestrationRunRepository;
+
+    @Mock
+    private OrchestrationStepRunRepository stepRunRepository;
+
+    @Mock
+    private MessagePublisher messagePublisher;
+
+    @Mock
+    private DoOperationHandler doOperationHandler;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ExecutionSummaryProjector summaryProjector;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrchestrationExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = new OrchestrationExecutorService(templateCache, workerRegistrationRepository,
+                orchestrationRunRepository, stepRunRepository, messagePublisher, doOperationHandler, auditService,
+                summaryProjector, transactionManager);
+        ReflectionTestUtils.setField(executorService, "bulkChunkSize", 2);
+        lenient().when(templateCache.get(ORCH_NAME))
+                .thenReturn(Optional.of(CompiledOrchestrationTemplate.compile(createTemplate(OrchestrationStatusEnum.SUCCESS))));
+    }
+
+    @Test
+    void runsAreWrittenOneChunkPerTransaction() {
+        List<String> flowIds = executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2", "f3", "f4", "f5"));
+
+        assertEquals(List.of("f1", "f2", "f3", "f4", "f5"), flowIds);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(orchestrationRunRepository, times(3)).saveAll(anyList());
+        verify(stepRunRepository, times(3)).saveAll(anyList());
+        verify(doOperationHandler, times(5)).startDoOperations(any(), any(), any());
+    }
+
+    @Test
+    void stepRunsOfAChunkAreSavedTogether() {
+        executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrchestrationStepRun>> stepRuns = ArgumentCaptor.forClass(List.class);
+        verify(stepRunRepository).saveAll(stepRuns.capture());
+        assertEquals(4, stepRuns.getValue().size());
+        assertTrue(stepRuns.getValue().stream().allMatch(stepRun -> stepRun.getStatus() == ExecutionStatusEnum.PENDING));
+    }
+
+    @Test
+    void existingAndRepeatedFlowIdsAreSkipped() {
+        ReflectionTestUtils.setField(executorService, "bulkChunkSize", 10);
+        when(orchestrationRunRepository.findExistingFlowIds(anyCollection())).thenReturn(List.of("f1"));
+
+        List<String> flowIds = executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2", "f2"));
+
+        assertEquals(List.of("f1", "f2", "f2"), flowIds);
+        verify(doOperationHandler, times(1)).startDoOperations(argThat(run -> run.getFlowId().equals("f2")), any(), any());
+        verify(auditService, times(1)).recordOrchestrationStart(anyString(), eq(ORCH_NAME), any());
+    }
+
+    @Test
+    void chunkCollidingWithAConcurrentStartIsWrittenAgainWithoutTheStartedRun() {
+        when(orchestrationRunRepository.findExistingFlowIds(anyCollection())).thenReturn(List.of(), List.of("f1"));
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        List<String> flowIds = executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2"));
+
+        assertEquals(List.of("f1", "f2"), flowIds);
+        verify(transactionManager, times(2)).commit(any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrchestrationRun>> runs = ArgumentCaptor.forClass(List.class);
+        verify(orchestrationRunRepository, times(2)).saveAll(runs.capture());
+        assertEquals(List.of("f2"), runs.getValue().stream().map(OrchestrationRun::getFlowId).toList());
+    }
+
+    @Test
+    void chunkThatKeepsCollidingFails() {
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .when(transactionManager).commit(any());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2")));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void executionHeadersWinOverSharedHeaders() {
+        ExecutionMessage execution = new ExecutionMessage("order-1", new HashMap<>(Map.of("flowId", "f1", "region", "eu")));
+
+        executorService.startOrchestrations(ORCH_NAME, List.of(execution), Map.of("region", "us", "source", "backfill"));
+
+        ArgumentCaptor<ExecutionMessage> message = ArgumentCaptor.forClass(ExecutionMessage.class);
+        verify(doOperationHandler).startDoOperations(any(), any(), message.capture());
+        assertEquals("eu", message.getValue().getHeaders().get("region"));
+        assertEquals("backfill", message.getValue().getHeaders().get("source"));
+    }
+
+    @Test
+    void runsOfAnUnregisteredOrchestrationAreNotStarted() {
+        when(templateCache.get(ORCH_NAME))
+                .thenReturn(Optional.of(CompiledOrchestrationTemplate.compile(createTemplate(OrchestrationStatusEnum.PENDING))));
+
+        executorService.startOrchestrations(ORCH_NAME, executions("f1", "f2"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrchestrationRun>> runs = ArgumentCaptor.forClass(List.class);
+        verify(orchestrationRunRepository).saveAll(runs.capture());
+        assertTrue(runs.getValue().stream().allMatch(run -> run.getStatus() == ExecutionStatusEnum.NOT_REGISTERED));
+        verifyNoInteractions(stepRunRepository, doOperationHandler);
+    }
+
+    @Test
+    void unknownOrchestrationIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> executorService.startOrchestrations("unknown", executions("f1")));
+        verifyNoInteractions(transactionManager);
+    }
+
+    private List<ExecutionMessage> executions(String... flowIds) {
+        List<ExecutionMessage> executions = new ArrayList<>();
+        for (String flowId : flowIds) {
+            executions.add(new ExecutionMessage("payload-" + flowId, new HashMap<>(Map.of("flowId", flowId))));
+        }
+        return executions;
+    }
+
+    private OrchestrationTemplate createTemplate(OrchestrationStatusEnum status) {
+        OrchestrationTemplate orchestrationTemplate = OrchestrationTemplate.builder()
+                .orchName(ORCH_NAME)
+                .type(OrchestrationTypeEnum.SEQUENTIAL)
+                .status(status)
+                .initiatorService("storefront")
+                .build();
+        orchestrationTemplate.setSteps(List.of(
+                createStep(orchestrationTemplate, "reserveStock", 1),
+                createStep(orchestrationTemplate, "chargeCard", 2)
+        ));
+        return orchestrationTemplate;
+    }
+
+    private OrchestrationStepTemplate createStep(OrchestrationTemplate orchestrationTemplate, String stepName, int seq) {
+        return OrchestrationStepTemplate.builder()
+                .stepName(stepName)
+                .seq(seq)
+                .objectType("String")
+                .topicName("orchestrator." + ORCH_NAME + "." + stepName)
+                .doTopic("orchestrator." + ORCH_NAME + "." + stepName + ".do")
+                .undoTopic("orchestrator." + ORCH_NAME + "." + stepName + ".undo")
+                .maxRetries(0)
+                .template(orchestrationTemplate)
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+package com.ecom.orchestrator.service;
+
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.dedup.ResponseDeduplicator;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
+import com.ecom.orchestrator.metrics.OrchestrationMetrics;
+import com.ecom.orchestrator.repository.OrchestrationRunRepository;
+import com.ecom.orchestrator.repository.WorkerRegistrationRepository;
+import com.ecom.orchestrator.retry.DelayedRetryScheduler;
+import com.ecom.orchestrator.state.RunStateMachine;
+import com.ecom.orchestrator.state.TransitionExecutor;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
+import com.ecom.orchestrator.timeout.StepTimeouts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DAG runs of orderProcessing: reserveInventory and processPayment are independent,
+ * createShipment joins both and sendConfirmation follows createShipment.
+ */
+@ExtendWith(MockitoExtension.class)
+class DagExecutionTest {
+
+    private static final String ORCH_NAME = "orderProcessing";
+    private static final String FLOW_ID = "flow-1";
+
+    @Mock
+    private OrchestrationRunRepository orchestrationRunRepository;
+
+    @Mock
+    private OrchestrationTemplateCache templateCache;
+
+    @Mock
+    private WorkerRegistrationRepository workerRegistrationRepository;
+
+    @Mock
+    private MessagePublisher messagePublisher;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private DelayedRetryScheduler retryScheduler;
+
+    @Mock
+    private StepTimeouts stepTimeouts;
+
+    @Mock
+    private ResponseDeduplicator responseDeduplicator;
+
+    @Mock
+    private ExecutionSummaryProjector summaryProjector;
+
+    private final OrchestrationMetrics metrics = new OrchestrationMetrics(new SimpleMeterRegistry());
+    private final RunStateMachine stateMachine = new RunStateMachine();
+    private final TransitionExecutor transitionExecutor =
+            new TransitionExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 5, 0);
+
+    private DoOperationHandler doOperationHandler;
+    private CompiledOrchestrationTemplate template;
+    private OrchestrationRun run;
+
+    @BeforeEach
+    void setUp() {
+        UndoOperationHandler undoOperationHandler = new UndoOperationHandler(orchestrationRunRepository, templateCache,
+                messagePublisher, auditService, retryScheduler, stepTimeouts, responseDeduplicator, summaryProjector,
+                metrics, stateMachine, transitionExecutor);
+        doOperationHandler = new DoOperationHandler(orchestrationRunRepository, templateCache,
+                workerRegistrationRepository, messagePublisher, undoOperationHandler, auditService,
+                retryScheduler, stepTimeouts, responseDeduplicator, summaryProjector, metrics,
+                stateMachine, transitionExecutor);
+
+        template = CompiledOrchestrationTemplate.compile(createTemplate());
+        run = createRun();
+        lenient().when(templateCache.get(ORCH_NAME)).thenReturn(Optional.of(template));
+        lenient().when(orchestrationRunRepository.findByFlowIdWithSteps(FLOW_ID)).thenReturn(Optional.of(run));
+        lenient().when(responseDeduplicator.claim(anyString(), anyString(), anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    void testStart_SendsOnlyStepsWithoutDependencies() {
+        doOperationHandler.startDoOperations(run, template, message());
+
+        verify(messagePublisher).send(eq(doTopic("reserveInventory")), any());
+        verify(messagePublisher).send(eq(doTopic("processPayment")), any());
+        verify(messagePublisher, times(2)).send(anyString(), any());
+        assertEquals(ExecutionStatusEnum.PENDING, status("createShipment"));
+    }
+
+    @Test
+    void testDoSuccess_JoinWaitsForAllDependencies() {
+        doOperationHandler.startDoOperations(run, template, message());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+        assertEquals(ExecutionStatusEnum.PENDING, status("createShipment"));
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "processPayment", true, null, message());
+        assertEquals(ExecutionStatusEnum.IN_PROGRESS, status("createShipment"));
+        verify(messagePublisher).send(eq(doTopic("createShipment")), any());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "createShipment", true, null, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "sendConfirmation", true, null, message());
+        assertEquals(ExecutionStatusEnum.COMPLETED, run.getStatus());
+    }
+
+    @Test
+    void testDoResponse_ForStepNoLongerInProgressIsIgnored() {
+        doOperationHandler.startDoOperations(run, template, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", false, "redelivered", message());
+
+        assertEquals(ExecutionStatusEnum.DO_SUCCESS, status("reserveInventory"));
+        assertEquals(ExecutionStatusEnum.IN_PROGRESS, run.getStatus());
+        verifyNoInteractions(retryScheduler);
+    }
+
+    @Test
+    void testDoFailure_CompensatesOnlyCompletedBranch() {
+        doOperationHandler.startDoOperations(run, template, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "processPayment", false, "card declined", message());
+
+        assertEquals(ExecutionStatusEnum.UNDOING, run.getStatus());
+        assertEquals(ExecutionStatusEnum.UNDOING, status("reserveInventory"));
+        verify(messagePublisher).send(eq(undoTopic("reserveInventory")), any());
+        verify(messagePublisher, never()).send(eq(undoTopic("processPayment")), any());
+        verify(messagePublisher, never()).send(eq(doTopic("createShipment")), any());
+        assertEquals(ExecutionStatusEnum.PENDING, status("createShipment"));
+
+        undoOperationHandler().handleUndoResponse(FLOW_ID, "reserveInventory", true, null, message());
+        assertEquals(ExecutionStatusEnum.UNDONE, run.getStatus());
+    }
+
+    @Test
+    void testDoFailure_UndoesDependentsBeforeDependencies() {
+        doOperationHandler.startDoOperations(run, template, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "processPayment", true, null, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "createShipment", true, null, message());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "sendConfirmation", false, "smtp down", message());
+
+        verify(messagePublisher).send(eq(undoTopic("createShipment")), any());
+        verify(messagePublisher, never()).send(eq(undoTopic("reserveInventory")), any());
+
+        undoOperationHandler().handleUndoResponse(FLOW_ID, "createShipment", true, null, message());
+
+        // Both branches below the join are compensated in parallel
+        verify(messagePublisher).send(eq(undoTopic("reserveInventory")), any());
+        verify(messagePublisher).send(eq(undoTopic("processPayment")), any());
+    }
+
+    @Test
+    void testLateSuccess_AfterRunFailed_IsCompensated() {
+        doOperationHandler.startDoOperations(run, template, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "processPayment", false, "card declined", message());
+        assertEquals(ExecutionStatusEnum.UNDONE, run.getStatus());
+
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+
+        assertEquals(ExecutionStatusEnum.UNDOING, run.getStatus());
+        verify(messagePublisher).send(eq(undoTopic("reserveInventory")), any());
+        verify(messagePublisher, never()).send(eq(doTopic("createShipment")), any());
+    }
+
+    @Test
+    void testUndoFailure_RetryIsScheduledWithBackoff() {
+        run.findStepRun("reserveInventory").orElseThrow().setMaxRetries(2);
+        doOperationHandler.startDoOperations(run, template, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "reserveInventory", true, null, message());
+        doOperationHandler.handleDoResponse(FLOW_ID, "processPayment", false, "card declined", message());
+        verify(messagePublisher).send(eq(undoTopic("reserveInventory")), any());
+
+        undoOperationHandler().handleUndoResponse(FLOW_ID, "reserveInventory", false, "timeout", message());
+
+        verify(retryScheduler).schedule(eq(run), eq(run.findStepRun("reserveInventory").orElseThrow()), any(),
+                eq("UNDO"), eq(undoTopic("reserveInventory")), any());
+        verify(messagePublisher, times(1)).send(eq(undoTopic("reserveInventory")), any());
+        assertEquals(ExecutionStatusEnum.UNDOING, status("reserveInventory"));
+        assertEquals(1, run.findStepRun("reserveInventory").orElseThrow().getRetryCount());
+    }
+
+    private UndoOperationHandler undoOperationHandler() {
+        return new UndoOperationHandler(orchestrationRunRepository, templateCache, messagePublisher,
+                auditService, retryScheduler, stepTimeouts, responseDeduplicator, summaryProjector, metrics,
+                stateMachine, transitionExecutor);
+    }
+
+    private ExecutionStatusEnum status(String stepName) {
+        return run.findStepRun(stepName).orElseThrow().getStatus();
+    }
+
+    private ExecutionMessage message() {
+        return new ExecutionMessage("payload", new HashMap<>());
+    }
+
+    private static String doTopic(String stepName) {
+        return "orchestrator." + ORCH_NAME + "." + stepName + ".do";
+    }
+
+    private static String undoTopic(String stepName) {
+        return "orchestrator." + ORCH_NAME + "." + stepName + ".undo";
+    }
+
+    private OrchestrationRun createRun() {
+        OrchestrationRun orchestrationRun = OrchestrationRun.builder()
+                .flowId(FLOW_ID)
+                .orchName(ORCH_NAME)
+                .status(ExecutionStatusEnum.IN_PROGRESS)
+                .build();
+
+        List<OrchestrationStepRun> stepRuns = new ArrayList<>();
+        for (var step : template.getSteps()) {
+            stepRuns.add(OrchestrationStepRun.builder()
+                    .orchestrationRun(orchestrationRun)
+                    .stepName(step.getStepName())
+                    .seq(step.getSeq())
+                    .status(ExecutionStatusEnum.PENDING)
+                    .maxRetries(0)
+                    .build());
+        }
+        orchestrationRun.setStepRuns(stepRuns);
+        return orchestrationRun;
+    }
+
+    private OrchestrationTemplate createTemplate() {
+        OrchestrationTemplate orchestrationTemplate = OrchestrationTemplate.builder()
+                .orchName(ORCH_NAME)
+                .type(OrchestrationTypeEnum.DAG)
+                .status(OrchestrationStatusEnum.SUCCESS)
+                .build();
+
+        orchestrationTemplate.setSteps(List.of(
+                createStep(orchestrationTemplate, "reserveInventory", 1, List.of()),
+                createStep(orchestrationTemplate, "processPayment", 2, List.of()),
+                createStep(orchestrationTemplate, "createShipment", 3, List.of("reserveInventory", "processPayment")),
+                createStep(orchestrationTemplate, "sendConfirmation", 4, List.of("createShipment"))
+        ));
+        return orchestrationTemplate;
+    }
+
+    private OrchestrationStepTemplate createStep(OrchestrationTemplate orchestrationTemplate, String stepName,
+                                                 int seq, List<String> dependsOn) {
+        return OrchestrationStepTemplate.builder()
+                .stepName(stepName)
+                .seq(seq)
+                .objectType("String")
+                .topicName("orchestrator." + ORCH_NAME + "." + stepName)
+                .doTopic(doTopic(stepName))
+                .undoTopic(undoTopic(stepName))
+                .maxRetries(0)
+                .dependsOn(dependsOn)
+                .template(orchestrationTemplate)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.ecom.orchestrator.service;
 
 import com.ecom.orchestrator.dto.ExecutionDetailsResponseDto;
 import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.repository.OrchestrationRunArchiveRepository;
 import com.ecom.orchestrator.repository.OrchestrationRunRepository;
 import com.ecom.orchestrator.repository.OrchestrationTemplateRepository;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,9 @@ class ExecutionDetailsServiceEnhancedTest {
     @Mock
     private OrchestrationRunRepository orchestrationRunRepository;
 
+    @Mock
+    private OrchestrationRunArchiveRepository runArchiveRepository;
+
     @Mock
     private OrchestrationTemplateRepository orchestrationTemplateRepository;
 
@@ -218,6 +222,41 @@ class ExecutionDetailsServiceEnhancedTest {
         assertEquals(60.0, result.getPercentageCompleted(), 0.1);
     }
 
+    @Test
+    void testGetExecutionDetails_ArchivedRun() {
+        String orchName = "tenantCreation";
+        String executionId = "archived-execution";
+
+        OrchestrationTemplate template = OrchestrationTemplate.builder()
+                .orchName(orchName)
+                .type(OrchestrationTypeEnum.SEQUENTIAL)
+                .initiatorService("tenant-management-service")
+                .build();
+
+        OrchestrationRun run = OrchestrationRun.builder()
+                .flowId(executionId)
+                .orchName(orchName)
+                .status(ExecutionStatusEnum.COMPLETED)
+                .startedAt(LocalDateTime.now().minusDays(30))
+                .completedAt(LocalDateTime.now().minusDays(30).plusSeconds(4))
+                .build();
+        run.setStepRuns(new ArrayList<>(List.of(createStepRun(1, ExecutionStatusEnum.DO_SUCCESS, run))));
+
+        when(orchestrationTemplateRepository.findByOrchName(orchName))
+                .thenReturn(Optional.of(template));
+        when(orchestrationRunRepository.findByFlowIdWithSteps(executionId))
+                .thenReturn(Optional.empty());
+        when(runArchiveRepository.findByFlowIdWithSteps(executionId))
+                .thenReturn(Optional.of(run));
+
+        ExecutionDetailsResponseDto result = executionDetailsService.getExecutionDetails(orchName, executionId);
+
+        assertNotNull(result);
+        assertEquals("SUCCESS", result.getStatus());
+        assertEquals(4000L, result.getOverallDurationMs());
+        assertEquals(1, result.getSuccessfulSteps());
+    }
+
     private OrchestrationStepRun createStepRun(int seq, ExecutionStatusEnum status, OrchestrationRun run) {
         return OrchestrationStepRun.builder()
                 .seq(seq)
@@ -1,20 +1,24 @@
 package com.ecom.orchestrator.service;
 
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
 import com.ecom.orchestrator.dto.ExecutionMessage;
 import com.ecom.orchestrator.entity.*;
 import com.ecom.orchestrator.repository.*;
 import com.ecom.orchestrator.messaging.interfaces.MessagePublisher;
-import com.ecom.orchestrator.serialization.Serializer;
+import com.ecom.orchestrator.summary.ExecutionSummaryProjector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,10 +28,7 @@ import static org.mockito.Mockito.*;
 class OrchestrationExecutorServiceTest {
 
     @Mock
-    private OrchestrationTemplateRepository orchestrationTemplateRepository;
-
-    @Mock
-    private OrchestrationStepTemplateRepository stepTemplateRepository;
+    private OrchestrationTemplateCache templateCache;
 
     @Mock
     private WorkerRegistrationRepository workerRegistrationRepository;
@@ -42,179 +43,133 @@ class OrchestrationExecutorServiceTest {
     private MessagePublisher messagePublisher;
 
     @Mock
-    private Serializer serializer;
+    private DoOperationHandler doOperationHandler;
 
     @Mock
-    private UndoService undoService;
+    private AuditService auditService;
 
-    @InjectMocks
-    private OrchestrationExecutorService executorService;
+    @Mock
+    private ExecutionSummaryProjector summaryProjector;
 
-    private OrchestrationTemplate sequentialTemplate;
-    private OrchestrationTemplate simultaneousTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrchestrationExecutorService executorService;
 
     @BeforeEach
     void setUp() {
-        sequentialTemplate = createMockTemplate(OrchestrationTypeEnum.SEQUENTIAL);
-        simultaneousTemplate = createMockTemplate(OrchestrationTypeEnum.SIMULTANEOUS);
+        executorService = new OrchestrationExecutorService(templateCache, workerRegistrationRepository,
+                orchestrationRunRepository, stepRunRepository, messagePublisher, doOperationHandler, auditService,
+                summaryProjector, transactionManager);
     }
 
     @Test
     void testStartOrchestration_Sequential_Success() {
         // Given
-        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
-                .thenReturn(Optional.of(sequentialTemplate));
-        when(orchestrationRunRepository.save(any(OrchestrationRun.class)))
-                .thenReturn(createMockOrchestrationRun());
-        when(stepRunRepository.saveAll(any())).thenReturn(List.of());
-        when(workerRegistrationRepository.findByOrchNameAndStepName(anyString(), anyString()))
-                .thenReturn(Optional.of(createMockWorkerRegistration()));
-        when(serializer.serialize(any())).thenReturn(new byte[0]);
+        when(templateCache.get("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate(OrchestrationTypeEnum.SEQUENTIAL, OrchestrationStatusEnum.SUCCESS)));
+        when(orchestrationRunRepository.save(any(OrchestrationRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        String flowId = executorService.startOrchestration("tenantCreation", ExecutionMessage.builder().build());
+        String flowId = executorService.startOrchestration("tenantCreation", message("test-flow-id"));
 
         // Then
-        assertNotNull(flowId);
-        verify(orchestrationRunRepository).save(any(OrchestrationRun.class));
-        verify(stepRunRepository).saveAll(any());
-        verify(messagePublisher).send(anyString(), any(ExecutionMessage.class));
+        assertEquals("test-flow-id", flowId);
+        ArgumentCaptor<OrchestrationRun> run = ArgumentCaptor.forClass(OrchestrationRun.class);
+        verify(orchestrationRunRepository).save(run.capture());
+        assertEquals(ExecutionStatusEnum.IN_PROGRESS, run.getValue().getStatus());
+        verify(auditService).recordOrchestrationStart("test-flow-id", "tenantCreation", "tenant-service");
+        verify(doOperationHandler).startDoOperations(eq(run.getValue()), any(CompiledOrchestrationTemplate.class), any());
     }
 
     @Test
-    void testStartOrchestration_Simultaneous_Success() {
+    void testStartOrchestration_CreatesPendingStepRunsWithTemplateRetries() {
         // Given
-        when(orchestrationTemplateRepository.findByOrchNameWithSteps("tenantCreation"))
-                .thenReturn(Optional.of(simultaneousTemplate));
-        when(orchestrationRunRepository.save(any(OrchestrationRun.class)))
-                .thenReturn(createMockOrchestrationRun());
-        when(stepRunRepository.saveAll(any())).thenReturn(List.of());
-        when(workerRegistrationRepository.findByOrchNameAndStepName(anyString(), anyString()))
-                .thenReturn(Optional.of(createMockWorkerRegistration()));
-        when(serializer.serialize(any())).thenReturn(new byte[0]);
+        when(templateCache.get("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate(OrchestrationTypeEnum.SIMULTANEOUS, OrchestrationStatusEnum.SUCCESS)));
+        when(orchestrationRunRepository.save(any(OrchestrationRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        String flowId = executorService.startOrchestration("tenantCreation", ExecutionMessage.builder().build());
+        executorService.startOrchestration("tenantCreation", message("test-flow-id"));
 
         // Then
-        assertNotNull(flowId);
-        verify(messagePublisher, times(2)).send(anyString(), any(ExecutionMessage.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrchestrationStepRun>> stepRuns = ArgumentCaptor.forClass(List.class);
+        verify(stepRunRepository).saveAll(stepRuns.capture());
+        assertEquals(List.of("createRealm", "createClient"),
+                stepRuns.getValue().stream().map(OrchestrationStepRun::getStepName).toList());
+        assertTrue(stepRuns.getValue().stream().allMatch(stepRun ->
+                stepRun.getStatus() == ExecutionStatusEnum.PENDING && stepRun.getMaxRetries() == 5));
     }
 
     @Test
     void testStartOrchestration_OrchestrationNotFound() {
         // Given
-        when(orchestrationTemplateRepository.findByOrchNameWithSteps("nonExistent"))
-                .thenReturn(Optional.empty());
+        when(templateCache.get("nonExistent")).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () ->
-                executorService.startOrchestration("nonExistent", ExecutionMessage.builder().build()));
+                executorService.startOrchestration("nonExistent", message("test-flow-id")));
+        verifyNoInteractions(orchestrationRunRepository, doOperationHandler);
     }
 
     @Test
-    void testHandleStepResponse_Success() {
+    void testStartOrchestration_NotReady_RecordsUnregisteredRun() {
         // Given
-        OrchestrationRun run = createMockOrchestrationRun();
-        when(orchestrationRunRepository.findByFlowIdWithSteps(anyString()))
-                .thenReturn(Optional.of(run));
-        when(orchestrationTemplateRepository.findByOrchNameWithSteps(anyString()))
-                .thenReturn(Optional.of(sequentialTemplate));
-        when(stepRunRepository.findByOrchestrationRunFlowIdAndStepName(anyString(), anyString()))
-                .thenReturn(Optional.of(createMockStepRun()));
+        when(templateCache.get("tenantCreation"))
+                .thenReturn(Optional.of(createTemplate(OrchestrationTypeEnum.SEQUENTIAL, OrchestrationStatusEnum.PENDING)));
 
         // When
-        executorService.handleStepResponse("test-flow-id", "createRealm", true, null,null);
+        executorService.startOrchestration("tenantCreation", message("test-flow-id"));
 
         // Then
-        verify(stepRunRepository).save(any(OrchestrationStepRun.class));
+        ArgumentCaptor<OrchestrationRun> run = ArgumentCaptor.forClass(OrchestrationRun.class);
+        verify(orchestrationRunRepository).save(run.capture());
+        assertEquals(ExecutionStatusEnum.NOT_REGISTERED, run.getValue().getStatus());
+        verify(summaryProjector).track(run.getValue());
+        verifyNoInteractions(stepRunRepository, doOperationHandler);
     }
 
     @Test
-    void testHandleStepResponse_Failure() {
-        // Given
-        OrchestrationRun run = createMockOrchestrationRun();
-        when(orchestrationRunRepository.findByFlowIdWithSteps(anyString()))
-                .thenReturn(Optional.of(run));
-        when(stepRunRepository.findByOrchestrationRunFlowIdAndStepName(anyString(), anyString()))
-                .thenReturn(Optional.of(createMockStepRun()));
-        when(orchestrationRunRepository.findByFlowId(anyString()))
-                .thenReturn(Optional.of(run));
-
+    void testHandleStepResponse_DelegatesToDoOperationHandler() {
         // When
-        executorService.handleStepResponse("test-flow-id", "createRealm", false, "Error occurred",null);
+        executorService.handleStepResponse("test-flow-id", "createRealm", false, "Error occurred", null);
 
         // Then
-        verify(undoService).undoOrchestration("test-flow-id",null);
+        verify(doOperationHandler).handleDoResponse("test-flow-id", "createRealm", false, "Error occurred", null);
     }
 
-    private OrchestrationTemplate createMockTemplate(OrchestrationTypeEnum type) {
+    private ExecutionMessage message(String flowId) {
+        return new ExecutionMessage("payload", new HashMap<>(Map.of("flowId", flowId)));
+    }
+
+    private CompiledOrchestrationTemplate createTemplate(OrchestrationTypeEnum type, OrchestrationStatusEnum status) {
         OrchestrationTemplate template = OrchestrationTemplate.builder()
                 .id(1L)
                 .orchName("tenantCreation")
                 .type(type)
                 .initiatorService("tenant-service")
-                .status(OrchestrationStatusEnum.SUCCESS)
+                .status(status)
                 .build();
 
-        OrchestrationStepTemplate step1 = OrchestrationStepTemplate.builder()
-                .id(1L)
-                .stepName("createRealm")
-                .seq(1)
-                .objectType("String")
-                .topicName("orchestrator.tenantCreation.createRealm")
-                .template(template)
-                .build();
+        template.setSteps(List.of(
+                createStep(template, 1L, "createRealm", 1),
+                createStep(template, 2L, "createClient", 2)
+        ));
+        return CompiledOrchestrationTemplate.compile(template);
+    }
 
-        OrchestrationStepTemplate step2 = OrchestrationStepTemplate.builder()
-                .id(2L)
-                .stepName("createClient")
-                .seq(2)
+    private OrchestrationStepTemplate createStep(OrchestrationTemplate template, Long id, String stepName, int seq) {
+        return OrchestrationStepTemplate.builder()
+                .id(id)
+                .stepName(stepName)
+                .seq(seq)
                 .objectType("String")
-                .topicName("orchestrator.tenantCreation.createClient")
+                .topicName("orchestrator.tenantCreation." + stepName)
+                .doTopic("orchestrator.tenantCreation." + stepName + ".do")
+                .undoTopic("orchestrator.tenantCreation." + stepName + ".undo")
+                .maxRetries(5)
                 .template(template)
                 .build();
-
-        template.setSteps(List.of(step1, step2));
-        return template;
-    }
-
-    private OrchestrationRun createMockOrchestrationRun() {
-        OrchestrationRun run = OrchestrationRun.builder()
-                .id(1L)
-                .flowId(UUID.randomUUID().toString())
-                .orchName("tenantCreation")
-                .status(ExecutionStatusEnum.IN_PROGRESS)
-                .build();
-
-        OrchestrationStepRun stepRun = OrchestrationStepRun.builder()
-                .id(1L)
-                .stepName("createRealm")
-                .seq(1)
-                .status(ExecutionStatusEnum.PENDING)
-                .orchestrationRun(run)
-                .build();
-
-        run.setStepRuns(List.of(stepRun));
-        return run;
-    }
-
-    private WorkerRegistration createMockWorkerRegistration() {
-        return WorkerRegistration.builder()
-                .id(1L)
-                .orchName("tenantCreation")
-                .stepName("createRealm")
-                .workerService("realm-service")
-                .topicName("orchestrator.tenantCreation.createRealm")
-                .build();
-    }
-
-    private OrchestrationStepRun createMockStepRun() {
-        return OrchestrationStepRun.builder()
-                .id(1L)
-                .stepName("createRealm")
-                .seq(1)
-                .status(ExecutionStatusEnum.IN_PROGRESS)
-                .build();
     }
 }
@@ -0,0 +1,144 @@
+package com.ecom.orchestrator.service;
+
+import com.ecom.orchestrator.dto.ParkingLotReplayRequestDto;
+import com.ecom.orchestrator.entity.ParkedMessage;
+import com.ecom.orchestrator.entity.ParkedMessageStatusEnum;
+import com.ecom.orchestrator.repository.ParkedMessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParkingLotServiceTest {
+
+    @Mock
+    private ParkedMessageRepository parkedMessageRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> byteArrayKafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private ParkingLotService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ParkingLotService(parkedMessageRepository, byteArrayKafkaTemplate, new ObjectMapper(),
+                transactionManager, meterRegistry, 2, 100, 1000, 1000, 100000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void parkKeepsOriginalPositionPayloadAndCause() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("orchestrator.event.dead-letter", 1, 7L,
+                "flow-1", "{\"payload\":1}".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, "orchestrator.event".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(4).putInt(2).array());
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(8).putLong(42L).array());
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, "java.lang.IllegalStateException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add("__TypeId__", "com.ecom.orchestrator.dto.ExecutionMessage".getBytes(StandardCharsets.UTF_8));
+
+        service.park(record);
+
+        ArgumentCaptor<ParkedMessage> captor = ArgumentCaptor.forClass(ParkedMessage.class);
+        verify(parkedMessageRepository).save(captor.capture());
+        ParkedMessage parked = captor.getValue();
+        assertEquals("orchestrator.event", parked.getOriginalTopic());
+        assertEquals(2, parked.getOriginalPartition());
+        assertEquals(42L, parked.getOriginalOffset());
+        assertEquals("flow-1", parked.getMessageKey());
+        assertEquals("java.lang.IllegalStateException", parked.getExceptionClass());
+        assertEquals(ParkedMessageStatusEnum.PARKED, parked.getStatus());
+        assertTrue(parked.getHeaders().contains("__TypeId__"));
+        assertFalse(parked.getHeaders().contains("kafka_dlt-"));
+        assertEquals(1.0, meterRegistry.get("orchestration.parking_lot.backlog").gauge().value());
+    }
+
+    @Test
+    void parkSkipsAlreadyParkedRecord() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("orchestrator.event.dead-letter", 0, 3L, "flow-1", new byte[0]);
+        when(parkedMessageRepository.existsByOriginalTopicAndOriginalPartitionAndOriginalOffset("orchestrator.event", 0, 3L))
+                .thenReturn(true);
+
+        service.park(record);
+
+        verify(parkedMessageRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayPublishesBatchesAndMarksAcknowledgedMessages() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(parkedMessageRepository.findNextBatch(eq(ParkedMessageStatusEnum.PARKED), isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(parked(1L), parked(2L)));
+        when(parkedMessageRepository.findNextBatch(eq(ParkedMessageStatusEnum.PARKED), isNull(), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(parked(3L)));
+        when(byteArrayKafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        ParkingLotService.ReplayJob job = new ParkingLotService.ReplayJob("replay-1", null, null, 1000, 10);
+        service.runReplay(job);
+
+        assertEquals("COMPLETED", job.status);
+        assertEquals(2, job.published.get());
+        assertEquals(1, job.failed.get());
+        ArgumentCaptor<Collection<Long>> marked = ArgumentCaptor.forClass(Collection.class);
+        verify(parkedMessageRepository, times(2)).markReplayed(marked.capture(), any());
+        assertEquals(List.of(List.of(1L), List.of(3L)), marked.getAllValues());
+        assertEquals(2.0, meterRegistry.get("orchestration.parking_lot.replayed").tag("result", "published").counter().count());
+    }
+
+    @Test
+    void replayRejectsRateAboveMaximum() {
+        ParkingLotReplayRequestDto request = ParkingLotReplayRequestDto.builder().ratePerSecond(5000).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.startReplay(request));
+    }
+
+    private ParkedMessage parked(long id) {
+        return ParkedMessage.builder()
+                .id(id)
+                .originalTopic("orchestrator.event")
+                .messageKey("flow-" + id)
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .headers("{\"__TypeId__\":\"com.ecom.orchestrator.dto.ExecutionMessage\"}")
+                .status(ParkedMessageStatusEnum.PARKED)
+                .build();
+    }
+}
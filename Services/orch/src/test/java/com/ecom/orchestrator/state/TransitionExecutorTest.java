@@ -0,0 +1,125 @@
+package com.ecom.orchestrator.state;
+
+import com.ecom.orchestrator.entity.ExecutionStatusEnum;
+import com.ecom.orchestrator.entity.OrchestrationRun;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransitionExecutorTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransitionExecutor executor = new TransitionExecutor(transactionManager, meterRegistry, 3, 0);
+    private final RunStateMachine stateMachine = new RunStateMachine();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void conflictIsRetriedInANewTransaction() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("flow-1", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw conflict();
+            }
+            return "applied";
+        });
+
+        assertEquals("applied", result);
+        assertEquals(2, calls.get());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, conflicts("retried"));
+    }
+
+    @Test
+    void conflictIsRethrownAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.run("flow-1", () -> {
+            calls.incrementAndGet();
+            throw conflict();
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(1.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.run("flow-1", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void joinsAnActiveTransactionWithoutRetrying() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.run("flow-1", () -> {
+            calls.incrementAndGet();
+            throw conflict();
+        }));
+
+        assertEquals(1, calls.get());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void stateMachineRejectsIllegalTransitions() {
+        OrchestrationRun run = OrchestrationRun.builder().flowId("flow-1").status(ExecutionStatusEnum.IN_PROGRESS).build();
+
+        stateMachine.transition(run, ExecutionStatusEnum.COMPLETED);
+        assertEquals(ExecutionStatusEnum.COMPLETED, run.getStatus());
+
+        assertThrows(IllegalStateException.class, () -> stateMachine.transition(run, ExecutionStatusEnum.FAILED));
+        assertEquals(ExecutionStatusEnum.COMPLETED, run.getStatus());
+        assertTrue(RunStateMachine.isAllowed(ExecutionStatusEnum.UNDONE, ExecutionStatusEnum.UNDOING));
+        assertFalse(RunStateMachine.isAllowed(ExecutionStatusEnum.UNDONE, ExecutionStatusEnum.COMPLETED));
+    }
+
+    @Test
+    void stateMachineRejectsIllegalStepTransitions() {
+        OrchestrationStepRun stepRun = OrchestrationStepRun.builder().stepName("step1").status(ExecutionStatusEnum.PENDING).build();
+
+        stateMachine.transition(stepRun, ExecutionStatusEnum.IN_PROGRESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.IN_PROGRESS);
+        stateMachine.transition(stepRun, ExecutionStatusEnum.DO_SUCCESS);
+        assertEquals(ExecutionStatusEnum.DO_SUCCESS, stepRun.getStatus());
+
+        assertThrows(IllegalStateException.class, () -> stateMachine.transition(stepRun, ExecutionStatusEnum.IN_PROGRESS));
+        assertEquals(ExecutionStatusEnum.DO_SUCCESS, stepRun.getStatus());
+        assertTrue(RunStateMachine.isStepAllowed(ExecutionStatusEnum.UNDOING, ExecutionStatusEnum.UNDO_FAIL));
+        assertFalse(RunStateMachine.isStepAllowed(ExecutionStatusEnum.UNDO_SUCCESS, ExecutionStatusEnum.UNDOING));
+        assertFalse(RunStateMachine.isStepAllowed(ExecutionStatusEnum.RETRY_EXHAUSTED, ExecutionStatusEnum.IN_PROGRESS));
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get("orchestration.transition.conflicts").tag("outcome", outcome).counter().count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(OrchestrationRun.class, 1L);
+    }
+}
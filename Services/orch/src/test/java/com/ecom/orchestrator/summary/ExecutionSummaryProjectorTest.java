@@ -0,0 +1,141 @@
+package com.ecom.orchestrator.summary;
+
+import com.ecom.orchestrator.cache.CompiledOrchestrationTemplate;
+import com.ecom.orchestrator.cache.OrchestrationTemplateCache;
+import com.ecom.orchestrator.entity.*;
+import com.ecom.orchestrator.repository.ExecutionSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionSummaryProjectorTest {
+
+    @Mock
+    private ExecutionSummaryRepository summaryRepository;
+
+    @Mock
+    private OrchestrationTemplateCache templateCache;
+
+    private ExecutionSummaryProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new ExecutionSummaryProjector(summaryRepository, templateCache);
+        OrchestrationTemplate template = OrchestrationTemplate.builder()
+                .orchName("tenantCreation")
+                .type(OrchestrationTypeEnum.SEQUENTIAL)
+                .initiatorService("tenant-service")
+                .status(OrchestrationStatusEnum.SUCCESS)
+                .steps(List.of())
+                .build();
+        lenient().when(templateCache.get("tenantCreation"))
+                .thenReturn(Optional.of(CompiledOrchestrationTemplate.compile(template)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(projector);
+    }
+
+    @Test
+    void testSummarize_CountsStepsAndKeepsLastError() {
+        LocalDateTime startedAt = LocalDateTime.of(2026, 10, 18, 8, 0);
+        OrchestrationRun run = createRun(startedAt);
+        run.setStatus(ExecutionStatusEnum.UNDONE);
+        run.setCompletedAt(startedAt.plusSeconds(5));
+
+        ExecutionSummary summary = projector.summarize(run);
+
+        assertEquals("flow-1", summary.getFlowId());
+        assertEquals("tenant-service", summary.getInitiatorService());
+        assertEquals(ExecutionStatusEnum.UNDONE, summary.getStatus());
+        assertEquals(5000L, summary.getDurationMs());
+        assertEquals(3, summary.getTotalSteps());
+        assertEquals(0, summary.getSucceededSteps());
+        assertEquals(1, summary.getFailedSteps());
+        assertEquals(2, summary.getUndoneSteps());
+        assertEquals("createUser", summary.getLastErrorStep());
+        assertEquals("user exists", summary.getLastError());
+    }
+
+    @Test
+    void testTrack_WithoutTransaction_WritesImmediately() {
+        projector.track(createRun(LocalDateTime.now()));
+
+        verify(summaryRepository).upsertAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTrack_InTransaction_WritesOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        OrchestrationRun run = createRun(LocalDateTime.now());
+
+        projector.track(run);
+        run.setStatus(ExecutionStatusEnum.COMPLETED);
+        projector.track(run);
+        verify(summaryRepository, never()).upsertAll(any());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+
+        ArgumentCaptor<List<ExecutionSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(summaryRepository, times(1)).upsertAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        // The row reflects the state at commit, not at the first track call
+        assertEquals(ExecutionStatusEnum.COMPLETED, captor.getValue().getFirst().getStatus());
+    }
+
+    @Test
+    void testCursor_RoundTrip() {
+        ExecutionSummaryCursor cursor = new ExecutionSummaryCursor(LocalDateTime.of(2026, 10, 18, 8, 0, 1, 123000), "flow|1");
+
+        assertEquals(cursor, ExecutionSummaryCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionSummaryCursor.decode("not-a-cursor"));
+    }
+
+    private OrchestrationRun createRun(LocalDateTime startedAt) {
+        OrchestrationRun run = OrchestrationRun.builder()
+                .flowId("flow-1")
+                .orchName("tenantCreation")
+                .status(ExecutionStatusEnum.IN_PROGRESS)
+                .startedAt(startedAt)
+                .build();
+        run.setStepRuns(List.of(
+                step(run, "createRealm", 1, ExecutionStatusEnum.UNDO_SUCCESS, null),
+                step(run, "createClient", 2, ExecutionStatusEnum.UNDO_SUCCESS, "timed out"),
+                step(run, "createUser", 3, ExecutionStatusEnum.RETRY_EXHAUSTED, "user exists")
+        ));
+        return run;
+    }
+
+    private OrchestrationStepRun step(OrchestrationRun run, String stepName, int seq,
+                                      ExecutionStatusEnum status, String errorMessage) {
+        return OrchestrationStepRun.builder()
+                .orchestrationRun(run)
+                .stepName(stepName)
+                .seq(seq)
+                .status(status)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecom.orchestrator.timeout;
+
+import com.ecom.orchestrator.cache.CompiledStepTemplate;
+import com.ecom.orchestrator.dto.ExecutionMessage;
+import com.ecom.orchestrator.entity.OrchestrationStepRun;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepTimeoutsTest {
+
+    private final StepTimeouts stepTimeouts = new StepTimeouts(new ObjectMapper(), 300_000);
+
+    @Test
+    void armUsesStepTimeoutOrDefault() {
+        OrchestrationStepRun stepRun = OrchestrationStepRun.builder().stepName("reserve").build();
+        CompiledStepTemplate withTimeout = CompiledStepTemplate.builder().stepName("reserve").timeoutMs(10_000L).build();
+        CompiledStepTemplate withoutTimeout = CompiledStepTemplate.builder().stepName("reserve").build();
+
+        LocalDateTime before = LocalDateTime.now();
+        stepTimeouts.arm(stepRun, withTimeout, message());
+        assertFalse(stepRun.getDeadlineAt().isBefore(before.plusSeconds(10)));
+        assertTrue(stepRun.getDeadlineAt().isBefore(before.plusSeconds(11)));
+
+        stepTimeouts.arm(stepRun, withoutTimeout, message());
+        assertFalse(stepRun.getDeadlineAt().isBefore(before.plusMinutes(5)));
+    }
+
+    @Test
+    void lastMessageRoundTripsTheSentMessage() {
+        OrchestrationStepRun stepRun = OrchestrationStepRun.builder().stepName("reserve").build();
+        stepTimeouts.arm(stepRun, CompiledStepTemplate.builder().stepName("reserve").build(), message());
+
+        ExecutionMessage restored = stepTimeouts.lastMessage(stepRun);
+
+        assertEquals("order-1", restored.getPayload());
+        assertEquals("flow-1", restored.getHeaders().get("flowId"));
+    }
+
+    @Test
+    void disarmKeepsMessageButClearRemovesIt() {
+        OrchestrationStepRun stepRun = OrchestrationStepRun.builder().stepName("reserve").build();
+        stepTimeouts.arm(stepRun, CompiledStepTemplate.builder().stepName("reserve").build(), message());
+
+        stepTimeouts.disarm(stepRun);
+        assertNull(stepRun.getDeadlineAt());
+        assertNotNull(stepRun.getLastMessage());
+
+        stepTimeouts.clear(stepRun);
+        assertNull(stepRun.getLastMessage());
+        assertNotNull(stepTimeouts.lastMessage(stepRun).getHeaders());
+    }
+
+    private ExecutionMessage message() {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("flowId", "flow-1");
+        return new ExecutionMessage("order-1", headers);
+    }
+}
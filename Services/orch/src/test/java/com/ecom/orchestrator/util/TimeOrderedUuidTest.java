@@ -0,0 +1,43 @@
+package com.ecom.orchestrator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void idsAreVersion7WithTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuid.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = TimeOrderedUuid.timestampMillis(id);
+        // A burst that exhausted the counter (e.g. another test) carries the timestamp a few ms ahead
+        assertTrue(millis >= before && millis <= after + 1000, "timestamp " + millis);
+    }
+
+    @Test
+    void stringsSortInCreationOrder() {
+        List<String> ids = new ArrayList<>();
+        // Far more than the 4096 ids the counter holds per millisecond
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(TimeOrderedUuid.nextString());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+    @Test
+    void rejectsOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecom.orchestrator.client.config;
+
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Serializer for ExecutionMessages in the {@link WireFormat} set by orchestrator.kafka.producer.wire-format,
+ * named in the record's wire format header
+ */
+public class ExecutionMessageSerializer implements Serializer<ExecutionMessage> {
+
+    private WireFormat wireFormat;
+
+    public ExecutionMessageSerializer() {
+        this(WireFormat.JSON);
+    }
+
+    public ExecutionMessageSerializer(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (configs.containsKey(WireFormat.CONFIG)) {
+            wireFormat = WireFormat.fromName(configs.get(WireFormat.CONFIG));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, ExecutionMessage message) {
+        if (message == null) {
+            return null;
+        }
+
+        try {
+            return wireFormat.mapper().writeValueAsBytes(message);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize Message to " + wireFormat + " bytes", e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, ExecutionMessage message) {
+        byte[] bytes = serialize(topic, message);
+        if (bytes != null && headers != null) {
+            headers.remove(WireFormat.HEADER);
+            headers.add(WireFormat.HEADER, wireFormat.headerValue());
+        }
+        return bytes;
+    }
+}
@@ -1,10 +1,12 @@
 package com.ecom.orchestrator.client.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
@@ -35,24 +37,50 @@ public class KafkaConsumerConfig {
     @Value("${orchestrator.kafka.consumer.auto-offset-reset:latest}")
     private String autoOffsetReset;
 
+    @Value("${orchestrator.kafka.consumer.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, byte[]> consumerFactory() {
+        return consumerFactory(virtualThreads);
+    }
+
+    private ConsumerFactory<String, byte[]> consumerFactory(boolean virtualThreads) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // Decoded by the listeners according to the record's WireFormat
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
-        props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
+        if (virtualThreads) {
+            // Records finish out of order on virtual threads, so only acknowledged offsets may be committed
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        } else {
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+            props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
+        }
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory() {
+        return containerFactory(consumerFactory(), virtualThreads);
+    }
+
+    /**
+     * Factory for steps whose processing mode in orchestrations.yml differs from the default one.
+     * Not a bean, so the default factory stays the only candidate for injection.
+     */
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory(boolean virtualThreads) {
+        return containerFactory(consumerFactory(virtualThreads), virtualThreads);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, byte[]> containerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory, boolean virtualThreads) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
 
         // Configure retry with backoff
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(
@@ -86,8 +114,19 @@ public class KafkaConsumerConfig {
 
         factory.setCommonErrorHandler(errorHandler);
 
-        // Configure ACK mode
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        if (virtualThreads) {
+            // VirtualThreadDispatcher acknowledges each record when its handler is done, possibly out of order;
+            // async acks hold a commit back until every lower offset of the partition is acknowledged
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+
+            SimpleAsyncTaskExecutor consumerExecutor = new SimpleAsyncTaskExecutor("kafka-consumer-vt-");
+            consumerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(consumerExecutor);
+        } else {
+            // Configure ACK mode
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        }
 
         return factory;
     }
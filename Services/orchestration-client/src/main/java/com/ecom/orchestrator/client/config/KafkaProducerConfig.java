@@ -20,6 +20,10 @@ public class KafkaProducerConfig {
     @Value("${orchestrator.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    // json or smile; switch to smile once the orchestrator and every consumer of the topics read it
+    @Value("${orchestrator.kafka.producer.wire-format:json}")
+    private String wireFormat;
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -32,7 +36,8 @@ public class KafkaProducerConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageJsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ExecutionMessageSerializer.class);
+        configProps.put(WireFormat.CONFIG, WireFormat.fromName(wireFormat).name());
 
         // Additional producer configurations for reliability
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -1,5 +1,7 @@
 package com.ecom.orchestrator.client.config;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -30,5 +32,38 @@ public class OrchestrationConfig {
         private String handlerMethod;  // Deprecated, use doMethod instead
         private String doMethod;
         private String undoMethod;
+        private RetryPolicy retryPolicy;  // Optional, orchestrator defaults apply when absent
+        private Long timeoutMs;           // Optional, how long the orchestrator waits for a DO response
+        private List<String> dependsOn;   // Optional, initiator of a dag orchestration: steps that must succeed first
+        // Optional, client side only; never sent to the orchestrator with the registration
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        private ConsumerSettings consumer;
+    }
+
+    /**
+     * Listener settings for a step's DO and UNDO topics; unset values fall back to the client defaults
+     */
+    @Setter
+    @Getter
+    public static class ConsumerSettings {
+        private String groupId;           // Defaults to dynamic-group
+        private Integer concurrency;      // Consumer threads; more than the topic's partitions stay idle
+        private Integer maxPollRecords;
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)
+        private ProcessingMode mode;      // Defaults to orchestrator.kafka.consumer.virtual-threads.enabled
+    }
+
+    public enum ProcessingMode {
+        PLATFORM,   // Handler runs on the consumer thread
+        VIRTUAL     // Handler runs on a virtual thread, ordered per flow
+    }
+
+    @Setter
+    @Getter
+    public static class RetryPolicy {
+        private Integer maxRetries;
+        private Long backoffMs;
+        private Double backoffMultiplier;
+        private Long maxBackoffMs;
     }
 }
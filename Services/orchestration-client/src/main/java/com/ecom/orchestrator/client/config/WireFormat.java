@@ -0,0 +1,94 @@
+package com.ecom.orchestrator.client.config;
+
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodings of ExecutionMessage on Kafka, matching the orchestrator's. The encoding travels in the
+ * {@link #HEADER} record header; records without it come from producers that predate it and are
+ * detected from their bytes, which keeps JSON and Smile records readable side by side during a rollout.
+ */
+public enum WireFormat {
+
+    JSON(new ObjectMapper()),
+    /**
+     * Binary JSON: same data model, so untyped payloads round-trip as with JSON, but smaller and cheaper to parse
+     */
+    SMILE(new SmileMapper());
+
+    public static final String HEADER = "orch-wire-format";
+
+    /**
+     * Producer config key {@link ExecutionMessageSerializer} reads the outgoing encoding from
+     */
+    public static final String CONFIG = "orchestrator.wire-format";
+
+    // ':' ')' '\n' - every Smile document starts with it, JSON never does
+    private static final byte[] SMILE_SIGNATURE = {0x3A, 0x29, 0x0A};
+
+    private final ObjectMapper mapper;
+    // Thread-safe; shared by every listener
+    private final ObjectReader executionMessageReader;
+    private final byte[] headerValue;
+
+    WireFormat(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.executionMessageReader = mapper.readerFor(ExecutionMessage.class);
+        this.headerValue = name().toLowerCase().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    public ObjectReader executionMessageReader() {
+        return executionMessageReader;
+    }
+
+    public byte[] headerValue() {
+        return headerValue;
+    }
+
+    /**
+     * Resolve a configured name (case-insensitive), JSON when it is not set
+     */
+    public static WireFormat fromName(Object name) {
+        if (name == null || name.toString().isBlank()) {
+            return JSON;
+        }
+        return valueOf(name.toString().trim().toUpperCase());
+    }
+
+    /**
+     * Encoding of a received record: the header if present, otherwise detected from the bytes
+     *
+     * @throws IllegalArgumentException if the header names an encoding this version does not know
+     */
+    public static WireFormat of(Headers headers, byte[] data) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        if (header == null || header.value() == null) {
+            return detect(data);
+        }
+        for (WireFormat format : values()) {
+            if (Arrays.equals(format.headerValue, header.value())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported wire format: " + new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    private static WireFormat detect(byte[] data) {
+        if (data != null && data.length >= SMILE_SIGNATURE.length
+                && data[0] == SMILE_SIGNATURE[0] && data[1] == SMILE_SIGNATURE[1] && data[2] == SMILE_SIGNATURE[2]) {
+            return SMILE;
+        }
+        return JSON;
+    }
+}
@@ -5,5 +5,6 @@ public class Constant {
     public static final String ORCHESTRATOR_EVENT = "orchestrator.event";
     public static final String ORCHESTRATOR_REGISTRATION = "orchestrator.registration";
     public static final String ORCHESTRATOR_EXECUTION_START = "orchestrator.execution.start";
+    public static final String ORCHESTRATOR_EXECUTION_START_BULK = "orchestrator.execution.start.bulk";
     public static final String ORCHESTRATOR_RESPONSE_RESULT = "orchestrator.response.result";
 }
@@ -1,5 +1,6 @@
 package com.ecom.orchestrator.client.dto;
 
+import com.ecom.orchestrator.client.util.TimeOrderedUuid;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -26,6 +27,6 @@ public class OrchestrationEvent {
         this.eventType = eventType;
         this.payload = payload;
         this.timestamp = LocalDateTime.now();
-        this.flowId = java.util.UUID.randomUUID().toString();
+        this.flowId = TimeOrderedUuid.nextString();
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -31,7 +32,8 @@ public class KafkaEventPublisher implements EventPublisher {
             // Extract metadata from message headers
             String orchestrationName = (String) message.getHeaders().get("orchestrationName");
             String topic = (String) message.getHeaders().get("topic");
-            String flowId = (String) message.getHeaders().get("flowId");
+            // flowId is the record key so all events of one flow share a partition and stay ordered
+            String flowId = Objects.toString(message.getHeaders().get("flowId"), null);
 
             log.info("Publishing Kafka event for orchestration: {} to topic: {}",
                     orchestrationName, topic);
@@ -62,7 +64,7 @@ public class KafkaEventPublisher implements EventPublisher {
                     flowId, message.getHeaders().size());
 
         } catch (Exception e) {
-            String flowId = (String) message.getHeaders().get("flowId");
+            String flowId = Objects.toString(message.getHeaders().get("flowId"), null);
             log.error("Failed to publish Kafka message: {}", flowId, e);
             throw new RuntimeException("Failed to publish message to Kafka", e);
         }
@@ -0,0 +1,45 @@
+package com.ecom.orchestrator.client.service;
+
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import com.ecom.orchestrator.client.util.TimeOrderedUuid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payloads of bulk start events: the executions split into chunks the orchestrator writes in one
+ * transaction each, every execution carrying its flowId
+ */
+final class BulkStartPayloads {
+
+    private BulkStartPayloads() {
+    }
+
+    /**
+     * Assign missing flowIds and split the executions into bulk start payloads
+     *
+     * @param flowIds Receives the flowId of every execution, in order
+     */
+    static List<Map<String, Object>> chunk(List<ExecutionMessage> executions, int chunkSize, List<String> flowIds) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("orchestrator.bulk-start.chunk-size must be positive");
+        }
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int from = 0; from < executions.size(); from += chunkSize) {
+            List<ExecutionMessage> chunk = new ArrayList<>();
+            for (ExecutionMessage execution : executions.subList(from, Math.min(from + chunkSize, executions.size()))) {
+                Map<String, Object> headers = execution.getHeaders() != null
+                        ? new HashMap<>(execution.getHeaders()) : new HashMap<>();
+                headers.computeIfAbsent("flowId", key -> TimeOrderedUuid.nextString());
+                flowIds.add(headers.get("flowId").toString());
+                chunk.add(ExecutionMessage.builder().payload(execution.getPayload()).headers(headers).build());
+            }
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("executions", chunk);
+            payloads.add(payload);
+        }
+        return payloads;
+    }
+}
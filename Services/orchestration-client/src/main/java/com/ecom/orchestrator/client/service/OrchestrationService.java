@@ -3,6 +3,9 @@ package com.ecom.orchestrator.client.service;
 import com.ecom.orchestrator.client.config.OrchestrationConfig;
 import com.ecom.orchestrator.client.dto.ExecutionMessage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface for orchestration services
  */
@@ -21,6 +24,20 @@ public interface OrchestrationService {
      */
     void startOrchestration(ExecutionMessage data, String orchestratorName);
 
+    /**
+     * Starts one run per execution, e.g. for a flash sale or a backfill
+     * @param data The executions; a flowId header is kept, otherwise one is assigned
+     * @return The flowIds of the runs, in the order of the executions
+     */
+    default List<String> startOrchestrations(List<ExecutionMessage> data, String orchestratorName) {
+        List<String> flowIds = new ArrayList<>(data.size());
+        for (ExecutionMessage execution : data) {
+            startOrchestration(execution, orchestratorName);
+            flowIds.add(String.valueOf(execution.getHeaders().get("flowId")));
+        }
+        return flowIds;
+    }
+
     /**
      * Registers orchestration definition without starting it
      * @param data The orchestration definition data (YAML or JSON)
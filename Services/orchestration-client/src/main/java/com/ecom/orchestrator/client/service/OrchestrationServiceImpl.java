@@ -4,6 +4,7 @@ import com.ecom.orchestrator.client.config.OrchestrationConfig;
 import com.ecom.orchestrator.client.dto.ExecutionMessage;
 import com.ecom.orchestrator.client.enums.STATUS;
 import com.ecom.orchestrator.client.publisher.KafkaEventPublisher;
+import com.ecom.orchestrator.client.util.TimeOrderedUuid;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +14,11 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 @ConditionalOnExpression("'${shared.topic:false}' == 'false' && '${orchestrator.advanced.mode:false}' == 'false'")
 @Slf4j
@@ -30,6 +33,9 @@ public class OrchestrationServiceImpl implements OrchestrationService {
     @Value("${spring.application.name:OrchestrationService}")
     private String applicationName;
 
+    @Value("${orchestrator.bulk-start.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
     @Override
     public void startOrchestration(ExecutionMessage data, String orchestratorName, String topicName) {
         try {
@@ -52,7 +58,7 @@ public class OrchestrationServiceImpl implements OrchestrationService {
         HashMap<String,Object> headers = new HashMap<>(originalMessage.getHeaders());
         headers.put("orchestrationName", orchestratorName);
         headers.put("eventType", "ORCHESTRATION_STARTED");
-        headers.put("flowId", UUID.randomUUID().toString());
+        headers.put("flowId", TimeOrderedUuid.nextString());
         headers.put("source", applicationName);
         headers.put("topic", topicName);
         headers.put("serviceName", applicationName);
@@ -66,6 +72,30 @@ public class OrchestrationServiceImpl implements OrchestrationService {
         startOrchestration(data, orchestratorName,"orchestrator.execution.start");
     }
 
+    @Override
+    public List<String> startOrchestrations(List<ExecutionMessage> data, String orchestratorName) {
+        String topicName = "orchestrator.execution.start.bulk";
+        List<String> flowIds = new ArrayList<>(data.size());
+        try {
+            // One event per chunk instead of one per run; the orchestrator writes each chunk in one transaction
+            for (Map<String, Object> payload : BulkStartPayloads.chunk(data, bulkChunkSize, flowIds)) {
+                HashMap<String, Object> headers = new HashMap<>();
+                headers.put("orchestrationName", orchestratorName);
+                headers.put("eventType", "ORCHESTRATION_STARTED");
+                headers.put("source", applicationName);
+                headers.put("topic", topicName);
+                headers.put("serviceName", applicationName);
+                headers.put("X-Service-Name", applicationName);
+                kafkaEventPublisher.publishEvent(ExecutionMessage.builder().payload(payload).headers(headers).build());
+            }
+            log.info("Sent bulk start of {} runs of orchestration: {}", flowIds.size(), orchestratorName);
+            return flowIds;
+        } catch (Exception e) {
+            log.error("Failed to send bulk start of orchestration: {}", orchestratorName, e);
+            throw new RuntimeException("Orchestration bulk start failed", e);
+        }
+    }
+
     @Override
     public void register(OrchestrationConfig.Orchestration config, String topicName) {
         try {
@@ -178,7 +208,7 @@ public class OrchestrationServiceImpl implements OrchestrationService {
 
             HashMap <String, Object> headers = new HashMap<>();
             // Create message with headers
-            headers.put("flowId", UUID.randomUUID().toString());
+            headers.put("flowId", TimeOrderedUuid.nextString());
             headers.put("eventType", "ORCHESTRATION_STARTED");
             headers.put("orchestrationName", config.getOrchestrationName());
             headers.put("source", applicationName);
@@ -201,7 +231,7 @@ public class OrchestrationServiceImpl implements OrchestrationService {
             // Create message with headers
             return MessageBuilder
                     .withPayload(jsonPayload)
-                    .setHeader("flowId", UUID.randomUUID().toString())
+                    .setHeader("flowId", TimeOrderedUuid.nextString())
                     .setHeader("eventType", "ORCHESTRATION_STARTED")
                     .setHeader("orchestrationName", orchestrationName)
                     .setHeader("source", applicationName)
@@ -4,18 +4,21 @@ import com.ecom.orchestrator.client.config.OrchestrationConfig;
 import com.ecom.orchestrator.client.dto.ExecutionMessage;
 import com.ecom.orchestrator.client.enums.STATUS;
 import com.ecom.orchestrator.client.publisher.KafkaEventPublisher;
+import com.ecom.orchestrator.client.util.TimeOrderedUuid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 import static com.ecom.orchestrator.client.constants.Constant.ORCHESTRATOR_EXECUTION_START;
+import static com.ecom.orchestrator.client.constants.Constant.ORCHESTRATOR_EXECUTION_START_BULK;
 import static com.ecom.orchestrator.client.constants.Constant.ORCHESTRATOR_REGISTRATION;
 import static com.ecom.orchestrator.client.constants.Constant.ORCHESTRATOR_RESPONSE_RESULT;
 
@@ -34,6 +37,9 @@ public class SingleEventServiceImpl implements OrchestrationService {
     @Value("${spring.application.name:SingleEventService}")
     private String applicationName;
 
+    @Value("${orchestrator.bulk-start.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
     private static final String DEFAULT_EVENT_TOPIC = "orchestrator.event";
     private static final String HEADER_EVENT_TYPE = "eventType";
     private static final String HEADER_FLOW_ID = "flowId";
@@ -57,7 +63,7 @@ public class SingleEventServiceImpl implements OrchestrationService {
 
             // Add flowId if not present
             if (!data.getHeaders().containsKey(HEADER_FLOW_ID)) {
-                data.getHeaders().put(HEADER_FLOW_ID, UUID.randomUUID().toString());
+                data.getHeaders().put(HEADER_FLOW_ID, TimeOrderedUuid.nextString());
             }
 
             // Add orchestration name
@@ -85,6 +91,29 @@ public class SingleEventServiceImpl implements OrchestrationService {
         startOrchestration(data, orchestratorName, DEFAULT_EVENT_TOPIC);
     }
 
+    @Override
+    public List<String> startOrchestrations(List<ExecutionMessage> data, String orchestratorName) {
+        List<String> flowIds = new ArrayList<>(data.size());
+        try {
+            for (Map<String, Object> payload : BulkStartPayloads.chunk(data, bulkChunkSize, flowIds)) {
+                HashMap<String, Object> headers = new HashMap<>();
+                headers.put(HEADER_EVENT_TYPE, ORCHESTRATOR_EXECUTION_START_BULK);
+                headers.put("orchestrationName", orchestratorName);
+                headers.put(HEADER_SOURCE, applicationName);
+                headers.put(HEADER_TOPIC, DEFAULT_EVENT_TOPIC);
+                headers.put(HEADER_SERVICE_NAME, applicationName);
+                headers.put(HEADER_X_SERVICE_NAME, applicationName);
+                headers.put(HEADER_CONTENT_TYPE, "application/json");
+                kafkaEventPublisher.publishEvent(ExecutionMessage.builder().payload(payload).headers(headers).build());
+            }
+            log.info("Sent bulk start of {} runs of orchestration: {}", flowIds.size(), orchestratorName);
+            return flowIds;
+        } catch (Exception e) {
+            log.error("Failed to send bulk start of orchestration: {}", orchestratorName, e);
+            throw new IllegalStateException("Orchestration bulk start failed", e);
+        }
+    }
+
     @Override
     public void register(OrchestrationConfig.Orchestration data, String topicName) {
         try {
@@ -93,7 +122,7 @@ public class SingleEventServiceImpl implements OrchestrationService {
             // Create execution message for registration
             HashMap<String, Object> headers = new HashMap<>();
             headers.put(HEADER_EVENT_TYPE, ORCHESTRATOR_REGISTRATION);
-            headers.put(HEADER_FLOW_ID, UUID.randomUUID().toString());
+            headers.put(HEADER_FLOW_ID, TimeOrderedUuid.nextString());
             headers.put("orchestrationName", data.getOrchestrationName());
             headers.put(HEADER_SOURCE, applicationName);
             headers.put(HEADER_SERVICE_NAME, applicationName);
@@ -205,7 +234,7 @@ public class SingleEventServiceImpl implements OrchestrationService {
 
         // Add flowId if not present
         if (!headers.containsKey(HEADER_FLOW_ID)) {
-            headers.put(HEADER_FLOW_ID, UUID.randomUUID().toString());
+            headers.put(HEADER_FLOW_ID, TimeOrderedUuid.nextString());
         }
 
         // Add source information
@@ -239,7 +268,7 @@ public class SingleEventServiceImpl implements OrchestrationService {
 
             // Preserve flowId
             if (!headers.containsKey(HEADER_FLOW_ID)) {
-                headers.put(HEADER_FLOW_ID, UUID.randomUUID().toString());
+                headers.put(HEADER_FLOW_ID, TimeOrderedUuid.nextString());
             }
 
             return ExecutionMessage.builder()
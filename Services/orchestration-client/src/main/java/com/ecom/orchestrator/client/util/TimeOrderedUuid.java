@@ -0,0 +1,38 @@
+package com.ecom.orchestrator.client.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562) generator for the flow ids this client assigns, matching the orchestrator's.
+ * The leading 48 bits are the Unix time in milliseconds, so runs started close together are stored next
+ * to each other in the orchestrator's flow id index. The 12 bits after the version count up within a
+ * millisecond and the remaining 62 bits are random, so no instance id has to be configured.
+ */
+@UtilityClass
+public class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Unix millis << COUNTER_BITS | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = LAST.updateAndGet(last -> Math.max(candidate, last + 1));
+
+        long msb = (stamp >>> COUNTER_BITS) << 16      // 48 bit timestamp
+                | 0x7000L                               // version 7
+                | (stamp & ((1L << COUNTER_BITS) - 1)); // counter
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000000000000000L;                  // IETF variant
+        return new UUID(msb, lsb);
+    }
+
+    public static String nextString() {
+        return next().toString();
+    }
+}
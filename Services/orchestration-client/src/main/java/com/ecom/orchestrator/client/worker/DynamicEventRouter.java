@@ -4,18 +4,16 @@ import com.ecom.orchestrator.client.config.OrchestrationLoader;
 import com.ecom.orchestrator.client.dto.ExecutionMessage;
 import com.ecom.orchestrator.client.service.OrchestrationService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -28,13 +26,16 @@ public class DynamicEventRouter {
     private final OrchestrationLoader loader;
     private final ApplicationContext context;
     private final OrchestrationService orchestrationService;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
     // Map eventType to handler info
-    private final Map<String, HandlerInfo> eventTypeHandlerMap = new ConcurrentHashMap<>();
+    private final Map<String, StepHandler> eventTypeHandlerMap = new ConcurrentHashMap<>();
 
-    public DynamicEventRouter(OrchestrationLoader loader, ApplicationContext context, OrchestrationService orchestrationService) {
+    public DynamicEventRouter(OrchestrationLoader loader, ApplicationContext context, OrchestrationService orchestrationService,
+                              VirtualThreadDispatcher virtualThreadDispatcher) {
         this.loader = loader;
         this.context = context;
         this.orchestrationService = orchestrationService;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -60,20 +61,21 @@ public class DynamicEventRouter {
     private void registerHandler(String eventType, String handlerClass, String methodName) {
         try {
             Object bean = context.getBean(handlerClass);
-            eventTypeHandlerMap.put(eventType, new HandlerInfo(bean, methodName));
+            eventTypeHandlerMap.put(eventType, StepHandlers.compile(bean, methodName));
             log.info("Registered handler for eventType: {} -> {}.{}", eventType, handlerClass, methodName);
         } catch (Exception e) {
             log.error("Error registering handler for eventType {}: {}", eventType, e.getMessage());
         }
     }
 
-    // This method should be called by your Kafka listener, passing the raw message
-    @KafkaListener(topics = ORCHESTRATOR_EVENT, groupId = "${spring.application.name}")
-    public void routeEvent(@Payload String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+    // This method should be called by your Kafka listener, passing the raw record
+    @KafkaListener(topics = ORCHESTRATOR_EVENT, groupId = "${spring.application.name}",
+            autoStartup = "#{!${orchestrator.kafka.consumer.virtual-threads.enabled:false}}")
+    public void routeEvent(ConsumerRecord<String, byte[]> record) {
+        String topic = record.topic();
         ExecutionMessage executionMessage = null;
         try {
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            executionMessage = objectMapper.readValue(message, ExecutionMessage.class);
+            executionMessage = StepHandlers.read(record);
             executionMessage.getHeaders().forEach((k, v) -> log.info("Header: {} = {}", k, v));
             log.info("Routing event from topic {}: {}", topic, executionMessage.getHeaders());
             String eventType = (String) executionMessage.getHeaders().get("eventType");
@@ -81,13 +83,12 @@ public class DynamicEventRouter {
                 log.error("No eventType found in message headers");
                 return;
             }
-            HandlerInfo handlerInfo = eventTypeHandlerMap.get(eventType);
-            if (handlerInfo == null) {
+            StepHandler handler = eventTypeHandlerMap.get(eventType);
+            if (handler == null) {
                 log.error("No handler registered for eventType: {}", eventType);
                 return;
             }
-            Method method = handlerInfo.bean.getClass().getMethod(handlerInfo.methodName, ExecutionMessage.class);
-            method.invoke(handlerInfo.bean, executionMessage);
+            handler.handle(executionMessage);
         } catch (InvocationTargetException ite) {
             String originalMessage = ite.getTargetException().getMessage();
             log.error("Error in invoked method: {}", originalMessage);
@@ -106,13 +107,10 @@ public class DynamicEventRouter {
         }
     }
 
-    private static class HandlerInfo {
-        final Object bean;
-        final String methodName;
-        HandlerInfo(Object bean, String methodName) {
-            this.bean = bean;
-            this.methodName = methodName;
-        }
+    // Used instead of routeEvent when orchestrator.kafka.consumer.virtual-threads.enabled is set; the record key is the flowId
+    @KafkaListener(topics = ORCHESTRATOR_EVENT, groupId = "${spring.application.name}",
+            autoStartup = "${orchestrator.kafka.consumer.virtual-threads.enabled:false}")
+    public void routeEventAsync(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        virtualThreadDispatcher.dispatch(record.key(), () -> routeEvent(record), acknowledgment);
     }
 }
-
@@ -1,10 +1,13 @@
 package com.ecom.orchestrator.client.worker;
 
+import com.ecom.orchestrator.client.config.KafkaConsumerConfig;
 import com.ecom.orchestrator.client.config.OrchestrationConfig;
 import com.ecom.orchestrator.client.config.OrchestrationLoader;
 import com.ecom.orchestrator.client.dto.ExecutionMessage;
 import com.ecom.orchestrator.client.service.OrchestrationService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -13,36 +16,44 @@ import org.springframework.context.event.EventListener;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Component
 @Slf4j
 @ConditionalOnExpression("'${shared.topic:false}' == 'false' && '${orchestrator.advanced.mode:false}' == 'false'")
 public class DynamicWorkerRegistrar {
 
+    private static final String DEFAULT_GROUP_ID = "dynamic-group";
+
     private final OrchestrationLoader loader;
     private final KafkaListenerContainerFactory<?> kafkaListenerContainerFactory;
+    private final KafkaConsumerConfig kafkaConsumerConfig;
     private final KafkaListenerEndpointRegistry registry;
     private final ApplicationContext context;
     private final OrchestrationService orchestrationService;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
+
+    // Factory for steps that override the default processing mode, created on first use
+    private KafkaListenerContainerFactory<?> otherModeContainerFactory;
 
-    // Store handler information by topic
-    private final Map<String, HandlerInfo> handlerMap = new ConcurrentHashMap<>();
+    // Handlers compiled at registration, keyed by topic (orchestrator.<orch>.<step>.<do|undo>)
+    private final Map<String, StepHandler> handlerMap = new ConcurrentHashMap<>();
 
-    public DynamicWorkerRegistrar(OrchestrationLoader loader, KafkaListenerContainerFactory<?> kafkaListenerContainerFactory, KafkaListenerEndpointRegistry registry, ApplicationContext context, OrchestrationService orchestrationService) {
+    public DynamicWorkerRegistrar(OrchestrationLoader loader, KafkaListenerContainerFactory<?> kafkaListenerContainerFactory, KafkaConsumerConfig kafkaConsumerConfig, KafkaListenerEndpointRegistry registry, ApplicationContext context, OrchestrationService orchestrationService, VirtualThreadDispatcher virtualThreadDispatcher) {
         this.loader = loader;
         this.kafkaListenerContainerFactory = kafkaListenerContainerFactory;
+        this.kafkaConsumerConfig = kafkaConsumerConfig;
         this.registry = registry;
         this.context = context;
         this.orchestrationService = orchestrationService;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
     }
 
 
@@ -83,19 +94,37 @@ public class DynamicWorkerRegistrar {
             return;
         }
 
-        MethodKafkaListenerEndpoint<String, String> endpoint = new MethodKafkaListenerEndpoint<>();
+        OrchestrationConfig.ConsumerSettings settings = step.getConsumer() != null
+                ? step.getConsumer() : new OrchestrationConfig.ConsumerSettings();
+        boolean virtualThreads = settings.getMode() != null
+                ? settings.getMode() == OrchestrationConfig.ProcessingMode.VIRTUAL
+                : virtualThreadDispatcher.isEnabled();
+
+        MethodKafkaListenerEndpoint<String, byte[]> endpoint = new MethodKafkaListenerEndpoint<>();
         endpoint.setId(String.join("-", orchestrationName, step.getName(), isUndo ? "undo" : "do", "listener"));
-        endpoint.setGroupId("dynamic-group");
+        // A dedicated group keeps a slow step's rebalances away from the other steps
+        endpoint.setGroupId(settings.getGroupId() != null && !settings.getGroupId().isBlank()
+                ? settings.getGroupId() : DEFAULT_GROUP_ID);
         endpoint.setTopics(topic);
+        if (settings.getConcurrency() != null) {
+            endpoint.setConcurrency(settings.getConcurrency());
+        }
+        if (settings.getMaxPollRecords() != null) {
+            Properties consumerProperties = new Properties();
+            consumerProperties.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(settings.getMaxPollRecords()));
+            endpoint.setConsumerProperties(consumerProperties);
+        }
 
         try {
             Object bean = context.getBean(step.getHandlerClass());
 
-            // Store handler info in map
-            handlerMap.put(topic, new HandlerInfo(bean, methodName));
+            // Resolve the handler method once instead of per message
+            handlerMap.put(topic, StepHandlers.compile(bean, methodName));
 
             // Set up wrapper method
-            Method wrapperMethod = this.getClass().getMethod("handleMessage", String.class, String.class);
+            Method wrapperMethod = virtualThreads
+                    ? this.getClass().getMethod("handleMessageAsync", ConsumerRecord.class, Acknowledgment.class)
+                    : this.getClass().getMethod("handleMessage", ConsumerRecord.class);
             endpoint.setBean(this);
             endpoint.setMethod(wrapperMethod);
 
@@ -116,27 +145,48 @@ public class DynamicWorkerRegistrar {
             return;
         }
 
-        registry.registerListenerContainer(endpoint, kafkaListenerContainerFactory, true);
-        log.info("✅ Kafka listener registered for topic: {} → {}.{}()", topic, step.getHandlerClass(), methodName);
+        registry.registerListenerContainer(endpoint, containerFactoryFor(virtualThreads), true);
+        log.info("✅ Kafka listener registered for topic: {} → {}.{}() group: {} concurrency: {} mode: {}",
+                topic, step.getHandlerClass(), methodName, endpoint.getGroupId(),
+                settings.getConcurrency() != null ? settings.getConcurrency() : "default",
+                virtualThreads ? "virtual" : "platform");
     }
 
-    public void handleMessage(@Payload String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+    /**
+     * The ack mode differs between processing modes, so steps that override the default need their own factory
+     */
+    private synchronized KafkaListenerContainerFactory<?> containerFactoryFor(boolean virtualThreads) {
+        if (virtualThreads == virtualThreadDispatcher.isEnabled()) {
+            return kafkaListenerContainerFactory;
+        }
+        if (otherModeContainerFactory == null) {
+            otherModeContainerFactory = kafkaConsumerConfig.containerFactory(virtualThreads);
+        }
+        return otherModeContainerFactory;
+    }
 
+    /**
+     * Wrapper used when handlers run on virtual threads; the record key is the flowId
+     */
+    public void handleMessageAsync(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        virtualThreadDispatcher.dispatch(record.key(), () -> handleMessage(record), acknowledgment);
+    }
+
+    public void handleMessage(ConsumerRecord<String, byte[]> record) {
+
+        String topic = record.topic();
         ExecutionMessage executionMessage = null;
         try {
-            HandlerInfo handlerInfo = handlerMap.get(topic);
-            if (handlerInfo == null) {
+            StepHandler handler = handlerMap.get(topic);
+            if (handler == null) {
                log.error("❌ No handler found for topic: {}", topic);
                 return;
             }
 
-            // Deserialize JSON to ExecutionMessage
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            executionMessage = objectMapper.readValue(message, ExecutionMessage.class);
+            executionMessage = StepHandlers.read(record);
 
             // Invoke the actual handler method
-            Method method = handlerInfo.bean.getClass().getMethod(handlerInfo.methodName, ExecutionMessage.class);
-            method.invoke(handlerInfo.bean, executionMessage);
+            handler.handle(executionMessage);
 
         }
         catch (InvocationTargetException ite) {
@@ -156,14 +206,4 @@ public class DynamicWorkerRegistrar {
             }
         }
     }
-
-    private static class HandlerInfo {
-        final Object bean;
-        final String methodName;
-
-        HandlerInfo(Object bean, String methodName) {
-            this.bean = bean;
-            this.methodName = methodName;
-        }
-    }
 }
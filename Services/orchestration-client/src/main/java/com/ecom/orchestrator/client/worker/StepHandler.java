@@ -0,0 +1,15 @@
+package com.ecom.orchestrator.client.worker;
+
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A handler method resolved once at startup, see {@link StepHandlers#compile(Object, String)}.
+ * Whatever the handler throws is wrapped in an InvocationTargetException, the same as Method.invoke did,
+ * so callers can tell handler failures from failures around the call.
+ */
+@FunctionalInterface
+public interface StepHandler {
+    void handle(ExecutionMessage message) throws InvocationTargetException;
+}
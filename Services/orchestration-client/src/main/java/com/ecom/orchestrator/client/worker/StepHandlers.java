@@ -0,0 +1,96 @@
+package com.ecom.orchestrator.client.worker;
+
+import com.ecom.orchestrator.client.config.WireFormat;
+import com.ecom.orchestrator.client.dto.ExecutionMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link StepHandler}s for worker handler methods and decodes incoming records with shared readers.
+ * Handler methods are looked up once and bound to their bean through LambdaMetafactory, which the JIT
+ * inlines like a direct call. If the handler class cannot be linked that way (e.g. it is not visible to
+ * this class loader) a bound MethodHandle is used instead.
+ */
+@Slf4j
+public final class StepHandlers {
+
+    private StepHandlers() {
+    }
+
+    /**
+     * Decode a record value in the {@link WireFormat} its header names, or the one its bytes show
+     */
+    public static ExecutionMessage read(ConsumerRecord<String, byte[]> record) throws IOException {
+        return WireFormat.of(record.headers(), record.value()).executionMessageReader().readValue(record.value());
+    }
+
+    /**
+     * Resolve {@code methodName(ExecutionMessage)} on the bean
+     *
+     * @throws NoSuchMethodException if the bean has no such public method
+     */
+    public static StepHandler compile(Object bean, String methodName) throws NoSuchMethodException {
+        Method method = bean.getClass().getMethod(methodName, ExecutionMessage.class);
+        Consumer<ExecutionMessage> target = bind(bean, method);
+        return message -> {
+            try {
+                target.accept(message);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t instanceof HandlerException ? t.getCause() : t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<ExecutionMessage> bind(Object bean, Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Handler method is not accessible: " + method, e);
+        }
+
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup,
+                    "accept",
+                    MethodType.methodType(Consumer.class, method.getDeclaringClass()),
+                    MethodType.methodType(void.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, ExecutionMessage.class));
+            return (Consumer<ExecutionMessage>) site.getTarget().invoke(bean);
+        } catch (Throwable e) {
+            log.debug("Falling back to a method handle for {}: {}", method, e.getMessage());
+        }
+
+        MethodHandle bound = handle.bindTo(bean).asType(MethodType.methodType(void.class, ExecutionMessage.class));
+        return message -> {
+            try {
+                bound.invokeExact(message);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new HandlerException(t);
+            }
+        };
+    }
+
+    /**
+     * Carries a checked exception thrown by a handler out of the Consumer; unwrapped before it reaches callers
+     */
+    private static final class HandlerException extends RuntimeException {
+        HandlerException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecom.orchestrator.client.worker;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs worker handlers on virtual threads, by default when orchestrator.kafka.consumer.virtual-threads.enabled
+ * is set and otherwise for steps whose consumer mode in orchestrations.yml is VIRTUAL.
+ * Records of one flow (the record key) run one at a time in arrival order, different flows run in parallel.
+ * At most max-in-flight records are handled or queued at once; dispatch blocks the consumer thread
+ * while none are free. A record is acknowledged after its handler finished, and the listener container
+ * commits an offset only once all lower offsets of the partition were acknowledged.
+ */
+@Component
+@Slf4j
+public class VirtualThreadDispatcher {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long backoffInterval;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Void>> flowTails = new ConcurrentHashMap<>();
+
+    public VirtualThreadDispatcher(@Value("${orchestrator.kafka.consumer.virtual-threads.enabled:false}") boolean enabled,
+                                   @Value("${orchestrator.kafka.consumer.virtual-threads.max-in-flight:256}") int maxInFlight,
+                                   @Value("${orchestrator.kafka.retry.max-attempts:3}") int maxAttempts,
+                                   @Value("${orchestrator.kafka.retry.backoff-interval:2000}") long backoffInterval) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("virtual-threads.max-in-flight must be at least 1, was " + maxInFlight);
+        }
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffInterval = backoffInterval;
+        // Threads are only started per task, so this costs nothing while no step uses it
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("worker-vt-", 0).factory());
+        if (enabled) {
+            log.info("✅ Worker handlers run on virtual threads with {} in-flight permits", maxInFlight);
+        }
+    }
+
+    /**
+     * Whether virtual threads are the default processing mode
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void dispatch(String flowId, Runnable task, Acknowledgment acknowledgment) {
+        if (flowId == null || flowId.isEmpty()) {
+            // Nothing to order by, keep partition order on the consumer thread
+            runWithRetry(task);
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight permit", e);
+        }
+
+        CompletableFuture<Void> next = flowTails.compute(flowId, (id, tail) -> tail == null
+                ? CompletableFuture.runAsync(() -> runWithRetry(task), executor)
+                : tail.handle((result, error) -> null).thenRunAsync(() -> runWithRetry(task), executor));
+
+        next.whenComplete((result, error) -> {
+            inFlight.release();
+            flowTails.remove(flowId, next);
+            if (error != null) {
+                log.error("❌ All retry attempts exhausted for flowId: {} - Error: {}", flowId, error.getMessage());
+            }
+            // Acknowledge either way, an unacknowledged record would hold back every later commit
+            acknowledgment.acknowledge();
+        });
+    }
+
+    /**
+     * Mirrors the container's FixedBackOff; sleeping only parks this flow's virtual thread
+     */
+    private void runWithRetry(Runnable task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                task.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("⚠️ Retry attempt {}/{} failed - Error: {}", attempt, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(backoffInterval);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}